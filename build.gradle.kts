@@ -3,6 +3,7 @@ plugins {
     id("io.quarkus")
     id("jacoco")
     id("org.sonarqube") version "6.0.1.5171"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 repositories {
@@ -15,6 +16,7 @@ val quarkusPlatformArtifactId: String by project
 val quarkusPlatformVersion: String by project
 val mapstructVersion: String = "1.6.3"
 
+val loadtest: SourceSet by sourceSets.creating
 
 dependencies {
     implementation("io.quarkus:quarkus-container-image-docker")
@@ -23,10 +25,13 @@ dependencies {
     implementation("io.quarkus:quarkus-arc")
     implementation("org.mapstruct:mapstruct:$mapstructVersion")
     implementation("io.quarkus:quarkus-scheduler")
+    implementation("io.quarkus:quarkus-micrometer-registry-prometheus")
     annotationProcessor("org.mapstruct:mapstruct-processor:$mapstructVersion")
     testImplementation("io.quarkus:quarkus-junit5")
     testImplementation("io.quarkus:quarkus-junit5-mockito")
     testImplementation("io.rest-assured:rest-assured")
+    "loadtestImplementation"(enforcedPlatform("${quarkusPlatformGroupId}:${quarkusPlatformArtifactId}:${quarkusPlatformVersion}"))
+    "loadtestImplementation"("com.fasterxml.jackson.core:jackson-databind")
 }
 
 group = "org.catutd"
@@ -46,6 +51,23 @@ sonar {
     }
 }
 
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("JSON")
+    jvmArgs.addAll(
+        "-Dorg.jboss.logging.provider=jdk",
+        "-Djava.util.logging.config.file=${file("src/jmh/resources/logging.properties")}"
+    )
+    (findProperty("jmhIncludes") as String?)?.let { includes.add(it) }
+}
+
+tasks.register<JavaExec>("loadTest") {
+    description = "Plays full games with headless web socket clients against a running server."
+    group = "verification"
+    classpath = loadtest.runtimeClasspath
+    mainClass.set("com.example.cataniaunited.loadtest.LoadTest")
+}
+
 tasks.withType<Test> {
     systemProperty("java.util.logging.manager", "org.jboss.logmanager.LogManager")
 }
@@ -60,10 +82,26 @@ tasks.withType<JavaCompile> {
 }
 
 tasks.test {
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("scaling")
+    }
     finalizedBy(tasks.jacocoTestReport)
 }
 
+tasks.register<Test>("scalingTest") {
+    description = "Checks the time and memory budgets of boards for the largest lobbies, without coverage instrumentation."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("scaling")
+    }
+    extensions.configure<JacocoTaskExtension> {
+        isEnabled = false
+    }
+    shouldRunAfter(tasks.test)
+}
+
 tasks.jacocoTestReport {
     dependsOn(tasks.test)
 
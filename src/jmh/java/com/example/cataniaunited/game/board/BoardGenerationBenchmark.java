@@ -0,0 +1,73 @@
+package com.example.cataniaunited.game.board;
+
+import com.example.cataniaunited.game.board.tile_list_builder.StandardTileListBuilder;
+import com.example.cataniaunited.game.board.tile_list_builder.Tile;
+import com.example.cataniaunited.game.board.tile_list_builder.TileListDirector;
+import com.example.cataniaunited.util.GameRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+/**
+ * Measures the generation of a {@link GameBoard} per number of rings: building the tile list with the
+ * {@link StandardTileListBuilder} alone, building the tile list followed by {@link GraphBuilder#generateGraph()},
+ * and building the board from the cached {@link BoardTemplate} of its size, which is what the constructor of the
+ * board does. Both link the tiles to their building sites, so every invocation needs a fresh tile list.
+ * {@link #axialLayout()} measures computing the layout of a size with the {@link AxialBoardLayout}, which
+ * is done once per size for its template, against {@link #tileListAndGraph()}.
+ * Run with {@code ./gradlew jmh}; results are written to {@code build/results/jmh/results.json}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BoardGenerationBenchmark {
+
+    @Param({"3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "20", "30"})
+    int sizeOfBoard;
+
+    // Seeded once, so no invocation pays for drawing a new seed
+    private final RandomGenerator random = GameRandom.fromSeed(42);
+
+    @Benchmark
+    public List<Tile> tileList() {
+        TileListDirector director = new TileListDirector(new StandardTileListBuilder(random));
+        return director.constructStandardTileList(sizeOfBoard, GameBoard.SIZE_OF_HEX, true);
+    }
+
+    @Benchmark
+    public List<BuildingSite> tileListAndGraph() {
+        GraphBuilder graphBuilder = new GraphBuilder(tileList(), sizeOfBoard);
+        return graphBuilder.generateGraph();
+    }
+
+    @Benchmark
+    public List<BuildingSite> tileListAndTemplate() {
+        BoardTemplate template = BoardTemplate.forSize(sizeOfBoard);
+        TileListDirector director = new TileListDirector(new StandardTileListBuilder(random));
+        List<Tile> tiles = director.constructShuffledTileList(sizeOfBoard, GameBoard.SIZE_OF_HEX, true);
+        template.placeTiles(tiles);
+        List<BuildingSite> sites = template.createBuildingSites(tiles);
+        template.createRoads(sites);
+        template.createPorts(sites, random);
+        return sites;
+    }
+
+    @Benchmark
+    public BoardTopology axialLayout() {
+        return new AxialBoardLayout(sizeOfBoard, GameBoard.SIZE_OF_HEX).toTopology();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.cataniaunited.game.board;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares serializing a {@link GameBoard} via the {@link Placable#toJson()} tree
+ * with streaming it through {@link GameBoard#writeJson(JsonGenerator)}. {@code jsonTree} measures
+ * building the tree alone, as done by {@link GameBoard#getJson()}.
+ * Run with {@code ./gradlew jmh}; results are written to {@code build/results/jmh/results.json}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BoardSerializationBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @Param({"3", "4", "5", "6", "7", "8", "9", "10"})
+    int ringsOfBoard;
+
+    private GameBoard gameBoard;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+    @Setup
+    public void setUp() {
+        int playerCount = 2;
+        while (GameBoard.calculateSizeOfBoard(playerCount) < ringsOfBoard) {
+            playerCount++;
+        }
+        gameBoard = new GameBoard(playerCount);
+    }
+
+    @Benchmark
+    public ObjectNode jsonTree() {
+        return gameBoard.getJson();
+    }
+
+    @Benchmark
+    public byte[] treeSerialization() throws IOException {
+        return MAPPER.writeValueAsBytes(gameBoard.getJson());
+    }
+
+    @Benchmark
+    public byte[] streamingSerialization() throws IOException {
+        buffer.reset();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(buffer)) {
+            gameBoard.writeJson(generator);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.cataniaunited.game.board;
+
+import com.example.cataniaunited.util.Util;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The depth first search {@link LongestRoadCalculator} used before road networks were indexed: it copies
+ * the set of visited roads at every step and looks roads up in the list of the player.
+ * Kept as the baseline of {@link LongestRoadBenchmark}, it does not treat buildings of other players as breaking a road.
+ */
+class LegacyLongestRoadCalculator {
+
+    private int overallMaxLength;
+
+    public int calculateFor(List<Road> allPlayerRoads) {
+        if (Util.isEmpty(allPlayerRoads)) {
+            return 0;
+        }
+
+        this.overallMaxLength = 0;
+
+        for (Road road : allPlayerRoads) {
+            Set<Road> visited = new HashSet<>();
+            visited.add(road);
+            findLongestPath(road.positionA, 1, visited, allPlayerRoads);
+
+            visited = new HashSet<>();
+            visited.add(road);
+            findLongestPath(road.positionB, 1, visited, allPlayerRoads);
+        }
+
+        return this.overallMaxLength;
+    }
+
+
+    private void findLongestPath(BuildingSite currentNode, int currentLength, Set<Road> visited, List<Road> allPlayerRoads) {
+
+        if (currentLength > this.overallMaxLength) {
+            this.overallMaxLength = currentLength;
+        }
+
+        for (Road neighborRoad : currentNode.getRoads()) {
+            if (allPlayerRoads.contains(neighborRoad) && !visited.contains(neighborRoad)) {
+                Set<Road> newVisited = new HashSet<>(visited);
+                newVisited.add(neighborRoad);
+
+                BuildingSite nextNode = neighborRoad.getNeighbour(currentNode);
+                if (nextNode != null) {
+                    findLongestPath(nextNode, currentLength + 1, newVisited, allPlayerRoads);
+                }
+            }
+        }
+    }
+}
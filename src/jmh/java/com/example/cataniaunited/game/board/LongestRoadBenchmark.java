@@ -0,0 +1,144 @@
+package com.example.cataniaunited.game.board;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link LongestRoadCalculator} on road networks of a single player: {@code calculateFor} searches
+ * all networks, {@code calculateForPlacedRoad} only the network of the last road, as {@code GameService} does
+ * after placing a road, and {@code legacyCalculateFor} runs the {@link LegacyLongestRoadCalculator} for comparison.
+ * <ul>
+ *     <li>{@code chain}: one path without branches, the cheapest network of the given length.</li>
+ *     <li>{@code branching}: a spanning tree grown depth first, every site forks into all free roads.</li>
+ *     <li>{@code cluster}: all roads closest to one building site, forming adjacent hexagon loops.
+ *     This is the adversarial case, as the number of simple paths grows exponentially with the loops.</li>
+ * </ul>
+ * Run with {@code ./gradlew jmh}; results are written to {@code build/results/jmh/results.json}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LongestRoadBenchmark {
+
+    @Param({"chain", "branching", "cluster"})
+    String network;
+
+    @Param({"5", "10", "15", "20"})
+    int roadCount;
+
+    private List<Road> roads;
+
+    @Setup
+    public void setUp() {
+        GameBoard gameBoard = new GameBoard(4);
+        BuildingSite start = gameBoard.getBuildingSitePositionGraph().get(0);
+        roads = switch (network) {
+            case "chain" -> chain(start, roadCount);
+            case "branching" -> branching(start, roadCount);
+            case "cluster" -> cluster(start, roadCount);
+            default -> throw new IllegalArgumentException("Unknown road network: " + network);
+        };
+    }
+
+    @Benchmark
+    public int calculateFor() {
+        return new LongestRoadCalculator().calculateFor(roads);
+    }
+
+    @Benchmark
+    public int calculateForPlacedRoad() {
+        return new LongestRoadCalculator().calculateFor(roads, roads.get(roads.size() - 1));
+    }
+
+    @Benchmark
+    public int legacyCalculateFor() {
+        return new LegacyLongestRoadCalculator().calculateFor(roads);
+    }
+
+    private static List<Road> chain(BuildingSite start, int roadCount) {
+        List<Road> chain = new ArrayList<>();
+        Set<BuildingSite> visited = new HashSet<>();
+        BuildingSite current = start;
+        visited.add(current);
+        while (chain.size() < roadCount) {
+            Road next = null;
+            for (Road road : current.getRoads()) {
+                if (!visited.contains(road.getNeighbour(current))) {
+                    next = road;
+                    break;
+                }
+            }
+            if (next == null) {
+                break;
+            }
+            chain.add(next);
+            current = next.getNeighbour(current);
+            visited.add(current);
+        }
+        return chain;
+    }
+
+    private static List<Road> branching(BuildingSite start, int roadCount) {
+        Set<Road> tree = new LinkedHashSet<>();
+        Set<BuildingSite> visited = new HashSet<>();
+        grow(start, roadCount, tree, visited);
+        return new ArrayList<>(tree);
+    }
+
+    private static void grow(BuildingSite site, int roadCount, Set<Road> tree, Set<BuildingSite> visited) {
+        visited.add(site);
+        for (Road road : site.getRoads()) {
+            BuildingSite neighbour = road.getNeighbour(site);
+            if (tree.size() >= roadCount) {
+                return;
+            }
+            if (!visited.contains(neighbour)) {
+                tree.add(road);
+                grow(neighbour, roadCount, tree, visited);
+            }
+        }
+    }
+
+    private static List<Road> cluster(BuildingSite start, int roadCount) {
+        Set<Road> cluster = new LinkedHashSet<>();
+        Set<BuildingSite> visited = new HashSet<>();
+        Queue<BuildingSite> queue = new ArrayDeque<>();
+        queue.add(start);
+        visited.add(start);
+        while (!queue.isEmpty() && cluster.size() < roadCount) {
+            BuildingSite site = queue.poll();
+            for (Road road : site.getRoads()) {
+                if (cluster.size() >= roadCount) {
+                    break;
+                }
+                cluster.add(road);
+                BuildingSite neighbour = road.getNeighbour(site);
+                if (visited.add(neighbour)) {
+                    queue.add(neighbour);
+                }
+            }
+        }
+        return new ArrayList<>(cluster);
+    }
+}
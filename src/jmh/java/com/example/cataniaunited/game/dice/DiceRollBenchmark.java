@@ -0,0 +1,75 @@
+package com.example.cataniaunited.game.dice;
+
+import com.example.cataniaunited.exception.GameException;
+import com.example.cataniaunited.game.BuildRequest;
+import com.example.cataniaunited.game.board.BuildingSite;
+import com.example.cataniaunited.game.board.GameBoard;
+import com.example.cataniaunited.game.board.Road;
+import com.example.cataniaunited.player.Player;
+import com.example.cataniaunited.player.PlayerColor;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rolling the dice of a {@link GameBoard} including the resource distribution: the board looks up
+ * the buildings next to tiles with the rolled value in its production table and hands out their resources.
+ * Every player owns the maximum number of settlements, placed on the first free building sites.
+ * Run with {@code ./gradlew jmh}; results are written to {@code build/results/jmh/results.json}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DiceRollBenchmark {
+
+    @Param({"2", "4", "6", "8"})
+    int playerCount;
+
+    private GameBoard gameBoard;
+
+    @Setup
+    public void setUp() throws GameException {
+        gameBoard = new GameBoard(playerCount);
+        PlayerColor[] colors = PlayerColor.values();
+        for (int i = 0; i < playerCount; i++) {
+            placeSettlements(new Player("Player" + i), colors[i]);
+        }
+    }
+
+    @Benchmark
+    public ObjectNode rollDice() {
+        return gameBoard.rollDice();
+    }
+
+    private void placeSettlements(Player player, PlayerColor color) throws GameException {
+        int placed = 0;
+        for (BuildingSite buildingSite : gameBoard.getBuildingSitePositionGraph()) {
+            if (placed == 5) {
+                return;
+            }
+            boolean spacingRuleMet = buildingSite.getBuildingOwner() == null
+                    && buildingSite.getNeighbours().stream().allMatch(neighbour -> neighbour.getBuildingOwner() == null);
+            Road road = buildingSite.getRoads().stream().filter(r -> r.getOwner() == null).findFirst().orElse(null);
+            if (spacingRuleMet && road != null) {
+                road.setOwner(player);
+                gameBoard.placeSettlement(new BuildRequest(player, color, buildingSite.getId(), true, Optional.empty()));
+                placed++;
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.cataniaunited.game.trade;
+
+import com.example.cataniaunited.exception.GameException;
+import com.example.cataniaunited.game.board.tile_list_builder.TileType;
+import com.example.cataniaunited.journal.GameJournal;
+import com.example.cataniaunited.player.Player;
+import com.example.cataniaunited.player.PlayerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link TradingService#handleBankTradeRequest(String, TradeRequest)} for a valid 4:1 trade with the bank,
+ * for a player without ports. The player is refilled before every iteration, so no trade fails for lack of resources.
+ * Run with {@code ./gradlew jmh}; results are written to {@code build/results/jmh/results.json}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BankTradeBenchmark {
+
+    private static final int RESOURCES_PER_ITERATION = 1_000_000_000;
+
+    private final TradeRequest tradeRequest = new TradeRequest(Map.of(TileType.WOOD, 4), Map.of(TileType.CLAY, 1));
+    private TradingService tradingService;
+    private Player player;
+
+    @Setup
+    public void setUp() {
+        PlayerService playerService = new PlayerService();
+        player = new Player("Trader");
+        playerService.addPlayerWithoutConnection(player);
+        tradingService = new TradingService();
+        tradingService.playerService = playerService;
+        tradingService.gameJournal = GameJournal.disabled();
+    }
+
+    @Setup(Level.Iteration)
+    public void refillResources() {
+        player.receiveResource(TileType.WOOD, RESOURCES_PER_ITERATION - player.getResourceCount(TileType.WOOD));
+    }
+
+    @Benchmark
+    public Player handleBankTradeRequest() throws GameException {
+        tradingService.handleBankTradeRequest(player.getUniqueId(), tradeRequest);
+        return player;
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.cataniaunited.lobby;
+
+import com.example.cataniaunited.game.board.GameBoard;
+import io.smallrye.mutiny.Uni;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link ExecutionMode}s of the {@link LobbyCommandExecutor} with 1000 concurrent lobbies.
+ * A fixed set of single threaded executors stands in for the Vert.x event loops: they receive the
+ * commands of their lobbies and complete the responses, like the web socket I/O does. A share of the
+ * commands generates a game board, as starting a game does, all others only update lobby state.
+ * <p>
+ * {@code commandRound} sends one command to every lobby and waits for all responses, reporting
+ * throughput and the latency distribution of a round. The {@code underLoad} group measures the latency
+ * of a cheap command of a separate lobby while rounds are running, which shows how long the event loop
+ * it shares with other lobbies is blocked.
+ * Run with {@code ./gradlew jmh}; results are written to {@code build/results/jmh/results.json}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LobbyExecutionBenchmark {
+
+    private static final int LOBBIES = 1000;
+    private static final int EVENT_LOOPS = 2 * Runtime.getRuntime().availableProcessors();
+    private static final String PROBE_LOBBY = "probe";
+
+    @Param({"EVENT_LOOP", "WORKER", "VIRTUAL_THREAD"})
+    ExecutionMode executionMode;
+
+    @Param({"0", "5"})
+    int boardGenerationPercent;
+
+    private LobbyCommandExecutor lobbyCommandExecutor;
+    private ExecutorService[] eventLoops;
+    private String[] lobbyIds;
+    private int[] commandCounts;
+    private int probeCommandCount;
+
+    @Setup
+    public void setUp() {
+        lobbyCommandExecutor = new LobbyCommandExecutor();
+        lobbyCommandExecutor.executionMode = executionMode;
+        lobbyCommandExecutor.workerPoolSize = Runtime.getRuntime().availableProcessors();
+        lobbyCommandExecutor.start();
+
+        eventLoops = new ExecutorService[EVENT_LOOPS];
+        for (int i = 0; i < EVENT_LOOPS; i++) {
+            eventLoops[i] = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("event-loop-" + i).daemon().factory());
+        }
+
+        lobbyIds = new String[LOBBIES];
+        commandCounts = new int[LOBBIES];
+        for (int i = 0; i < LOBBIES; i++) {
+            lobbyIds[i] = "lobby" + i;
+            lobbyCommandExecutor.register(lobbyIds[i]);
+        }
+        lobbyCommandExecutor.register(PROBE_LOBBY);
+    }
+
+    @TearDown
+    public void tearDown() {
+        lobbyCommandExecutor.stop();
+        for (ExecutorService eventLoop : eventLoops) {
+            eventLoop.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public void commandRound() {
+        sendRound();
+    }
+
+    @Benchmark
+    @Group("underLoad")
+    @GroupThreads(1)
+    public void load() {
+        sendRound();
+    }
+
+    @Benchmark
+    @Group("underLoad")
+    @GroupThreads(1)
+    public int probe() {
+        return send(PROBE_LOBBY, eventLoops[0], () -> ++probeCommandCount).join();
+    }
+
+    private void sendRound() {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[LOBBIES];
+        for (int i = 0; i < LOBBIES; i++) {
+            int lobby = i;
+            responses[i] = send(lobbyIds[lobby], eventLoops[lobby % EVENT_LOOPS], () -> handleCommand(lobby));
+        }
+        CompletableFuture.allOf(responses).join();
+    }
+
+    private int handleCommand(int lobby) {
+        int commandCount = ++commandCounts[lobby];
+        if (Math.floorMod(lobby * 31 + commandCount, 100) < boardGenerationPercent) {
+            return new GameBoard(4).getTileList().size();
+        }
+        return commandCount;
+    }
+
+    /**
+     * Sends a command the way a connection does: the event loop receives it and submits it to the
+     * mailbox of the lobby, the response is completed by the event loop again.
+     */
+    private CompletableFuture<Integer> send(String lobbyId, ExecutorService eventLoop, CommandWork work) {
+        CompletableFuture<Integer> response = new CompletableFuture<>();
+        eventLoop.execute(() -> lobbyCommandExecutor.submit(lobbyId, () -> {
+                    int result = work.run();
+                    return Uni.createFrom().completionStage(CompletableFuture.supplyAsync(() -> result, eventLoop));
+                })
+                .subscribe().with(response::complete, response::completeExceptionally));
+        return response;
+    }
+
+    @FunctionalInterface
+    private interface CommandWork {
+        int run();
+    }
+}
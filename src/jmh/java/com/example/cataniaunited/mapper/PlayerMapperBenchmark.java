@@ -0,0 +1,68 @@
+package com.example.cataniaunited.mapper;
+
+import com.example.cataniaunited.dto.PlayerInfo;
+import com.example.cataniaunited.lobby.Lobby;
+import com.example.cataniaunited.player.Player;
+import com.example.cataniaunited.player.PlayerColor;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures mapping all players of a started game to {@link PlayerInfo}s with {@link PlayerMapper#toDto(Player, Lobby)},
+ * as done for every lobby and game update sent to the players.
+ * Run with {@code ./gradlew jmh}; results are written to {@code build/results/jmh/results.json}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlayerMapperBenchmark {
+
+    @Param({"2", "4", "8"})
+    int playerCount;
+
+    private final PlayerMapper playerMapper = Mappers.getMapper(PlayerMapper.class);
+    private final List<Player> players = new ArrayList<>();
+    private Lobby lobby;
+
+    @Setup
+    public void setUp() {
+        PlayerColor[] colors = PlayerColor.values();
+        for (int i = 0; i < playerCount; i++) {
+            Player player = new Player("Player" + i);
+            players.add(player);
+            if (lobby == null) {
+                lobby = new Lobby("abc123", player.getUniqueId());
+            } else {
+                lobby.addPlayer(player.getUniqueId());
+            }
+            lobby.setPlayerColor(player.getUniqueId(), colors[i]);
+        }
+        lobby.startGame();
+    }
+
+    @Benchmark
+    public List<PlayerInfo> toDto() {
+        List<PlayerInfo> playerInfos = new ArrayList<>(players.size());
+        for (Player player : players) {
+            playerInfos.add(playerMapper.toDto(player, lobby));
+        }
+        return playerInfos;
+    }
+}
@@ -0,0 +1,300 @@
+package com.example.cataniaunited.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The view a bot has of the game board. The snapshot sent with {@code GAME_STARTED} only contains the
+ * coordinates of building sites and roads, so the two building sites closest to the center of a road are
+ * taken as its ends. Owners are kept up to date from the changes of the {@code boardUpdate} patches.
+ */
+final class BoardModel {
+
+    private final int[][] roadEnds;
+    private final int[][] roadsOfSite;
+    private final String[] siteOwner;
+    private final boolean[] city;
+    private final String[] roadOwner;
+
+    private BoardModel(int[][] roadEnds, int[][] roadsOfSite) {
+        this.roadEnds = roadEnds;
+        this.roadsOfSite = roadsOfSite;
+        this.siteOwner = new String[roadsOfSite.length];
+        this.city = new boolean[roadsOfSite.length];
+        this.roadOwner = new String[roadEnds.length];
+    }
+
+    /**
+     * Builds the model from the {@code gameboard} snapshot of the server.
+     *
+     * @param gameboard The JSON snapshot, containing {@code settlementPositions} and {@code roads}.
+     * @return The model, with the owners of the snapshot applied.
+     */
+    static BoardModel fromSnapshot(JsonNode gameboard) {
+        JsonNode sites = gameboard.get("settlementPositions");
+        JsonNode roads = gameboard.get("roads");
+        int maxSiteId = 0;
+        for (JsonNode site : sites) {
+            maxSiteId = Math.max(maxSiteId, site.get("id").asInt());
+        }
+        int maxRoadId = 0;
+        for (JsonNode road : roads) {
+            maxRoadId = Math.max(maxRoadId, road.get("id").asInt());
+        }
+
+        int[][] roadEnds = new int[maxRoadId + 1][];
+        List<List<Integer>> roadsOfSite = new ArrayList<>();
+        for (int i = 0; i <= maxSiteId; i++) {
+            roadsOfSite.add(new ArrayList<>());
+        }
+        for (JsonNode road : roads) {
+            int[] ends = closestSites(sites, road.get("coordinates"));
+            int roadId = road.get("id").asInt();
+            roadEnds[roadId] = ends;
+            roadsOfSite.get(ends[0]).add(roadId);
+            roadsOfSite.get(ends[1]).add(roadId);
+        }
+
+        int[][] siteRoads = new int[maxSiteId + 1][];
+        for (int i = 0; i <= maxSiteId; i++) {
+            siteRoads[i] = roadsOfSite.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        BoardModel model = new BoardModel(roadEnds, siteRoads);
+        for (JsonNode site : sites) {
+            JsonNode building = site.get("building");
+            if (building != null && !building.isNull()) {
+                model.applyBuilding(site.get("id").asInt(), building);
+            }
+        }
+        for (JsonNode road : roads) {
+            JsonNode owner = road.get("owner");
+            if (owner != null && !owner.isNull()) {
+                model.roadOwner[road.get("id").asInt()] = owner.asText();
+            }
+        }
+        return model;
+    }
+
+    private static int[] closestSites(JsonNode sites, JsonNode center) {
+        double x = center.get(0).asDouble();
+        double y = center.get(1).asDouble();
+        int first = -1;
+        int second = -1;
+        double firstDistance = Double.MAX_VALUE;
+        double secondDistance = Double.MAX_VALUE;
+        for (JsonNode site : sites) {
+            JsonNode coordinates = site.get("coordinates");
+            double dx = coordinates.get(0).asDouble() - x;
+            double dy = coordinates.get(1).asDouble() - y;
+            double distance = dx * dx + dy * dy;
+            if (distance < firstDistance) {
+                second = first;
+                secondDistance = firstDistance;
+                first = site.get("id").asInt();
+                firstDistance = distance;
+            } else if (distance < secondDistance) {
+                second = site.get("id").asInt();
+                secondDistance = distance;
+            }
+        }
+        return new int[]{first, second};
+    }
+
+    /**
+     * Applies the changes of a {@code boardUpdate}. Changes are idempotent, so patches which
+     * overlap with changes already applied do no harm.
+     *
+     * @param boardUpdate The {@code boardUpdate} object of a server message.
+     */
+    void applyUpdate(JsonNode boardUpdate) {
+        for (JsonNode change : boardUpdate.path("changes")) {
+            switch (change.path("type").asText()) {
+                case "BUILDING_PLACED", "BUILDING_UPGRADED" ->
+                        applyBuilding(change.get("positionId").asInt(), change.get("building"));
+                case "ROAD_CLAIMED" -> roadOwner[change.get("roadId").asInt()] = change.get("owner").asText();
+                default -> {
+                    // The longest road does not change which moves are possible
+                }
+            }
+        }
+    }
+
+    private void applyBuilding(int siteId, JsonNode building) {
+        siteOwner[siteId] = building.get("owner").asText();
+        city[siteId] = "City".equals(building.path("type").asText());
+    }
+
+    /**
+     * Returns a free building site which satisfies the spacing rule and has a free road next to it,
+     * as needed for a settlement and its road in the setup rounds.
+     *
+     * @param start The site to start searching at, to spread the bots over the board.
+     * @return The site ID, or -1 if there is none.
+     */
+    int findSetupSite(int start) {
+        for (int i = 0; i < siteOwner.length; i++) {
+            int site = (start + i) % siteOwner.length;
+            if (isSpacingRuleMet(site) && findFreeRoad(site) >= 0) {
+                return site;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a free road next to the given building site.
+     *
+     * @param site The building site.
+     * @return The road ID, or -1 if there is none.
+     */
+    int findFreeRoad(int site) {
+        for (int road : roadsOfSite[site]) {
+            if (roadOwner[road] == null) {
+                return road;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a building site the player may place a settlement on outside the setup rounds:
+     * the site and its neighbours are free, and one of the roads next to it is owned by the player.
+     *
+     * @param playerId The player.
+     * @return The site ID, or -1 if there is none.
+     */
+    int findSettlementSite(String playerId) {
+        for (int site = 0; site < siteOwner.length; site++) {
+            if (isSpacingRuleMet(site) && hasOwnRoad(site, playerId)) {
+                return site;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a free road the player may build: one of its ends has a road of the player
+     * and no building of another player.
+     * Roads leading to a site a settlement could be placed on are preferred.
+     *
+     * @param playerId The player.
+     * @return The road ID, or -1 if there is none.
+     */
+    int findRoad(String playerId) {
+        int fallback = -1;
+        for (int road = 0; road < roadEnds.length; road++) {
+            if (roadEnds[road] == null || roadOwner[road] != null) {
+                continue;
+            }
+            for (int end = 0; end < 2; end++) {
+                int site = roadEnds[road][end];
+                if (!canExtendFrom(site, playerId)) {
+                    continue;
+                }
+                if (isSpacingRuleMet(roadEnds[road][1 - end])) {
+                    return road;
+                }
+                fallback = fallback < 0 ? road : fallback;
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * Returns a settlement of the player which can be upgraded to a city.
+     *
+     * @param playerId The player.
+     * @return The site ID, or -1 if there is none.
+     */
+    int findSettlement(String playerId) {
+        for (int site = 0; site < siteOwner.length; site++) {
+            if (playerId.equals(siteOwner[site]) && !city[site]) {
+                return site;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Counts the settlements and cities of a player.
+     *
+     * @param playerId The player.
+     * @return The number of buildings.
+     */
+    int countBuildings(String playerId) {
+        int count = 0;
+        for (String owner : siteOwner) {
+            if (playerId.equals(owner)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts the cities of a player.
+     *
+     * @param playerId The player.
+     * @return The number of cities.
+     */
+    int countCities(String playerId) {
+        int count = 0;
+        for (int site = 0; site < siteOwner.length; site++) {
+            if (city[site] && playerId.equals(siteOwner[site])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts the roads of a player.
+     *
+     * @param playerId The player.
+     * @return The number of roads.
+     */
+    int countRoads(String playerId) {
+        int count = 0;
+        for (String owner : roadOwner) {
+            if (playerId.equals(owner)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    int getSiteCount() {
+        return siteOwner.length;
+    }
+
+    private boolean canExtendFrom(int site, String playerId) {
+        String owner = siteOwner[site];
+        return (owner == null || owner.equals(playerId)) && hasOwnRoad(site, playerId);
+    }
+
+    private boolean hasOwnRoad(int site, String playerId) {
+        for (int road : roadsOfSite[site]) {
+            if (playerId.equals(roadOwner[road])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isSpacingRuleMet(int site) {
+        if (siteOwner[site] != null || roadsOfSite[site].length == 0) {
+            return false;
+        }
+        for (int road : roadsOfSite[site]) {
+            int[] ends = roadEnds[road];
+            int neighbour = ends[0] == site ? ends[1] : ends[0];
+            if (siteOwner[neighbour] != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
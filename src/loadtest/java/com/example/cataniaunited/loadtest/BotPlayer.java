@@ -0,0 +1,465 @@
+package com.example.cataniaunited.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A headless player. It joins its lobby, gets ready and plays whenever it is the active player:
+ * a settlement and a road in the setup rounds, then rolling the dice, building whatever it can afford,
+ * trading with the bank and the other players, and ending the turn, until one of the bots has won.
+ * <p>
+ * The state of the bot is only changed while holding its monitor. Messages of the server are handled in
+ * {@link #onMessage(JsonNode)} before the pending request is completed, so the continuations of a request
+ * always see the state the response carries.
+ */
+final class BotPlayer {
+
+    private static final int MAX_SETTLEMENTS = 5;
+    private static final int MAX_CITIES = 4;
+    private static final int MAX_ROADS = 15;
+    private static final int MAX_ACTIONS_PER_TURN = 8;
+    private static final int BANK_TRADE_RATIO = 4;
+    private static final double PLAYER_TRADE_PROBABILITY = 0.3;
+
+    private static final Map<String, Integer> SETTLEMENT_COST = Map.of("WOOD", 1, "CLAY", 1, "WHEAT", 1, "SHEEP", 1);
+    private static final Map<String, Integer> CITY_COST = Map.of("WHEAT", 2, "ORE", 3);
+    private static final List<String> RESOURCES = List.of("WOOD", "CLAY", "WHEAT", "SHEEP", "ORE");
+
+    private final GameClient client;
+    private final LobbyRun lobbyRun;
+    private final String username;
+    private final boolean host;
+    private final int maxTurns;
+    private final Random random;
+
+    private String lobbyId;
+    private JsonNode players = JsonNodeFactory.instance.objectNode();
+    private BoardModel board;
+    private boolean busy = true;
+    private boolean startRequested;
+    private boolean awaitingUpdate;
+    private int rollVersion;
+    private int turns;
+
+    BotPlayer(GameClient client, LobbyRun lobbyRun, String username, boolean host, int maxTurns, long seed) {
+        this.client = client;
+        this.lobbyRun = lobbyRun;
+        this.username = username;
+        this.host = host;
+        this.maxTurns = maxTurns;
+        this.random = new Random(seed);
+        client.setMessageHandler(this::onMessage);
+    }
+
+    /**
+     * Connects, creates or joins the lobby, sets the username and gets ready.
+     * The host creates the lobby, all other bots wait for its ID.
+     *
+     * @param httpClient The client to open the web socket with.
+     * @param uri        The URI of the {@code /game} endpoint.
+     * @return A future completing once the bot is ready.
+     */
+    CompletableFuture<Void> join(HttpClient httpClient, URI uri) {
+        return client.connect(httpClient, uri)
+                .thenCompose(playerId -> host ? createLobby() : lobbyRun.getLobbyId().thenCompose(this::joinLobby))
+                .thenCompose(response -> client.request("SET_USERNAME", lobbyId, payload("username", username)))
+                .thenCompose(response -> client.request("SET_READY", lobbyId, null))
+                .thenRun(this::idle);
+    }
+
+    void close() {
+        client.close();
+    }
+
+    private CompletableFuture<JsonNode> createLobby() {
+        return client.request("CREATE_LOBBY", null, null).thenApply(response -> {
+            requireSuccess(response);
+            String id = response.path("lobbyId").asText();
+            synchronized (this) {
+                lobbyId = id;
+            }
+            lobbyRun.lobbyCreated(id);
+            return response;
+        });
+    }
+
+    private CompletableFuture<JsonNode> joinLobby(String id) {
+        synchronized (this) {
+            lobbyId = id;
+        }
+        return client.request("JOIN_LOBBY", id, null).thenApply(response -> {
+            requireSuccess(response);
+            return response;
+        });
+    }
+
+    private synchronized void onMessage(JsonNode message) {
+        JsonNode messagePlayers = message.get("players");
+        // Messages like DICE_RESULT carry no players, only changes to them
+        if (messagePlayers != null && messagePlayers.isObject() && messagePlayers.size() > 0) {
+            players = messagePlayers;
+            awaitingUpdate = false;
+        }
+        JsonNode payload = message.path("message");
+        switch (message.path("type").asText()) {
+            case "GAME_STARTED" -> board = BoardModel.fromSnapshot(payload.get("gameboard"));
+            case "DICE_RESULT" -> applyDiceResult(message.path("player").asText(), payload);
+            case "GET_PLAYERS" -> rollVersion = payload.path("rollVersion").asInt();
+            case "GAME_WON" -> lobbyRun.finish(LobbyRun.Outcome.WON);
+            case "LOBBY_CLOSED" -> lobbyRun.fail(new IllegalStateException("Lobby " + lobbyId + " was closed"));
+            case "TRADE_OFFER" -> answerTradeOffer(payload);
+            default -> {
+                // Only the state carried by the message is of interest
+            }
+        }
+        JsonNode boardUpdate = payload.get("boardUpdate");
+        if (board != null && boardUpdate != null) {
+            board.applyUpdate(boardUpdate);
+        }
+        act();
+    }
+
+    /**
+     * Applies a dice roll following the last known one, or reloads the players if a roll was missed,
+     * as the production of a roll only holds the changes of that roll.
+     */
+    private void applyDiceResult(String rollingPlayer, JsonNode diceResult) {
+        int version = diceResult.path("rollVersion").asInt();
+        if (version != rollVersion + 1) {
+            rollVersion = version;
+            awaitingUpdate = true;
+            client.sendWithoutResponse("GET_PLAYERS", lobbyId, null);
+            return;
+        }
+        rollVersion = version;
+        applyProduction(rollingPlayer, diceResult);
+    }
+
+    /**
+     * Applies a dice roll to the known players: the rolling player can no longer roll, and every player
+     * gains the resources listed in the production of the roll.
+     */
+    private void applyProduction(String rollingPlayer, JsonNode diceResult) {
+        if (players.get(rollingPlayer) instanceof ObjectNode roller) {
+            roller.put("canRollDice", false);
+        }
+        Iterator<Map.Entry<String, JsonNode>> gains = diceResult.path("production").fields();
+        while (gains.hasNext()) {
+            Map.Entry<String, JsonNode> gain = gains.next();
+            if (!(players.get(gain.getKey()) instanceof ObjectNode player)) {
+                continue;
+            }
+            ObjectNode resources = player.get("resources") instanceof ObjectNode known ? known : player.putObject("resources");
+            Iterator<Map.Entry<String, JsonNode>> gained = gain.getValue().fields();
+            while (gained.hasNext()) {
+                Map.Entry<String, JsonNode> resource = gained.next();
+                resources.put(resource.getKey(), resources.path(resource.getKey()).asInt() + resource.getValue().asInt());
+            }
+        }
+    }
+
+    /**
+     * Decides what to do next, unless a request is outstanding: the host starts the game once all bots are
+     * ready, the active player takes its turn. Called after every message and every finished request.
+     */
+    private synchronized void act() {
+        if (busy || awaitingUpdate || lobbyRun.isDone()) {
+            return;
+        }
+        if (board == null) {
+            if (host && !startRequested && isLobbyReady()) {
+                startGame();
+            }
+            return;
+        }
+        if (!isActivePlayer()) {
+            return;
+        }
+        if (++turns > maxTurns) {
+            lobbyRun.finish(LobbyRun.Outcome.TURN_LIMIT);
+            return;
+        }
+        busy = true;
+        CompletableFuture<Void> turn = me().path("isSetupRound").asBoolean() ? setupTurn() : turn();
+        turn.thenCompose(v -> endTurn()).whenComplete(this::afterRequest);
+    }
+
+    private synchronized void idle() {
+        busy = false;
+        act();
+    }
+
+    private void afterRequest(Object result, Throwable failure) {
+        if (failure != null) {
+            lobbyRun.fail(failure);
+        } else {
+            idle();
+        }
+    }
+
+    private void startGame() {
+        busy = true;
+        startRequested = true;
+        client.request("START_GAME", lobbyId, null).thenAccept(response -> {
+            if (isError(response)) {
+                // Retried once the lobby changed, e.g. a bot got ready
+                synchronized (this) {
+                    startRequested = false;
+                    awaitingUpdate = true;
+                }
+            }
+        }).whenComplete(this::afterRequest);
+    }
+
+    private CompletableFuture<Void> setupTurn() {
+        int site = board.findSetupSite(random.nextInt(board.getSiteCount()));
+        if (site < 0) {
+            return done();
+        }
+        int road = board.findFreeRoad(site);
+        return client.request("PLACE_ROAD", lobbyId, payload("roadId", road))
+                .thenCompose(response -> isError(response)
+                        ? done()
+                        : discard(client.request("PLACE_SETTLEMENT", lobbyId, payload("settlementPositionId", site))));
+    }
+
+    private CompletableFuture<Void> turn() {
+        CompletableFuture<Void> roll = me().path("canRollDice").asBoolean()
+                ? discard(client.request("ROLL_DICE", lobbyId, null))
+                : done();
+        return roll.thenCompose(v -> build(MAX_ACTIONS_PER_TURN))
+                .thenCompose(v -> offerTrade());
+    }
+
+    private CompletableFuture<Void> build(int remainingActions) {
+        Command command;
+        synchronized (this) {
+            command = remainingActions > 0 && !lobbyRun.isDone() ? nextBuildCommand() : null;
+        }
+        if (command == null) {
+            return done();
+        }
+        return client.request(command.type(), lobbyId, command.payload())
+                .thenCompose(response -> isError(response) ? done() : build(remainingActions - 1));
+    }
+
+    private Command nextBuildCommand() {
+        String playerId = client.getPlayerId();
+        Map<String, Integer> resources = resources(me());
+        int cities = board.countCities(playerId);
+        int settlements = board.countBuildings(playerId) - cities;
+
+        if (canAfford(resources, CITY_COST) && cities < MAX_CITIES) {
+            int site = board.findSettlement(playerId);
+            if (site >= 0) {
+                return new Command("UPGRADE_SETTLEMENT", payload("settlementPositionId", site));
+            }
+        }
+        if (canAfford(resources, SETTLEMENT_COST) && settlements < MAX_SETTLEMENTS) {
+            int site = board.findSettlementSite(playerId);
+            if (site >= 0) {
+                return new Command("PLACE_SETTLEMENT", payload("settlementPositionId", site));
+            }
+        }
+        if (count(resources, "WOOD") >= 1 && count(resources, "CLAY") >= 1 && board.countRoads(playerId) < MAX_ROADS) {
+            int road = board.findRoad(playerId);
+            if (road >= 0) {
+                return new Command("PLACE_ROAD", payload("roadId", road));
+            }
+        }
+
+        Map<String, Integer> goal = goal(settlements, cities);
+        String wanted = missingResource(resources, goal);
+        String surplus = surplusResource(resources, goal, BANK_TRADE_RATIO);
+        if (wanted != null && surplus != null) {
+            return new Command("TRADE_WITH_BANK", trade(surplus, BANK_TRADE_RATIO, wanted));
+        }
+        return null;
+    }
+
+    private CompletableFuture<Void> offerTrade() {
+        ObjectNode request;
+        synchronized (this) {
+            request = lobbyRun.isDone() || random.nextDouble() >= PLAYER_TRADE_PROBABILITY ? null : playerTradeRequest();
+        }
+        if (request == null) {
+            return done();
+        }
+        return discard(client.request("CREATE_PLAYER_TRADE_REQUEST", lobbyId, request));
+    }
+
+    private ObjectNode playerTradeRequest() {
+        String playerId = client.getPlayerId();
+        Map<String, Integer> resources = resources(me());
+        int cities = board.countCities(playerId);
+        Map<String, Integer> goal = goal(board.countBuildings(playerId) - cities, cities);
+        String wanted = missingResource(resources, goal);
+        String surplus = surplusResource(resources, goal, 1);
+        if (wanted == null || surplus == null) {
+            return null;
+        }
+        Iterator<Map.Entry<String, JsonNode>> fields = players.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> other = fields.next();
+            if (!other.getKey().equals(playerId) && count(resources(other.getValue()), wanted) > 0) {
+                ObjectNode request = JsonNodeFactory.instance.objectNode();
+                request.put("targetPlayerId", other.getKey());
+                request.put("sourcePlayerId", playerId);
+                request.set("trade", trade(surplus, 1, wanted));
+                return request;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Accepts a trade offer if the bot owns the requested resources and is not busy with a request
+     * of its own, otherwise rejects it. Rejections are not answered by the server.
+     */
+    private void answerTradeOffer(JsonNode offer) {
+        String tradeId = offer.path("tradeId").asText();
+        JsonNode requested = offer.path("tradeRequest").path("trade").path("targetResources");
+        Map<String, Integer> resources = resources(me());
+        boolean affordable = true;
+        Iterator<Map.Entry<String, JsonNode>> fields = requested.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> resource = fields.next();
+            affordable &= count(resources, resource.getKey()) >= resource.getValue().asInt();
+        }
+        if (busy || !affordable || lobbyRun.isDone()) {
+            client.sendWithoutResponse("REJECT_TRADE_REQUEST", lobbyId, payload("tradeId", tradeId));
+            return;
+        }
+        busy = true;
+        client.request("ACCEPT_TRADE_REQUEST", lobbyId, payload("tradeId", tradeId)).whenComplete(this::afterRequest);
+    }
+
+    private CompletableFuture<Void> endTurn() {
+        if (lobbyRun.isDone()) {
+            return done();
+        }
+        return client.request("END_TURN", lobbyId, null).thenAccept(response -> {
+            if (isError(response)) {
+                // The turn is not repeated before the server sent a newer state
+                synchronized (this) {
+                    awaitingUpdate = true;
+                }
+            }
+        });
+    }
+
+    private boolean isLobbyReady() {
+        if (players.size() < lobbyRun.getPlayersPerLobby()) {
+            return false;
+        }
+        for (JsonNode player : players) {
+            if (!player.path("isReady").asBoolean()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isActivePlayer() {
+        return me().path("isActivePlayer").asBoolean();
+    }
+
+    private JsonNode me() {
+        return players.path(client.getPlayerId());
+    }
+
+    private static Map<String, Integer> goal(int settlements, int cities) {
+        return settlements > 0 && cities < MAX_CITIES ? CITY_COST : SETTLEMENT_COST;
+    }
+
+    private static String missingResource(Map<String, Integer> resources, Map<String, Integer> goal) {
+        for (String resource : RESOURCES) {
+            if (count(resources, resource) < goal.getOrDefault(resource, 0)) {
+                return resource;
+            }
+        }
+        return null;
+    }
+
+    private static String surplusResource(Map<String, Integer> resources, Map<String, Integer> goal, int amount) {
+        for (String resource : RESOURCES) {
+            if (count(resources, resource) >= amount + goal.getOrDefault(resource, 0)) {
+                return resource;
+            }
+        }
+        return null;
+    }
+
+    private static boolean canAfford(Map<String, Integer> resources, Map<String, Integer> cost) {
+        for (Map.Entry<String, Integer> entry : cost.entrySet()) {
+            if (count(resources, entry.getKey()) < entry.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<String, Integer> resources(JsonNode player) {
+        Map<String, Integer> resources = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = player.path("resources").fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> resource = fields.next();
+            resources.put(resource.getKey(), resource.getValue().asInt());
+        }
+        return resources;
+    }
+
+    private static int count(Map<String, Integer> resources, String resource) {
+        return resources.getOrDefault(resource, 0);
+    }
+
+    private static ObjectNode trade(String offered, int offeredAmount, String wanted) {
+        ObjectNode trade = JsonNodeFactory.instance.objectNode();
+        trade.putObject("offeredResources").put(offered, offeredAmount);
+        trade.putObject("targetResources").put(wanted, 1);
+        return trade;
+    }
+
+    private static ObjectNode payload(String field, int value) {
+        ObjectNode payload = JsonNodeFactory.instance.objectNode();
+        payload.put(field, value);
+        return payload;
+    }
+
+    private static ObjectNode payload(String field, String value) {
+        ObjectNode payload = JsonNodeFactory.instance.objectNode();
+        payload.put(field, value);
+        return payload;
+    }
+
+    private static boolean isError(JsonNode response) {
+        return "ERROR".equals(response.path("type").asText());
+    }
+
+    private static void requireSuccess(JsonNode response) {
+        if (isError(response)) {
+            throw new IllegalStateException(response.path("message").path("error").asText());
+        }
+    }
+
+    private static CompletableFuture<Void> discard(CompletableFuture<JsonNode> response) {
+        return response.thenApply(r -> null);
+    }
+
+    private static CompletableFuture<Void> done() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private record Command(String type, ObjectNode payload) {
+    }
+}
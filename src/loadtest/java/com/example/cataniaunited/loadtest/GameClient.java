@@ -0,0 +1,207 @@
+package com.example.cataniaunited.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * One web socket connection to {@code /game}. Commands are sent with {@link #request}, which completes with
+ * the response of the server: the next message addressed to this player, or an {@code ERROR}. Only one
+ * request may be outstanding at a time, as the server does not correlate responses with commands.
+ * Every message received, including responses, is passed to the message handler first.
+ */
+final class GameClient implements WebSocket.Listener {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final LatencyRecorder latencyRecorder;
+    private final Duration requestTimeout;
+    private final CompletableFuture<String> connected = new CompletableFuture<>();
+    private final StringBuilder partialMessage = new StringBuilder();
+    private Consumer<JsonNode> messageHandler = message -> {
+    };
+    private WebSocket webSocket;
+    private CompletableFuture<WebSocket> lastSend;
+    private String playerId;
+    private PendingRequest pendingRequest;
+
+    GameClient(LatencyRecorder latencyRecorder, Duration requestTimeout) {
+        this.latencyRecorder = latencyRecorder;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Opens the connection and waits for {@code CONNECTION_SUCCESSFUL}.
+     *
+     * @param httpClient The client to open the web socket with.
+     * @param uri        The URI of the {@code /game} endpoint.
+     * @return A future completing with the player ID assigned by the server.
+     */
+    CompletableFuture<String> connect(HttpClient httpClient, URI uri) {
+        httpClient.newWebSocketBuilder()
+                .connectTimeout(requestTimeout)
+                .buildAsync(uri, this)
+                .whenComplete((ws, failure) -> {
+                    if (failure != null) {
+                        connected.completeExceptionally(failure);
+                    }
+                });
+        return connected.orTimeout(requestTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void setMessageHandler(Consumer<JsonNode> messageHandler) {
+        this.messageHandler = messageHandler;
+    }
+
+    String getPlayerId() {
+        return playerId;
+    }
+
+    /**
+     * Sends a command and waits for its response. The round trip time is recorded per message type.
+     *
+     * @param type    The message type of the command.
+     * @param lobbyId The lobby the command is for, may be {@code null}.
+     * @param payload The {@code message} of the command, may be {@code null}.
+     * @return A future completing with the response, which may be an {@code ERROR}.
+     */
+    CompletableFuture<JsonNode> request(String type, String lobbyId, ObjectNode payload) {
+        CompletableFuture<JsonNode> response = new CompletableFuture<>();
+        synchronized (this) {
+            if (pendingRequest != null) {
+                return CompletableFuture.failedFuture(new IllegalStateException(
+                        "Request " + type + " sent while " + pendingRequest.type + " is outstanding"));
+            }
+            pendingRequest = new PendingRequest(type, System.nanoTime(), response);
+        }
+        send(type, lobbyId, payload);
+        return response.orTimeout(requestTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sends a command the server does not respond to, like rejecting a trade request.
+     *
+     * @param type    The message type of the command.
+     * @param lobbyId The lobby the command is for.
+     * @param payload The {@code message} of the command.
+     */
+    void sendWithoutResponse(String type, String lobbyId, ObjectNode payload) {
+        latencyRecorder.recordSent(type);
+        send(type, lobbyId, payload);
+    }
+
+    void close() {
+        WebSocket ws = webSocket;
+        if (ws != null && !ws.isOutputClosed()) {
+            ws.sendClose(WebSocket.NORMAL_CLOSURE, "done");
+        }
+    }
+
+    private synchronized void send(String type, String lobbyId, ObjectNode payload) {
+        ObjectNode message = OBJECT_MAPPER.createObjectNode();
+        message.put("type", type);
+        message.put("player", playerId);
+        if (lobbyId != null) {
+            message.put("lobbyId", lobbyId);
+        }
+        if (payload != null) {
+            message.set("message", payload);
+        }
+        String text = message.toString();
+        // The web socket does not allow a send while the previous one is still in progress
+        lastSend = lastSend.thenCompose(ws -> ws.sendText(text, true));
+    }
+
+    @Override
+    public void onOpen(WebSocket webSocket) {
+        this.webSocket = webSocket;
+        synchronized (this) {
+            this.lastSend = CompletableFuture.completedFuture(webSocket);
+        }
+        webSocket.request(1);
+    }
+
+    @Override
+    public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+        partialMessage.append(data);
+        if (last) {
+            String text = partialMessage.toString();
+            partialMessage.setLength(0);
+            try {
+                handleMessage(OBJECT_MAPPER.readTree(text));
+            } catch (Exception e) {
+                fail(e);
+            }
+        }
+        webSocket.request(1);
+        return null;
+    }
+
+    @Override
+    public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+        fail(new IllegalStateException("Connection closed: " + statusCode + " " + reason));
+        return null;
+    }
+
+    @Override
+    public void onError(WebSocket webSocket, Throwable error) {
+        fail(error);
+    }
+
+    private void handleMessage(JsonNode message) {
+        String type = message.path("type").asText();
+        if ("CONNECTION_SUCCESSFUL".equals(type)) {
+            playerId = message.path("message").path("playerId").asText();
+            connected.complete(playerId);
+            return;
+        }
+
+        PendingRequest answered = null;
+        if (isResponse(type, message)) {
+            synchronized (this) {
+                answered = pendingRequest;
+                pendingRequest = null;
+            }
+        }
+        messageHandler.accept(message);
+        if (answered != null) {
+            latencyRecorder.record(answered.type, System.nanoTime() - answered.sentAt, "ERROR".equals(type));
+            answered.response.complete(message);
+        }
+    }
+
+    /**
+     * The server sends the response to a command to its sender only, with the sender as player.
+     * Trade offers are addressed to the target of the trade, but are not a response to its commands.
+     */
+    private boolean isResponse(String type, JsonNode message) {
+        if ("ERROR".equals(type)) {
+            return true;
+        }
+        return !"TRADE_OFFER".equals(type) && playerId != null && playerId.equals(message.path("player").asText(null));
+    }
+
+    private void fail(Throwable failure) {
+        connected.completeExceptionally(failure);
+        PendingRequest failed;
+        synchronized (this) {
+            failed = pendingRequest;
+            pendingRequest = null;
+        }
+        if (failed != null) {
+            failed.response.completeExceptionally(failure);
+        }
+    }
+
+    private record PendingRequest(String type, long sentAt, CompletableFuture<JsonNode> response) {
+    }
+}
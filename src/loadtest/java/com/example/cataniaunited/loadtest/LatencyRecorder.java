@@ -0,0 +1,101 @@
+package com.example.cataniaunited.loadtest;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects the round trip times of the commands sent by all bots, grouped by message type,
+ * and prints throughput and latency percentiles once the run is over.
+ * Every latency is kept, so the percentiles are exact.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Samples> samplesByType = new ConcurrentHashMap<>();
+
+    /**
+     * Records the round trip time of one command.
+     *
+     * @param type   The message type of the command.
+     * @param nanos  The time between sending the command and receiving its response.
+     * @param failed Whether the server answered with an error.
+     */
+    void record(String type, long nanos, boolean failed) {
+        samplesByType.computeIfAbsent(type, t -> new Samples()).add(nanos, failed);
+    }
+
+    /**
+     * Records a command that was sent without waiting for a response.
+     *
+     * @param type The message type of the command.
+     */
+    void recordSent(String type) {
+        samplesByType.computeIfAbsent(type, t -> new Samples()).addUnanswered();
+    }
+
+    /**
+     * Prints one line per message type: number of commands, errors, commands per second
+     * over the whole run, and the p50, p99, p999 and maximum latency in milliseconds.
+     *
+     * @param out          The stream to print to.
+     * @param elapsedNanos The duration of the run.
+     */
+    void printReport(PrintStream out, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        out.printf("%-28s %9s %7s %10s %9s %9s %9s %9s%n",
+                "type", "count", "errors", "per sec", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        long total = 0;
+        for (Map.Entry<String, Samples> entry : new TreeMap<>(samplesByType).entrySet()) {
+            Samples samples = entry.getValue();
+            long[] latencies = samples.sorted();
+            long count = latencies.length + samples.unanswered;
+            total += count;
+            out.printf("%-28s %9d %7d %10.1f %9s %9s %9s %9s%n",
+                    entry.getKey(), count, samples.errors, count / seconds,
+                    millis(percentile(latencies, 0.50)), millis(percentile(latencies, 0.99)),
+                    millis(percentile(latencies, 0.999)), millis(percentile(latencies, 1.0)));
+        }
+        out.printf("%-28s %9d %7s %10.1f%n", "total", total, "", total / seconds);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return -1;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.clamp(index, 0, sorted.length - 1)];
+    }
+
+    private static String millis(long nanos) {
+        return nanos < 0 ? "-" : String.format("%.2f", nanos / 1_000_000.0);
+    }
+
+    private static final class Samples {
+        private long[] latencies = new long[256];
+        private int size;
+        private long errors;
+        private long unanswered;
+
+        synchronized void add(long nanos, boolean failed) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = nanos;
+            if (failed) {
+                errors++;
+            }
+        }
+
+        synchronized void addUnanswered() {
+            unanswered++;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(latencies, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
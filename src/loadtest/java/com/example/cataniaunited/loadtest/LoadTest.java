@@ -0,0 +1,70 @@
+package com.example.cataniaunited.loadtest;
+
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Headless load generator for a locally started server. Opens {@code --clients} web socket connections
+ * to {@code /game}, grouped into lobbies of {@code --players} bots, and lets every lobby play a full game:
+ * creating and joining the lobby, getting ready, starting the game, the setup rounds, and rolling,
+ * building, trading and ending turns until a bot has won.
+ * <p>
+ * Prints the outcome of the games, the throughput and the p50, p99 and p999 latencies per message type.
+ * Start the server with {@code ./gradlew quarkusDev} or from the packaged jar, then run
+ * {@code ./gradlew loadTest --args="--clients=2000 --players=4"}. A cluster is tested by passing all nodes, e.g.
+ * {@code --url=ws://localhost:8080/game,ws://localhost:8081/game}.
+ */
+public class LoadTest {
+
+    private static final int REPORTED_FAILURES = 5;
+
+    public static void main(String[] args) {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        LatencyRecorder latencyRecorder = new LatencyRecorder();
+        int lobbyCount = config.lobbyCount();
+        System.out.printf("Starting %d lobbies of %d bots against %s%n", lobbyCount, config.playersPerLobby(), config.uris());
+
+        List<LobbyRun> runs = new ArrayList<>(lobbyCount);
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient httpClient = HttpClient.newBuilder().executor(executor).build();
+            List<CompletableFuture<LobbyRun.Outcome>> outcomes = new ArrayList<>(lobbyCount);
+            long delayNanos = config.rampUp().toNanos() / lobbyCount;
+            for (int i = 0; i < lobbyCount; i++) {
+                LobbyRun run = new LobbyRun(i, config, latencyRecorder);
+                runs.add(run);
+                outcomes.add(run.start(httpClient, config));
+                LockSupport.parkNanos(delayNanos);
+            }
+            CompletableFuture.allOf(outcomes.toArray(CompletableFuture[]::new)).join();
+            long elapsed = System.nanoTime() - start;
+
+            printOutcomes(runs, outcomes, elapsed);
+            latencyRecorder.printReport(System.out, elapsed);
+            httpClient.shutdownNow();
+        }
+    }
+
+    private static void printOutcomes(List<LobbyRun> runs, List<CompletableFuture<LobbyRun.Outcome>> outcomes, long elapsedNanos) {
+        Map<LobbyRun.Outcome, Integer> counts = new EnumMap<>(LobbyRun.Outcome.class);
+        for (CompletableFuture<LobbyRun.Outcome> outcome : outcomes) {
+            counts.merge(outcome.join(), 1, Integer::sum);
+        }
+        System.out.printf("%nFinished %d games in %.1f s: %s%n", outcomes.size(), elapsedNanos / 1_000_000_000.0, counts);
+
+        int reported = 0;
+        for (LobbyRun run : runs) {
+            if (run.getFailure() != null && reported++ < REPORTED_FAILURES) {
+                System.out.println("  failed: " + run.getFailure());
+            }
+        }
+        System.out.println();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.cataniaunited.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The options of a load test run, passed as {@code --name=value} arguments.
+ *
+ * @param uris            The {@code /game} endpoints of the servers, {@code --url}. Several nodes of a cluster are
+ *                        given comma separated; the bots are spread over them, so most bots join a lobby of
+ *                        another node than the one they are connected to.
+ * @param clients         The number of connections, {@code --clients}.
+ * @param playersPerLobby The number of bots playing one game, {@code --players}.
+ * @param rampUp          The time over which the lobbies are started, {@code --ramp-up-seconds}.
+ * @param requestTimeout  The time to wait for a response before a game is given up, {@code --timeout-seconds}.
+ * @param maxTurns        The number of turns per bot after which a game is given up, {@code --max-turns}.
+ * @param seed            The seed of the random decisions of the bots, {@code --seed}.
+ */
+record LoadTestConfig(List<URI> uris, int clients, int playersPerLobby, Duration rampUp, Duration requestTimeout,
+                      int maxTurns, long seed) {
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        LoadTestConfig config = new LoadTestConfig(
+                Arrays.stream(options.getOrDefault("url", "ws://localhost:8080/game").split(","))
+                        .map(url -> URI.create(url.trim()))
+                        .toList(),
+                Integer.parseInt(options.getOrDefault("clients", "1000")),
+                Integer.parseInt(options.getOrDefault("players", "4")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("ramp-up-seconds", "30"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout-seconds", "30"))),
+                Integer.parseInt(options.getOrDefault("max-turns", "200")),
+                Long.parseLong(options.getOrDefault("seed", "42")));
+        if (config.playersPerLobby() < 2 || config.clients() < config.playersPerLobby()) {
+            throw new IllegalArgumentException("At least one lobby of two players is needed");
+        }
+        return config;
+    }
+
+    int lobbyCount() {
+        return clients / playersPerLobby;
+    }
+
+    /**
+     * Gets the endpoint a client connects to. Hosts of consecutive lobbies connect to consecutive nodes,
+     * so the lobbies are created on all nodes.
+     *
+     * @param client The index of the lobby plus the index of the bot within the lobby.
+     * @return The endpoint of the client.
+     */
+    URI uri(int client) {
+        return uris.get(client % uris.size());
+    }
+}
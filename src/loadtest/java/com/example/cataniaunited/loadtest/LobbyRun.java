@@ -0,0 +1,87 @@
+package com.example.cataniaunited.loadtest;
+
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The bots of one lobby playing one game. The run ends when a bot has won, a bot exceeded the turn limit,
+ * or a request failed or timed out; all connections of the lobby are closed then.
+ */
+final class LobbyRun {
+
+    enum Outcome {
+        WON,
+        TURN_LIMIT,
+        FAILED
+    }
+
+    private final int lobbyIndex;
+    private final int playersPerLobby;
+    private final List<BotPlayer> bots = new ArrayList<>();
+    private final CompletableFuture<String> lobbyId = new CompletableFuture<>();
+    private final CompletableFuture<Outcome> outcome = new CompletableFuture<>();
+    private volatile Throwable failure;
+
+    LobbyRun(int lobbyIndex, LoadTestConfig config, LatencyRecorder latencyRecorder) {
+        this.lobbyIndex = lobbyIndex;
+        this.playersPerLobby = config.playersPerLobby();
+        for (int i = 0; i < playersPerLobby; i++) {
+            GameClient client = new GameClient(latencyRecorder, config.requestTimeout());
+            long seed = config.seed() + (long) lobbyIndex * playersPerLobby + i;
+            bots.add(new BotPlayer(client, this, "bot-" + lobbyIndex + "-" + i, i == 0, config.maxTurns(), seed));
+        }
+    }
+
+    /**
+     * Connects all bots of the lobby, the first one creates the lobby and starts the game.
+     *
+     * @param httpClient The client to open the web sockets with.
+     * @param config     The configuration of the load test.
+     * @return A future completing with the outcome of the game, never exceptionally.
+     */
+    CompletableFuture<Outcome> start(HttpClient httpClient, LoadTestConfig config) {
+        for (int i = 0; i < bots.size(); i++) {
+            bots.get(i).join(httpClient, config.uri(lobbyIndex + i)).exceptionally(joinFailure -> {
+                fail(joinFailure);
+                return null;
+            });
+        }
+        return outcome;
+    }
+
+    void lobbyCreated(String id) {
+        lobbyId.complete(id);
+    }
+
+    CompletableFuture<String> getLobbyId() {
+        return lobbyId;
+    }
+
+    int getPlayersPerLobby() {
+        return playersPerLobby;
+    }
+
+    boolean isDone() {
+        return outcome.isDone();
+    }
+
+    Throwable getFailure() {
+        return failure;
+    }
+
+    void finish(Outcome result) {
+        if (outcome.complete(result)) {
+            lobbyId.cancel(false);
+            bots.forEach(BotPlayer::close);
+        }
+    }
+
+    void fail(Throwable cause) {
+        if (!outcome.isDone()) {
+            failure = cause;
+        }
+        finish(Outcome.FAILED);
+    }
+}
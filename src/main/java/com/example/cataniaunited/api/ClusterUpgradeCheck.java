@@ -0,0 +1,45 @@
+package com.example.cataniaunited.api;
+
+import com.example.cataniaunited.cluster.ClusterService;
+import io.quarkus.websockets.next.HttpUpgradeCheck;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.http.HttpServerRequest;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+/**
+ * Guards the {@link ClusterWebSocket}, which only the other nodes of the cluster may connect to.
+ * Without a configured cluster the endpoint is refused as if it did not exist; otherwise the connecting node
+ * must name itself as a peer and present the shared secret, see {@link ClusterService#authenticate(String, String, String)}.
+ */
+@ApplicationScoped
+public class ClusterUpgradeCheck implements HttpUpgradeCheck {
+
+    private static final Logger logger = Logger.getLogger(ClusterUpgradeCheck.class);
+    private static final int NOT_FOUND = 404;
+    private static final int FORBIDDEN = 403;
+
+    @Inject
+    ClusterService clusterService;
+
+    @Override
+    public boolean appliesTo(String endpointId) {
+        return ClusterWebSocket.ENDPOINT_ID.equals(endpointId);
+    }
+
+    @Override
+    public Uni<CheckResult> perform(HttpUpgradeContext context) {
+        if (!clusterService.isEnabled()) {
+            return CheckResult.rejectUpgrade(NOT_FOUND);
+        }
+        HttpServerRequest request = context.httpRequest();
+        String peer = request.getHeader(ClusterService.NODE_HEADER);
+        String secret = request.getHeader(ClusterService.SECRET_HEADER);
+        if (!clusterService.authenticate(peer, secret, request.localAddress().host())) {
+            logger.warnf("Rejected connection to cluster endpoint: nodeId = %s, remoteAddress = %s", peer, request.remoteAddress());
+            return CheckResult.rejectUpgrade(FORBIDDEN);
+        }
+        return CheckResult.permitUpgrade();
+    }
+}
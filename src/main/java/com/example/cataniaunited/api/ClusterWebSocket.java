@@ -0,0 +1,129 @@
+package com.example.cataniaunited.api;
+
+import com.example.cataniaunited.cluster.ClusterMessage;
+import com.example.cataniaunited.cluster.ClusterService;
+import com.example.cataniaunited.dto.MessageDTO;
+import com.example.cataniaunited.lobby.LobbyService;
+import com.example.cataniaunited.player.PlayerService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.websockets.next.OnTextMessage;
+import io.quarkus.websockets.next.WebSocket;
+import io.quarkus.websockets.next.WebSocketConnection;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+/**
+ * WebSocket endpoint for the other nodes of a cluster, see {@link ClusterService}.
+ * Every node connects to this endpoint of every other node it sends {@link ClusterMessage}s to;
+ * requests are answered on the same connection.
+ * <p>
+ * Only the other nodes of the cluster can connect, see {@link ClusterUpgradeCheck}, and every message must
+ * name the node that connected as its sender.
+ */
+@ApplicationScoped
+@WebSocket(path = ClusterService.PATH, endpointId = ClusterWebSocket.ENDPOINT_ID)
+public class ClusterWebSocket {
+
+    static final String ENDPOINT_ID = "cluster";
+    private static final Logger logger = Logger.getLogger(ClusterWebSocket.class);
+
+    @Inject
+    GameMessageHandler gameMessageHandler;
+
+    @Inject
+    ClusterService clusterService;
+
+    @Inject
+    PlayerService playerService;
+
+    @Inject
+    LobbyService lobbyService;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    /**
+     * Handles a message of another node.
+     *
+     * @param text       The {@link ClusterMessage} as JSON.
+     * @param connection The connection of the sending node.
+     * @return A Uni completing once the response, if any, was sent to the node.
+     */
+    @OnTextMessage
+    public Uni<Void> onTextMessage(String text, WebSocketConnection connection) {
+        ClusterMessage message;
+        try {
+            message = objectMapper.readValue(text, ClusterMessage.class);
+        } catch (JsonProcessingException e) {
+            logger.errorf(e, "Could not decode message of cluster node: connection = %s", connection.id());
+            return Uni.createFrom().voidItem();
+        }
+        String peer = connection.handshakeRequest().header(ClusterService.NODE_HEADER);
+        return handleClusterMessage(message, peer).chain(response -> {
+            if (response == null) {
+                return Uni.createFrom().voidItem();
+            }
+            try {
+                return connection.sendText(objectMapper.writeValueAsString(response));
+            } catch (JsonProcessingException e) {
+                return Uni.createFrom().failure(e);
+            }
+        });
+    }
+
+    /**
+     * Executes a message of another node. Messages which do not name the connected node as their sender are
+     * dropped, so a node cannot act for players of other nodes.
+     *
+     * @param message The {@link ClusterMessage} received.
+     * @param peer    The ID of the node that connected, as checked by {@link ClusterUpgradeCheck}.
+     * @return A Uni emitting the response to the node, or {@code null} for messages which are not answered.
+     */
+    Uni<ClusterMessage> handleClusterMessage(ClusterMessage message, String peer) {
+        logger.debugf("Handle cluster message: type = %s, nodeId = %s, requestId = %d", message.type(), message.nodeId(), message.requestId());
+        if (!clusterService.isPeer(peer) || !peer.equals(message.nodeId())) {
+            logger.warnf("Dropped cluster message not sent by the connected node: peer = %s, nodeId = %s, type = %s",
+                    peer, message.nodeId(), message.type());
+            return Uni.createFrom().nullItem();
+        }
+        return switch (message.type()) {
+            case FORWARD -> handleForwardedMessage(message);
+            case LIST_LOBBIES -> Uni.createFrom().item(
+                    ClusterMessage.lobbyList(message.requestId(), gameMessageHandler.getLocalLobbyListings()));
+            case DELIVER -> playerService.deliverMessage(message.message(), message.recipients())
+                    .replaceWith((ClusterMessage) null);
+            case PLAYER_DISCONNECTED -> gameMessageHandler.handleRemoteDisconnect(message.playerId())
+                    .replaceWith((ClusterMessage) null);
+            case RESPONSE, LOBBY_LIST -> {
+                logger.warnf("Dropped response sent as request by cluster node: nodeId = %s, type = %s", message.nodeId(), message.type());
+                yield Uni.createFrom().nullItem();
+            }
+        };
+    }
+
+    /**
+     * Executes a command forwarded by the home node of its player. The player is registered with its home
+     * node first, so the messages of the lobby reach it. This also resumes the lobbies of the player if this
+     * node restarted, as the player stayed connected to its home node.
+     */
+    private Uni<ClusterMessage> handleForwardedMessage(ClusterMessage request) {
+        MessageDTO command = request.message();
+        if (!clusterService.isLocal(command.getLobbyId())) {
+            // The nodes disagree about the owner, forwarding it again could loop between them
+            logger.errorf("Forwarded lobby is not owned by this node: lobbyId = %s, nodeId = %s", command.getLobbyId(), request.nodeId());
+            return Uni.createFrom().item(ClusterMessage.response(request.requestId(),
+                    gameMessageHandler.createErrorMessage("Lobby is not owned by this node")));
+        }
+        playerService.registerRemotePlayer(command.getPlayer(), request.username(), request.nodeId());
+        lobbyService.resumeLobbiesOfPlayer(command.getPlayer());
+        return gameMessageHandler.handleGameMessage(command)
+                .onFailure().recoverWithItem(e -> {
+                    logger.errorf(e, "Unexpected error handling forwarded message: message = %s", command);
+                    return gameMessageHandler.createErrorMessage("Unexpected error");
+                })
+                .map(response -> ClusterMessage.response(request.requestId(), response));
+    }
+}
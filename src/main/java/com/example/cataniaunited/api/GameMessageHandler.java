@@ -1,28 +1,43 @@
 package com.example.cataniaunited.api;
 
+import com.example.cataniaunited.cluster.ClusterService;
+import com.example.cataniaunited.cluster.LobbyListing;
 import com.example.cataniaunited.dto.LobbyInfo;
 import com.example.cataniaunited.dto.MessageDTO;
 import com.example.cataniaunited.dto.MessageType;
 import com.example.cataniaunited.dto.PlayerInfo;
+import com.example.cataniaunited.dto.command.CheatAttempt;
+import com.example.cataniaunited.dto.command.CommandPayload;
+import com.example.cataniaunited.dto.command.GetGameBoard;
+import com.example.cataniaunited.dto.command.PlaceRoad;
+import com.example.cataniaunited.dto.command.ReportPlayer;
+import com.example.cataniaunited.dto.command.ResumeSession;
+import com.example.cataniaunited.dto.command.SetUsername;
+import com.example.cataniaunited.dto.command.SettlementPosition;
+import com.example.cataniaunited.dto.command.TradeDecision;
 import com.example.cataniaunited.exception.GameException;
 import com.example.cataniaunited.exception.ui.InvalidTurnException;
 import com.example.cataniaunited.fi.BuildingAction;
 import com.example.cataniaunited.game.GameService;
 import com.example.cataniaunited.game.ReportOutcome;
+import com.example.cataniaunited.game.board.BoardSnapshot;
 import com.example.cataniaunited.game.board.GameBoard;
+import com.example.cataniaunited.game.board.LegalMoves;
+import com.example.cataniaunited.game.board.change.BoardChange;
 import com.example.cataniaunited.game.board.tile_list_builder.TileType;
 import com.example.cataniaunited.game.trade.PlayerTradeRequest;
 import com.example.cataniaunited.game.trade.TradeRequest;
 import com.example.cataniaunited.game.trade.TradingService;
 import com.example.cataniaunited.lobby.Lobby;
+import com.example.cataniaunited.lobby.LobbyCommandExecutor;
 import com.example.cataniaunited.lobby.LobbyService;
 import com.example.cataniaunited.mapper.LobbyMapper;
 import com.example.cataniaunited.mapper.PlayerMapper;
+import com.example.cataniaunited.metrics.GameMetrics;
 import com.example.cataniaunited.player.Player;
 import com.example.cataniaunited.player.PlayerColor;
 import com.example.cataniaunited.player.PlayerService;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
@@ -39,6 +54,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.example.cataniaunited.dto.MessageType.LOBBY_CLOSED;
 import static com.example.cataniaunited.dto.MessageType.LOBBY_LIST;
@@ -54,6 +70,9 @@ public class GameMessageHandler {
     private static final String MESSAGE = "message";
     private static final String SUCCESS = "success";
     private static final String TRADE_ID_FIELD = "tradeId";
+    private static final String BOARD_VERSION_FIELD = "boardVersion";
+    private static final String PLAYER_ID_FIELD = "playerId";
+    private static final String RESUME_TOKEN_FIELD = "resumeToken";
 
     @Inject
     LobbyService lobbyService;
@@ -73,28 +92,70 @@ public class GameMessageHandler {
     @Inject
     ObjectMapper objectMapper;
 
+    @Inject
+    LobbyCommandExecutor lobbyCommandExecutor;
+
+    @Inject
+    GameMetrics gameMetrics;
+
+    @Inject
+    ClusterService clusterService;
+
     public Uni<MessageDTO> handleInitialConnection(WebSocketConnection connection) {
         Player player = playerService.addPlayer(connection);
-        ObjectNode message = JsonNodeFactory.instance.objectNode().put("playerId", player.getUniqueId());
+        ObjectNode message = JsonNodeFactory.instance.objectNode()
+                .put(PLAYER_ID_FIELD, player.getUniqueId())
+                .put(RESUME_TOKEN_FIELD, player.getResumeToken());
         return Uni.createFrom().item(new MessageDTO(MessageType.CONNECTION_SUCCESSFUL, message));
     }
 
+    /**
+     * Resumes the session of a player on a new connection, e.g. after the server restarted and restored the
+     * player with its lobbies. The client presents the player ID and the resume token it received with
+     * {@link MessageType#CONNECTION_SUCCESSFUL}; the player created for the new connection is discarded.
+     * Must be sent before the new player enters a lobby.
+     *
+     * @param message    The {@link MessageDTO} of type {@link MessageType#RESUME_SESSION}.
+     * @param connection The new connection of the player.
+     * @return A Uni emitting a {@link MessageDTO} of type {@link MessageType#SESSION_RESUMED} with the lobbies
+     * of the player, or an error message if the session cannot be resumed.
+     */
+    public Uni<MessageDTO> resumeSession(MessageDTO message, WebSocketConnection connection) {
+        try {
+            String resumeToken;
+            try {
+                resumeToken = getPayload(message, ResumeSession.class).resumeToken();
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                throw new GameException("Invalid resume token");
+            }
+            Player current = playerService.getPlayerByConnection(connection);
+            if (current != null && !lobbyService.getLobbiesOfPlayer(current.getUniqueId()).isEmpty()) {
+                throw new GameException("Session cannot be resumed after joining a lobby");
+            }
+            Player player = playerService.resumePlayer(message.getPlayer(), resumeToken, connection);
+            lobbyService.resumeLobbiesOfPlayer(player.getUniqueId());
+
+            ObjectNode payload = JsonNodeFactory.instance.objectNode()
+                    .put(PLAYER_ID_FIELD, player.getUniqueId())
+                    .put(RESUME_TOKEN_FIELD, player.getResumeToken());
+            ArrayNode lobbyIds = payload.putArray("lobbyIds");
+            lobbyService.getLobbiesOfPlayer(player.getUniqueId()).forEach(lobby -> lobbyIds.add(lobby.getLobbyId()));
+            return Uni.createFrom().item(new MessageDTO(MessageType.SESSION_RESUMED, player.getUniqueId(), null, payload));
+        } catch (GameException ge) {
+            logger.warnf("Could not resume session: player = %s, error = %s", message.getPlayer(), ge.getMessage());
+            return Uni.createFrom().item(createErrorMessage(ge.getMessage()));
+        }
+    }
+
     public Uni<Void> handleDisconnect(WebSocketConnection connection) {
         Player player = playerService.getPlayerByConnection(connection);
         List<Uni<MessageDTO>> sendUnis = new ArrayList<>();
         if (player != null) {
             String playerId = player.getUniqueId();
             logger.infof("Player %s disconnected from server", playerId);
-            //Remove player from lobbies
-            sendUnis = lobbyService.removePlayerFromLobbies(playerId).stream().map(lobby -> {
-                        try {
-                            return notifyLobbyAboutLeavingPlayer(lobby, playerId);
-                        } catch (GameException e) {
-                            logger.warnf(e, "Could not notify lobby %s about leaving of player %s", lobby.getLobbyId(), playerId);
-                            return null;
-                        }
-                    })
-                    .filter(Objects::nonNull).toList();
+            sendUnis = removeFromLobbies(playerId);
+            // Lobbies of other nodes are left on these nodes
+            sendUnis.add(clusterService.broadcastDisconnect(playerId).replaceWith((MessageDTO) null));
         }
         playerService.removePlayerByConnectionId(connection);
         return Uni.join().all(sendUnis)
@@ -104,6 +165,51 @@ public class GameMessageHandler {
                 .replaceWith(Uni.createFrom().voidItem());
     }
 
+    /**
+     * Handles the disconnect of a player connected to another node of the cluster, which leaves all lobbies
+     * of this node and is forgotten afterwards.
+     *
+     * @param playerId The ID of the disconnected player.
+     * @return A Uni completing once the other players of the lobbies were notified.
+     */
+    public Uni<Void> handleRemoteDisconnect(String playerId) {
+        logger.infof("Player %s disconnected from another node", playerId);
+        List<Uni<MessageDTO>> sendUnis = removeFromLobbies(playerId);
+        if (sendUnis.isEmpty()) {
+            playerService.removeRemotePlayer(playerId);
+            return Uni.createFrom().voidItem();
+        }
+        return Uni.join().all(sendUnis)
+                .andFailFast()
+                .onFailure()
+                .invoke(err -> logger.errorf(err, "One or more messages failed on user disconnect"))
+                .eventually(() -> playerService.removeRemotePlayer(playerId))
+                .replaceWithVoid();
+    }
+
+    /**
+     * Removes a player from all lobbies of this node, within the command mailbox of each lobby.
+     */
+    private List<Uni<MessageDTO>> removeFromLobbies(String playerId) {
+        return lobbyService.getLobbiesOfPlayer(playerId).stream()
+                .map(lobby -> lobbyCommandExecutor.submit(lobby.getLobbyId(), () -> removeDisconnectedPlayer(lobby, playerId)))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    Uni<MessageDTO> removeDisconnectedPlayer(Lobby lobby, String playerId) {
+        try {
+            lobbyService.leaveOrCloseLobby(lobby.getLobbyId(), playerId);
+        } catch (GameException e) {
+            logger.warnf(e, "Failed to remove player %s from lobby %s", playerId, lobby.getLobbyId());
+        }
+        try {
+            return notifyLobbyAboutLeavingPlayer(lobby, playerId);
+        } catch (GameException e) {
+            logger.warnf(e, "Could not notify lobby %s about leaving of player %s", lobby.getLobbyId(), playerId);
+            return Uni.createFrom().nullItem();
+        }
+    }
+
     Uni<MessageDTO> notifyLobbyAboutLeavingPlayer(Lobby lobby, String playerId) throws GameException {
         String lobbyId = lobby.getLobbyId();
         //Close lobby if host player leaves
@@ -119,9 +225,56 @@ public class GameMessageHandler {
         return lobbyService.notifyPlayers(lobby, dto, playerId);
     }
 
+    /**
+     * Handles a message of a client. Messages referring to a lobby are executed
+     * within the command mailbox of the lobby, see {@link LobbyCommandExecutor},
+     * so commands of one lobby never run concurrently. The time spent handling the
+     * command, without the time waiting in the mailbox, is recorded per {@link MessageType}.
+     * Messages referring to a lobby of another node of the cluster are forwarded to that node.
+     *
+     * @param message The {@link MessageDTO} received from the client.
+     * @return A Uni emitting the response to the client, or an error message.
+     */
     public Uni<MessageDTO> handleGameMessage(MessageDTO message) {
+        logger.infof("Handle message: message = %s", message);
+        if (!clusterService.isLocal(message.getLobbyId())) {
+            return forwardGameMessage(message);
+        }
+        return lobbyCommandExecutor.submit(message.getLobbyId(), () -> {
+            long start = System.nanoTime();
+            return dispatchGameMessage(message)
+                    .eventually(() -> gameMetrics.recordCommand(message.getType(), System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * Forwards a message to the node of the cluster owning its lobby. The owner learns the username of the
+     * player from the forwarded message, so a new username is applied on this node as well.
+     *
+     * @param message The {@link MessageDTO} received from the client.
+     * @return A Uni emitting the response of the owning node, or an error message if it cannot be reached.
+     */
+    Uni<MessageDTO> forwardGameMessage(MessageDTO message) {
+        Player player = playerService.getPlayerById(message.getPlayer());
+        if (player == null) {
+            return Uni.createFrom().item(createErrorMessage("Player with id " + message.getPlayer() + " not found"));
+        }
+        if (message.getType() == MessageType.SET_USERNAME) {
+            try {
+                playerService.setUsername(player.getUniqueId(), getPayload(message, SetUsername.class).username());
+            } catch (GameException | JsonProcessingException | IllegalArgumentException e) {
+                return Uni.createFrom().item(createErrorMessage("Invalid username: username = " + message.getMessageNode("username")));
+            }
+        }
+        return clusterService.forward(message, player.getUsername())
+                .onFailure().recoverWithItem(e -> {
+                    logger.errorf("Could not forward message: message = %s, error = %s", message, e.getMessage());
+                    return createErrorMessage("Lobby is currently not reachable");
+                });
+    }
+
+    Uni<MessageDTO> dispatchGameMessage(MessageDTO message) {
         try {
-            logger.infof("Handle message: message = %s", message);
             return switch (message.getType()) {
                 case CREATE_LOBBY -> createLobby(message);
                 case GET_LOBBIES -> getLobbies();
@@ -141,6 +294,9 @@ public class GameMessageHandler {
                 case CHEAT_ATTEMPT -> handleCheatAttempt(message);
                 case REPORT_PLAYER -> handleReportPlayer(message);
                 case END_TURN -> endTurn(message);
+                case GET_GAME_BOARD -> getGameBoard(message);
+                case GET_LEGAL_MOVES -> getLegalMoves(message);
+                case GET_PLAYERS -> getPlayers(message);
                 default -> throw new GameException("Invalid client command");
             };
         } catch (GameException ge) {
@@ -149,22 +305,37 @@ public class GameMessageHandler {
         }
     }
 
+    /**
+     * Lists the available lobbies of all nodes of the cluster, newest first.
+     *
+     * @return A Uni emitting a {@link MessageDTO} of type {@link MessageType#LOBBY_LIST}.
+     */
     Uni<MessageDTO> getLobbies() {
-        List<LobbyInfo> lobbyList = lobbyService.getAvailableLobbies()
+        List<LobbyListing> localLobbies = getLocalLobbyListings();
+        return clusterService.getRemoteLobbyListings().map(remoteLobbies -> {
+            List<LobbyInfo> lobbyList = Stream.concat(localLobbies.stream(), remoteLobbies.stream())
+                    .sorted(Comparator.comparingLong(LobbyListing::createdAt).reversed())
+                    .map(LobbyListing::lobby)
+                    .toList();
+
+            ObjectNode message = JsonNodeFactory.instance.objectNode();
+            message.set("lobbies", objectMapper.valueToTree(lobbyList));
+
+            return new MessageDTO(LOBBY_LIST, message);
+        });
+    }
+
+    /**
+     * Lists the available lobbies owned by this node, for the lobby directory of all nodes.
+     *
+     * @return The lobbies with a host and at least one player.
+     */
+    public List<LobbyListing> getLocalLobbyListings() {
+        return lobbyService.getAvailableLobbies()
                 .stream()
-                .sorted(Comparator.comparingLong(
-                        (Lobby lobby) -> lobby.getCreatedAt().toEpochMilli()
-                ).reversed())
-                .map(this::getLobbyInfo)
-                .filter(info -> info.hostPlayer() != null && info.playerCount() > 0)
+                .map(lobby -> new LobbyListing(getLobbyInfo(lobby), lobby.getCreatedAt().toEpochMilli()))
+                .filter(listing -> listing.lobby().hostPlayer() != null && listing.lobby().playerCount() > 0)
                 .toList();
-
-        ObjectNode message = JsonNodeFactory.instance.objectNode();
-        message.set("lobbies", objectMapper.valueToTree(lobbyList));
-
-        MessageDTO messageDTO = new MessageDTO(LOBBY_LIST, message);
-        return Uni.createFrom().item(messageDTO);
-
     }
 
     LobbyInfo getLobbyInfo(Lobby lobby) {
@@ -178,8 +349,7 @@ public class GameMessageHandler {
 
         PlayerTradeRequest playerTradeRequest;
         try {
-            // Deserialize the JSON payload into the TradeRequest record.
-            playerTradeRequest = objectMapper.treeToValue(message.getMessage(), PlayerTradeRequest.class);
+            playerTradeRequest = getPayload(message, PlayerTradeRequest.class);
         } catch (JsonProcessingException | IllegalArgumentException e) {
             logger.errorf("Failed to parse player trade request: %s", e.getMessage());
             throw new GameException("Trade request format is invalid");
@@ -204,7 +374,7 @@ public class GameMessageHandler {
 
         ObjectNode tradeRequestJson = JsonNodeFactory.instance.objectNode();
         tradeRequestJson.put(TRADE_ID_FIELD, tradeId);
-        tradeRequestJson.set("tradeRequest", message.getMessage());
+        tradeRequestJson.set("tradeRequest", objectMapper.valueToTree(playerTradeRequest));
 
         MessageDTO tradeResponse = new MessageDTO(
                 MessageType.TRADE_OFFER,
@@ -226,12 +396,12 @@ public class GameMessageHandler {
         );
 
         // Sent trade request to the player and notify the sender about the success
-        return targetPlayer.getConnection().sendText(tradeResponse)
+        return playerService.sendMessageToPlayer(targetPlayerId, tradeResponse)
                 .chain(() -> Uni.createFrom().item(tradeRequestNotification));
     }
 
     Uni<MessageDTO> acceptTradeRequest(MessageDTO message) throws GameException {
-        String tradeId = message.getMessageNode(TRADE_ID_FIELD).asText();
+        String tradeId = getTradeId(message);
         PlayerTradeRequest tradeRequest = tradingService.acceptPlayerTradeRequest(message.getPlayer(), tradeId);
         MessageDTO updateResponse = new MessageDTO(
                 MessageType.PLAYER_RESOURCE_UPDATE,
@@ -256,12 +426,13 @@ public class GameMessageHandler {
 
         logger.infof("Player %s accepted trade request %s (id=%s).", message.getPlayer(), tradeRequest, tradeId);
         //Notify the source player that his trade request was accepted and then update player resources
-        return sourcePlayer.getConnection().sendText(tradeRequestNotification)
-                .chain(() -> lobbyService.notifyPlayers(message.getLobbyId(), updateResponse, message.getPlayer()));
+        Uni<Void> alert = playerService.sendMessageToPlayer(sourcePlayer.getUniqueId(), tradeRequestNotification);
+        Uni<MessageDTO> update = lobbyService.notifyPlayers(message.getLobbyId(), updateResponse, message.getPlayer());
+        return alert.chain(() -> update);
     }
 
     Uni<MessageDTO> rejectTradeRequest(MessageDTO message) throws GameException {
-        String tradeId = message.getMessageNode(TRADE_ID_FIELD).asText();
+        String tradeId = getTradeId(message);
         PlayerTradeRequest tradeRequest = tradingService.rejectPlayerTradeRequest(message.getPlayer(), tradeId);
 
         Player sourcePlayer = playerService.getPlayerById(tradeRequest.sourcePlayerId());
@@ -278,14 +449,24 @@ public class GameMessageHandler {
                 alertPayload
         );
 
-        return sourcePlayer.getConnection().sendText(tradeRequestNotification).chain(() -> Uni.createFrom().nullItem());
+        return playerService.sendMessageToPlayer(sourcePlayer.getUniqueId(), tradeRequestNotification).chain(() -> Uni.createFrom().nullItem());
+    }
+
+    private String getTradeId(MessageDTO message) throws GameException {
+        try {
+            return getPayload(message, TradeDecision.class).tradeId();
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new GameException("Invalid trade id: id = %s", message.getMessageNode(TRADE_ID_FIELD));
+        }
     }
 
     Uni<MessageDTO> endTurn(MessageDTO message) throws GameException {
         Lobby lobby = lobbyService.getLobbyById(message.getLobbyId());
         gameService.checkRequiredPlayerStructures(message.getLobbyId(), message.getPlayer(), lobby.getRoundsPlayed());
         lobbyService.nextTurn(message.getLobbyId(), message.getPlayer());
-        ObjectNode payload = getGameBoardInformation(message.getLobbyId());
+        // A turn change does not change the board, clients only learn the version to resync if they missed a patch
+        ObjectNode payload = JsonNodeFactory.instance.objectNode()
+                .put(BOARD_VERSION_FIELD, gameService.getGameboardByLobbyId(message.getLobbyId()).getBoardVersion());
         var response = new MessageDTO(MessageType.NEXT_TURN, message.getPlayer(), message.getLobbyId(), getLobbyPlayerInformation(message.getLobbyId()), payload);
         return lobbyService.notifyPlayers(message.getLobbyId(), response, message.getPlayer());
 
@@ -296,26 +477,27 @@ public class GameMessageHandler {
      *
      * @param message The {@link MessageDTO} containing the lobby ID, player ID,
      *                and road ID.
-     * @return A Uni emitting a {@link MessageDTO} with the updated game board
-     * and player resources, which is also broadcast to other players in the
-     * lobby.
+     * @return A Uni emitting a {@link MessageDTO} with the board changes caused
+     * by the road and the updated player resources, which is also broadcast to
+     * other players in the lobby.
      * @throws GameException if the road ID is invalid or if the game service
      *                       encounters an error.
      */
     Uni<MessageDTO> placeRoad(MessageDTO message) throws GameException {
-        JsonNode roadId = message.getMessageNode("roadId");
+        int position;
         try {
-            int position = Integer.parseInt(roadId.toString());
-            gameService.placeRoad(message.getLobbyId(), message.getPlayer(), position);
-        } catch (NumberFormatException e) {
-            throw new GameException("Invalid road id: id = %s", roadId.toString());
+            position = getPayload(message, PlaceRoad.class).roadId();
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new GameException("Invalid road id: id = %s", message.getMessageNode("roadId"));
         }
+        int boardVersion = gameService.getGameboardByLobbyId(message.getLobbyId()).getBoardVersion();
+        gameService.placeRoad(message.getLobbyId(), message.getPlayer(), position);
 
         if (lobbyService.checkForWin(message.getLobbyId(), message.getPlayer())) {
             return broadcastWin(message.getLobbyId(), message.getPlayer());
         }
 
-        ObjectNode root = getGameBoardInformation(message.getLobbyId());
+        ObjectNode root = getBoardUpdateInformation(message.getLobbyId(), boardVersion);
 
         MessageDTO update = new MessageDTO(
                 MessageType.PLACE_ROAD,
@@ -330,25 +512,122 @@ public class GameMessageHandler {
     }
 
     /**
-     * Creates a JSON object representing the game board along with details of
-     * all players in the specified lobby. The player details include their
-     * username, victory points, and assigned color.
+     * Creates a JSON object containing a full snapshot of the game board of the
+     * specified lobby. Snapshots are only sent when a client has no usable board
+     * state yet, i.e. on game start and on resync; all other updates are sent as
+     * patches, see {@link #getBoardUpdateInformation(String, int)}. The board is
+     * embedded as its cached, pre-encoded {@link BoardSnapshot}.
      *
-     * @param lobbyId The ID of the lobby for which to retrieve the game board
-     *                and player data.
+     * @param lobbyId The ID of the lobby for which to retrieve the game board.
      * @return An {@link ObjectNode} containing the "gameboard" (JSON
-     * representation of the game board) and a "players" object mapping player
-     * IDs to their details.
-     * @throws GameException if the lobby or game board cannot be found, or if a
-     *                       player in the lobby cannot be retrieved.
+     * representation of the game board) and the "boardVersion" of the snapshot.
+     * @throws GameException if the lobby or game board cannot be found.
      */
     ObjectNode getGameBoardInformation(String lobbyId) throws GameException {
+        BoardSnapshot snapshot = gameService.getGameboardJsonByLobbyId(lobbyId);
+        ObjectNode root = JsonNodeFactory.instance.objectNode();
+        root.putRawValue("gameboard", snapshot.asRawValue());
+        root.put(BOARD_VERSION_FIELD, snapshot.getVersion());
+        return root;
+    }
+
+    /**
+     * Creates a JSON object containing a patch with all board changes of the
+     * specified lobby since the given board version. Clients holding the board
+     * at {@code fromVersion} can apply the changes in order to reach the
+     * current version; clients holding a different version have to request a
+     * resync via {@link MessageType#GET_GAME_BOARD}.
+     *
+     * @param lobbyId     The ID of the lobby for which to retrieve the changes.
+     * @param fromVersion The board version the patch starts from.
+     * @return An {@link ObjectNode} containing a "boardUpdate" object with the
+     * fields "fromVersion", "version" and the ordered "changes".
+     * @throws GameException if the lobby or game board cannot be found.
+     */
+    ObjectNode getBoardUpdateInformation(String lobbyId, int fromVersion) throws GameException {
         GameBoard gameboard = gameService.getGameboardByLobbyId(lobbyId);
         ObjectNode root = JsonNodeFactory.instance.objectNode();
-        root.set("gameboard", gameboard.getJson());
+        ObjectNode boardUpdate = root.putObject("boardUpdate");
+        boardUpdate.put("fromVersion", fromVersion);
+        boardUpdate.put("version", gameboard.getBoardVersion());
+        ArrayNode changes = boardUpdate.putArray("changes");
+        for (BoardChange change : gameboard.getChangesSince(fromVersion)) {
+            changes.add(change.toJson());
+        }
         return root;
     }
 
+    /**
+     * Handles a resync request of a client. If the client sends the board
+     * version it currently holds and the board can be patched from there, only
+     * the missing changes are returned, otherwise a full snapshot is returned.
+     * The response is only sent to the requesting client.
+     *
+     * @param message The {@link MessageDTO} containing the lobby ID and
+     *                optionally the "boardVersion" known to the client.
+     * @return A Uni emitting a {@link MessageDTO} of type
+     * {@link MessageType#GAME_BOARD_JSON} with either a "boardUpdate" or a
+     * "gameboard" payload.
+     * @throws GameException if the lobby or game board cannot be found.
+     */
+    Uni<MessageDTO> getGameBoard(MessageDTO message) throws GameException {
+        String lobbyId = message.getLobbyId();
+        Integer knownVersion;
+        try {
+            knownVersion = getPayload(message, GetGameBoard.class).boardVersion();
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            // An unusable version is treated like no version, the client gets a full snapshot
+            knownVersion = null;
+        }
+        GameBoard gameboard = gameService.getGameboardByLobbyId(lobbyId);
+
+        ObjectNode payload;
+        if (knownVersion != null && gameboard.canPatchFrom(knownVersion)) {
+            payload = getBoardUpdateInformation(lobbyId, knownVersion);
+        } else {
+            logger.debugf("Sending full board snapshot: lobbyId = %s, playerId = %s, knownVersion = %s", lobbyId, message.getPlayer(), knownVersion);
+            payload = getGameBoardInformation(lobbyId);
+        }
+
+        return Uni.createFrom().item(new MessageDTO(MessageType.GAME_BOARD_JSON, message.getPlayer(), lobbyId, payload));
+    }
+
+    /**
+     * Handles a request of a client for the placements it can make right now, so clients can
+     * highlight valid positions instead of trying placements that fail.
+     * The response is only sent to the requesting client.
+     *
+     * @param message The {@link MessageDTO} containing the lobby ID and player ID.
+     * @return A Uni emitting a {@link MessageDTO} of type {@link MessageType#GET_LEGAL_MOVES}
+     * with the "boardVersion" the moves are valid for, the "settlementPositionIds",
+     * "cityPositionIds" and "roadIds".
+     * @throws GameException if the lobby or game board cannot be found.
+     */
+    Uni<MessageDTO> getLegalMoves(MessageDTO message) throws GameException {
+        LegalMoves legalMoves = gameService.getLegalMoves(message.getLobbyId(), message.getPlayer());
+        ObjectNode payload = objectMapper.valueToTree(legalMoves);
+        return Uni.createFrom().item(new MessageDTO(MessageType.GET_LEGAL_MOVES, message.getPlayer(), message.getLobbyId(), payload));
+    }
+
+    /**
+     * Handles a request of a client for the current state of all players of a lobby. Clients apply
+     * the production of every {@link MessageType#DICE_RESULT} to the players they know, and resync
+     * with this request if they see a gap in the roll versions.
+     * The response is only sent to the requesting client.
+     *
+     * @param message The {@link MessageDTO} containing the lobby ID and player ID.
+     * @return A Uni emitting a {@link MessageDTO} of type {@link MessageType#GET_PLAYERS}
+     * with the players and the "rollVersion" of the last roll they reflect.
+     * @throws GameException if the lobby or game board cannot be found.
+     */
+    Uni<MessageDTO> getPlayers(MessageDTO message) throws GameException {
+        String lobbyId = message.getLobbyId();
+        ObjectNode payload = JsonNodeFactory.instance.objectNode();
+        payload.put("rollVersion", gameService.getGameboardByLobbyId(lobbyId).getRollVersion());
+        return Uni.createFrom().item(new MessageDTO(MessageType.GET_PLAYERS, message.getPlayer(), lobbyId,
+                getLobbyPlayerInformation(lobbyId), payload));
+    }
+
     /**
      * Handles a request from a client to place a settlement on the game board.
      * This method uses the {@link #handleSettlementAction} generic handler to
@@ -385,7 +664,7 @@ public class GameMessageHandler {
     /**
      * Generic handler for settlement actions (place or upgrade). It parses the
      * building site, executes the provided action, checks for a win condition,
-     * and then broadcasts the updated game state.
+     * and then broadcasts the resulting board changes.
      *
      * @param message The {@link MessageDTO} containing action details.
      * @param action  The {@link BuildingAction} to execute (e.g., place or
@@ -396,19 +675,20 @@ public class GameMessageHandler {
      *                       fails.
      */
     Uni<MessageDTO> handleSettlementAction(MessageDTO message, BuildingAction action) throws GameException {
-        JsonNode settlementPosition = message.getMessageNode("settlementPositionId");
+        int position;
         try {
-            int position = Integer.parseInt(settlementPosition.toString());
-            action.execute(position);
-        } catch (NumberFormatException e) {
-            throw new GameException("Invalid settlement position id: id = %s", settlementPosition.toString());
+            position = getPayload(message, SettlementPosition.class).settlementPositionId();
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new GameException("Invalid settlement position id: id = %s", message.getMessageNode("settlementPositionId"));
         }
+        int boardVersion = gameService.getGameboardByLobbyId(message.getLobbyId()).getBoardVersion();
+        action.execute(position);
 
         if (lobbyService.checkForWin(message.getLobbyId(), message.getPlayer())) {
             return broadcastWin(message.getLobbyId(), message.getPlayer());
         }
 
-        ObjectNode payload = getGameBoardInformation(message.getLobbyId());
+        ObjectNode payload = getBoardUpdateInformation(message.getLobbyId(), boardVersion);
         MessageDTO update = new MessageDTO(
                 message.getType(),
                 message.getPlayer(),
@@ -481,7 +761,12 @@ public class GameMessageHandler {
      * @throws GameException if the player session is not found.
      */
     Uni<MessageDTO> setUsername(MessageDTO message) throws GameException {
-        String username = message.getMessageNode("username").asText();
+        String username;
+        try {
+            username = getPayload(message, SetUsername.class).username();
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new GameException("Invalid username: username = %s", message.getMessageNode("username"));
+        }
         playerService.setUsername(message.getPlayer(), username);
         MessageDTO update = new MessageDTO(MessageType.LOBBY_UPDATED, message.getPlayer(), message.getLobbyId(), getLobbyPlayerInformation(message.getLobbyId()));
         return lobbyService.notifyPlayers(message.getLobbyId(), update, message.getPlayer());
@@ -501,8 +786,10 @@ public class GameMessageHandler {
 
     /**
      * Handles a dice roll request from a client. This method processes the dice
-     * roll, broadcasts the result to all players in the lobby, and then sends
-     * updated resource information individually to each player in that lobby.
+     * roll and broadcasts the result to all players in the lobby. Neither the
+     * roll nor the result carry the full player information, the result only
+     * holds the resources each player gained and the roll version. Clients
+     * that miss a roll version resync via {@link MessageType#GET_PLAYERS}.
      *
      * @param message The {@link MessageDTO} containing the player ID and lobby
      *                ID.
@@ -525,31 +812,24 @@ public class GameMessageHandler {
                 MessageType.ROLL_DICE,
                 message.getPlayer(),
                 message.getLobbyId(),
-                getLobbyPlayerInformation(message.getLobbyId()),
                 rollingNode
         );
 
-        return lobbyService.notifyPlayers(message.getLobbyId(), rollingMessage, message.getPlayer())
-                .chain(() -> {
-                    try {
-                        ObjectNode diceResult = gameService.rollDice(message.getLobbyId(), message.getPlayer());
-
-                        diceResult.put("rollingUsername", username);
-                        diceResult.put("player", playerId);
-
-                        MessageDTO resultMessage = new MessageDTO(
-                                MessageType.DICE_RESULT,
-                                message.getPlayer(),
-                                message.getLobbyId(),
-                                getLobbyPlayerInformation(message.getLobbyId()),
-                                diceResult
-                        );
-
-                        return lobbyService.notifyPlayers(message.getLobbyId(), resultMessage, message.getPlayer());
-                    } catch (GameException e) {
-                        return Uni.createFrom().item(createErrorMessage(e.getMessage()));
-                    }
-                });
+        ObjectNode diceResult = gameService.rollDice(message.getLobbyId(), message.getPlayer());
+        diceResult.put("rollingUsername", username);
+        diceResult.put("player", playerId);
+
+        MessageDTO resultMessage = new MessageDTO(
+                MessageType.DICE_RESULT,
+                message.getPlayer(),
+                message.getLobbyId(),
+                diceResult
+        );
+
+        // Both broadcasts are started within the command, the result is sent once the roll was delivered
+        Uni<MessageDTO> rolling = lobbyService.notifyPlayers(message.getLobbyId(), rollingMessage, message.getPlayer());
+        Uni<MessageDTO> result = lobbyService.notifyPlayers(message.getLobbyId(), resultMessage, message.getPlayer());
+        return rolling.chain(() -> result);
     }
 
     /**
@@ -608,6 +888,25 @@ public class GameMessageHandler {
         return lobbyService.notifyPlayers(message.getLobbyId(), response, message.getPlayer());
     }
 
+    /**
+     * Gets the typed payload of a client command. Messages decoded from JSON clients already
+     * carry the bound payload; for all other messages the JSON payload is converted once.
+     *
+     * @param message     The {@link MessageDTO} of the command.
+     * @param payloadType The {@link CommandPayload} type of the command.
+     * @param <T>         The payload type.
+     * @return The typed payload.
+     * @throws JsonProcessingException  if the JSON payload does not match the payload type.
+     * @throws IllegalArgumentException if the JSON payload cannot be converted into the payload type.
+     */
+    <T extends CommandPayload> T getPayload(MessageDTO message, Class<T> payloadType) throws JsonProcessingException {
+        if (payloadType.isInstance(message.getPayload())) {
+            return payloadType.cast(message.getPayload());
+        }
+        ObjectNode payload = message.getMessage() == null ? JsonNodeFactory.instance.objectNode() : message.getMessage();
+        return objectMapper.treeToValue(payload, payloadType);
+    }
+
     Map<String, PlayerInfo> getLobbyPlayerInformation(String lobbyId) throws GameException {
         return getLobbyPlayerInformation(lobbyService.getLobbyById(lobbyId));
     }
@@ -644,8 +943,7 @@ public class GameMessageHandler {
 
         TradeRequest tradeRequest;
         try {
-            // Deserialize the JSON payload into the TradeRequest record.
-            tradeRequest = objectMapper.treeToValue(message.getMessage(), TradeRequest.class);
+            tradeRequest = getPayload(message, TradeRequest.class);
         } catch (JsonProcessingException | IllegalArgumentException e) {
             logger.errorf("Failed to parse trade request: %s", e.getMessage());
             throw new GameException("Invalid trade request format.");
@@ -675,8 +973,7 @@ public class GameMessageHandler {
         try {
             String lobbyId = message.getLobbyId();
             String playerId = message.getPlayer();
-            String resourceStr = message.getMessageNode("resource").asText();
-            TileType resource = TileType.valueOf(resourceStr);
+            TileType resource = getPayload(message, CheatAttempt.class).resource();
 
             gameService.handleCheat(lobbyId, playerId, resource);
 
@@ -691,7 +988,7 @@ public class GameMessageHandler {
                     .chain(() -> Uni.createFrom().item(update));
         } catch (GameException e) {
             return Uni.createFrom().item(createErrorMessage(e.getMessage()));
-        } catch (IllegalArgumentException e) {
+        } catch (JsonProcessingException | IllegalArgumentException e) {
             return Uni.createFrom().item(createErrorMessage("Invalid resource type"));
         }
     }
@@ -700,7 +997,7 @@ public class GameMessageHandler {
         try {
             String lobbyId = message.getLobbyId();
             String reporterId = message.getPlayer();
-            String reportedId = message.getMessageNode("reportedId").asText();
+            String reportedId = getPayload(message, ReportPlayer.class).reportedId();
 
             ReportOutcome outcome = gameService.handleReportPlayer(lobbyId, reporterId, reportedId);
 
@@ -729,26 +1026,21 @@ public class GameMessageHandler {
                     alertPayload
             );
 
-            Uni<Void> privateAlert = playerService.sendMessageToPlayer(reporterId, alert);
+            MessageDTO update = new MessageDTO(
+                    MessageType.PLAYER_RESOURCE_UPDATE,
+                    reporterId,
+                    lobbyId,
+                    getLobbyPlayerInformation(lobbyId)
+            );
 
-            return privateAlert.chain(() -> {
-                try {
-                    MessageDTO update = new MessageDTO(
-                            MessageType.PLAYER_RESOURCE_UPDATE,
-                            reporterId,
-                            lobbyId,
-                            getLobbyPlayerInformation(lobbyId)
-                    );
-                    return lobbyService.notifyPlayers(lobbyId, update, reporterId)
-                            .chain(() -> Uni.createFrom().item(update));
-                } catch (GameException e) {
-                    return Uni.createFrom().item(createErrorMessage(e.getMessage()));
-                }
-            });
+            Uni<Void> privateAlert = playerService.sendMessageToPlayer(reporterId, alert);
+            Uni<MessageDTO> broadcast = lobbyService.notifyPlayers(lobbyId, update, reporterId);
+            return privateAlert.chain(() -> broadcast)
+                    .chain(() -> Uni.createFrom().item(update));
 
         } catch (GameException e) {
             return Uni.createFrom().item(createErrorMessage(e.getMessage()));
-        } catch (IllegalArgumentException e) {
+        } catch (JsonProcessingException | IllegalArgumentException e) {
             return Uni.createFrom().item(createErrorMessage("Invalid player to report."));
         }
     }
@@ -1,6 +1,13 @@
 package com.example.cataniaunited.api;
 
+import com.example.cataniaunited.api.codec.MessageCodec;
+import com.example.cataniaunited.api.codec.WireFormat;
 import com.example.cataniaunited.dto.MessageDTO;
+import com.example.cataniaunited.dto.MessageType;
+import com.example.cataniaunited.exception.GameException;
+import com.example.cataniaunited.player.PlayerService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.quarkus.websockets.next.OnBinaryMessage;
 import io.quarkus.websockets.next.OnClose;
 import io.quarkus.websockets.next.OnError;
 import io.quarkus.websockets.next.OnOpen;
@@ -8,6 +15,7 @@ import io.quarkus.websockets.next.OnTextMessage;
 import io.quarkus.websockets.next.WebSocket;
 import io.quarkus.websockets.next.WebSocketConnection;
 import io.smallrye.mutiny.Uni;
+import io.vertx.core.buffer.Buffer;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
@@ -16,6 +24,9 @@ import org.jboss.logging.Logger;
  * WebSocket endpoint for handling Catan game interactions.
  * This class manages WebSocket connections, receives messages from clients,
  * processes game actions, and broadcasts updates to connected clients.
+ * <p>
+ * Messages are exchanged as JSON text by default. Clients that negotiated the binary
+ * {@link WireFormat} send binary frames and receive all messages as binary frames.
  */
 @ApplicationScoped
 @WebSocket(path = "/game")
@@ -26,18 +37,25 @@ public class GameWebSocket {
     @Inject
     GameMessageHandler gameMessageHandler;
 
+    @Inject
+    MessageCodec messageCodec;
+
+    @Inject
+    PlayerService playerService;
+
     /**
      * Handles a new WebSocket connection.
      * A new player is created and associated with the connection.
      * A success message with the player's ID is sent back to the client.
      *
      * @param connection The WebSocket connection established by the client.
-     * @return A Uni emitting a {@link MessageDTO} indicating successful connection and the new player's ID.
+     * @return A Uni completing once the {@link MessageDTO} indicating the successful connection and the new player's ID was sent.
      */
     @OnOpen
-    public Uni<MessageDTO> onOpen(WebSocketConnection connection) {
-        logger.infof("Client connected: %s", connection.id());
-        return gameMessageHandler.handleInitialConnection(connection);
+    public Uni<Void> onOpen(WebSocketConnection connection) {
+        logger.infof("Client connected: client = %s, format = %s", connection.id(), WireFormat.of(connection));
+        return gameMessageHandler.handleInitialConnection(connection)
+                .chain(response -> playerService.sendMessage(connection, response));
     }
 
     /**
@@ -55,17 +73,52 @@ public class GameWebSocket {
 
     /**
      * Handles incoming text messages from a WebSocket client.
-     * The message is parsed and routed to the appropriate handler based on its type.
+     * The JSON message is decoded and routed to the appropriate handler based on its type.
      *
-     * @param message    The {@link MessageDTO} received from the client.
+     * @param message    The JSON text received from the client.
      * @param connection The WebSocket connection from which the message was received.
-     * @return A Uni emitting a {@link MessageDTO} as a response, or null if no direct response is needed for the client.
-     * In case of an error, a Uni emitting an error message is returned.
+     * @return A Uni completing once the response, if any, was sent to the client.
+     * A message that cannot be decoded results in a failed Uni, which is answered with an error message.
      */
     @OnTextMessage
-    public Uni<MessageDTO> onTextMessage(MessageDTO message, WebSocketConnection connection) {
+    public Uni<Void> onTextMessage(String message, WebSocketConnection connection) {
         logger.infof("Received text message: client = %s, message = %s", connection.id(), message);
-        return gameMessageHandler.handleGameMessage(message);
+        try {
+            return handleMessage(messageCodec.decode(message), connection);
+        } catch (JsonProcessingException e) {
+            return Uni.createFrom().failure(e);
+        }
+    }
+
+    /**
+     * Handles incoming binary messages from a WebSocket client.
+     * The binary message is decoded and routed to the appropriate handler based on its type.
+     *
+     * @param message    The binary message received from the client.
+     * @param connection The WebSocket connection from which the message was received.
+     * @return A Uni completing once the response, if any, was sent to the client.
+     * A message that cannot be decoded results in a failed Uni, which is answered with an error message.
+     */
+    @OnBinaryMessage
+    public Uni<Void> onBinaryMessage(Buffer message, WebSocketConnection connection) {
+        try {
+            MessageDTO decoded = messageCodec.decode(message.getBytes());
+            logger.infof("Received binary message: client = %s, size = %d, message = %s", connection.id(), message.length(), decoded);
+            return handleMessage(decoded, connection);
+        } catch (GameException e) {
+            return Uni.createFrom().failure(e);
+        }
+    }
+
+    private Uni<Void> handleMessage(MessageDTO message, WebSocketConnection connection) {
+        // Resuming a session rebinds the connection, all other commands only refer to their player
+        Uni<MessageDTO> handled = message.getType() == MessageType.RESUME_SESSION
+                ? gameMessageHandler.resumeSession(message, connection)
+                : gameMessageHandler.handleGameMessage(message);
+        return handled
+                .chain(response -> response == null
+                        ? Uni.createFrom().voidItem()
+                        : playerService.sendMessage(connection, response));
     }
 
     /**
@@ -74,12 +127,11 @@ public class GameWebSocket {
      *
      * @param connection The WebSocket connection where the error occurred.
      * @param error      The throwable representing the error.
-     * @return A Uni emitting a {@link MessageDTO} containing an error message.
+     * @return A Uni completing once the error message was sent.
      */
     @OnError
-    public Uni<MessageDTO> onError(WebSocketConnection connection, Throwable error) {
+    public Uni<Void> onError(WebSocketConnection connection, Throwable error) {
         logger.errorf("Unexpected Error occurred: connection = %s, error = %s", connection.id(), error.getMessage());
-        return Uni.createFrom().item(gameMessageHandler.createErrorMessage("Unexpected error"));
+        return playerService.sendMessage(connection, gameMessageHandler.createErrorMessage("Unexpected error"));
     }
 }
-
@@ -0,0 +1,669 @@
+package com.example.cataniaunited.api.codec;
+
+import com.example.cataniaunited.dto.MessageDTO;
+import com.example.cataniaunited.dto.MessageType;
+import com.example.cataniaunited.dto.PlayerInfo;
+import com.example.cataniaunited.exception.GameException;
+import com.example.cataniaunited.game.board.BoardSnapshot;
+import com.example.cataniaunited.game.board.tile_list_builder.TileType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.POJONode;
+import com.fasterxml.jackson.databind.util.RawValue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Encodes and decodes {@link MessageDTO}s in the compact binary wire format.
+ * <p>
+ * Unless stated otherwise, integers are unsigned LEB128 varints and signed values are zigzag encoded.
+ * <pre>
+ * message    = version:u8 type:varint player:id lobbyId:id players payload:value
+ * players    = count:varint (key:id playerInfo)*
+ * playerInfo = id:id username:string? color:string? flags:u8 victoryPoints:zigzag resources
+ * resources  = mask:u8 count:zigzag*   one count per set bit, in {@link TileType} order; 0xFF encodes null
+ * id         = 0x00 (null) | 0x01 uuid:16 bytes | 0x02 string
+ * string?    = 0 (null) | (length + 1):varint utf8
+ * key        = (length &lt;&lt; 1):varint utf8   first occurrence within the message
+ *            | (index &lt;&lt; 1 | 1):varint     reference to a previously written key
+ * value      = tag:u8 content, see the VALUE_* constants
+ * </pre>
+ * A value tagged {@link #VALUE_SCOPE} has its own key table, it neither references keys written before it
+ * nor adds keys visible after it. Board snapshots are written in such a scope, so their cached encoding
+ * can be copied into any message.
+ * The type is the ordinal of the {@link MessageType}. Objects consisting only of resource counts
+ * are written as resource vectors and decoded with their keys in {@link TileType} order.
+ */
+final class BinaryMessageCodec {
+
+    static final int VERSION = 1;
+
+    static final int VALUE_NULL = 0;
+    static final int VALUE_FALSE = 1;
+    static final int VALUE_TRUE = 2;
+    static final int VALUE_INT = 3;
+    static final int VALUE_FLOAT = 4;
+    static final int VALUE_DOUBLE = 5;
+    static final int VALUE_STRING = 6;
+    static final int VALUE_UUID = 7;
+    static final int VALUE_ARRAY = 8;
+    static final int VALUE_OBJECT = 9;
+    static final int VALUE_RESOURCES = 10;
+    static final int VALUE_DECIMAL = 11;
+    static final int VALUE_BINARY = 12;
+    static final int VALUE_SCOPE = 13;
+
+    /**
+     * Maximum nesting of arrays, objects and scopes in a decoded value, so a crafted message cannot
+     * exhaust the stack of the I/O thread. Like the nesting limit Jackson applies to JSON messages.
+     */
+    static final int MAX_DEPTH = 64;
+
+    private static final int ID_NULL = 0;
+    private static final int ID_UUID = 1;
+    private static final int ID_STRING = 2;
+    private static final int NULL_RESOURCES = 0xFF;
+    private static final int UUID_LENGTH = 36;
+
+    private static final MessageType[] MESSAGE_TYPES = MessageType.values();
+    private static final TileType[] TILE_TYPES = TileType.values();
+    private static final Map<String, TileType> TILE_TYPES_BY_NAME = new HashMap<>();
+
+    static {
+        for (TileType tileType : TILE_TYPES) {
+            TILE_TYPES_BY_NAME.put(tileType.name(), tileType);
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+
+    BinaryMessageCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Encodes a message into the binary wire format.
+     *
+     * @param message The {@link MessageDTO} to encode.
+     * @return The encoded bytes.
+     * @throws IOException if a raw JSON value of the payload cannot be parsed.
+     */
+    byte[] encode(MessageDTO message) throws IOException {
+        Output out = new Output();
+        out.writeByte(VERSION);
+        out.writeVarint(Objects.requireNonNull(message.getType(), "Message type must not be null").ordinal());
+        writeId(out, message.getPlayer());
+        writeId(out, message.getLobbyId());
+
+        Map<String, PlayerInfo> players = message.getPlayers();
+        int playerCount = players != null ? players.size() : 0;
+        out.writeVarint(playerCount);
+        if (playerCount > 0) {
+            for (Map.Entry<String, PlayerInfo> entry : players.entrySet()) {
+                writeId(out, entry.getKey());
+                writePlayerInfo(out, entry.getValue());
+            }
+        }
+
+        writeValue(out, message.getMessage());
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a message from the binary wire format.
+     *
+     * @param bytes The encoded message.
+     * @return The decoded {@link MessageDTO}.
+     * @throws GameException if the bytes are not a valid binary message.
+     */
+    MessageDTO decode(byte[] bytes) throws GameException {
+        Input in = new Input(bytes);
+        int version = in.readByte();
+        if (version != VERSION) {
+            throw new GameException("Unsupported binary message version: %s", version);
+        }
+        long typeCode = in.readVarint();
+        if (typeCode < 0 || typeCode >= MESSAGE_TYPES.length) {
+            throw new GameException("Unknown binary message type: %s", typeCode);
+        }
+        MessageType type = MESSAGE_TYPES[(int) typeCode];
+        String player = readId(in);
+        String lobbyId = readId(in);
+
+        int playerCount = in.readLength();
+        Map<String, PlayerInfo> players = new HashMap<>();
+        for (int i = 0; i < playerCount; i++) {
+            String key = readId(in);
+            players.put(key, readPlayerInfo(in));
+        }
+
+        JsonNode payload = readValue(in, 0);
+        if (!payload.isNull() && !payload.isObject()) {
+            throw new GameException("Payload of binary message must be an object");
+        }
+        if (!in.isExhausted()) {
+            throw new GameException("Malformed binary message: %s trailing bytes", in.remaining());
+        }
+        return new MessageDTO(type, player, lobbyId, players, payload.isObject() ? (ObjectNode) payload : null);
+    }
+
+    private void writePlayerInfo(Output out, PlayerInfo info) {
+        writeId(out, info.id());
+        out.writeNullableString(info.username());
+        out.writeNullableString(info.color());
+        int flags = (info.isHost() ? 1 : 0)
+                | (info.isReady() ? 1 << 1 : 0)
+                | (info.isActivePlayer() ? 1 << 2 : 0)
+                | (info.canRollDice() ? 1 << 3 : 0)
+                | (info.isSetupRound() ? 1 << 4 : 0);
+        out.writeByte(flags);
+        out.writeZigZag(info.victoryPoints());
+        writeResources(out, info.resources());
+    }
+
+    private PlayerInfo readPlayerInfo(Input in) throws GameException {
+        String id = readId(in);
+        String username = in.readNullableString();
+        String color = in.readNullableString();
+        int flags = in.readByte();
+        int victoryPoints = (int) in.readZigZag();
+        Map<TileType, Integer> resources = readResources(in);
+        return new PlayerInfo(id, username, color,
+                (flags & 1) != 0,
+                (flags & 1 << 1) != 0,
+                (flags & 1 << 2) != 0,
+                (flags & 1 << 3) != 0,
+                (flags & 1 << 4) != 0,
+                victoryPoints, resources);
+    }
+
+    private static void writeResources(Output out, Map<TileType, Integer> resources) {
+        if (resources == null) {
+            out.writeByte(NULL_RESOURCES);
+            return;
+        }
+        int mask = 0;
+        for (TileType tileType : resources.keySet()) {
+            mask |= 1 << tileType.ordinal();
+        }
+        out.writeByte(mask);
+        for (TileType tileType : TILE_TYPES) {
+            if ((mask & 1 << tileType.ordinal()) != 0) {
+                Integer count = resources.get(tileType);
+                out.writeZigZag(count != null ? count : 0);
+            }
+        }
+    }
+
+    private static Map<TileType, Integer> readResources(Input in) throws GameException {
+        int mask = in.readByte();
+        if (mask == NULL_RESOURCES) {
+            return null;
+        }
+        Map<TileType, Integer> resources = new EnumMap<>(TileType.class);
+        for (TileType tileType : TILE_TYPES) {
+            if ((mask & 1 << tileType.ordinal()) != 0) {
+                resources.put(tileType, (int) in.readZigZag());
+            }
+        }
+        return resources;
+    }
+
+    private static void writeId(Output out, String id) {
+        if (id == null) {
+            out.writeByte(ID_NULL);
+        } else if (isUuid(id)) {
+            out.writeByte(ID_UUID);
+            out.writeUuid(UUID.fromString(id));
+        } else {
+            out.writeByte(ID_STRING);
+            out.writeString(id);
+        }
+    }
+
+    private static String readId(Input in) throws GameException {
+        int tag = in.readByte();
+        return switch (tag) {
+            case ID_NULL -> null;
+            case ID_UUID -> in.readUuid().toString();
+            case ID_STRING -> in.readString();
+            default -> throw new GameException("Unknown id tag in binary message: %s", tag);
+        };
+    }
+
+    private void writeValue(Output out, JsonNode node) throws IOException {
+        if (node == null) {
+            out.writeByte(VALUE_NULL);
+            return;
+        }
+        switch (node.getNodeType()) {
+            case NULL, MISSING -> out.writeByte(VALUE_NULL);
+            case BOOLEAN -> out.writeByte(node.booleanValue() ? VALUE_TRUE : VALUE_FALSE);
+            case NUMBER -> writeNumber(out, node);
+            case STRING -> writeText(out, node.textValue());
+            case BINARY -> {
+                byte[] bytes = node.binaryValue();
+                out.writeByte(VALUE_BINARY);
+                out.writeVarint(bytes.length);
+                out.writeBytes(bytes);
+            }
+            case ARRAY -> {
+                out.writeByte(VALUE_ARRAY);
+                out.writeVarint(node.size());
+                for (JsonNode element : node) {
+                    writeValue(out, element);
+                }
+            }
+            case OBJECT -> writeObject(out, node);
+            case POJO -> writePojo(out, ((POJONode) node).getPojo());
+        }
+    }
+
+    private static void writeNumber(Output out, JsonNode node) {
+        if (node.isIntegralNumber() && node.canConvertToLong()) {
+            out.writeByte(VALUE_INT);
+            out.writeZigZag(node.longValue());
+        } else if (node.isDouble() || node.isFloat()) {
+            double value = node.doubleValue();
+            float floatValue = (float) value;
+            if ((double) floatValue == value) {
+                out.writeByte(VALUE_FLOAT);
+                out.writeInt(Float.floatToIntBits(floatValue));
+            } else {
+                out.writeByte(VALUE_DOUBLE);
+                out.writeLong(Double.doubleToLongBits(value));
+            }
+        } else {
+            out.writeByte(VALUE_DECIMAL);
+            out.writeString(node.decimalValue().toString());
+        }
+    }
+
+    private static void writeText(Output out, String text) {
+        if (isUuid(text)) {
+            out.writeByte(VALUE_UUID);
+            out.writeUuid(UUID.fromString(text));
+        } else {
+            out.writeByte(VALUE_STRING);
+            out.writeString(text);
+        }
+    }
+
+    private void writeObject(Output out, JsonNode node) throws IOException {
+        if (isResourceVector(node)) {
+            Map<TileType, Integer> resources = new EnumMap<>(TileType.class);
+            node.fields().forEachRemaining(field -> resources.put(TILE_TYPES_BY_NAME.get(field.getKey()), field.getValue().intValue()));
+            out.writeByte(VALUE_RESOURCES);
+            writeResources(out, resources);
+            return;
+        }
+        out.writeByte(VALUE_OBJECT);
+        out.writeVarint(node.size());
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            out.writeKey(field.getKey());
+            writeValue(out, field.getValue());
+        }
+    }
+
+    private static boolean isResourceVector(JsonNode node) {
+        if (node.isEmpty()) {
+            return false;
+        }
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (!TILE_TYPES_BY_NAME.containsKey(field.getKey()) || !field.getValue().isInt()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writePojo(Output out, Object pojo) throws IOException {
+        if (pojo instanceof RawValue rawValue && rawValue.rawValue() instanceof BoardSnapshot snapshot) {
+            out.writeByte(VALUE_SCOPE);
+            out.writeBytes(snapshot.getBinaryValue(this::encodeScope));
+        } else if (pojo instanceof RawValue rawValue) {
+            writeValue(out, objectMapper.readTree(String.valueOf(rawValue.rawValue())));
+        } else {
+            writeValue(out, objectMapper.valueToTree(pojo));
+        }
+    }
+
+    /**
+     * Encodes a JSON value with a key table of its own, to be written after a {@link #VALUE_SCOPE} tag.
+     */
+    private byte[] encodeScope(byte[] json) throws IOException {
+        Output out = new Output();
+        writeValue(out, objectMapper.readTree(json));
+        return out.toByteArray();
+    }
+
+    private static JsonNode readValue(Input in, int depth) throws GameException {
+        if (depth > MAX_DEPTH) {
+            throw new GameException("Binary message nested deeper than %s levels", MAX_DEPTH);
+        }
+        JsonNodeFactory factory = JsonNodeFactory.instance;
+        int tag = in.readByte();
+        return switch (tag) {
+            case VALUE_NULL -> factory.nullNode();
+            case VALUE_FALSE -> factory.booleanNode(false);
+            case VALUE_TRUE -> factory.booleanNode(true);
+            case VALUE_INT -> {
+                long value = in.readZigZag();
+                yield value == (int) value ? factory.numberNode((int) value) : factory.numberNode(value);
+            }
+            case VALUE_FLOAT -> factory.numberNode((double) Float.intBitsToFloat(in.readInt()));
+            case VALUE_DOUBLE -> factory.numberNode(Double.longBitsToDouble(in.readLong()));
+            case VALUE_STRING -> factory.textNode(in.readString());
+            case VALUE_UUID -> factory.textNode(in.readUuid().toString());
+            case VALUE_ARRAY -> {
+                int size = in.readLength();
+                ArrayNode array = factory.arrayNode(size);
+                for (int i = 0; i < size; i++) {
+                    array.add(readValue(in, depth + 1));
+                }
+                yield array;
+            }
+            case VALUE_OBJECT -> {
+                int size = in.readLength();
+                ObjectNode object = factory.objectNode();
+                for (int i = 0; i < size; i++) {
+                    String key = in.readKey();
+                    object.set(key, readValue(in, depth + 1));
+                }
+                yield object;
+            }
+            case VALUE_RESOURCES -> {
+                Map<TileType, Integer> resources = readResources(in);
+                ObjectNode object = factory.objectNode();
+                if (resources != null) {
+                    resources.forEach((tileType, count) -> object.put(tileType.name(), count));
+                }
+                yield object;
+            }
+            case VALUE_DECIMAL -> {
+                try {
+                    yield factory.numberNode(new BigDecimal(in.readString()));
+                } catch (NumberFormatException e) {
+                    throw new GameException("Malformed decimal in binary message");
+                }
+            }
+            case VALUE_BINARY -> factory.binaryNode(in.readBytes(in.readLength()));
+            case VALUE_SCOPE -> {
+                List<String> keys = in.enterScope();
+                JsonNode value = readValue(in, depth + 1);
+                in.leaveScope(keys);
+                yield value;
+            }
+            default -> throw new GameException("Unknown value tag in binary message: %s", tag);
+        };
+    }
+
+    /**
+     * Checks whether the given string is a UUID in its canonical, lower case form,
+     * so it survives the round trip through its 16 byte representation unchanged.
+     */
+    static boolean isUuid(String value) {
+        if (value.length() != UUID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < UUID_LENGTH; i++) {
+            char c = value.charAt(i);
+            boolean valid = (i == 8 || i == 13 || i == 18 || i == 23)
+                    ? c == '-'
+                    : (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f');
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Growable output buffer of a single message, including the key table of the message.
+     */
+    private static final class Output {
+        private byte[] buffer = new byte[256];
+        private int length;
+        private final Map<String, Integer> keys = new HashMap<>();
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[length++] = (byte) value;
+        }
+
+        void writeBytes(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, length, bytes.length);
+            length += bytes.length;
+        }
+
+        void writeVarint(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[length++] = (byte) value;
+        }
+
+        void writeZigZag(long value) {
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        void writeInt(int value) {
+            ensureCapacity(4);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                buffer[length++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[length++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length);
+            writeBytes(bytes);
+        }
+
+        void writeNullableString(String value) {
+            if (value == null) {
+                writeVarint(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length + 1L);
+            writeBytes(bytes);
+        }
+
+        void writeKey(String key) {
+            Integer index = keys.get(key);
+            if (index != null) {
+                writeVarint(((long) index << 1) | 1);
+                return;
+            }
+            keys.put(key, keys.size());
+            byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+            writeVarint((long) bytes.length << 1);
+            writeBytes(bytes);
+        }
+
+        void writeUuid(UUID uuid) {
+            writeLong(uuid.getMostSignificantBits());
+            writeLong(uuid.getLeastSignificantBits());
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, length);
+        }
+
+        private void ensureCapacity(int additional) {
+            if (length + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + additional));
+            }
+        }
+    }
+
+    /**
+     * Bounds checked reader of a single message, including the key table of the message.
+     */
+    private static final class Input {
+        private final byte[] buffer;
+        private int position;
+        private List<String> keys = new ArrayList<>();
+
+        Input(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        /**
+         * Starts reading a {@link #VALUE_SCOPE} with an empty key table.
+         *
+         * @return The key table of the enclosing value, to be passed to {@link #leaveScope(List)}.
+         */
+        List<String> enterScope() {
+            List<String> enclosing = keys;
+            keys = new ArrayList<>();
+            return enclosing;
+        }
+
+        void leaveScope(List<String> enclosing) {
+            keys = enclosing;
+        }
+
+        boolean isExhausted() {
+            return position == buffer.length;
+        }
+
+        int remaining() {
+            return buffer.length - position;
+        }
+
+        int readByte() throws GameException {
+            require(1);
+            return buffer[position++] & 0xFF;
+        }
+
+        byte[] readBytes(int count) throws GameException {
+            require(count);
+            byte[] bytes = Arrays.copyOfRange(buffer, position, position + count);
+            position += count;
+            return bytes;
+        }
+
+        long readVarint() throws GameException {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new GameException("Malformed varint in binary message");
+        }
+
+        long readZigZag() throws GameException {
+            long value = readVarint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        int readLength() throws GameException {
+            long length = readVarint();
+            if (length < 0 || length > remaining()) {
+                throw new GameException("Invalid length in binary message: %s", length);
+            }
+            return (int) length;
+        }
+
+        int readInt() throws GameException {
+            require(4);
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                value = (value << 8) | (buffer[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        long readLong() throws GameException {
+            require(8);
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (buffer[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        String readString() throws GameException {
+            int length = readLength();
+            return readUtf8(length);
+        }
+
+        String readNullableString() throws GameException {
+            long length = readVarint();
+            if (length == 0) {
+                return null;
+            }
+            if (length < 1 || length - 1 > remaining()) {
+                throw new GameException("Invalid length in binary message: %s", length - 1);
+            }
+            return readUtf8((int) (length - 1));
+        }
+
+        String readKey() throws GameException {
+            long reference = readVarint();
+            if ((reference & 1) != 0) {
+                long index = reference >>> 1;
+                if (index >= keys.size()) {
+                    throw new GameException("Unknown key reference in binary message: %s", index);
+                }
+                return keys.get((int) index);
+            }
+            long length = reference >>> 1;
+            if (length > remaining()) {
+                throw new GameException("Invalid length in binary message: %s", length);
+            }
+            String key = readUtf8((int) length);
+            keys.add(key);
+            return key;
+        }
+
+        UUID readUuid() throws GameException {
+            return new UUID(readLong(), readLong());
+        }
+
+        private String readUtf8(int length) {
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private void require(int count) throws GameException {
+            if (count > remaining()) {
+                throw new GameException("Unexpected end of binary message");
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.cataniaunited.api.codec;
+
+import io.quarkus.websockets.next.WebSocketConnection;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * A {@link com.example.cataniaunited.dto.MessageDTO MessageDTO} encoded in a specific {@link WireFormat}.
+ * Encoded messages are immutable and can be written to any number of connections.
+ * <p>
+ * Binary messages are held in one {@link Buffer}, which every connection writes without copying it.
+ * Text frames can only be sent as string, so JSON messages hold the string, and its UTF-8 encoding
+ * is left to the connection.
+ *
+ * @param format The format the message is encoded in.
+ * @param text   The JSON text of the message, null for binary messages.
+ * @param buffer The encoded bytes of binary messages, null for JSON messages.
+ * @param size   The size of the encoded message in bytes.
+ */
+public record EncodedMessage(WireFormat format, String text, Buffer buffer, int size) {
+
+    static EncodedMessage json(String text, int size) {
+        return new EncodedMessage(WireFormat.JSON, text, null, size);
+    }
+
+    static EncodedMessage binary(byte[] bytes) {
+        return new EncodedMessage(WireFormat.BINARY, null, Buffer.buffer(bytes), bytes.length);
+    }
+
+    /**
+     * Writes the message to the given connection, as text frame for JSON and as binary frame otherwise.
+     *
+     * @param connection The {@link WebSocketConnection} to write to.
+     * @return A Uni completing once the message was sent.
+     */
+    public Uni<Void> sendTo(WebSocketConnection connection) {
+        return format == WireFormat.JSON ? connection.sendText(text) : connection.sendBinary(buffer);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.cataniaunited.api.codec;
+
+import com.example.cataniaunited.dto.ClientMessage;
+import com.example.cataniaunited.dto.MessageDTO;
+import com.example.cataniaunited.exception.GameException;
+import com.example.cataniaunited.metrics.GameMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+
+/**
+ * Encodes and decodes {@link MessageDTO}s in the supported {@link WireFormat}s
+ * and reports the encoded sizes and the time spent per format to {@link GameMetrics}.
+ */
+@ApplicationScoped
+public class MessageCodec {
+
+    private static final Logger logger = Logger.getLogger(MessageCodec.class);
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    GameMetrics gameMetrics;
+
+    private BinaryMessageCodec binaryCodec;
+    private ObjectReader clientMessageReader;
+
+    @PostConstruct
+    void init() {
+        binaryCodec = new BinaryMessageCodec(objectMapper);
+        // Commands without payload may omit the message entirely
+        clientMessageReader = objectMapper.readerFor(ClientMessage.class)
+                .without(DeserializationFeature.FAIL_ON_MISSING_EXTERNAL_TYPE_ID_PROPERTY);
+    }
+
+    /**
+     * Encodes a message in the given format.
+     *
+     * @param message The {@link MessageDTO} to encode.
+     * @param format  The {@link WireFormat} to encode the message in.
+     * @return The {@link EncodedMessage}.
+     * @throws IOException if the message cannot be encoded.
+     */
+    public EncodedMessage encode(MessageDTO message, WireFormat format) throws IOException {
+        long start = System.nanoTime();
+        EncodedMessage encoded = switch (format) {
+            case JSON -> {
+                String json = objectMapper.writeValueAsString(message);
+                yield EncodedMessage.json(json, utf8Length(json));
+            }
+            case BINARY -> EncodedMessage.binary(binaryCodec.encode(message));
+        };
+        gameMetrics.recordEncoding(format, System.nanoTime() - start, encoded.size());
+        return encoded;
+    }
+
+    /**
+     * Decodes a JSON text message. The payload is bound directly into the typed
+     * {@link com.example.cataniaunited.dto.command.CommandPayload CommandPayload} of the message type.
+     * If the payload does not match its type, the message is decoded with the payload as JSON tree
+     * instead, so the message handler can report what is wrong with it.
+     *
+     * @param text The JSON text received from a client.
+     * @return The decoded {@link MessageDTO}.
+     * @throws JsonProcessingException if the text is not a valid message.
+     */
+    public MessageDTO decode(String text) throws JsonProcessingException {
+        long start = System.nanoTime();
+        MessageDTO message;
+        try {
+            message = clientMessageReader.<ClientMessage>readValue(text).toMessageDTO();
+        } catch (JsonMappingException e) {
+            logger.debugf("Payload does not match its message type, decoding it as JSON tree: error = %s", e.getOriginalMessage());
+            message = objectMapper.readValue(text, MessageDTO.class);
+        }
+        gameMetrics.recordDecoding(WireFormat.JSON, System.nanoTime() - start, utf8Length(text));
+        return message;
+    }
+
+    /**
+     * Decodes a binary message.
+     *
+     * @param bytes The bytes received from a client.
+     * @return The decoded {@link MessageDTO}.
+     * @throws GameException if the bytes are not a valid binary message.
+     */
+    public MessageDTO decode(byte[] bytes) throws GameException {
+        long start = System.nanoTime();
+        MessageDTO message = binaryCodec.decode(bytes);
+        gameMetrics.recordDecoding(WireFormat.BINARY, System.nanoTime() - start, bytes.length);
+        return message;
+    }
+
+    static int utf8Length(String text) {
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
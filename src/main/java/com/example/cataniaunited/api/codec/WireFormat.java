@@ -0,0 +1,76 @@
+package com.example.cataniaunited.api.codec;
+
+import io.quarkus.websockets.next.HandshakeRequest;
+import io.quarkus.websockets.next.UserData;
+import io.quarkus.websockets.next.WebSocketConnection;
+
+/**
+ * The formats messages can be exchanged in on the game web socket.
+ * JSON is the default; clients opt in to the binary format at connection time, either by requesting the
+ * {@value #SUBPROTOCOL} subprotocol or by connecting with the query parameter {@code codec=binary}.
+ */
+public enum WireFormat {
+    JSON,
+    BINARY;
+
+    public static final String SUBPROTOCOL = "catania-binary";
+    public static final String QUERY_PARAMETER = "codec";
+    private static final String SUBPROTOCOL_HEADER = "Sec-WebSocket-Protocol";
+    private static final UserData.TypedKey<WireFormat> USER_DATA_KEY = new UserData.TypedKey<>("catania.wire-format");
+
+    /**
+     * Determines the wire format negotiated by the given connection. The handshake is only inspected once,
+     * when the connection is opened, the format is kept in the user data of the connection afterward.
+     *
+     * @param connection The {@link WebSocketConnection} of a client, may be null.
+     * @return {@link #BINARY} if the client requested the binary format during the handshake, {@link #JSON} otherwise.
+     */
+    public static WireFormat of(WebSocketConnection connection) {
+        if (connection == null) {
+            return JSON;
+        }
+        UserData userData = connection.userData();
+        WireFormat format = userData != null ? userData.get(USER_DATA_KEY) : null;
+        if (format == null) {
+            format = negotiated(connection.handshakeRequest());
+            if (userData != null) {
+                userData.put(USER_DATA_KEY, format);
+            }
+        }
+        return format;
+    }
+
+    private static WireFormat negotiated(HandshakeRequest handshakeRequest) {
+        if (handshakeRequest == null) {
+            return JSON;
+        }
+        return requestsBinary(handshakeRequest.header(SUBPROTOCOL_HEADER), handshakeRequest.query()) ? BINARY : JSON;
+    }
+
+    static boolean requestsBinary(String subprotocols, String query) {
+        if (subprotocols != null) {
+            for (String subprotocol : subprotocols.split(",")) {
+                if (SUBPROTOCOL.equals(subprotocol.trim())) {
+                    return true;
+                }
+            }
+        }
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                if (parameter.equalsIgnoreCase(QUERY_PARAMETER + "=" + BINARY.tag())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the lower case name of the format, as used in query parameters and metric tags.
+     *
+     * @return The tag of this format.
+     */
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
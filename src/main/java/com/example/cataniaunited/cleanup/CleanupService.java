@@ -4,11 +4,13 @@ import com.example.cataniaunited.exception.GameException;
 import com.example.cataniaunited.game.GameService;
 import com.example.cataniaunited.game.trade.TradingService;
 import com.example.cataniaunited.lobby.Lobby;
+import com.example.cataniaunited.lobby.LobbyCommandExecutor;
 import com.example.cataniaunited.lobby.LobbyService;
 import com.example.cataniaunited.player.Player;
 import com.example.cataniaunited.player.PlayerService;
 import io.quarkus.logging.Log;
 import io.quarkus.scheduler.Scheduled;
+import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
@@ -31,9 +33,15 @@ public class CleanupService {
     @Inject
     TradingService tradingService;
 
+    @Inject
+    LobbyCommandExecutor lobbyCommandExecutor;
+
     @ConfigProperty(name = "qatania.cleanup.threshold-hours")
     Integer cleanupThresholdHours;
 
+    @ConfigProperty(name = "qatania.cleanup.restored-lobby-minutes")
+    Integer restoredLobbyThresholdMinutes;
+
     /**
      * Job that removes all lobbies which are older than 2 days
      */
@@ -46,6 +54,18 @@ public class CleanupService {
                 .forEach(this::cleanupLobby);
     }
 
+    /**
+     * Job that removes restored lobbies none of their players resumed in time
+     */
+    @Scheduled(every = "10m")
+    void cleanupRestoredLobbies() {
+        Log.debugf("Starting cleanup job for restored lobbies");
+        Instant cleanupThreshold = Instant.now().minus(restoredLobbyThresholdMinutes, ChronoUnit.MINUTES);
+        lobbyService.getOpenLobbies().stream()
+                .filter(lobby -> lobby.isRestored() && lobby.getRestoredAt().isBefore(cleanupThreshold))
+                .forEach(this::cleanupLobby);
+    }
+
     @Scheduled(every = "2h")
     void cleanupFinishedGames() {
         Log.debugf("Starting cleanup job for finished games");
@@ -57,16 +77,20 @@ public class CleanupService {
     void cleanupLobby(Lobby lobby) {
         String lobbyId = lobby.getLobbyId();
         Log.debugf("Starting cleanup of lobby %s", lobbyId);
-        gameService.removeGameBoardForLobby(lobbyId);
-        lobby.getPlayers().forEach(playerId -> {
-            try {
-                lobbyService.removePlayerFromLobby(lobbyId, playerId);
-            } catch (GameException e) {
-                Log.warnf(e, "Error while removing player %s from lobby %s during cleanup", playerId, lobbyId);
-            }
+        // Queued behind pending commands of the lobby, as they must not see a partially removed lobby
+        lobbyCommandExecutor.submit(lobbyId, () -> {
+            gameService.removeGameBoardForLobby(lobbyId);
+            lobby.getPlayers().forEach(playerId -> {
+                try {
+                    lobbyService.removePlayerFromLobby(lobbyId, playerId);
+                } catch (GameException e) {
+                    Log.warnf(e, "Error while removing player %s from lobby %s during cleanup", playerId, lobbyId);
+                }
+            });
+            tradingService.removeAllOpenTradeRequestForLobbyId(lobbyId);
+            lobbyService.removeLobby(lobbyId);
+            return Uni.createFrom().voidItem();
         });
-        tradingService.removeAllOpenTradeRequestForLobbyId(lobbyId);
-        lobbyService.removeLobby(lobbyId);
     }
 
     /**
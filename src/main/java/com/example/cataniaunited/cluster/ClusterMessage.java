@@ -0,0 +1,56 @@
+package com.example.cataniaunited.cluster;
+
+import com.example.cataniaunited.dto.MessageDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * A message between the nodes of a cluster, exchanged as JSON over the internal web socket of each node.
+ * Requests carry an ID which is echoed by their response; messages which are not answered have the ID 0.
+ *
+ * @param type       The type of the message.
+ * @param requestId  The ID of the request, or of the request answered.
+ * @param nodeId     The ID of the sending node, for requests and one-way messages.
+ * @param playerId   The player a {@link ClusterMessageType#PLAYER_DISCONNECTED} refers to.
+ * @param username   The username of the sending player of a forwarded command, as known to its node.
+ * @param message    The forwarded command, the response to it, or the message to deliver.
+ * @param recipients The players to deliver the message to.
+ * @param lobbies    The available lobbies of the answering node.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ClusterMessage(
+        ClusterMessageType type,
+        long requestId,
+        String nodeId,
+        String playerId,
+        String username,
+        MessageDTO message,
+        List<String> recipients,
+        List<LobbyListing> lobbies
+) {
+
+    public static ClusterMessage forward(long requestId, String nodeId, MessageDTO message, String username) {
+        return new ClusterMessage(ClusterMessageType.FORWARD, requestId, nodeId, null, username, message, null, null);
+    }
+
+    public static ClusterMessage response(long requestId, MessageDTO message) {
+        return new ClusterMessage(ClusterMessageType.RESPONSE, requestId, null, null, null, message, null, null);
+    }
+
+    public static ClusterMessage listLobbies(long requestId, String nodeId) {
+        return new ClusterMessage(ClusterMessageType.LIST_LOBBIES, requestId, nodeId, null, null, null, null, null);
+    }
+
+    public static ClusterMessage lobbyList(long requestId, List<LobbyListing> lobbies) {
+        return new ClusterMessage(ClusterMessageType.LOBBY_LIST, requestId, null, null, null, null, null, lobbies);
+    }
+
+    public static ClusterMessage deliver(String nodeId, MessageDTO message, List<String> recipients) {
+        return new ClusterMessage(ClusterMessageType.DELIVER, 0, nodeId, null, null, message, recipients, null);
+    }
+
+    public static ClusterMessage playerDisconnected(String nodeId, String playerId) {
+        return new ClusterMessage(ClusterMessageType.PLAYER_DISCONNECTED, 0, nodeId, playerId, null, null, null, null);
+    }
+}
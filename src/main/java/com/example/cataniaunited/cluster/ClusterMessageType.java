@@ -0,0 +1,31 @@
+package com.example.cataniaunited.cluster;
+
+/**
+ * The types of {@link ClusterMessage}s exchanged between the nodes of a cluster.
+ */
+public enum ClusterMessageType {
+    /**
+     * A client command for a lobby owned by the receiving node, answered with a {@link #RESPONSE}.
+     */
+    FORWARD,
+    /**
+     * The response of the owning node to a {@link #FORWARD}ed command.
+     */
+    RESPONSE,
+    /**
+     * A request for the available lobbies owned by the receiving node, answered with a {@link #LOBBY_LIST}.
+     */
+    LIST_LOBBIES,
+    /**
+     * The available lobbies owned by the answering node.
+     */
+    LOBBY_LIST,
+    /**
+     * A message to players connected to the receiving node, not answered.
+     */
+    DELIVER,
+    /**
+     * A player disconnected from the sending node and leaves all lobbies of the receiving node, not answered.
+     */
+    PLAYER_DISCONNECTED
+}
@@ -0,0 +1,27 @@
+package com.example.cataniaunited.cluster;
+
+import java.net.URI;
+
+/**
+ * A node of the cluster, configured as {@code id=uri} in {@code qatania.cluster.nodes}.
+ *
+ * @param id  The ID of the node, which places it on the {@link ConsistentHashRing}.
+ * @param uri The HTTP base URI the node is reachable at by the other nodes, e.g. {@code http://localhost:8081}.
+ */
+public record ClusterNode(String id, URI uri) {
+
+    /**
+     * Parses the definition of a node.
+     *
+     * @param definition The node as {@code id=uri}.
+     * @return The node.
+     * @throws IllegalArgumentException if the definition has no ID or no valid URI.
+     */
+    public static ClusterNode parse(String definition) {
+        int separator = definition.indexOf('=');
+        if (separator <= 0 || separator == definition.length() - 1) {
+            throw new IllegalArgumentException("Expected a cluster node as id=uri, got: " + definition);
+        }
+        return new ClusterNode(definition.substring(0, separator).trim(), URI.create(definition.substring(separator + 1).trim()));
+    }
+}
@@ -0,0 +1,329 @@
+package com.example.cataniaunited.cluster;
+
+import com.example.cataniaunited.dto.MessageDTO;
+import com.example.cataniaunited.dto.command.NoPayload;
+import com.example.cataniaunited.exception.GameException;
+import com.example.cataniaunited.metrics.GameMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.quarkus.websockets.next.BasicWebSocketConnector;
+import io.quarkus.websockets.next.WebSocketClientConnection;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shards lobbies across the nodes of a cluster. Every lobby is owned by the node its ID maps to on a
+ * {@link ConsistentHashRing}, which holds the lobby, its game and the state of its players, and executes
+ * all commands of the lobby. Players stay connected to the node they connected to, their home node:
+ * <ul>
+ *     <li>commands for lobbies of other nodes are forwarded to the owner, which answers them,</li>
+ *     <li>messages of the owner to players of other nodes are delivered by their home node,</li>
+ *     <li>the lobby directory is merged from the available lobbies of all nodes.</li>
+ * </ul>
+ * Nodes talk to each other over a web socket at {@value #PATH}, which is opened on first use and reopened
+ * after it was closed. A connecting node names itself in the {@value #NODE_HEADER} header and proves that it
+ * belongs to the cluster with the shared secret in the {@value #SECRET_HEADER} header, see
+ * {@link #authenticate(String, String, String)}. Without configured nodes, this node is the only one and owns
+ * every lobby.
+ */
+@ApplicationScoped
+public class ClusterService {
+
+    public static final String PATH = "/internal/cluster";
+    public static final String NODE_HEADER = "X-Qatania-Cluster-Node";
+    public static final String SECRET_HEADER = "X-Qatania-Cluster-Secret";
+    private static final Logger logger = Logger.getLogger(ClusterService.class);
+
+    @ConfigProperty(name = "qatania.cluster.node-id")
+    String nodeId = "node-1";
+
+    @ConfigProperty(name = "qatania.cluster.nodes")
+    Optional<List<String>> nodes = Optional.empty();
+
+    @ConfigProperty(name = "qatania.cluster.virtual-nodes")
+    int virtualNodes = 128;
+
+    @ConfigProperty(name = "qatania.cluster.request-timeout-millis")
+    long requestTimeoutMillis = 5000;
+
+    @ConfigProperty(name = "qatania.cluster.secret")
+    Optional<String> secret = Optional.empty();
+
+    @ConfigProperty(name = "qatania.cluster.internal-address")
+    Optional<String> internalAddress = Optional.empty();
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    GameMetrics gameMetrics;
+
+    private ConsistentHashRing ring;
+    private final Map<String, ClusterNode> peers = new LinkedHashMap<>();
+    private final Map<String, CompletableFuture<WebSocketClientConnection>> connections = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<ClusterMessage>> pendingRequests = new ConcurrentHashMap<>();
+    private final AtomicLong requestIds = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        List<ClusterNode> members = nodes.orElse(List.of()).stream()
+                .filter(node -> !node.isBlank())
+                .map(ClusterNode::parse)
+                .toList();
+        if (members.isEmpty()) {
+            logger.debugf("No cluster configured, node owns all lobbies: nodeId = %s", nodeId);
+            return;
+        }
+        if (members.stream().noneMatch(member -> member.id().equals(nodeId))) {
+            throw new IllegalStateException("Node " + nodeId + " is not one of the cluster nodes " + members);
+        }
+        if (secret.filter(value -> !value.isBlank()).isEmpty()) {
+            throw new IllegalStateException("qatania.cluster.secret must be set to join a cluster");
+        }
+        ring = new ConsistentHashRing(members.stream().map(ClusterNode::id).toList(), virtualNodes);
+        members.stream()
+                .filter(member -> !member.id().equals(nodeId))
+                .forEach(member -> peers.put(member.id(), member));
+        logger.infof("Joined cluster: nodeId = %s, nodes = %s", nodeId, ring.getNodeIds());
+    }
+
+    @PreDestroy
+    void close() {
+        connections.values().forEach(connection -> connection.thenAccept(WebSocketClientConnection::close));
+        connections.clear();
+    }
+
+    public boolean isEnabled() {
+        return ring != null;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Checks whether a node is one of the other nodes of the cluster.
+     *
+     * @param node The ID of the node, may be {@code null}.
+     * @return true if the node is configured as member of the cluster and is not this node.
+     */
+    public boolean isPeer(String node) {
+        return node != null && peers.containsKey(node);
+    }
+
+    /**
+     * Checks whether a connection to the cluster endpoint of this node comes from another node of the cluster.
+     *
+     * @param node            The ID the connecting node names itself with, may be {@code null}.
+     * @param presentedSecret The secret presented by the connecting node, may be {@code null}.
+     * @param localAddress    The address of this node the connection arrived at.
+     * @return true if the node is a peer, knows the shared secret, and connected to the internal address of this
+     * node if one is configured; always false without a cluster.
+     */
+    public boolean authenticate(String node, String presentedSecret, String localAddress) {
+        if (!isEnabled() || !isPeer(node) || presentedSecret == null) {
+            return false;
+        }
+        if (internalAddress.isPresent() && !internalAddress.get().equals(localAddress)) {
+            return false;
+        }
+        // Compared in constant time, so the secret cannot be guessed from the time a rejection takes
+        return MessageDigest.isEqual(secret.orElseThrow().getBytes(StandardCharsets.UTF_8),
+                presentedSecret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Gets the node owning a lobby.
+     *
+     * @param lobbyId The ID of the lobby.
+     * @return The ID of the owning node, this node if there is no cluster.
+     */
+    public String ownerOf(String lobbyId) {
+        return ring == null ? nodeId : ring.ownerOf(lobbyId);
+    }
+
+    /**
+     * Checks whether a command is executed by this node, which is the case for all commands without a lobby.
+     *
+     * @param lobbyId The ID of the lobby of the command, may be {@code null}.
+     * @return true if this node owns the lobby or the command refers to no lobby.
+     */
+    public boolean isLocal(String lobbyId) {
+        return lobbyId == null || ring == null || nodeId.equals(ring.ownerOf(lobbyId));
+    }
+
+    /**
+     * Forwards a client command to the node owning its lobby.
+     *
+     * @param message  The command.
+     * @param username The username of the sending player, for the state of the player on the owning node.
+     * @return A Uni emitting the response of the owning node, which may be {@code null},
+     * or failing if the node cannot be reached or does not answer in time.
+     */
+    public Uni<MessageDTO> forward(MessageDTO message, String username) {
+        ClusterMessage request = ClusterMessage.forward(requestIds.incrementAndGet(), nodeId, toForwardable(message), username);
+        return request(ownerOf(message.getLobbyId()), request).map(ClusterMessage::message);
+    }
+
+    /**
+     * The typed payload of JSON clients is not serialized, so it is forwarded as JSON tree.
+     */
+    private MessageDTO toForwardable(MessageDTO message) {
+        if (message.getMessage() != null || message.getPayload() == null || message.getPayload() instanceof NoPayload) {
+            return message;
+        }
+        ObjectNode payload = objectMapper.valueToTree(message.getPayload());
+        return new MessageDTO(message.getType(), message.getPlayer(), message.getLobbyId(), payload);
+    }
+
+    /**
+     * Gets the available lobbies of all other nodes. Nodes which cannot be reached are left out.
+     *
+     * @return A Uni emitting the lobbies, empty if there is no cluster.
+     */
+    public Uni<List<LobbyListing>> getRemoteLobbyListings() {
+        if (peers.isEmpty()) {
+            return Uni.createFrom().item(List.of());
+        }
+        List<Uni<List<LobbyListing>>> requests = peers.keySet().stream()
+                .map(peer -> request(peer, ClusterMessage.listLobbies(requestIds.incrementAndGet(), nodeId))
+                        .map(ClusterMessage::lobbies)
+                        .onFailure().recoverWithItem(e -> {
+                            logger.warnf("Lobbies of cluster node are not listed: nodeId = %s, error = %s", peer, e.getMessage());
+                            return List.<LobbyListing>of();
+                        }))
+                .toList();
+        return Uni.join().all(requests).andFailFast()
+                .map(listings -> {
+                    List<LobbyListing> lobbies = new ArrayList<>();
+                    listings.stream().filter(Objects::nonNull).forEach(lobbies::addAll);
+                    return lobbies;
+                });
+    }
+
+    /**
+     * Sends a message to players connected to another node, once for all of them.
+     *
+     * @param homeNode   The node the players are connected to.
+     * @param message    The message to send.
+     * @param recipients The IDs of the players.
+     * @return A Uni completing once the message was handed to the node. It never fails, an undeliverable
+     * message is dropped like a message to a player without connection.
+     */
+    public Uni<Void> deliver(String homeNode, MessageDTO message, List<String> recipients) {
+        return send(homeNode, ClusterMessage.deliver(nodeId, message, recipients))
+                .onFailure().recoverWithItem(e -> {
+                    logger.warnf("Message to players of cluster node dropped: nodeId = %s, recipients = %s, error = %s", homeNode, recipients, e.getMessage());
+                    return null;
+                });
+    }
+
+    /**
+     * Tells all other nodes that a player disconnected, so it leaves the lobbies owned by them.
+     *
+     * @param playerId The ID of the disconnected player.
+     * @return A Uni completing once all nodes were told, it never fails.
+     */
+    public Uni<Void> broadcastDisconnect(String playerId) {
+        if (peers.isEmpty()) {
+            return Uni.createFrom().voidItem();
+        }
+        List<Uni<Void>> sends = peers.keySet().stream()
+                .map(peer -> send(peer, ClusterMessage.playerDisconnected(nodeId, playerId))
+                        .onFailure().recoverWithItem(e -> {
+                            logger.warnf("Could not tell cluster node about disconnect: nodeId = %s, playerId = %s, error = %s", peer, playerId, e.getMessage());
+                            return null;
+                        }))
+                .toList();
+        return Uni.join().all(sends).andFailFast().replaceWithVoid();
+    }
+
+    private Uni<ClusterMessage> request(String node, ClusterMessage request) {
+        CompletableFuture<ClusterMessage> response = new CompletableFuture<>();
+        pendingRequests.put(request.requestId(), response);
+        long start = System.nanoTime();
+        return send(node, request)
+                .chain(() -> Uni.createFrom().completionStage(response))
+                .ifNoItem().after(Duration.ofMillis(requestTimeoutMillis))
+                .failWith(() -> new GameException("Cluster node %s did not answer within %d ms", node, requestTimeoutMillis))
+                .eventually(() -> {
+                    pendingRequests.remove(request.requestId());
+                    gameMetrics.recordClusterRequest(request.type(), System.nanoTime() - start);
+                });
+    }
+
+    private Uni<Void> send(String node, ClusterMessage message) {
+        String text;
+        try {
+            text = objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            return Uni.createFrom().failure(e);
+        }
+        return connect(node).chain(connection -> connection.sendText(text));
+    }
+
+    private Uni<WebSocketClientConnection> connect(String node) {
+        CompletableFuture<WebSocketClientConnection> connection = connections.computeIfAbsent(node, this::openConnection);
+        return Uni.createFrom().completionStage(connection)
+                .onFailure().invoke(e -> connections.remove(node, connection)); // Connect again on the next message
+    }
+
+    private CompletableFuture<WebSocketClientConnection> openConnection(String node) {
+        ClusterNode peer = peers.get(node);
+        if (peer == null) {
+            return CompletableFuture.failedFuture(new GameException("Unknown cluster node: %s", node));
+        }
+        logger.infof("Connecting to cluster node: nodeId = %s, uri = %s", node, peer.uri());
+        return BasicWebSocketConnector.create()
+                .baseUri(peer.uri())
+                .path(PATH)
+                .addHeader(NODE_HEADER, nodeId)
+                .addHeader(SECRET_HEADER, secret.orElseThrow())
+                .onTextMessage((connection, text) -> onResponse(text))
+                .onClose((connection, reason) -> {
+                    logger.warnf("Connection to cluster node closed: nodeId = %s", node);
+                    connections.computeIfPresent(node, (id, current) -> current.getNow(null) == connection ? null : current);
+                })
+                .connect()
+                .subscribeAsCompletionStage();
+    }
+
+    /**
+     * Completes the pending request a response received from another node answers. Responses arriving
+     * after their request timed out are dropped.
+     */
+    void onResponse(String text) {
+        ClusterMessage response;
+        try {
+            response = objectMapper.readValue(text, ClusterMessage.class);
+        } catch (JsonProcessingException e) {
+            logger.errorf(e, "Could not decode response of cluster node");
+            return;
+        }
+        CompletableFuture<ClusterMessage> request = pendingRequests.remove(response.requestId());
+        if (request == null) {
+            logger.warnf("Dropped response of cluster node without pending request: requestId = %d", response.requestId());
+            return;
+        }
+        request.complete(response);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.cataniaunited.cluster;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Maps keys to nodes by consistent hashing. Every node is placed at a number of virtual positions on a
+ * ring of 64 bit hashes, and a key belongs to the first node at or after the hash of the key.
+ * Adding or removing a node only moves the keys of the ring segments the node takes over or gives up,
+ * about {@code 1/n} of all keys, and the virtual positions spread these segments over all other nodes.
+ * <p>
+ * The hash only depends on the characters of the key, so all nodes configured with the same node IDs
+ * agree on the owner of every key. The ring is immutable and lookups do not allocate.
+ */
+public final class ConsistentHashRing {
+
+    private final List<String> nodeIds;
+    private final long[] positions;
+    private final String[] owners;
+
+    /**
+     * @param nodeIds      The IDs of the nodes, in any order.
+     * @param virtualNodes The number of positions of every node on the ring.
+     * @throws IllegalArgumentException if there is no node or the number of positions is not positive.
+     */
+    public ConsistentHashRing(Collection<String> nodeIds, int virtualNodes) {
+        if (nodeIds.isEmpty() || virtualNodes < 1) {
+            throw new IllegalArgumentException("A ring needs at least one node with at least one position");
+        }
+        this.nodeIds = nodeIds.stream().distinct().sorted().toList();
+
+        List<Point> points = new ArrayList<>(this.nodeIds.size() * virtualNodes);
+        for (String nodeId : this.nodeIds) {
+            for (int i = 0; i < virtualNodes; i++) {
+                points.add(new Point(hash(nodeId + "#" + i), nodeId));
+            }
+        }
+        // Equal positions are ordered by node ID, so every node builds the same ring
+        points.sort(Comparator.comparingLong(Point::position).thenComparing(Point::nodeId));
+        positions = new long[points.size()];
+        owners = new String[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            positions[i] = points.get(i).position();
+            owners[i] = points.get(i).nodeId();
+        }
+    }
+
+    /**
+     * Gets the node a key belongs to.
+     *
+     * @param key The key, e.g. a lobby ID.
+     * @return The ID of the owning node.
+     */
+    public String ownerOf(String key) {
+        int index = Arrays.binarySearch(positions, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == positions.length ? 0 : index];
+    }
+
+    /**
+     * @return The IDs of all nodes on the ring, sorted.
+     */
+    public List<String> getNodeIds() {
+        return nodeIds;
+    }
+
+    /**
+     * Hashes a key with 64 bit FNV-1a. Similar short keys, like lobby IDs, yield similar FNV hashes, so the
+     * result is spread over the whole ring with the finalizer of SplitMix64.
+     *
+     * @param key The key to hash.
+     * @return The position of the key on the ring.
+     */
+    static long hash(CharSequence key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+
+    private record Point(long position, String nodeId) {
+    }
+}
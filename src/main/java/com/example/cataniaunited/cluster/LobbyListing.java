@@ -0,0 +1,12 @@
+package com.example.cataniaunited.cluster;
+
+import com.example.cataniaunited.dto.LobbyInfo;
+
+/**
+ * An available lobby in the lobby directory, which is merged from the lobbies of all nodes.
+ *
+ * @param lobby     The lobby as shown to clients.
+ * @param createdAt The creation time of the lobby in epoch milliseconds, the newest lobbies are listed first.
+ */
+public record LobbyListing(LobbyInfo lobby, long createdAt) {
+}
@@ -0,0 +1,61 @@
+package com.example.cataniaunited.dto;
+
+import com.example.cataniaunited.dto.command.CheatAttempt;
+import com.example.cataniaunited.dto.command.CommandPayload;
+import com.example.cataniaunited.dto.command.GetGameBoard;
+import com.example.cataniaunited.dto.command.NoPayload;
+import com.example.cataniaunited.dto.command.PlaceRoad;
+import com.example.cataniaunited.dto.command.ReportPlayer;
+import com.example.cataniaunited.dto.command.ResumeSession;
+import com.example.cataniaunited.dto.command.SetUsername;
+import com.example.cataniaunited.dto.command.SettlementPosition;
+import com.example.cataniaunited.dto.command.TradeDecision;
+import com.example.cataniaunited.game.trade.PlayerTradeRequest;
+import com.example.cataniaunited.game.trade.TradeRequest;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+/**
+ * Inbound model of a message sent by a client. In contrast to {@link MessageDTO}, the payload
+ * is bound in the same pass as the envelope into the {@link CommandPayload} record registered
+ * for the {@link MessageType} of the message, without building a JSON tree first.
+ * Commands without a registered payload are bound to {@link NoPayload}.
+ *
+ * @param type    The type of the command, which also selects the payload type.
+ * @param player  The id of the sending player.
+ * @param lobbyId The id of the lobby the command refers to.
+ * @param message The typed payload, or {@code null} if the client sent none.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ClientMessage(
+        MessageType type,
+        String player,
+        String lobbyId,
+        @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.EXTERNAL_PROPERTY, property = "type", visible = true, defaultImpl = NoPayload.class)
+        @JsonSubTypes({
+                @JsonSubTypes.Type(value = PlaceRoad.class, name = "PLACE_ROAD"),
+                @JsonSubTypes.Type(value = SettlementPosition.class, names = {"PLACE_SETTLEMENT", "UPGRADE_SETTLEMENT"}),
+                @JsonSubTypes.Type(value = SetUsername.class, name = "SET_USERNAME"),
+                @JsonSubTypes.Type(value = TradeRequest.class, name = "TRADE_WITH_BANK"),
+                @JsonSubTypes.Type(value = PlayerTradeRequest.class, name = "CREATE_PLAYER_TRADE_REQUEST"),
+                @JsonSubTypes.Type(value = TradeDecision.class, names = {"ACCEPT_TRADE_REQUEST", "REJECT_TRADE_REQUEST"}),
+                @JsonSubTypes.Type(value = CheatAttempt.class, name = "CHEAT_ATTEMPT"),
+                @JsonSubTypes.Type(value = ReportPlayer.class, name = "REPORT_PLAYER"),
+                @JsonSubTypes.Type(value = GetGameBoard.class, name = "GET_GAME_BOARD"),
+                @JsonSubTypes.Type(value = ResumeSession.class, name = "RESUME_SESSION")
+        })
+        CommandPayload message
+) {
+
+    /**
+     * Converts this message into a {@link MessageDTO} carrying the typed payload.
+     *
+     * @return The {@link MessageDTO} for the message handlers.
+     */
+    public MessageDTO toMessageDTO() {
+        MessageDTO dto = new MessageDTO(type, player, lobbyId);
+        dto.setPayload(message);
+        return dto;
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.cataniaunited.dto;
 
+import com.example.cataniaunited.dto.command.CommandPayload;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -11,6 +13,9 @@ import java.util.Optional;
 /**
  * Data Transfer Object for messages exchanged via WebSocket.
  * Contains information about the message type, sender, lobby, and payload.
+ * <p>
+ * Messages decoded from JSON clients carry their payload as typed {@link CommandPayload}
+ * (see {@link ClientMessage}), all other messages carry it as {@link ObjectNode}.
  */
 public class MessageDTO {
 
@@ -19,6 +24,7 @@ public class MessageDTO {
     private String lobbyId;
     private Map<String, PlayerInfo> players = new HashMap<>();
     private ObjectNode message;
+    private CommandPayload payload;
 
     public MessageDTO() {
     }
@@ -81,16 +87,31 @@ public class MessageDTO {
         return message;
     }
 
+    /**
+     * Gets the typed payload of a client command, if it was bound while decoding the message.
+     *
+     * @return The {@link CommandPayload}, or {@code null} if the payload is only available as {@link #getMessage()}.
+     */
+    @JsonIgnore
+    public CommandPayload getPayload() {
+        return payload;
+    }
+
+    public void setPayload(CommandPayload payload) {
+        this.payload = payload;
+    }
 
     /**
      * Retrieves a specific node from the message payload by its name.
-     * If the node does not exist, an empty ObjectNode is returned.
+     * If the node or the payload does not exist, an empty ObjectNode is returned.
      *
      * @param nodeName The name of the JSON node to retrieve.
      * @return The {@link JsonNode} if found, or an empty {@link ObjectNode} otherwise.
      */
     public JsonNode getMessageNode(String nodeName) {
-        return Optional.ofNullable(message.get(nodeName)).orElse(JsonNodeFactory.instance.objectNode());
+        return Optional.ofNullable(message)
+                .map(node -> node.get(nodeName))
+                .orElse(JsonNodeFactory.instance.objectNode());
     }
 
     @Override
@@ -101,6 +122,7 @@ public class MessageDTO {
                 ", lobbyId='" + lobbyId + '\'' +
                 ", players=" + players +
                 ", message=" + message +
+                ", payload=" + payload +
                 '}';
     }
 }
\ No newline at end of file
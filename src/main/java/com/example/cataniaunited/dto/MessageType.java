@@ -19,6 +19,7 @@ public enum MessageType {
     PLAYER_RESOURCE_UPDATE,
     TRADE_OFFER,
     LOBBY_LIST,
+    SESSION_RESUMED,
 
     //Client Messages
     CREATE_LOBBY,
@@ -38,6 +39,10 @@ public enum MessageType {
     ACCEPT_TRADE_REQUEST,
     REJECT_TRADE_REQUEST,
     CHEAT_ATTEMPT,
-    REPORT_PLAYER
+    REPORT_PLAYER,
+    GET_GAME_BOARD,
+    GET_LEGAL_MOVES,
+    GET_PLAYERS,
+    RESUME_SESSION
 
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.example.cataniaunited.dto.command;
+
+import com.example.cataniaunited.game.board.tile_list_builder.TileType;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Payload of a {@code CHEAT_ATTEMPT} command.
+ *
+ * @param resource The resource the player tries to cheat.
+ */
+public record CheatAttempt(@JsonProperty(required = true) TileType resource) implements CommandPayload {
+}
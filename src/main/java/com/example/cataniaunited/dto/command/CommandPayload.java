@@ -0,0 +1,10 @@
+package com.example.cataniaunited.dto.command;
+
+/**
+ * Marker interface for the typed payload of a client command.
+ * Payloads are bound directly from the incoming message, keyed on its
+ * {@link com.example.cataniaunited.dto.MessageType MessageType},
+ * see {@link com.example.cataniaunited.dto.ClientMessage ClientMessage}.
+ */
+public interface CommandPayload {
+}
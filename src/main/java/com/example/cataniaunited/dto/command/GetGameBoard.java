@@ -0,0 +1,9 @@
+package com.example.cataniaunited.dto.command;
+
+/**
+ * Payload of a {@code GET_GAME_BOARD} command.
+ *
+ * @param boardVersion The board version known to the client, or {@code null} if the client holds no board.
+ */
+public record GetGameBoard(Integer boardVersion) implements CommandPayload {
+}
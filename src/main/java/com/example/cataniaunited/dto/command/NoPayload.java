@@ -0,0 +1,11 @@
+package com.example.cataniaunited.dto.command;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Payload of commands which carry no data, e.g. {@code CREATE_LOBBY} or {@code ROLL_DICE}.
+ * Any content sent along with such a command is ignored.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record NoPayload() implements CommandPayload {
+}
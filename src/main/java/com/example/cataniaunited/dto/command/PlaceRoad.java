@@ -0,0 +1,11 @@
+package com.example.cataniaunited.dto.command;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Payload of a {@code PLACE_ROAD} command.
+ *
+ * @param roadId The id of the road to place.
+ */
+public record PlaceRoad(@JsonProperty(required = true) int roadId) implements CommandPayload {
+}
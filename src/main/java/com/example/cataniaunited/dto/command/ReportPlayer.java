@@ -0,0 +1,11 @@
+package com.example.cataniaunited.dto.command;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Payload of a {@code REPORT_PLAYER} command.
+ *
+ * @param reportedId The id of the player reported for cheating.
+ */
+public record ReportPlayer(@JsonProperty(required = true) String reportedId) implements CommandPayload {
+}
@@ -0,0 +1,11 @@
+package com.example.cataniaunited.dto.command;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Payload of a {@code RESUME_SESSION} command.
+ *
+ * @param resumeToken The resume token the player received with {@code CONNECTION_SUCCESSFUL}.
+ */
+public record ResumeSession(@JsonProperty(required = true) String resumeToken) implements CommandPayload {
+}
@@ -0,0 +1,11 @@
+package com.example.cataniaunited.dto.command;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Payload of a {@code SET_USERNAME} command.
+ *
+ * @param username The new username of the player.
+ */
+public record SetUsername(@JsonProperty(required = true) String username) implements CommandPayload {
+}
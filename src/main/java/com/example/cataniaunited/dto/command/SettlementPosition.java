@@ -0,0 +1,11 @@
+package com.example.cataniaunited.dto.command;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Payload of the {@code PLACE_SETTLEMENT} and {@code UPGRADE_SETTLEMENT} commands.
+ *
+ * @param settlementPositionId The id of the building site to build on.
+ */
+public record SettlementPosition(@JsonProperty(required = true) int settlementPositionId) implements CommandPayload {
+}
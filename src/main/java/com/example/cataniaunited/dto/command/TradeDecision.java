@@ -0,0 +1,11 @@
+package com.example.cataniaunited.dto.command;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Payload of the {@code ACCEPT_TRADE_REQUEST} and {@code REJECT_TRADE_REQUEST} commands.
+ *
+ * @param tradeId The id of the trade request to accept or reject.
+ */
+public record TradeDecision(@JsonProperty(required = true) String tradeId) implements CommandPayload {
+}
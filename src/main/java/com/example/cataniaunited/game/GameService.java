@@ -3,23 +3,31 @@ package com.example.cataniaunited.game;
 import com.example.cataniaunited.exception.GameException;
 import com.example.cataniaunited.exception.ui.MissingRequiredStructuresException;
 import com.example.cataniaunited.exception.ui.SetupLimitExceededException;
+import com.example.cataniaunited.game.board.BoardPool;
+import com.example.cataniaunited.game.board.BoardSnapshot;
+import com.example.cataniaunited.game.board.BuildingSite;
 import com.example.cataniaunited.game.board.GameBoard;
+import com.example.cataniaunited.game.board.LegalMoves;
 import com.example.cataniaunited.game.board.LongestRoadCalculator;
 import com.example.cataniaunited.game.board.Road;
 import com.example.cataniaunited.game.board.ports.Port;
 import com.example.cataniaunited.game.board.tile_list_builder.TileType;
+import com.example.cataniaunited.game.buildings.City;
 import com.example.cataniaunited.game.buildings.Settlement;
+import com.example.cataniaunited.journal.GameJournal;
+import com.example.cataniaunited.journal.JournalRecord;
 import com.example.cataniaunited.lobby.Lobby;
 import com.example.cataniaunited.lobby.LobbyService;
+import com.example.cataniaunited.metrics.GameMetrics;
 import com.example.cataniaunited.player.Player;
 import com.example.cataniaunited.player.PlayerColor;
 import com.example.cataniaunited.player.PlayerService;
+import com.example.cataniaunited.util.GameRandom;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 
-import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -28,6 +36,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.random.RandomGenerator;
 
 /**
  * Service class for managing game logic, including game board creation,
@@ -44,7 +53,6 @@ public class GameService {
     private static final Logger logger = Logger.getLogger(GameService.class);
     private static final ConcurrentHashMap<String, GameBoard> lobbyToGameboardMap = new ConcurrentHashMap<>();
     private static final int MIN_LONGEST_ROAD_LENGTH = 5;
-    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
 
 
     @Inject
@@ -53,10 +61,19 @@ public class GameService {
     @Inject
     PlayerService playerService;
 
+    @Inject
+    GameMetrics gameMetrics;
+
+    @Inject
+    BoardPool boardPool;
+
+    @Inject
+    GameJournal gameJournal;
 
     /**
      * Creates a new game board for the specified lobby.
      * The size of the game board is determined by the number of players in the lobby.
+     * The board is taken from the {@link BoardPool}, so it is usually generated ahead of time.
      *
      * @param lobbyId The ID of the lobby for which to create the game board.
      * @return The newly created {@link GameBoard}.
@@ -64,7 +81,7 @@ public class GameService {
      */
     public GameBoard createGameboard(String lobbyId) throws GameException {
         Lobby lobby = lobbyService.getLobbyById(lobbyId);
-        GameBoard gameboard = new GameBoard(lobby.getPlayers().size());
+        GameBoard gameboard = boardPool.take(lobby.getPlayers().size());
         addGameboardToList(lobby.getLobbyId(), gameboard);
         return gameboard;
     }
@@ -96,6 +113,7 @@ public class GameService {
             logger.debug("No Port found at settlementPositionId=%s".formatted(settlementPositionId));
         }
         playerService.addVictoryPoints(playerId, 1);
+        gameJournal.append(JournalRecord.settlementPlaced(lobbyId, playerId, settlementPositionId));
     }
 
     /**
@@ -116,6 +134,7 @@ public class GameService {
         GameBoard gameboard = getGameboardByLobbyId(lobbyId);
         gameboard.placeCity(buildRequest);
         playerService.addVictoryPoints(playerId, 1); // Only add one additional Point
+        gameJournal.append(JournalRecord.settlementUpgraded(lobbyId, playerId, settlementPositionId));
     }
 
     /**
@@ -139,9 +158,13 @@ public class GameService {
         List<Road> playerRoads = gameboard.getRoadList().stream()
                 .filter(r -> player.equals(r.getOwner()))
                 .toList();
+        Road placedRoad = playerRoads.stream().filter(r -> r.getId() == roadId).findFirst().orElse(null);
 
+        // Only the network of the placed road changed, the other networks of the player can't beat the current record
         LongestRoadCalculator calculator = getLongestRoadCalculator();
-        int newLength = calculator.calculateFor(playerRoads);
+        long start = System.nanoTime();
+        int newLength = calculator.calculateFor(playerRoads, placedRoad);
+        gameMetrics.recordLongestRoad(System.nanoTime() - start);
         if (newLength >= MIN_LONGEST_ROAD_LENGTH && newLength > gameboard.getLongestRoadLength()) {
             String oldLongestRoadPlayerId = gameboard.getLongestRoadPlayerId();
             if (oldLongestRoadPlayerId != null && !oldLongestRoadPlayerId.equals(playerId)) {
@@ -154,6 +177,44 @@ public class GameService {
 
             gameboard.setLongestRoad(playerId, newLength);
         }
+        gameJournal.append(JournalRecord.roadPlaced(lobbyId, playerId, roadId));
+    }
+
+    /**
+     * Gets the placements the player can make right now: the positions allowed by the current ownership
+     * of the board, restricted by the turn, the setup round limits, the build limits and the resources
+     * of the player. The positions are cached by the game board per board version, so repeated requests
+     * only re-check the resources and limits.
+     *
+     * @param lobbyId  The ID of the lobby.
+     * @param playerId The ID of the player asking for the moves.
+     * @return The {@link LegalMoves} of the player, all empty if it is not the turn of the player.
+     * @throws GameException if the lobby or game board is not found.
+     */
+    public LegalMoves getLegalMoves(String lobbyId, String playerId) throws GameException {
+        GameBoard gameboard = getGameboardByLobbyId(lobbyId);
+        if (!lobbyService.getLobbyById(lobbyId).isPlayerTurn(playerId)) {
+            return new LegalMoves(gameboard.getBoardVersion(), List.of(), List.of(), List.of());
+        }
+
+        BuildRequest buildRequest = createBuildRequest(lobbyId, playerId, 0);
+        boolean canPlaceSettlement = canBuild(gameboard, buildRequest, Settlement.class, Settlement.REQUIRED_RESOURCES, Settlement.BUILD_LIMIT);
+        boolean canPlaceRoad = canBuild(gameboard, buildRequest, Road.class, Road.REQUIRED_RESOURCES, Road.BUILD_LIMIT);
+        boolean canUpgrade = !buildRequest.isSetupRound()
+                && canBuild(gameboard, buildRequest, City.class, City.REQUIRED_RESOURCES, City.BUILD_LIMIT);
+        return gameboard.getLegalMoves(buildRequest.player(), buildRequest.isSetupRound())
+                .restrictTo(canPlaceSettlement, canUpgrade, canPlaceRoad);
+    }
+
+    private boolean canBuild(GameBoard gameboard, BuildRequest buildRequest, Class<? extends Buildable> buildableClass,
+                             Map<TileType, Integer> requiredResources, int buildLimit) {
+        long structureCount = gameboard.getPlayerStructureCount(buildRequest.player().getUniqueId(), buildableClass);
+        if (structureCount >= buildLimit) {
+            return false;
+        }
+        return buildRequest.isSetupRound()
+                ? !exceedsSetupLimit(buildRequest, structureCount)
+                : gameboard.hasRequiredResources(buildRequest.player(), requiredResources);
     }
 
     protected LongestRoadCalculator getLongestRoadCalculator() {
@@ -195,25 +256,77 @@ public class GameService {
             throw new GameException("Starting of game failed");
         }
 
-        createGameboard(lobbyId);
+        GameBoard gameboard = createGameboard(lobbyId);
+        startGame(lobby, gameboard);
+        gameJournal.append(JournalRecord.gameStarted(lobbyId, hostPlayerId, gameboard.getSeed()));
+    }
+
+    /**
+     * Starts a game recorded in the game journal again. The game board and the player order are
+     * recreated from the seed of the game, so they are the same as before.
+     *
+     * @param lobbyId The ID of the lobby where the game was started.
+     * @param seed    The seed of the game.
+     * @throws GameException if the lobby or one of its players is not found.
+     */
+    public void restoreGame(String lobbyId, long seed) throws GameException {
+        Lobby lobby = lobbyService.getLobbyById(lobbyId);
+        GameBoard gameboard = new GameBoard(lobby.getPlayers().size(), seed);
+        addGameboardToList(lobbyId, gameboard);
+        startGame(lobby, gameboard);
+    }
+
+    /**
+     * Replaces the generator of the game in a lobby with one created from the given seed and records the seed
+     * in the journal, so replaying the journal reseeds the game at the same point. Used by snapshots, which
+     * cannot save the state of a generator, see {@link GameBoard#reseed(long)}.
+     *
+     * @param lobbyId The ID of the lobby.
+     * @param seed    The new seed, usually drawn from the current generator of the game.
+     * @throws GameException if the game board for the lobby is not found.
+     */
+    public void reseedGame(String lobbyId, long seed) throws GameException {
+        getGameboardByLobbyId(lobbyId).reseed(seed);
+        gameJournal.append(JournalRecord.gameReseeded(lobbyId, seed));
+    }
+
+    /**
+     * Adds a game board restored from a snapshot to a lobby. The players get the ports of their settlements
+     * again, as the ports are not part of the snapshot of a player.
+     *
+     * @param lobbyId   The ID of the lobby.
+     * @param gameboard The restored {@link GameBoard}.
+     */
+    public void restoreGameboard(String lobbyId, GameBoard gameboard) {
+        for (BuildingSite site : gameboard.getBuildingSitePositionGraph()) {
+            Player owner = site.getBuildingOwner();
+            if (owner != null && site.getPort() != null) {
+                owner.addPort(site.getPort());
+            }
+        }
+        addGameboardToList(lobbyId, gameboard);
+    }
+
+    private void startGame(Lobby lobby, GameBoard gameboard) throws GameException {
         for (String playerId : lobby.getPlayers()) {
             playerService.initializePlayerResources(playerId);
         }
 
-        lobby.startGame();
-        logger.infof("Game started in lobby: lobbyId=%s, order=%s", lobbyId, lobby.getPlayerOrder());
+        lobby.startGame(gameboard.getRandom());
+        logger.infof("Game started in lobby: lobbyId=%s, order=%s, seed=%d", lobby.getLobbyId(), lobby.getPlayerOrder(), gameboard.getSeed());
     }
 
     /**
-     * Retrieves the JSON representation of the game board for a given lobby.
+     * Retrieves the pre-encoded JSON representation of the game board for a given lobby.
+     * The snapshot is only re-encoded if the board changed since the last read.
      *
      * @param lobbyId The ID of the lobby.
-     * @return An {@link ObjectNode} containing the game board's JSON structure.
+     * @return A {@link BoardSnapshot} containing the game board's JSON structure.
      * @throws GameException if the game board for the lobby is not found.
      */
-    public ObjectNode getGameboardJsonByLobbyId(String lobbyId) throws GameException {
+    public BoardSnapshot getGameboardJsonByLobbyId(String lobbyId) throws GameException {
         GameBoard gameBoard = getGameboardByLobbyId(lobbyId);
-        return gameBoard.getJson();
+        return gameBoard.getSnapshot();
     }
 
     /**
@@ -232,6 +345,16 @@ public class GameService {
         return gameboard;
     }
 
+    /**
+     * Checks whether a game was started in the given lobby, without logging a missing board as an error.
+     *
+     * @param lobbyId The ID of the lobby.
+     * @return {@code true} if the lobby has a game board.
+     */
+    public boolean hasGameboard(String lobbyId) {
+        return lobbyToGameboardMap.containsKey(lobbyId);
+    }
+
     /**
      * Adds a game board to the internal map, associating it with a lobby ID.
      *
@@ -256,6 +379,7 @@ public class GameService {
         GameBoard gameboard = getGameboardByLobbyId(lobbyId);
         ObjectNode result = gameboard.rollDice();
         lobbyService.updateLatestDiceRoll(lobbyId, playerId);
+        gameJournal.append(JournalRecord.diceRolled(lobbyId, playerId, result.get("dice1").asInt(), result.get("dice2").asInt()));
         return result;
     }
 
@@ -316,6 +440,7 @@ public class GameService {
         cheater.receiveResource(resource, 1);
 
         lobby.recordCheat(playerId);
+        gameJournal.append(JournalRecord.cheat(lobbyId, playerId, resource));
     }
 
 
@@ -330,22 +455,33 @@ public class GameService {
         boolean hasCheated = lobby.getCheatCount(reportedId) > 0;
         boolean alreadyCaught = lobby.isCheaterAlreadyCaught(reportedId);
 
+        RandomGenerator random = getRandomOfLobby(lobbyId);
+        ReportOutcome outcome;
         if (!hasCheated) {
-            punishReporter(reporter);
-            return ReportOutcome.FALSE_REPORT;
-        }
-
-        if (alreadyCaught) {
-            punishReporter(reporter);
-            return ReportOutcome.CORRECT_REPORT_ALREADY_CAUGHT;
+            punishReporter(reporter, random);
+            outcome = ReportOutcome.FALSE_REPORT;
+        } else if (alreadyCaught) {
+            punishReporter(reporter, random);
+            outcome = ReportOutcome.CORRECT_REPORT_ALREADY_CAUGHT;
+        } else {
+            punishCheater(reported, random);
+            lobby.markCheaterAsCaught(reportedId);
+            outcome = ReportOutcome.CORRECT_REPORT_NEW;
         }
+        gameJournal.append(JournalRecord.report(lobbyId, reporterId, reportedId));
+        return outcome;
+    }
 
-        punishCheater(reported);
-        lobby.markCheaterAsCaught(reportedId);
-        return ReportOutcome.CORRECT_REPORT_NEW;
+    /**
+     * Gets the generator of the game played in a lobby, so punishments replay with the game.
+     * Lobbies without a game board fall back to a new, unpredictably seeded generator.
+     */
+    private RandomGenerator getRandomOfLobby(String lobbyId) {
+        GameBoard gameboard = lobbyToGameboardMap.get(lobbyId);
+        return gameboard == null ? GameRandom.newGenerator() : gameboard.getRandom();
     }
 
-    private void punishCheater(Player reported) throws GameException {
+    private void punishCheater(Player reported, RandomGenerator random) throws GameException {
         List<TileType> resourceList = new ArrayList<>();
         for (TileType type : TileType.values()) {
             if (type == TileType.WASTE) continue;
@@ -356,21 +492,22 @@ public class GameService {
         }
 
         int toLose = resourceList.size() / 2;
-        Collections.shuffle(resourceList);
+        Collections.shuffle(resourceList, random);
         for (int i = 0; i < toLose; i++) {
             reported.removeResource(resourceList.get(i), 1);
         }
     }
 
-    private void punishReporter(Player reporter) throws GameException {
+    private void punishReporter(Player reporter, RandomGenerator random) throws GameException {
         List<TileType> availableResources = reporter.getResources().entrySet().stream()
                 .filter(e -> e.getKey() != TileType.WASTE && e.getValue() > 0)
                 .map(Map.Entry::getKey)
+                .sorted() // Independent of the hash order, so the draw replays with the seed
                 .toList();
 
         if (!availableResources.isEmpty()) {
-            TileType random = availableResources.get(SECURE_RANDOM.nextInt(availableResources.size()));
-            reporter.removeResource(random, 1);
+            TileType resource = availableResources.get(random.nextInt(availableResources.size()));
+            reporter.removeResource(resource, 1);
         }
     }
 
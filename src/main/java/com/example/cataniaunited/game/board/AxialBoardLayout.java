@@ -0,0 +1,233 @@
+package com.example.cataniaunited.game.board;
+
+import com.example.cataniaunited.util.CatanBoardUtils;
+
+import java.util.Arrays;
+
+/**
+ * Closed-form alternative to the {@link GraphBuilder}: computes the layout of a board of a given size
+ * from axial hex coordinates in a single pass, without walking the rings by index offsets or
+ * deriving coordinates from other nodes.
+ * <p>
+ * Tiles are addressed by their axial coordinates (q, r). Building sites are the corners of the tiles and
+ * live on a doubled integer lattice, where a tile has its center at (2q + r, 3r) and its corners at fixed
+ * offsets, so two tiles sharing a corner compute the same lattice point. A lattice point is only converted
+ * to a position on the board when it is read.
+ * <p>
+ * IDs follow the scheme of the {@link GraphBuilder}: tiles ring by ring, clockwise from the upper right
+ * corner tile; building sites ring by ring along the outside of the tiles already placed, starting at the
+ * site between the first and last tile of the inner ring; roads in the order the graph builder creates them.
+ */
+final class AxialBoardLayout {
+
+    // Axial offsets of the neighbours of a tile, clockwise starting with the upper right one
+    private static final int[] DIRECTION_Q = {0, 1, 1, 0, -1, -1};
+    private static final int[] DIRECTION_R = {1, 0, -1, -1, 0, 1};
+    // Lattice offsets of the corners of a tile, clockwise starting with the top one
+    private static final int[] CORNER_X = {0, 1, 1, 0, -1, -1};
+    private static final int[] CORNER_Y = {2, 1, -1, -2, -1, 1};
+    private static final int CORNERS = 6;
+
+    private final int sizeOfBoard;
+    private final double unitX; // Distance between two lattice columns
+    private final double unitY; // Distance between two lattice rows
+
+    private final int[] tileQ;
+    private final int[] tileR;
+    private final int[] siteX;
+    private final int[] siteY;
+    private final int[] roadSites;
+    private final int[] siteTileOffsets;
+    private final int[] siteTiles;
+
+    // Index of the building site + 1 at every lattice point, 0 where there is none
+    private final int[] siteAt;
+    private final int latticeWidth;
+    private final int latticeHeight;
+
+    private int siteCount = 0;
+    private int roadCount = 0;
+
+    /**
+     * Computes the layout of a board.
+     *
+     * @param sizeOfBoard The size of the board (number of rings/layers).
+     * @param sizeOfHex   The size of a single hexagon tile, the distance from its center to its corners.
+     * @throws IllegalArgumentException if sizeOfBoard is too small.
+     */
+    AxialBoardLayout(int sizeOfBoard, int sizeOfHex) {
+        if (sizeOfBoard <= 1) {
+            throw new IllegalArgumentException("Board size must be greater Than 1.");
+        }
+        this.sizeOfBoard = sizeOfBoard;
+        unitX = Math.sqrt(3) / 2 * sizeOfHex;
+        unitY = sizeOfHex / 2.0;
+
+        int tileCount = CatanBoardUtils.calculateAmountOfTilesForLayerK(sizeOfBoard);
+        tileQ = new int[tileCount];
+        tileR = new int[tileCount];
+        siteX = new int[6 * sizeOfBoard * sizeOfBoard];
+        siteY = new int[siteX.length];
+        roadSites = new int[2 * (9 * sizeOfBoard * sizeOfBoard - 3 * sizeOfBoard)];
+        latticeWidth = 4 * sizeOfBoard - 1;
+        latticeHeight = 6 * sizeOfBoard - 1;
+        siteAt = new int[latticeWidth * latticeHeight];
+
+        placeTiles();
+        placeSitesAndRoads();
+
+        siteTileOffsets = new int[siteX.length + 1];
+        siteTiles = new int[6 * tileCount];
+        connectSitesToTiles();
+    }
+
+    private void placeTiles() {
+        for (int ring = 1; ring < sizeOfBoard; ring++) {
+            for (int i = 0; i < 6 * ring; i++) {
+                int side = i / ring;
+                int step = i % ring;
+                int tile = firstTileOfRing(ring) + i;
+                tileQ[tile] = ring * DIRECTION_Q[side] + step * DIRECTION_Q[(side + 2) % CORNERS];
+                tileR[tile] = ring * DIRECTION_R[side] + step * DIRECTION_R[(side + 2) % CORNERS];
+            }
+        }
+    }
+
+    /**
+     * Places the building sites of every ring along the outside of the tiles within it, and the roads
+     * along the ring and to the inner ring. A corner tile adds three sites to the ring, any other tile two;
+     * the first site of each tile is shared with the previous tile and connects to the inner ring.
+     */
+    private void placeSitesAndRoads() {
+        for (int corner = 0; corner < CORNERS; corner++) {
+            int current = addSite(CORNER_X[corner], CORNER_Y[corner]);
+            if (corner > 0) {
+                addRoad(current - 1, current);
+            }
+        }
+        addRoad(siteCount - 1, 0);
+
+        for (int ring = 1; ring < sizeOfBoard; ring++) {
+            int first = siteCount;
+            for (int i = 0; i < 6 * ring; i++) {
+                int side = i / ring;
+                boolean cornerTile = i % ring == 0;
+                int tile = firstTileOfRing(ring) + i;
+                int x = 2 * tileQ[tile] + tileR[tile];
+                int y = 3 * tileR[tile];
+                int startCorner = cornerTile ? (side + CORNERS - 1) % CORNERS : side;
+                int innerCorner = (startCorner + CORNERS - 1) % CORNERS;
+
+                for (int c = 0; c < (cornerTile ? 3 : 2); c++) {
+                    int corner = (startCorner + c) % CORNERS;
+                    int current = addSite(x + CORNER_X[corner], y + CORNER_Y[corner]);
+                    if (current != first) {
+                        addRoad(current - 1, current);
+                    }
+                    if (c == 0) {
+                        addRoad(siteAt(x + CORNER_X[innerCorner], y + CORNER_Y[innerCorner]), current);
+                    }
+                }
+            }
+            addRoad(first, siteCount - 1);
+        }
+    }
+
+    private void connectSitesToTiles() {
+        int[] tileCounts = new int[siteX.length];
+        for (int tile = 0; tile < tileQ.length; tile++) {
+            for (int corner = 0; corner < CORNERS; corner++) {
+                tileCounts[cornerSite(tile, corner)]++;
+            }
+        }
+        for (int site = 0; site < siteX.length; site++) {
+            siteTileOffsets[site + 1] = siteTileOffsets[site] + tileCounts[site];
+        }
+        Arrays.fill(tileCounts, 0);
+        for (int tile = 0; tile < tileQ.length; tile++) {
+            for (int corner = 0; corner < CORNERS; corner++) {
+                int site = cornerSite(tile, corner);
+                siteTiles[siteTileOffsets[site] + tileCounts[site]++] = tile;
+            }
+        }
+    }
+
+    private static int firstTileOfRing(int ring) {
+        return 3 * ring * (ring - 1) + 1;
+    }
+
+    private int cornerSite(int tile, int corner) {
+        return siteAt(2 * tileQ[tile] + tileR[tile] + CORNER_X[corner], 3 * tileR[tile] + CORNER_Y[corner]);
+    }
+
+    private int latticeIndex(int x, int y) {
+        return (x + latticeWidth / 2) * latticeHeight + y + latticeHeight / 2;
+    }
+
+    private int siteAt(int x, int y) {
+        return siteAt[latticeIndex(x, y)] - 1;
+    }
+
+    private int addSite(int x, int y) {
+        siteX[siteCount] = x;
+        siteY[siteCount] = y;
+        siteAt[latticeIndex(x, y)] = siteCount + 1;
+        return siteCount++;
+    }
+
+    private void addRoad(int a, int b) {
+        roadSites[2 * roadCount] = a;
+        roadSites[2 * roadCount + 1] = b;
+        roadCount++;
+    }
+
+    int getTileCount() {
+        return tileQ.length;
+    }
+
+    int getSiteCount() {
+        return siteCount;
+    }
+
+    int getRoadCount() {
+        return roadCount;
+    }
+
+    /**
+     * @param tile The index of the tile.
+     * @return The [x, y] coordinates of the center of the tile.
+     */
+    double[] getTileCoordinates(int tile) {
+        return new double[]{(2 * tileQ[tile] + tileR[tile]) * unitX, 3 * tileR[tile] * unitY};
+    }
+
+    /**
+     * @param site The index of the building site.
+     * @return The [x, y] coordinates of the building site.
+     */
+    double[] getSiteCoordinates(int site) {
+        return new double[]{siteX[site] * unitX, siteY[site] * unitY};
+    }
+
+    /**
+     * Gets the position of a road the way {@link Road#setCoordinatesAndRotationAngle()} calculates it:
+     * the midpoint of its building sites, rotated along the direction from its second to its first site.
+     *
+     * @param road The index of the road.
+     * @return The transform of the road.
+     */
+    Transform getRoadTransform(int road) {
+        double[] a = getSiteCoordinates(roadSites[2 * road]);
+        double[] b = getSiteCoordinates(roadSites[2 * road + 1]);
+        return new Transform((a[0] + b[0]) / 2, (a[1] + b[1]) / 2, StrictMath.atan2(a[1] - b[1], a[0] - b[0]));
+    }
+
+    /**
+     * Compiles the adjacency of this layout.
+     *
+     * @return A new {@link BoardTopology} of the board.
+     */
+    BoardTopology toTopology() {
+        return BoardTopology.of(roadSites, siteTileOffsets, siteTiles, tileQ.length);
+    }
+}
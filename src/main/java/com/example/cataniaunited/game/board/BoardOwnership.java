@@ -0,0 +1,338 @@
+package com.example.cataniaunited.game.board;
+
+import com.example.cataniaunited.game.buildings.City;
+import com.example.cataniaunited.player.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bitboards of the structures on a game board: one bit per building site for all occupied sites, and
+ * per player one bit per road, settlement and city the player owns. Bits are addressed by the indices
+ * of the {@link BoardTopology}.
+ * <p>
+ * The building sites and roads of a {@link GameBoard} report every change of ownership, so the
+ * bitboards always reflect the object graph. The neighbours and roads of a building site are
+ * precomputed as masks of at most three words, so the placement rules are a handful of bitwise
+ * operations that do not depend on the size of the board and do not allocate.
+ */
+final class BoardOwnership {
+
+    // A building site has at most three roads, so its masks touch at most three words
+    private static final int MASK_SLOTS = 3;
+
+    private final BoardTopology topology;
+    private final int siteWords;
+    private final int roadWords;
+    private final int[] roadSites;
+    private final long[] occupiedSites;
+    private final long[] ownedRoads;
+    private final Map<Player, PlayerBitboards> playerBitboards = new HashMap<>();
+
+    private final int[] neighbourMaskWords;
+    private final long[] neighbourMasks;
+    private final int[] roadMaskWords;
+    private final long[] roadMasks;
+
+    /**
+     * Creates empty bitboards and precomputes the neighbour and road masks of every building site.
+     *
+     * @param topology The compiled adjacency of the board.
+     */
+    BoardOwnership(BoardTopology topology) {
+        this.topology = topology;
+        int siteCount = topology.getSiteCount();
+        int roadCount = topology.getRoadCount();
+        siteWords = words(siteCount);
+        roadWords = words(roadCount);
+        occupiedSites = new long[siteWords];
+        ownedRoads = new long[roadWords];
+
+        roadSites = new int[roadCount * 2];
+        for (int road = 0; road < roadCount; road++) {
+            roadSites[2 * road] = topology.getRoadSite(road, 0);
+            roadSites[2 * road + 1] = topology.getRoadSite(road, 1);
+        }
+
+        neighbourMaskWords = new int[siteCount * MASK_SLOTS];
+        neighbourMasks = new long[siteCount * MASK_SLOTS];
+        roadMaskWords = new int[siteCount * MASK_SLOTS];
+        roadMasks = new long[siteCount * MASK_SLOTS];
+        for (int site = 0; site < siteCount; site++) {
+            int slot = site * MASK_SLOTS;
+            for (int offset = topology.getSiteRoadStart(site); offset < topology.getSiteRoadEnd(site); offset++) {
+                addToMask(neighbourMaskWords, neighbourMasks, slot, topology.getSiteNeighbour(offset));
+                addToMask(roadMaskWords, roadMasks, slot, topology.getSiteRoad(offset));
+            }
+        }
+    }
+
+    private static int words(int bits) {
+        return Math.max(1, (bits + 63) >>> 6);
+    }
+
+    /**
+     * Adds a bit to the sparse mask starting at the given slot. Unused slots keep an empty mask,
+     * so they can be tested like the others.
+     */
+    private static void addToMask(int[] maskWords, long[] masks, int slot, int bit) {
+        for (int i = slot; i < slot + MASK_SLOTS; i++) {
+            if (masks[i] == 0L || maskWords[i] == bit >>> 6) {
+                maskWords[i] = bit >>> 6;
+                masks[i] |= 1L << bit;
+                return;
+            }
+        }
+        throw new IllegalStateException("Building site has more than %d roads".formatted(MASK_SLOTS));
+    }
+
+    /**
+     * Lets the building sites and roads of a board report their changes of ownership to these bitboards
+     * and records the structures they already hold.
+     *
+     * @param sites The building sites, in the order of their IDs.
+     * @param roads The roads, in the order of their IDs.
+     */
+    void attach(List<BuildingSite> sites, List<Road> roads) {
+        for (BuildingSite site : sites) {
+            site.ownership = this;
+            if (site.building != null) {
+                recordBuilding(site.getId() - 1, site.building.getPlayer(), site.building instanceof City);
+            }
+        }
+        for (Road road : roads) {
+            road.ownership = this;
+            if (road.owner != null) {
+                recordRoad(road.getId() - 1, road.owner);
+            }
+        }
+    }
+
+    void recordRoad(int road, Player owner) {
+        set(ownedRoads, road);
+        set(bitboardsOf(owner).roads, road);
+    }
+
+    void recordBuilding(int site, Player owner, boolean city) {
+        PlayerBitboards bitboards = bitboardsOf(owner);
+        set(occupiedSites, site);
+        if (city) {
+            clear(bitboards.settlements, site);
+            set(bitboards.cities, site);
+        } else {
+            set(bitboards.settlements, site);
+        }
+    }
+
+    /**
+     * @param site The index of the building site.
+     * @return true if any of the building sites next to the given one holds a building.
+     */
+    boolean hasNeighbouringBuilding(int site) {
+        return intersects(occupiedSites, neighbourMaskWords, neighbourMasks, site * MASK_SLOTS, -1);
+    }
+
+    /**
+     * @param site   The index of the building site.
+     * @param player The player to check.
+     * @return true if the player owns one of the roads ending at the given building site.
+     */
+    boolean hasRoadAt(int site, Player player) {
+        PlayerBitboards bitboards = playerBitboards.get(player);
+        return bitboards != null && intersects(bitboards.roads, roadMaskWords, roadMasks, site * MASK_SLOTS, -1);
+    }
+
+    /**
+     * Checks whether the player owns a road connected to the given road, i.e. a road ending at one of
+     * its building sites, where that building site holds no building of another player.
+     *
+     * @param road   The index of the road.
+     * @param player The player to check.
+     * @return true if a connected road of the player exists.
+     */
+    boolean hasConnectedRoad(int road, Player player) {
+        PlayerBitboards bitboards = playerBitboards.get(player);
+        if (bitboards == null) {
+            return false;
+        }
+        for (int end = 0; end < 2; end++) {
+            int site = roadSites[2 * road + end];
+            if (!isOccupiedByOther(site, bitboards)
+                    && intersects(bitboards.roads, roadMaskWords, roadMasks, site * MASK_SLOTS, road)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Collects the building sites a settlement of the player could be placed on: free sites next to a road
+     * of the player, without a building on any neighbouring site. Only the ends of the roads of the player
+     * are visited.
+     *
+     * @param player The player to check.
+     * @return A bitset of building site indices.
+     */
+    long[] settlementSitesOf(Player player) {
+        long[] sites = new long[siteWords];
+        PlayerBitboards bitboards = playerBitboards.get(player);
+        if (bitboards == null) {
+            return sites;
+        }
+        long[] visited = new long[siteWords];
+        for (int road = nextSetBit(bitboards.roads, 0); road >= 0; road = nextSetBit(bitboards.roads, road + 1)) {
+            for (int end = 0; end < 2; end++) {
+                int site = roadSites[2 * road + end];
+                if (isSet(visited, site)) {
+                    continue;
+                }
+                set(visited, site);
+                if (!isSet(occupiedSites, site) && !hasNeighbouringBuilding(site)) {
+                    set(sites, site);
+                }
+            }
+        }
+        return sites;
+    }
+
+    /**
+     * @param player The player to check.
+     * @return A bitset of the building site indices holding a settlement of the player.
+     */
+    long[] settlementsOf(Player player) {
+        PlayerBitboards bitboards = playerBitboards.get(player);
+        return bitboards == null ? new long[siteWords] : bitboards.settlements.clone();
+    }
+
+    /**
+     * Collects the free roads connected to a road of the player, see {@link #hasConnectedRoad(int, Player)}.
+     * Only the roads at the ends of the roads of the player are visited.
+     *
+     * @param player The player to check.
+     * @return A bitset of road indices.
+     */
+    long[] connectedRoadsOf(Player player) {
+        long[] roads = new long[roadWords];
+        PlayerBitboards bitboards = playerBitboards.get(player);
+        if (bitboards == null) {
+            return roads;
+        }
+        for (int road = nextSetBit(bitboards.roads, 0); road >= 0; road = nextSetBit(bitboards.roads, road + 1)) {
+            for (int end = 0; end < 2; end++) {
+                int site = roadSites[2 * road + end];
+                if (isOccupiedByOther(site, bitboards)) {
+                    continue;
+                }
+                for (int offset = topology.getSiteRoadStart(site); offset < topology.getSiteRoadEnd(site); offset++) {
+                    int next = topology.getSiteRoad(offset);
+                    if (!isSet(ownedRoads, next)) {
+                        set(roads, next);
+                    }
+                }
+            }
+        }
+        return roads;
+    }
+
+    /**
+     * @return A bitset of the indices of all roads without owner.
+     */
+    long[] freeRoads() {
+        long[] roads = new long[roadWords];
+        int roadCount = roadSites.length / 2;
+        for (int word = 0; word < roadWords; word++) {
+            roads[word] = ~ownedRoads[word];
+        }
+        if ((roadCount & 63) != 0) {
+            roads[roadWords - 1] &= (1L << roadCount) - 1;
+        }
+        return roads;
+    }
+
+    /**
+     * Converts a bitset of indices into the ascending list of the IDs, i.e. the indices plus one.
+     *
+     * @param bits The bitset.
+     * @return The IDs of all set bits.
+     */
+    static List<Integer> toIds(long[] bits) {
+        List<Integer> ids = new ArrayList<>();
+        for (int index = nextSetBit(bits, 0); index >= 0; index = nextSetBit(bits, index + 1)) {
+            ids.add(index + 1);
+        }
+        return ids;
+    }
+
+    /**
+     * Checks whether the building site holds a building that is not one of the given player.
+     */
+    private boolean isOccupiedByOther(int site, PlayerBitboards bitboards) {
+        int word = site >>> 6;
+        long bit = 1L << site;
+        return (occupiedSites[word] & ~(bitboards.settlements[word] | bitboards.cities[word]) & bit) != 0;
+    }
+
+    /**
+     * Tests a bitboard against the sparse mask starting at the given slot, ignoring one excluded bit.
+     */
+    private static boolean intersects(long[] bitboard, int[] maskWords, long[] masks, int slot, int excludedBit) {
+        for (int i = slot; i < slot + MASK_SLOTS; i++) {
+            int word = maskWords[i];
+            long mask = masks[i];
+            if (excludedBit >= 0 && excludedBit >>> 6 == word) {
+                mask &= ~(1L << excludedBit);
+            }
+            if ((bitboard[word] & mask) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private PlayerBitboards bitboardsOf(Player player) {
+        return playerBitboards.computeIfAbsent(player, p -> new PlayerBitboards(roadWords, siteWords));
+    }
+
+    private static int nextSetBit(long[] bits, int from) {
+        int word = from >>> 6;
+        if (word >= bits.length) {
+            return -1;
+        }
+        long remaining = bits[word] & (-1L << from);
+        while (true) {
+            if (remaining != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(remaining);
+            }
+            if (++word == bits.length) {
+                return -1;
+            }
+            remaining = bits[word];
+        }
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private static void clear(long[] bits, int index) {
+        bits[index >>> 6] &= ~(1L << index);
+    }
+
+    private static final class PlayerBitboards {
+        private final long[] roads;
+        private final long[] settlements;
+        private final long[] cities;
+
+        PlayerBitboards(int roadWords, int siteWords) {
+            roads = new long[roadWords];
+            settlements = new long[siteWords];
+            cities = new long[siteWords];
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.cataniaunited.game.board;
+
+import com.example.cataniaunited.metrics.GameMetrics;
+import io.quarkus.runtime.Startup;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps a small pool of generated, unused game boards per board size, so starting a game does not
+ * have to wait for the generation of its board. A board only depends on its size, see
+ * {@link GameBoard#calculateSizeOfBoard(int)}, so all player counts with the same size share a pool.
+ * <p>
+ * Boards are generated one after another on a background thread. Every board taken from a pool is
+ * replaced right away; if a pool is empty, the board is generated on the calling thread as before.
+ * Only the board sizes of the player counts configured with {@code qatania.board-pool.player-counts}
+ * are pooled, their pools are filled at startup. Boards of other sizes are always generated on demand,
+ * so the memory held by the pools is bounded by the configuration.
+ */
+@Startup
+@ApplicationScoped
+public class BoardPool {
+
+    private static final Logger logger = Logger.getLogger(BoardPool.class);
+
+    @ConfigProperty(name = "qatania.board-pool.size")
+    int poolSize = 2;
+
+    // By default one player count per board size of the standard game: 3, 4 and 5 rings
+    @ConfigProperty(name = "qatania.board-pool.player-counts")
+    List<Integer> pooledPlayerCounts = List.of(2, 5, 7);
+
+    @Inject
+    GameMetrics gameMetrics;
+
+    private final Map<Integer, Pool> pools = new ConcurrentHashMap<>();
+    private volatile ExecutorService generatorThread;
+
+    @PostConstruct
+    void start() {
+        if (poolSize <= 0) {
+            logger.infof("Board pool disabled, boards are generated on demand");
+            return;
+        }
+        generatorThread = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("board-pool-", 0).daemon().factory());
+        for (int playerCount : pooledPlayerCounts) {
+            if (playerCount > 1) {
+                pools.computeIfAbsent(GameBoard.calculateSizeOfBoard(playerCount), size -> new Pool(playerCount)).refill();
+            }
+        }
+        logger.infof("Pooling game boards: boards per size = %d, sizes = %s", poolSize, pools.keySet());
+    }
+
+    @PreDestroy
+    void stop() {
+        ExecutorService threads = generatorThread;
+        generatorThread = null;
+        if (threads != null) {
+            threads.shutdownNow();
+        }
+    }
+
+    /**
+     * Takes an unused game board for the given number of players from the pool of its size,
+     * or generates one if the pool is empty or the size is not pooled. The pool is refilled
+     * in the background.
+     *
+     * @param playerCount The number of players in the game.
+     * @return A game board which was not handed out before.
+     * @throws IllegalArgumentException if playerCount is less than or equal to 1.
+     */
+    public GameBoard take(int playerCount) {
+        if (playerCount <= 1) {
+            throw new IllegalArgumentException("Player count must be greater than 1.");
+        }
+        int sizeOfBoard = GameBoard.calculateSizeOfBoard(playerCount);
+        Pool pool = pools.get(sizeOfBoard);
+        GameBoard gameBoard = pool == null ? null : pool.poll();
+        gameMetrics.recordBoardPoolRequest(sizeOfBoard, gameBoard != null);
+        if (gameBoard == null) {
+            logger.debugf("No pooled board available, generating board: sizeOfBoard = %d", sizeOfBoard);
+            gameBoard = generate(playerCount);
+        }
+        if (pool != null) {
+            pool.refill();
+        }
+        return gameBoard;
+    }
+
+    /**
+     * Gets the number of boards ready to be taken for the given number of players.
+     *
+     * @param playerCount The number of players in the game.
+     * @return The number of pooled boards of the matching size.
+     */
+    public int getAvailableBoards(int playerCount) {
+        Pool pool = pools.get(GameBoard.calculateSizeOfBoard(playerCount));
+        return pool == null ? 0 : pool.boards.size();
+    }
+
+    private GameBoard generate(int playerCount) {
+        long start = System.nanoTime();
+        GameBoard gameBoard = new GameBoard(playerCount);
+        gameMetrics.recordBoardGeneration(gameBoard.getSizeOfBoard(), System.nanoTime() - start);
+        return gameBoard;
+    }
+
+    private final class Pool {
+
+        private final int playerCount; // Any player count of the size of the pool
+        private final Queue<GameBoard> boards = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger reserved = new AtomicInteger(); // Pooled boards and boards in generation
+
+        private Pool(int playerCount) {
+            this.playerCount = playerCount;
+        }
+
+        GameBoard poll() {
+            GameBoard gameBoard = boards.poll();
+            if (gameBoard != null) {
+                reserved.decrementAndGet();
+            }
+            return gameBoard;
+        }
+
+        /**
+         * Schedules the generation of as many boards as are missing from the pool.
+         */
+        void refill() {
+            ExecutorService threads = generatorThread;
+            if (threads == null) {
+                return;
+            }
+            while (true) {
+                int current = reserved.get();
+                if (current >= poolSize) {
+                    return;
+                }
+                if (reserved.compareAndSet(current, current + 1)) {
+                    try {
+                        threads.execute(this::generateBoard);
+                    } catch (RejectedExecutionException e) {
+                        reserved.decrementAndGet();
+                        return;
+                    }
+                }
+            }
+        }
+
+        private void generateBoard() {
+            try {
+                boards.add(generate(playerCount));
+            } catch (RuntimeException e) {
+                reserved.decrementAndGet();
+                logger.errorf(e, "Generating pooled board failed: playerCount = %d", playerCount);
+            }
+        }
+    }
+}
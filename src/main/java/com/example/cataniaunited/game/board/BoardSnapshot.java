@@ -0,0 +1,135 @@
+package com.example.cataniaunited.game.board;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.util.RawValue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An immutable, pre-encoded JSON snapshot of a {@link GameBoard} at a specific board version.
+ * The snapshot holds the UTF-8 encoded output of {@link GameBoard#getJson()} and can be embedded
+ * into outgoing messages as a raw value, so repeated reads of an unchanged board neither rebuild
+ * the Jackson tree nor re-encode it.
+ */
+public final class BoardSnapshot implements JsonSerializable {
+
+    private final int version;
+    private final byte[] json;
+    private volatile String value;
+    private volatile SerializedString serializedValue;
+    private volatile byte[] binaryValue;
+
+    /**
+     * Creates a new snapshot. The given array is taken over and must not be modified afterward.
+     *
+     * @param version The board version the snapshot was taken at.
+     * @param json    The UTF-8 encoded JSON of the board.
+     */
+    public BoardSnapshot(int version, byte[] json) {
+        this.version = version;
+        this.json = json;
+    }
+
+    /**
+     * Gets the board version this snapshot was taken at.
+     *
+     * @return The board version.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the size of the encoded snapshot.
+     *
+     * @return The number of UTF-8 bytes of the snapshot.
+     */
+    public int size() {
+        return json.length;
+    }
+
+    /**
+     * Wraps the snapshot into a {@link RawValue}, so it can be put into an
+     * {@link com.fasterxml.jackson.databind.node.ObjectNode ObjectNode} without being parsed again.
+     *
+     * @return A {@link RawValue} writing this snapshot verbatim.
+     */
+    public RawValue asRawValue() {
+        return new RawValue(this);
+    }
+
+    /**
+     * Gets the snapshot as JSON string. The string is decoded once and cached.
+     *
+     * @return The JSON of the board.
+     */
+    public String getValue() {
+        String result = value;
+        if (result == null) {
+            result = new String(json, StandardCharsets.UTF_8);
+            value = result;
+        }
+        return result;
+    }
+
+    /**
+     * Gets the snapshot in the binary wire format. It is encoded from the JSON on first use
+     * and cached like the JSON, so binary clients do not parse the snapshot again.
+     *
+     * @param encoder Encodes the UTF-8 JSON of the snapshot into the binary format.
+     * @return The binary encoding of the snapshot.
+     * @throws IOException if the snapshot cannot be encoded.
+     */
+    public byte[] getBinaryValue(BinaryEncoder encoder) throws IOException {
+        byte[] result = binaryValue;
+        if (result == null) {
+            result = encoder.encode(json);
+            binaryValue = result;
+        }
+        return result;
+    }
+
+    /**
+     * Writes the snapshot verbatim as JSON value.
+     */
+    @Override
+    public void serialize(JsonGenerator generator, SerializerProvider serializers) throws IOException {
+        generator.writeRawValue(getSerializedValue());
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator generator, SerializerProvider serializers, TypeSerializer typeSerializer) throws IOException {
+        serialize(generator, serializers);
+    }
+
+    /**
+     * The generators write raw values through the UTF-8 bytes of a {@link SerializedString},
+     * which are encoded once and cached by it.
+     */
+    private SerializedString getSerializedValue() {
+        SerializedString result = serializedValue;
+        if (result == null) {
+            result = new SerializedString(getValue());
+            serializedValue = result;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+
+    /**
+     * Encoder of the binary wire format, see {@link #getBinaryValue(BinaryEncoder)}.
+     */
+    @FunctionalInterface
+    public interface BinaryEncoder {
+        byte[] encode(byte[] json) throws IOException;
+    }
+}
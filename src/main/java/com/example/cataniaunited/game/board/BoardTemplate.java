@@ -0,0 +1,154 @@
+package com.example.cataniaunited.game.board;
+
+import com.example.cataniaunited.game.board.ports.Port;
+import com.example.cataniaunited.game.board.tile_list_builder.Tile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.random.RandomGenerator;
+
+/**
+ * The layout shared by all game boards of the same size: the adjacency of building sites, roads and
+ * tiles, their IDs and coordinates, and the building sites ports are placed on. Only the order of the
+ * tiles, their values and the ports differ between two boards of the same size.
+ * <p>
+ * The layout of a size is computed once by the {@link AxialBoardLayout} and kept for the lifetime of the
+ * application. Every board of that size is then created from the flat arrays of its template, without
+ * walking the rings of the board or solving coordinates again.
+ */
+final class BoardTemplate {
+
+    private static final Map<Integer, BoardTemplate> templates = new ConcurrentHashMap<>();
+
+    private final int sizeOfBoard;
+    private final BoardTopology topology;
+    private final double[] tileCoordinates; // x and y of every tile position
+    private final double[] siteCoordinates; // x and y of every building site
+    private final Transform[] roadTransforms;
+
+    private BoardTemplate(int sizeOfBoard) {
+        this.sizeOfBoard = sizeOfBoard;
+        AxialBoardLayout layout = new AxialBoardLayout(sizeOfBoard, GameBoard.SIZE_OF_HEX);
+        topology = layout.toTopology();
+
+        tileCoordinates = new double[layout.getTileCount() * 2];
+        for (int tile = 0; tile < layout.getTileCount(); tile++) {
+            double[] coordinates = layout.getTileCoordinates(tile);
+            tileCoordinates[2 * tile] = coordinates[0];
+            tileCoordinates[2 * tile + 1] = coordinates[1];
+        }
+
+        siteCoordinates = new double[layout.getSiteCount() * 2];
+        for (int site = 0; site < layout.getSiteCount(); site++) {
+            double[] coordinates = layout.getSiteCoordinates(site);
+            siteCoordinates[2 * site] = coordinates[0];
+            siteCoordinates[2 * site + 1] = coordinates[1];
+        }
+
+        roadTransforms = new Transform[layout.getRoadCount()];
+        for (int road = 0; road < layout.getRoadCount(); road++) {
+            roadTransforms[road] = layout.getRoadTransform(road);
+        }
+    }
+
+    /**
+     * Gets the template of a board size, building it on first use.
+     *
+     * @param sizeOfBoard The size of the board (number of rings/layers).
+     * @return The template shared by all boards of that size.
+     */
+    static BoardTemplate forSize(int sizeOfBoard) {
+        return templates.computeIfAbsent(sizeOfBoard, BoardTemplate::new);
+    }
+
+    /**
+     * Gets the compiled adjacency of the boards of this template. It is immutable and
+     * therefore shared by all of them.
+     *
+     * @return The {@link BoardTopology} of this board size.
+     */
+    BoardTopology getTopology() {
+        return topology;
+    }
+
+    /**
+     * Sets the coordinates of shuffled tiles according to their position in the list.
+     *
+     * @param tiles The tiles of a new board, in the order of their IDs.
+     * @throws IllegalArgumentException if the number of tiles does not match the board size.
+     */
+    void placeTiles(List<Tile> tiles) {
+        if (tiles.size() != topology.getTileCount()) {
+            throw new IllegalArgumentException("Tile list size mismatch.");
+        }
+        for (int tile = 0; tile < tiles.size(); tile++) {
+            tiles.get(tile).setCoordinates(tileCoordinates[2 * tile], tileCoordinates[2 * tile + 1]);
+        }
+    }
+
+    /**
+     * Creates the building sites of a new board and connects them to its tiles.
+     *
+     * @param tiles The tiles of the new board, in the order of their IDs.
+     * @return The building sites, in the order of their IDs.
+     */
+    List<BuildingSite> createBuildingSites(List<Tile> tiles) {
+        List<BuildingSite> sites = new ArrayList<>(topology.getSiteCount());
+        for (int site = 0; site < topology.getSiteCount(); site++) {
+            BuildingSite buildingSite = new BuildingSite(site + 1);
+            buildingSite.setCoordinates(siteCoordinates[2 * site], siteCoordinates[2 * site + 1]);
+            for (int offset = topology.getSiteTileStart(site); offset < topology.getSiteTileEnd(site); offset++) {
+                buildingSite.addTile(tiles.get(topology.getSiteTile(offset)));
+            }
+            sites.add(buildingSite);
+        }
+        return sites;
+    }
+
+    /**
+     * Creates the roads of a new board between its building sites.
+     *
+     * @param sites The building sites of the new board, in the order of their IDs.
+     * @return The roads, in the order of their IDs.
+     */
+    List<Road> createRoads(List<BuildingSite> sites) {
+        List<Road> roads = new ArrayList<>(topology.getRoadCount());
+        for (int road = 0; road < topology.getRoadCount(); road++) {
+            BuildingSite a = sites.get(topology.getRoadSite(road, 0));
+            BuildingSite b = sites.get(topology.getRoadSite(road, 1));
+            Road roadToAdd = new Road(a, b, road + 1);
+            roadToAdd.transform = roadTransforms[road];
+            a.addRoad(roadToAdd);
+            b.addRoad(roadToAdd);
+            roads.add(roadToAdd);
+        }
+        return roads;
+    }
+
+    /**
+     * Creates a new, shuffled set of ports and places them on the port slots of the coast.
+     *
+     * @param sites  The building sites of the new board, in the order of their IDs.
+     * @param random The generator of the game the board is created for.
+     * @return All ports of the board, including ports there was no room for.
+     */
+    List<Port> createPorts(List<BuildingSite> sites, RandomGenerator random) {
+        int coastalSiteCount = sites.size() - (int) (6 * Math.pow((sizeOfBoard - 1), 2));
+        List<Port> ports = GraphBuilder.getPortsToPlace(sizeOfBoard, coastalSiteCount, random);
+        Collections.shuffle(ports, random);
+        int[] portSlots = GraphBuilder.calculatePortSlots(sizeOfBoard, sites.size(), ports.size());
+        for (int slot = 0; slot < portSlots.length; slot++) {
+            Port port = ports.get(slot);
+            BuildingSite first = sites.get(portSlots[slot]);
+            BuildingSite second = sites.get(portSlots[slot] + 1);
+            first.setPort(port);
+            second.setPort(port);
+            port.setAssociatedBuildingSites(first, second);
+            port.calculatePosition();
+        }
+        return ports;
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.cataniaunited.game.board;
+
+import com.example.cataniaunited.game.board.tile_list_builder.Tile;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable adjacency of a game board in compressed sparse row form, compiled by the {@link GraphBuilder}
+ * once the graph is complete, or built from the arrays of an {@link AxialBoardLayout}. Building sites, roads and tiles are addressed by their index, which is
+ * their ID minus one, and their position in the lists of the {@link GameBoard}.
+ * <p>
+ * The neighbours of a building site are stored in one shared array: the entries from
+ * {@link #getSiteRoadStart(int)} up to {@link #getSiteRoadEnd(int)} are the roads of the site, and the
+ * entry with the same offset in the neighbour array is the building site at the other end of that road.
+ * The same scheme is used for the building sites of a tile and the tiles of a building site.
+ * Queries return primitives only, so rule checks and traversals do not allocate.
+ */
+public final class BoardTopology {
+
+    private final int[] siteRoadOffsets;
+    private final int[] siteRoads;
+    private final int[] siteNeighbours;
+    private final int[] roadSites;
+    private final int[] tileSiteOffsets;
+    private final int[] tileSites;
+    private final int[] siteTileOffsets;
+    private final int[] siteTiles;
+
+    private BoardTopology(int[] siteRoadOffsets, int[] siteRoads, int[] siteNeighbours, int[] roadSites,
+                          int[] tileSiteOffsets, int[] tileSites, int[] siteTileOffsets, int[] siteTiles) {
+        this.siteRoadOffsets = siteRoadOffsets;
+        this.siteRoads = siteRoads;
+        this.siteNeighbours = siteNeighbours;
+        this.roadSites = roadSites;
+        this.tileSiteOffsets = tileSiteOffsets;
+        this.tileSites = tileSites;
+        this.siteTileOffsets = siteTileOffsets;
+        this.siteTiles = siteTiles;
+    }
+
+    /**
+     * Compiles the adjacency of a generated graph.
+     *
+     * @param sites The building sites, in the order of their IDs.
+     * @param roads The roads, in the order of their IDs.
+     * @param tiles The tiles, in the order of their IDs.
+     * @return The compiled topology.
+     */
+    static BoardTopology compile(List<BuildingSite> sites, List<Road> roads, List<Tile> tiles) {
+        Map<BuildingSite, Integer> siteIndex = new IdentityHashMap<>(sites.size() * 2);
+        for (int site = 0; site < sites.size(); site++) {
+            siteIndex.put(sites.get(site), site);
+        }
+        Map<Road, Integer> roadIndex = new IdentityHashMap<>(roads.size() * 2);
+        for (int road = 0; road < roads.size(); road++) {
+            roadIndex.put(roads.get(road), road);
+        }
+        Map<Tile, Integer> tileIndex = new IdentityHashMap<>(tiles.size() * 2);
+        for (int tile = 0; tile < tiles.size(); tile++) {
+            tileIndex.put(tiles.get(tile), tile);
+        }
+
+        int[] roadSites = new int[roads.size() * 2];
+        for (int road = 0; road < roads.size(); road++) {
+            roadSites[2 * road] = siteIndex.get(roads.get(road).positionA);
+            roadSites[2 * road + 1] = siteIndex.get(roads.get(road).positionB);
+        }
+
+        int[] siteRoadOffsets = new int[sites.size() + 1];
+        int[] siteTileOffsets = new int[sites.size() + 1];
+        for (int site = 0; site < sites.size(); site++) {
+            siteRoadOffsets[site + 1] = siteRoadOffsets[site] + sites.get(site).roads.size();
+            siteTileOffsets[site + 1] = siteTileOffsets[site] + sites.get(site).tiles.size();
+        }
+
+        int[] siteRoads = new int[siteRoadOffsets[sites.size()]];
+        int[] siteNeighbours = new int[siteRoads.length];
+        int[] siteTiles = new int[siteTileOffsets[sites.size()]];
+        for (int site = 0; site < sites.size(); site++) {
+            BuildingSite buildingSite = sites.get(site);
+            int offset = siteRoadOffsets[site];
+            for (int i = 0; i < buildingSite.roads.size(); i++) {
+                int road = roadIndex.get(buildingSite.roads.get(i));
+                siteRoads[offset + i] = road;
+                siteNeighbours[offset + i] = roadSites[2 * road] == site ? roadSites[2 * road + 1] : roadSites[2 * road];
+            }
+            offset = siteTileOffsets[site];
+            for (int i = 0; i < buildingSite.tiles.size(); i++) {
+                int tile = tileIndex.get(buildingSite.tiles.get(i));
+                siteTiles[offset + i] = tile;
+            }
+        }
+
+        return withTileSites(siteRoadOffsets, siteRoads, siteNeighbours, roadSites, siteTileOffsets, siteTiles, tiles.size());
+    }
+
+    /**
+     * Compiles the adjacency of a graph given as arrays. The roads of every building site are
+     * ordered by their IDs, as if each road had been added to both of its ends when it was created.
+     *
+     * @param roadSites       The two building sites of every road, in the order of the road IDs.
+     * @param siteTileOffsets The offset of the first tile of every building site in siteTiles, followed by its length.
+     * @param siteTiles       The tiles of all building sites.
+     * @param tileCount       The number of tiles.
+     * @return The compiled topology.
+     */
+    static BoardTopology of(int[] roadSites, int[] siteTileOffsets, int[] siteTiles, int tileCount) {
+        int siteCount = siteTileOffsets.length - 1;
+        int[] siteRoadOffsets = new int[siteCount + 1];
+        for (int site : roadSites) {
+            siteRoadOffsets[site + 1]++;
+        }
+        for (int site = 0; site < siteCount; site++) {
+            siteRoadOffsets[site + 1] += siteRoadOffsets[site];
+        }
+
+        int[] siteRoads = new int[roadSites.length];
+        int[] siteNeighbours = new int[roadSites.length];
+        int[] siteRoadFill = new int[siteCount];
+        for (int road = 0; road < roadSites.length / 2; road++) {
+            for (int end = 0; end < 2; end++) {
+                int site = roadSites[2 * road + end];
+                int offset = siteRoadOffsets[site] + siteRoadFill[site]++;
+                siteRoads[offset] = road;
+                siteNeighbours[offset] = roadSites[2 * road + 1 - end];
+            }
+        }
+
+        return withTileSites(siteRoadOffsets, siteRoads, siteNeighbours, roadSites, siteTileOffsets, siteTiles, tileCount);
+    }
+
+    private static BoardTopology withTileSites(int[] siteRoadOffsets, int[] siteRoads, int[] siteNeighbours, int[] roadSites,
+                                               int[] siteTileOffsets, int[] siteTiles, int tileCount) {
+        int[] tileSiteOffsets = new int[tileCount + 1];
+        for (int tile : siteTiles) {
+            tileSiteOffsets[tile + 1]++;
+        }
+        for (int tile = 0; tile < tileCount; tile++) {
+            tileSiteOffsets[tile + 1] += tileSiteOffsets[tile];
+        }
+        int[] tileSites = new int[tileSiteOffsets[tileCount]];
+        int[] tileSiteFill = new int[tileCount];
+        for (int site = 0; site < siteTileOffsets.length - 1; site++) {
+            for (int i = siteTileOffsets[site]; i < siteTileOffsets[site + 1]; i++) {
+                int tile = siteTiles[i];
+                tileSites[tileSiteOffsets[tile] + tileSiteFill[tile]++] = site;
+            }
+        }
+
+        return new BoardTopology(siteRoadOffsets, siteRoads, siteNeighbours, roadSites,
+                tileSiteOffsets, tileSites, siteTileOffsets, siteTiles);
+    }
+
+    public int getSiteCount() {
+        return siteRoadOffsets.length - 1;
+    }
+
+    public int getRoadCount() {
+        return roadSites.length / 2;
+    }
+
+    public int getTileCount() {
+        return tileSiteOffsets.length - 1;
+    }
+
+    /**
+     * Gets the first offset of the roads and neighbours of a building site.
+     *
+     * @param site The index of the building site.
+     * @return The offset to pass to {@link #getSiteRoad(int)} and {@link #getSiteNeighbour(int)}.
+     */
+    public int getSiteRoadStart(int site) {
+        return siteRoadOffsets[site];
+    }
+
+    /**
+     * Gets the offset after the last road and neighbour of a building site.
+     *
+     * @param site The index of the building site.
+     * @return The exclusive end offset.
+     */
+    public int getSiteRoadEnd(int site) {
+        return siteRoadOffsets[site + 1];
+    }
+
+    /**
+     * @param offset An offset between {@link #getSiteRoadStart(int)} and {@link #getSiteRoadEnd(int)} of a site.
+     * @return The index of the road at this offset.
+     */
+    public int getSiteRoad(int offset) {
+        return siteRoads[offset];
+    }
+
+    /**
+     * @param offset An offset between {@link #getSiteRoadStart(int)} and {@link #getSiteRoadEnd(int)} of a site.
+     * @return The index of the building site at the other end of the road at this offset.
+     */
+    public int getSiteNeighbour(int offset) {
+        return siteNeighbours[offset];
+    }
+
+    /**
+     * Gets one end of a road.
+     *
+     * @param road The index of the road.
+     * @param end  0 or 1.
+     * @return The index of the building site at this end of the road.
+     */
+    public int getRoadSite(int road, int end) {
+        return roadSites[2 * road + end];
+    }
+
+    /**
+     * Gets the building site at the other end of a road.
+     *
+     * @param road The index of the road.
+     * @param site The index of the building site at one end of the road.
+     * @return The index of the building site at the other end.
+     */
+    public int getOtherRoadSite(int road, int site) {
+        int first = roadSites[2 * road];
+        return first == site ? roadSites[2 * road + 1] : first;
+    }
+
+    public int getTileSiteStart(int tile) {
+        return tileSiteOffsets[tile];
+    }
+
+    public int getTileSiteEnd(int tile) {
+        return tileSiteOffsets[tile + 1];
+    }
+
+    /**
+     * @param offset An offset between {@link #getTileSiteStart(int)} and {@link #getTileSiteEnd(int)} of a tile.
+     * @return The index of the building site at this offset.
+     */
+    public int getTileSite(int offset) {
+        return tileSites[offset];
+    }
+
+    public int getSiteTileStart(int site) {
+        return siteTileOffsets[site];
+    }
+
+    public int getSiteTileEnd(int site) {
+        return siteTileOffsets[site + 1];
+    }
+
+    /**
+     * @param offset An offset between {@link #getSiteTileStart(int)} and {@link #getSiteTileEnd(int)} of a site.
+     * @return The index of the tile at this offset.
+     */
+    public int getSiteTile(int offset) {
+        return siteTiles[offset];
+    }
+}
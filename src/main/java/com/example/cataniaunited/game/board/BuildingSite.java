@@ -9,12 +9,15 @@ import com.example.cataniaunited.game.board.ports.Port;
 import com.example.cataniaunited.game.board.tile_list_builder.Tile;
 import com.example.cataniaunited.game.board.tile_list_builder.TileType;
 import com.example.cataniaunited.game.buildings.Building;
+import com.example.cataniaunited.game.buildings.City;
 import com.example.cataniaunited.player.Player;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.jboss.logging.Logger;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -32,6 +35,8 @@ public class BuildingSite implements Placable, Subscriber<TileType> {
     List<Road> roads = new ArrayList<>(3); // Max 3 roads per building site
     ArrayList<Tile> tiles = new ArrayList<>(3); // Max 3 tiles per building site
     Port port = null;
+    BoardOwnership ownership = null; // Set while the building site is part of a game board
+    ProductionTable production = null; // Set while the building site is part of a game board
 
     double[] coordinates = new double[2];
 
@@ -181,20 +186,56 @@ public class BuildingSite implements Placable, Subscriber<TileType> {
                 The three intersections surrounding this building site MUST NOT have buildings on it,
                 and there must be one owned road adjacent to this building site
             */
-            boolean hasNoNeighbouringBuildings = getNeighbours().stream().allMatch(sp -> sp.getBuildingOwner() == null);
-            if (!hasNoNeighbouringBuildings) {
+            if (hasNeighbouringBuilding()) {
                 logger.errorf("Placement of building is not allowed -> spacing rule violated: positionId = %s, playerId = %s", id, building.getPlayer().getUniqueId());
                 throw new SpacingRuleViolationException();
             }
 
-            boolean atLeastOneOwnedRoad = getRoads().stream().anyMatch(road -> road.getOwner() != null && road.getOwner().equals(building.getPlayer()));
-            if (!atLeastOneOwnedRoad) {
+            if (!hasRoadOf(building.getPlayer())) {
                 logger.errorf("Placement of building is not allowed -> no owned road adjacent: positionId = %s, playerId = %s", id, building.getPlayer().getUniqueId());
                 throw new NoAdjacentRoadException();
             }
         }
 
         this.building = building;
+        if (ownership != null) {
+            ownership.recordBuilding(id - 1, building.getPlayer(), building instanceof City);
+        }
+        if (production != null) {
+            production.recordBuilding(id - 1, building.getPlayer(), building.getResourceDistributionAmount());
+        }
+    }
+
+    /**
+     * Checks the spacing rule on the bitboards of the game board, or on the neighbouring building sites
+     * if this building site is not part of a game board.
+     */
+    private boolean hasNeighbouringBuilding() {
+        if (ownership != null) {
+            return ownership.hasNeighbouringBuilding(id - 1);
+        }
+        for (int i = 0; i < roads.size(); i++) {
+            if (roads.get(i).getNeighbour(this).getBuildingOwner() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the player owns a road ending at this building site.
+     */
+    private boolean hasRoadOf(Player player) {
+        if (ownership != null) {
+            return ownership.hasRoadAt(id - 1, player);
+        }
+        for (int i = 0; i < roads.size(); i++) {
+            Player owner = roads.get(i).getOwner();
+            if (owner != null && owner.equals(player)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public void setPort(Port port) {
@@ -253,6 +294,32 @@ public class BuildingSite implements Placable, Subscriber<TileType> {
         return buildingSitePositionNode;
     }
 
+    /**
+     * Writes the building site's state as JSON to the given generator.
+     * Includes ID, building information (if any), and coordinates, the same as {@link #toJson()}.
+     *
+     * @param generator The {@link JsonGenerator} to write to.
+     * @throws IOException if the generator fails to write.
+     */
+    @Override
+    public void writeJson(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", this.id);
+
+        generator.writeFieldName("building");
+        if (this.building != null) {
+            this.building.writeJson(generator);
+        } else {
+            generator.writeNull();
+        }
+
+        generator.writeArrayFieldStart("coordinates");
+        generator.writeNumber(this.coordinates[0]);
+        generator.writeNumber(this.coordinates[1]);
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
     /**
      * Handles notifications specifically related to resource production from an adjacent, subscribed {@link Tile}.
      * This method is invoked by a {@link Tile} (acting as a {@link com.example.cataniaunited.Publisher})
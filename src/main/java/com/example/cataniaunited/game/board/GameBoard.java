@@ -6,6 +6,10 @@ import com.example.cataniaunited.exception.ui.InsufficientResourcesException;
 import com.example.cataniaunited.exception.ui.NoAdjacentRoadException;
 import com.example.cataniaunited.game.BuildRequest;
 import com.example.cataniaunited.game.Buildable;
+import com.example.cataniaunited.game.board.change.BoardChange;
+import com.example.cataniaunited.game.board.change.BuildingChange;
+import com.example.cataniaunited.game.board.change.LongestRoadChange;
+import com.example.cataniaunited.game.board.change.RoadChange;
 import com.example.cataniaunited.game.board.ports.Port;
 import com.example.cataniaunited.game.board.tile_list_builder.StandardTileListBuilder;
 import com.example.cataniaunited.game.board.tile_list_builder.Tile;
@@ -18,14 +22,27 @@ import com.example.cataniaunited.game.buildings.Settlement;
 import com.example.cataniaunited.game.dice.DiceRoller;
 import com.example.cataniaunited.player.Player;
 import com.example.cataniaunited.player.PlayerColor;
+import com.example.cataniaunited.snapshot.SnapshotReader;
+import com.example.cataniaunited.snapshot.SnapshotWriter;
+import com.example.cataniaunited.util.GameRandom;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.jboss.logging.Logger;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents the Catan game board, including its tiles, building sites, and roads.
@@ -33,22 +50,41 @@ import java.util.Map;
  */
 public class GameBoard {
     private static final Logger logger = Logger.getLogger(GameBoard.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
     static final int DEFAULT_TILES_PER_PLAYER_GOAL = 6;
     static final int SIZE_OF_HEX = 10; // Size parameter for graphical representation of hexes
+    static final int MAX_PATCH_CHANGES = 64; // Clients further behind load a snapshot, which is smaller than such a patch
     private String longestRoadPlayerId = null;
     private int longestRoadLength = 0;
-
+    private int boardVersion = 0;
+    private int rollVersion = 0; // Number of dice rolls on this board
+    private final List<BoardChange> changeLog = new ArrayList<>(); // The changes after version changeLogStart
+    private int changeLogStart = 0;
+    private BoardSnapshot snapshot;
+    private final Map<Player, LegalMoves> legalMovesCache = new HashMap<>();
+    private final Map<Player, LegalMoves> setupLegalMovesCache = new HashMap<>();
+    private final ByteArrayOutputStream snapshotBuffer = new ByteArrayOutputStream();
+
+    private static final PlayerColor[] COLORS = PlayerColor.values();
+
+    private final int playerCount;
     final int sizeOfBoard; // Number of rings/layers of tiles from the center
-    private final DiceRoller diceRoller;
+    private final long seed; // Seed of all randomness of the game played on this board
+    private long generatorSeed; // Seed the generator was last created from, see reseed(long)
+    private RandomGenerator random;
+    private DiceRoller diceRoller;
     private final Map<String, Map<Placable, Class<? extends Buildable>>> playerStructures = new HashMap<>();
 
     List<BuildingSite> buildingSiteGraph;
     List<Tile> tileList;
     List<Road> roadList;
     List<Port> portList;
+    BoardTopology topology;
+    BoardOwnership ownership;
+    ProductionTable production;
 
     /**
-     * Constructs a new GameBoard based on the number of players.
+     * Constructs a new GameBoard based on the number of players, from a new, unpredictable seed.
      * Initializes tiles, building sites, roads, and the dice roller.
      *
      * @param playerCount The number of players in the game.
@@ -56,19 +92,36 @@ public class GameBoard {
      * @throws IllegalStateException    if board generation fails.
      */
     public GameBoard(int playerCount) {
+        this(playerCount, GameRandom.newSeed());
+    }
+
+    /**
+     * Constructs a new GameBoard based on the number of players from the given seed.
+     * The layout of the board and every dice roll on it are drawn from a generator created from the seed,
+     * so two boards of the same player count and seed are identical and roll the same sequence.
+     *
+     * @param playerCount The number of players in the game.
+     * @param seed        The seed of the game, see {@link GameRandom}.
+     * @throws IllegalArgumentException if playerCount is less than or equal to 1.
+     * @throws IllegalStateException    if board generation fails.
+     */
+    public GameBoard(int playerCount, long seed) {
         if (playerCount <= 1) {
             throw new IllegalArgumentException("Player count must be greater than 1.");
         }
 
+        this.playerCount = playerCount;
         sizeOfBoard = calculateSizeOfBoard(playerCount);
+        this.seed = seed;
+        this.generatorSeed = seed;
+        this.random = GameRandom.fromSeed(seed);
         logger.infof("Generating Board for %d players, with %d Levels...%n", playerCount, sizeOfBoard);
         long starttime = System.nanoTime();
 
         generateTileList();
         generateBoard();
 
-        this.diceRoller = new DiceRoller();
-        subscribeTilesToDice();
+        this.diceRoller = new DiceRoller(random);
 
         long endtime = System.nanoTime();
 
@@ -100,14 +153,14 @@ public class GameBoard {
      * Generates the list of tiles for the game board using a {@link TileListDirector} and a {@link StandardTileListBuilder}.
      */
     void generateTileList() {
-        TileListBuilder tileBuilder = new StandardTileListBuilder();
+        TileListBuilder tileBuilder = new StandardTileListBuilder(random);
         TileListDirector director = new TileListDirector(tileBuilder);
-        tileList = director.constructStandardTileList(sizeOfBoard, SIZE_OF_HEX, true);
+        tileList = director.constructShuffledTileList(sizeOfBoard, SIZE_OF_HEX, true);
     }
 
     /**
-     * Generates the graph structure of building sites and roads for the game board.
-     * This method relies on the tile list having been generated first.
+     * Generates the graph structure of building sites and roads for the game board from the
+     * {@link BoardTemplate} of its size. This method relies on the tile list having been generated first.
      *
      * @throws IllegalStateException if the tile list has not been generated.
      */
@@ -116,10 +169,16 @@ public class GameBoard {
             throw new IllegalStateException("Cannot generate board graph before tile list is generated.");
         }
 
-        GraphBuilder graphBuilder = new GraphBuilder(tileList, sizeOfBoard);
-        buildingSiteGraph = graphBuilder.generateGraph();
-        roadList = graphBuilder.getRoadList();
-        portList = graphBuilder.getPortList();
+        BoardTemplate template = BoardTemplate.forSize(sizeOfBoard);
+        template.placeTiles(tileList);
+        buildingSiteGraph = template.createBuildingSites(tileList);
+        roadList = template.createRoads(buildingSiteGraph);
+        portList = template.createPorts(buildingSiteGraph, random);
+        topology = template.getTopology();
+        ownership = new BoardOwnership(topology);
+        ownership.attach(buildingSiteGraph, roadList);
+        production = new ProductionTable(topology, tileList);
+        production.attach(buildingSiteGraph);
     }
 
     /**
@@ -163,6 +222,7 @@ public class GameBoard {
             }
 
             updatePlayerStructures(player.getUniqueId(), buildingSite, building);
+            recordChange(version -> BuildingChange.of(version, positionId, building));
         } catch (IndexOutOfBoundsException e) {
             throw new GameException("Settlement position not found: id = %s", buildRequest.positionId());
         }
@@ -193,21 +253,18 @@ public class GameBoard {
                 removeRequiredResources(player, road);
             }
             updatePlayerStructures(player.getUniqueId(), road, road);
+            recordChange(version -> new RoadChange(version, roadId, player.getUniqueId(), color != null ? color.getHexCode() : null));
         } catch (IndexOutOfBoundsException e) {
             throw new GameException("Road not found: id = %s", buildRequest.positionId());
         }
     }
 
+    /**
+     * Checks whether the player owns a road next to the given road which is connected to it,
+     * i.e. the building site between both roads has no building of another player.
+     */
     private boolean hasAdjacentRoads(Road road, Player player) {
-        List<Road> currentRoadList = road.getAdjacentRoads().stream().filter(r -> r.getOwner() == player).toList();
-        List<BuildingSite> buildingSites = road.getBuildingSites();
-        for(Road adjacentRoad : currentRoadList){
-            BuildingSite interMediateBuildingSite = adjacentRoad.getBuildingSites().stream().filter(buildingSites::contains).toList().get(0);
-            if(interMediateBuildingSite.getBuildingOwner() == null || interMediateBuildingSite.getBuildingOwner() == player){
-                return true;
-            }
-        }
-        return false;
+        return ownership.hasConnectedRoad(road.getId() - 1, player);
     }
 
     /**
@@ -241,13 +298,36 @@ public class GameBoard {
         }
         logger.debugf("Checking if player has required amount of resources: playerId = %s, requiredResources = %s",
                 player.getUniqueId(), buildable.getRequiredResources());
-        for (Map.Entry<TileType, Integer> entry : buildable.getRequiredResources().entrySet()) {
-            TileType tileType = entry.getKey();
-            Integer amount = entry.getValue();
-            if (player.getResourceCount(tileType) < amount) {
-                throw new InsufficientResourcesException();
+        if (!hasRequiredResources(player, buildable)) {
+            throw new InsufficientResourcesException();
+        }
+    }
+
+    /**
+     * Checks if a player has the required resources to build a specific item.
+     *
+     * @param player    The {@link Player} to check.
+     * @param buildable The {@link Buildable} item.
+     * @return true if the player has enough of every required resource.
+     */
+    public boolean hasRequiredResources(Player player, Buildable buildable) {
+        return hasRequiredResources(player, buildable.getRequiredResources());
+    }
+
+    /**
+     * Checks if a player has the given resources, e.g. the {@code REQUIRED_RESOURCES} of a buildable type.
+     *
+     * @param player            The {@link Player} to check.
+     * @param requiredResources The amount required per resource.
+     * @return true if the player has enough of every required resource.
+     */
+    public boolean hasRequiredResources(Player player, Map<TileType, Integer> requiredResources) {
+        for (Map.Entry<TileType, Integer> entry : requiredResources.entrySet()) {
+            if (player.getResourceCount(entry.getKey()) < entry.getValue()) {
+                return false;
             }
         }
+        return true;
     }
 
     public long getPlayerStructureCount(String playerId, Class<? extends Buildable> buildableClass) {
@@ -268,6 +348,33 @@ public class GameBoard {
         }
     }
 
+    /**
+     * Gets the positions the player can build on, given the current ownership of the board.
+     * Resources, build limits and setup round limits are not taken into account, see
+     * {@link com.example.cataniaunited.game.GameService#getLegalMoves(String, String) GameService}.
+     * <p>
+     * The moves are derived from the ownership bitboards, visiting only the ends of the roads of the player,
+     * and cached per player until the board version moves.
+     *
+     * @param player       The {@link Player} to get the moves for.
+     * @param isSetupRound Whether roads can be placed without a connection to another road of the player.
+     * @return The {@link LegalMoves} at the current board version.
+     */
+    public LegalMoves getLegalMoves(Player player, boolean isSetupRound) {
+        LegalMoves cached = (isSetupRound ? setupLegalMovesCache : legalMovesCache).get(player);
+        if (cached != null && cached.boardVersion() == boardVersion) {
+            return cached;
+        }
+        LegalMoves legalMoves = new LegalMoves(
+                boardVersion,
+                BoardOwnership.toIds(ownership.settlementSitesOf(player)),
+                BoardOwnership.toIds(ownership.settlementsOf(player)),
+                BoardOwnership.toIds(isSetupRound ? ownership.freeRoads() : ownership.connectedRoadsOf(player))
+        );
+        (isSetupRound ? setupLegalMovesCache : legalMovesCache).put(player, legalMoves);
+        return legalMoves;
+    }
+
     /**
      * Gets the list of all building sites on the game board.
      *
@@ -295,6 +402,15 @@ public class GameBoard {
         return roadList;
     }
 
+    /**
+     * Gets the adjacency of building sites, roads and tiles as index based arrays.
+     *
+     * @return The {@link BoardTopology} of this board.
+     */
+    public BoardTopology getTopology() {
+        return topology;
+    }
+
     public Port getPortOfBuildingSite(int buildingSitePositionId) {
         return buildingSiteGraph.get(buildingSitePositionId - 1).getPort();
     }
@@ -348,6 +464,189 @@ public class GameBoard {
         return boardNode;
     }
 
+    /**
+     * Writes the JSON representation of the current game board state to the given generator.
+     * The output is the same as the serialized {@link #getJson()} tree, but every element
+     * is streamed directly, without building intermediate nodes.
+     *
+     * @param generator The {@link JsonGenerator} to write to.
+     * @throws IOException if the generator fails to write.
+     */
+    public void writeJson(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+
+        generator.writeArrayFieldStart("tiles");
+        for (Tile tile : this.tileList) {
+            tile.writeJson(generator);
+        }
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart("settlementPositions");
+        for (BuildingSite position : this.buildingSiteGraph) {
+            position.writeJson(generator);
+        }
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart("roads");
+        for (Road road : this.roadList) {
+            road.writeJson(generator);
+        }
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart("ports");
+        for (Port port : this.portList) {
+            port.writeJson(generator);
+        }
+        generator.writeEndArray();
+
+        generator.writeNumberField("ringsOfBoard", this.sizeOfBoard);
+        generator.writeNumberField("sizeOfHex", DEFAULT_TILES_PER_PLAYER_GOAL);
+
+        generator.writeEndObject();
+    }
+
+    /**
+     * Gets a pre-encoded snapshot of the board at the current board version.
+     * The snapshot is encoded lazily on the first read after the board version moved
+     * and reused for all further reads until the next {@link BoardChange}.
+     * Encoding streams the board via {@link #writeJson(JsonGenerator)} into a buffer that is reused
+     * across versions.
+     *
+     * @return The {@link BoardSnapshot} of the current board version.
+     * @throws IllegalStateException if the board cannot be encoded.
+     */
+    public BoardSnapshot getSnapshot() {
+        BoardSnapshot current = snapshot;
+        if (current == null || current.getVersion() != boardVersion) {
+            snapshotBuffer.reset();
+            try (JsonGenerator generator = JSON_FACTORY.createGenerator(snapshotBuffer)) {
+                writeJson(generator);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not encode board snapshot", e);
+            }
+            current = new BoardSnapshot(boardVersion, snapshotBuffer.toByteArray());
+            logger.debugf("Encoded board snapshot: version = %d, size = %d bytes", current.getVersion(), current.size());
+            snapshot = current;
+        }
+        return current;
+    }
+
+    public int getSizeOfBoard() {
+        return sizeOfBoard;
+    }
+
+    /**
+     * Gets the seed this board and the game played on it were created from.
+     * Recording it is enough to replay the game.
+     *
+     * @return The seed of the game.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the generator of the game played on this board. All randomness of the game is drawn from it,
+     * in the order the game consumes it.
+     *
+     * @return The generator created from the seed of the board.
+     */
+    public RandomGenerator getRandom() {
+        return random;
+    }
+
+    /**
+     * Replaces the generator of the game with one created from the given seed. The state of a generator cannot
+     * be saved, so snapshots reseed the generator with a seed drawn from it and save that seed instead.
+     * The new seed has to be recorded like the seed of the board, to keep replaying the game possible.
+     *
+     * @param seed The new seed of the generator.
+     */
+    public void reseed(long seed) {
+        this.generatorSeed = seed;
+        this.random = GameRandom.fromSeed(seed);
+        this.diceRoller = new DiceRoller(random);
+    }
+
+    /**
+     * Writes the state of the game on this board to a snapshot: the seeds of the board and of its generator,
+     * the owned roads and buildings, the longest road and the roll version. The layout itself is not written,
+     * it is generated from the seed again on restore.
+     * <p>
+     * The generator must have been {@link #reseed(long) reseeded} right before, so the seed written for it
+     * matches its state.
+     *
+     * @param out The writer of the snapshot.
+     */
+    public void writeSnapshot(SnapshotWriter out) {
+        out.writeVarint(playerCount);
+        out.writeLong(seed);
+        out.writeLong(generatorSeed);
+        out.writeVarint(rollVersion);
+        out.writeString(longestRoadPlayerId);
+        out.writeVarint(longestRoadLength);
+
+        List<Road> ownedRoads = roadList.stream().filter(road -> road.getOwner() != null).toList();
+        out.writeVarint(ownedRoads.size());
+        for (Road road : ownedRoads) {
+            out.writeVarint(road.getId());
+            out.writeString(road.getOwner().getUniqueId());
+            out.writeEnum(road.getColor());
+        }
+
+        List<BuildingSite> builtSites = buildingSiteGraph.stream().filter(site -> site.building != null).toList();
+        out.writeVarint(builtSites.size());
+        for (BuildingSite site : builtSites) {
+            out.writeVarint(site.getId());
+            out.writeString(site.building.getPlayer().getUniqueId());
+            out.writeEnum(site.building.getColor());
+            out.writeBoolean(site.building instanceof City);
+        }
+    }
+
+    /**
+     * Recreates a board written by {@link #writeSnapshot(SnapshotWriter)}. The layout is generated from the seed,
+     * then the roads and buildings are placed again without costs, roads first, as settlements need one.
+     *
+     * @param in      The reader of the snapshot, positioned at the start of the board.
+     * @param players Resolves the owners of roads and buildings by their ID, to the players the game continues with.
+     * @return The restored board, with the generator in the state it was in when the snapshot was taken.
+     * @throws GameException if an owner is unknown or a structure cannot be placed again.
+     */
+    public static GameBoard readSnapshot(SnapshotReader in, Function<String, Player> players) throws GameException {
+        GameBoard board = new GameBoard(in.readInt(), in.readLong());
+        board.reseed(in.readLong());
+        int rollVersion = in.readInt();
+        String longestRoadPlayerId = in.readString();
+        int longestRoadLength = in.readInt();
+
+        for (int i = in.readInt(); i > 0; i--) {
+            int roadId = in.readInt();
+            board.placeRoad(restoreRequest(players, in.readString(), in.readEnum(COLORS), roadId));
+        }
+        for (int i = in.readInt(); i > 0; i--) {
+            int positionId = in.readInt();
+            BuildRequest request = restoreRequest(players, in.readString(), in.readEnum(COLORS), positionId);
+            board.placeSettlement(request);
+            if (in.readBoolean()) {
+                board.placeCity(request);
+            }
+        }
+        board.setLongestRoad(longestRoadPlayerId, longestRoadLength);
+        board.rollVersion = rollVersion;
+        return board;
+    }
+
+    private static BuildRequest restoreRequest(Function<String, Player> players, String playerId, PlayerColor color,
+                                               int positionId) throws GameException {
+        Player player = players.apply(playerId);
+        if (player == null) {
+            throw new GameException("Owner of restored structure not found: playerId = %s", playerId);
+        }
+        // Placed like in the setup round, so no resources are required
+        return new BuildRequest(player, color, positionId, true, Optional.empty());
+    }
+
     public String getLongestRoadPlayerId() {
         return longestRoadPlayerId;
     }
@@ -357,27 +656,96 @@ public class GameBoard {
     }
 
     public void setLongestRoad(String playerId, int length) {
+        if (Objects.equals(this.longestRoadPlayerId, playerId) && this.longestRoadLength == length) {
+            return;
+        }
         this.longestRoadPlayerId = playerId;
         this.longestRoadLength = length;
+        recordChange(version -> new LongestRoadChange(version, playerId, length));
         logger.infof("New Longest Road updated: Player %s with length %d", playerId, length);
     }
 
     /**
-     * Subscribes all tiles on the board to the dice roller.
-     * This allows tiles to be notified when dice are rolled to distribute resources.
+     * Gets the current version of the board. The version starts at 0 for a freshly generated
+     * board and is incremented by one for every {@link BoardChange} the board emits.
+     *
+     * @return The current board version.
+     */
+    public int getBoardVersion() {
+        return boardVersion;
+    }
+
+    /**
+     * Checks whether the changes since the given version can be delivered as a patch.
+     * This is the case for the current board version and the {@value #MAX_PATCH_CHANGES} versions before it,
+     * older changes are dropped from the change log.
+     *
+     * @param version The board version a client currently holds.
+     * @return true if {@link #getChangesSince(int)} can be used for this version, false if
+     * the client needs a full snapshot instead.
      */
-    private void subscribeTilesToDice() {
-        tileList.forEach(tile -> tile.subscribeToDice(diceRoller));
+    public boolean canPatchFrom(int version) {
+        return version >= changeLogStart && version <= boardVersion;
     }
 
     /**
-     * Rolls the dice using the board's {@link DiceRoller}.
-     * This will trigger resource distribution based on the roll.
+     * Gets all changes that were applied to the board after the given version, in order.
      *
-     * @return An {@link ObjectNode} containing the dice roll result (dice1, dice2, total).
+     * @param version The board version a client currently holds.
+     * @return An unmodifiable list of {@link BoardChange BoardChanges} with a version greater than
+     * {@code version}. Empty if the client is up to date.
+     * @throws IllegalArgumentException if no patch can be built for the version, see {@link #canPatchFrom(int)}.
+     */
+    public List<BoardChange> getChangesSince(int version) {
+        if (!canPatchFrom(version)) {
+            throw new IllegalArgumentException("No patch available for board version %d (current version %d)".formatted(version, boardVersion));
+        }
+        return List.copyOf(changeLog.subList(version - changeLogStart, boardVersion - changeLogStart));
+    }
+
+    /**
+     * Bumps the board version and appends the change created for the new version to the change log.
+     * The oldest change is dropped once the log holds {@value #MAX_PATCH_CHANGES} changes.
+     *
+     * @param change Factory creating the change for the new board version.
+     */
+    private void recordChange(IntFunction<BoardChange> change) {
+        boardVersion++;
+        changeLog.add(change.apply(boardVersion));
+        if (changeLog.size() > MAX_PATCH_CHANGES) {
+            changeLog.remove(0);
+            changeLogStart++;
+        }
+    }
+
+    /**
+     * Rolls the dice using the board's {@link DiceRoller} and distributes the resources of the roll
+     * through the {@link ProductionTable} of the board.
+     * <p>
+     * Besides the dice, the result holds the roll version, counting the rolls on this board, and the
+     * production of the roll: per player ID the amount gained of each resource, for the players that
+     * gained anything. Clients apply the production to their copy of the players, and reload the players
+     * when they notice a gap in the roll versions.
+     *
+     * @return An {@link ObjectNode} containing the dice roll result (dice1, dice2, total, rollVersion, production).
      */
     public ObjectNode rollDice() {
-        return diceRoller.rollDice();
+        ObjectNode result = diceRoller.rollDice();
+        Map<Player, Map<TileType, Integer>> gains = production.produce(result.get("total").asInt());
+        result.put("rollVersion", ++rollVersion);
+        ObjectNode productionNode = result.putObject("production");
+        gains.forEach((player, resources) -> {
+            ObjectNode playerNode = productionNode.putObject(player.getUniqueId());
+            resources.forEach((resource, amount) -> playerNode.put(resource.name(), amount));
+        });
+        return result;
+    }
+
+    /**
+     * @return The number of dice rolls on this board, i.e. the roll version of the latest roll.
+     */
+    public int getRollVersion() {
+        return rollVersion;
     }
 }
 
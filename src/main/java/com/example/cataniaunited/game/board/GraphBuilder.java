@@ -6,8 +6,10 @@ import com.example.cataniaunited.game.board.ports.SpecificResourcePort;
 import com.example.cataniaunited.game.board.tile_list_builder.Tile;
 import com.example.cataniaunited.game.board.tile_list_builder.TileType;
 import com.example.cataniaunited.util.CatanBoardUtils;
+import com.example.cataniaunited.util.GameRandom;
 
 import java.util.*;
+import java.util.random.RandomGenerator;
 
 import static java.util.stream.Collectors.toList;
 
@@ -23,7 +25,9 @@ public class GraphBuilder {
     List<BuildingSite> nodeList;
     List<Road> roadList;
     List<Port> portList;
+    BoardTopology topology;
     int sizeOfBoard;
+    private final RandomGenerator random;
 
     int nodeId=0;
 
@@ -36,6 +40,19 @@ public class GraphBuilder {
      *                                  or tileList size doesn't match expected count for the board size.
      */
     public GraphBuilder(List<Tile> tileList, int sizeOfBoard) {
+        this(tileList, sizeOfBoard, GameRandom.newGenerator());
+    }
+
+    /**
+     * Constructs a GraphBuilder that shuffles the ports with the given generator.
+     *
+     * @param tileList    The list of {@link Tile} objects to build the graph from.
+     * @param sizeOfBoard The size of the board (number of rings/layers).
+     * @param random      The generator of the game the board is built for.
+     * @throws IllegalArgumentException if tileList is null/empty, sizeOfBoard is too small,
+     *                                  or tileList size doesn't match expected count for the board size.
+     */
+    public GraphBuilder(List<Tile> tileList, int sizeOfBoard, RandomGenerator random) {
         if (tileList == null || tileList.isEmpty()) {
             throw new IllegalArgumentException("Tile list cannot be null or empty.");
         }
@@ -51,6 +68,7 @@ public class GraphBuilder {
 
         this.tileList = tileList;
         this.sizeOfBoard = sizeOfBoard;
+        this.random = random;
 
         // Initialize node list with expected capacity
         int totalAmountOfBuildingSites = calculateTotalBuildingSites(sizeOfBoard);
@@ -85,6 +103,9 @@ public class GraphBuilder {
         // add ports
         addPorts();
 
+        // compile the finished graph into index based adjacency arrays
+        topology = BoardTopology.compile(nodeList, roadList, tileList);
+
         return nodeList;
     }
 
@@ -333,52 +354,70 @@ public class GraphBuilder {
         int startingIndex = (int) (6 * Math.pow((sizeOfBoard - 1), 2));
         int numberOfCoastalBuildingSites = nodeList.size() - startingIndex;
 
-        int currentIndex = startingIndex;
-        int currentPortIndex = 0;
-        int portCount;
-        int rhythm;
-
-        List<Port> ports = getPortsToPlace(numberOfCoastalBuildingSites);
-        Collections.shuffle(ports);
-        portCount = ports.size();
+        List<Port> ports = getPortsToPlace(sizeOfBoard, numberOfCoastalBuildingSites, random);
+        Collections.shuffle(ports, random);
 
         // assign ports
-        rhythm = Math.max(2, numberOfCoastalBuildingSites / portCount);
-
-        while (currentPortIndex < portCount) {
-            if (currentIndex + 1 >= nodeList.size()) {
-                // Not enough space for this port
-                break;
-            }
-
+        int[] portSlots = calculatePortSlots(sizeOfBoard, nodeList.size(), ports.size());
+        for (int currentPortIndex = 0; currentPortIndex < portSlots.length; currentPortIndex++) {
+            int currentIndex = portSlots[currentPortIndex];
             Port currentPort = ports.get(currentPortIndex);
             nodeList.get(currentIndex).setPort(currentPort);
             nodeList.get(currentIndex + 1).setPort(currentPort);
             currentPort.setAssociatedBuildingSites(nodeList.get(currentIndex), nodeList.get(currentIndex+1));
             currentPort.calculatePosition();
+        }
 
+        portList = ports;
+    }
+
+    /**
+     * Calculates where ports are placed on the coast: evenly spread over the building sites of the
+     * outermost layer, each port on two neighbouring building sites.
+     *
+     * @param sizeOfBoard       The size of the board (number of rings/layers).
+     * @param buildingSiteCount The total number of building sites of the board.
+     * @param portCount         The number of ports to place.
+     * @return The index of the first of the two building sites of every placed port. Ports there is
+     * not enough space for are left out.
+     */
+    static int[] calculatePortSlots(int sizeOfBoard, int buildingSiteCount, int portCount) {
+        int startingIndex = (int) (6 * Math.pow((sizeOfBoard - 1), 2));
+        int numberOfCoastalBuildingSites = buildingSiteCount - startingIndex;
+        int rhythm = Math.max(2, numberOfCoastalBuildingSites / portCount);
+
+        int[] slots = new int[portCount];
+        int currentIndex = startingIndex;
+        int currentPortIndex = 0;
+        while (currentPortIndex < portCount) {
+            if (currentIndex + 1 >= buildingSiteCount) {
+                // Not enough space for this port
+                break;
+            }
+            slots[currentPortIndex] = currentIndex;
             currentIndex += rhythm;
             currentPortIndex++;
         }
-
-        portList = ports;
+        return Arrays.copyOf(slots, currentPortIndex);
     }
 
     /**
      * Determines and creates the list of {@link Port} instances to be placed on the board
      * based on the number of coastal building sites.
      *
+     * @param sizeOfBoard                  The size of the board (number of rings/layers).
      * @param numberOfCoastalBuildingSites The total number of building sites available on the coast.
+     * @param random                       The generator to shuffle the resource types of specific ports with.
      * @return A list of {@link Port} objects, with types and distribution determined by board size.
      */
-    private List<Port> getPortsToPlace(int numberOfCoastalBuildingSites) {
+    static List<Port> getPortsToPlace(int sizeOfBoard, int numberOfCoastalBuildingSites, RandomGenerator random) {
         List<Port> ports = new ArrayList<>();
 
         // 1. Get available resource types for specific ports and shuffle them for variety
-        List<TileType> availableResourceTypesForPorts = getShuffledResourceTypesForPorts();
+        List<TileType> availableResourceTypesForPorts = getShuffledResourceTypesForPorts(random);
 
         // 2. Calculate the total number of ports needed for this board size
-        int totalPortCount = calculateTargetPortCount(numberOfCoastalBuildingSites);
+        int totalPortCount = calculateTargetPortCount(sizeOfBoard, numberOfCoastalBuildingSites);
 
         // 3. Determine the mix of general and specific ports
         PortDistribution distribution = determinePortDistribution(totalPortCount);
@@ -396,13 +435,14 @@ public class GraphBuilder {
      * Retrieves a shuffled list of resource types that can be used for specific resource ports.
      * Excludes {@link TileType#WASTE}.
      *
+     * @param random The generator to shuffle with.
      * @return A shuffled list of {@link TileType}s.
      */
-    private List<TileType> getShuffledResourceTypesForPorts() {
+    private static List<TileType> getShuffledResourceTypesForPorts(RandomGenerator random) {
         List<TileType> resourceTypes = Arrays.stream(TileType.values())
                 .filter(type -> type != TileType.WASTE)
                 .collect(toList());
-        Collections.shuffle(resourceTypes);
+        Collections.shuffle(resourceTypes, random);
         return resourceTypes;
     }
 
@@ -419,7 +459,7 @@ public class GraphBuilder {
      * @param totalPortCount The total number of ports to distribute.
      * @return A {@link PortDistribution} record containing the counts for general and specific ports.
      */
-    private PortDistribution determinePortDistribution(int totalPortCount) {
+    private static PortDistribution determinePortDistribution(int totalPortCount) {
         int specificPortCount;
         int generalPortCount;
 
@@ -452,7 +492,7 @@ public class GraphBuilder {
      * @param portsToAddToList The list to which general ports will be added.
      * @param count            The number of general ports to create.
      */
-    private void addGeneralPorts(List<Port> portsToAddToList, int count) {
+    private static void addGeneralPorts(List<Port> portsToAddToList, int count) {
         for (int i = 0; i < count; i++) {
             portsToAddToList.add(new GeneralPort());
         }
@@ -467,7 +507,7 @@ public class GraphBuilder {
      * @param availableResourceTypes A list of {@link TileType}s to assign to the specific ports.
      *                               Should not be empty if count > 0.
      */
-    private void addSpecificPorts(List<Port> portsToAddToList, int count, List<TileType> availableResourceTypes) {
+    private static void addSpecificPorts(List<Port> portsToAddToList, int count, List<TileType> availableResourceTypes) {
         for (int i = 0; i < count; i++) {
             // Cycle through the shuffled resource types for port assignment.
             // E.g., if specificPortCount is 7 and 5 resource types: WOOD,CLAY,SHEEP,WHEAT,ORE,WOOD,CLAY
@@ -476,7 +516,7 @@ public class GraphBuilder {
         }
     }
 
-    private int calculateTargetPortCount(int numberOfCoastalBuildingSites) {
+    private static int calculateTargetPortCount(int sizeOfBoard, int numberOfCoastalBuildingSites) {
         int targetPortCount;
         int basePortsForLargeBoards = 11;
         int maximumPositionsPerPortForLargeBoards = 5;
@@ -508,6 +548,15 @@ public class GraphBuilder {
         return portList;
     }
 
+    /**
+     * Gets the compiled adjacency of the graph.
+     *
+     * @return The {@link BoardTopology}, or null if the graph has not been built yet.
+     */
+    public BoardTopology getTopology() {
+        return topology;
+    }
+
 // ------------------- Coordinate Calculation ------------------------
     /**
      * Calculates and sets the coordinates and rotation angle for all roads in the road list.
@@ -0,0 +1,43 @@
+package com.example.cataniaunited.game.board;
+
+import java.util.List;
+
+/**
+ * The placements a player can make on a {@link GameBoard} at a specific board version.
+ *
+ * @param boardVersion          The board version the moves were computed for.
+ * @param settlementPositionIds The IDs of the building sites a settlement can be placed on.
+ * @param cityPositionIds       The IDs of the building sites holding a settlement that can be upgraded to a city.
+ * @param roadIds               The IDs of the roads that can be placed.
+ */
+public record LegalMoves(
+        int boardVersion,
+        List<Integer> settlementPositionIds,
+        List<Integer> cityPositionIds,
+        List<Integer> roadIds
+) {
+
+    public LegalMoves {
+        settlementPositionIds = List.copyOf(settlementPositionIds);
+        cityPositionIds = List.copyOf(cityPositionIds);
+        roadIds = List.copyOf(roadIds);
+    }
+
+    /**
+     * Creates the moves left when some kinds of placement are not allowed, e.g. because the player
+     * lacks the resources or reached the build limit.
+     *
+     * @param settlements Whether settlements can be placed.
+     * @param cities      Whether settlements can be upgraded.
+     * @param roads       Whether roads can be placed.
+     * @return The restricted moves, at the same board version.
+     */
+    public LegalMoves restrictTo(boolean settlements, boolean cities, boolean roads) {
+        return new LegalMoves(
+                boardVersion,
+                settlements ? settlementPositionIds : List.of(),
+                cities ? cityPositionIds : List.of(),
+                roads ? roadIds : List.of()
+        );
+    }
+}
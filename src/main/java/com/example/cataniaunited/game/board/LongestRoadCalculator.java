@@ -1,52 +1,233 @@
 package com.example.cataniaunited.game.board;
 
+import com.example.cataniaunited.player.Player;
 import com.example.cataniaunited.util.Util;
 
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
+/**
+ * Calculates the longest road of a player: the longest trail through the roads of the player,
+ * which may visit a building site more than once but uses every road at most once.
+ * A building of another player breaks a road, a trail may end at such a site but not pass through it.
+ * <p>
+ * The roads of the player are indexed once per calculation. Visited roads are tracked in a bitset
+ * of road indices and the depth first search runs on primitive stacks, so the search itself does
+ * not allocate. When the road that was just placed is known, only the connected network containing
+ * it is searched, as no other network of the player changed.
+ */
 public class LongestRoadCalculator {
 
-    private int overallMaxLength;
-
+    /**
+     * Calculates the longest road over all road networks of a player.
+     *
+     * @param allPlayerRoads All roads owned by the player.
+     * @return The length of the longest road, 0 if the player has no roads.
+     */
     public int calculateFor(List<Road> allPlayerRoads) {
+        return calculateFor(allPlayerRoads, null);
+    }
+
+    /**
+     * Calculates the longest road of the network the placed road belongs to.
+     *
+     * @param allPlayerRoads All roads owned by the player, including the placed road.
+     * @param placedRoad     The road that was just placed, or {@code null} to search all networks.
+     * @return The length of the longest road through the network of the placed road,
+     * or over all networks if the placed road is {@code null} or not owned by the player.
+     */
+    public int calculateFor(List<Road> allPlayerRoads, Road placedRoad) {
         if (Util.isEmpty(allPlayerRoads)) {
             return 0;
         }
 
-        this.overallMaxLength = 0;
-
-        for (Road road : allPlayerRoads) {
-            Set<Road> visited = new HashSet<>();
-            visited.add(road);
-            findLongestPath(road.positionA, 1, visited, allPlayerRoads);
+        RoadNetwork network = new RoadNetwork(allPlayerRoads);
+        Integer placedIndex = placedRoad == null ? null : network.roadIndex.get(placedRoad);
+        if (placedIndex != null) {
+            return network.longestTrailOf(placedIndex);
+        }
 
-            visited = new HashSet<>();
-            visited.add(road);
-            findLongestPath(road.positionB, 1, visited, allPlayerRoads);
+        int overallMaxLength = 0;
+        long[] searched = new long[network.words];
+        for (int road = 0; road < network.roadCount; road++) {
+            if (!isSet(searched, road)) {
+                overallMaxLength = Math.max(overallMaxLength, network.longestTrailOf(road));
+                or(searched, network.component);
+            }
         }
+        return overallMaxLength;
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private static void clear(long[] bits, int index) {
+        bits[index >>> 6] &= ~(1L << index);
+    }
 
-        return this.overallMaxLength;
+    private static void or(long[] target, long[] bits) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] |= bits[i];
+        }
     }
 
+    /**
+     * The roads of one player as an index based graph: roads and the building sites at their ends are
+     * numbered, every site knows the indices of the roads of the player ending at it.
+     */
+    private static final class RoadNetwork {
+
+        private final int roadCount;
+        private final int words;
+        private final Map<Road, Integer> roadIndex;
+        private final int[][] roadEnds;
+        private final int[][] siteRoads;
+        private final boolean[] blocked;
+
+        private final long[] component;
+        private final boolean[] searchedFrom;
+        private final long[] used;
+        private final int[] siteStack;
+        private final int[] roadStack;
+        private final int[] nextStack;
 
-    private void findLongestPath(BuildingSite currentNode, int currentLength, Set<Road> visited, List<Road> allPlayerRoads) {
+        RoadNetwork(List<Road> roads) {
+            roadCount = roads.size();
+            words = (roadCount + 63) >>> 6;
+            roadIndex = new IdentityHashMap<>(roadCount * 2);
+            roadEnds = new int[roadCount][2];
 
-        if (currentLength > this.overallMaxLength) {
-            this.overallMaxLength = currentLength;
+            Player owner = roads.get(0).getOwner();
+            Map<BuildingSite, Integer> siteIndex = new HashMap<>(roadCount * 2);
+            int[] degree = new int[roadCount * 2];
+            BuildingSite[] sites = new BuildingSite[roadCount * 2];
+            for (int road = 0; road < roadCount; road++) {
+                Road current = roads.get(road);
+                roadIndex.put(current, road);
+                roadEnds[road][0] = indexSite(current.positionA, siteIndex, sites);
+                roadEnds[road][1] = indexSite(current.positionB, siteIndex, sites);
+                degree[roadEnds[road][0]]++;
+                degree[roadEnds[road][1]]++;
+            }
+
+            int siteCount = siteIndex.size();
+            siteRoads = new int[siteCount][];
+            blocked = new boolean[siteCount];
+            for (int site = 0; site < siteCount; site++) {
+                siteRoads[site] = new int[degree[site]];
+                Player buildingOwner = sites[site].getBuildingOwner();
+                blocked[site] = buildingOwner != null && !buildingOwner.equals(owner);
+                degree[site] = 0;
+            }
+            for (int road = 0; road < roadCount; road++) {
+                for (int site : roadEnds[road]) {
+                    siteRoads[site][degree[site]++] = road;
+                }
+            }
+
+            component = new long[words];
+            searchedFrom = new boolean[siteCount];
+            used = new long[words];
+            siteStack = new int[roadCount + 1];
+            roadStack = new int[roadCount + 1];
+            nextStack = new int[roadCount + 1];
+        }
+
+        private static int indexSite(BuildingSite site, Map<BuildingSite, Integer> siteIndex, BuildingSite[] sites) {
+            return siteIndex.computeIfAbsent(site, s -> {
+                int index = siteIndex.size();
+                sites[index] = s;
+                return index;
+            });
         }
 
-        for (Road neighborRoad : currentNode.getRoads()) {
-            if (allPlayerRoads.contains(neighborRoad) && !visited.contains(neighborRoad)) {
-                Set<Road> newVisited = new HashSet<>(visited);
-                newVisited.add(neighborRoad);
+        /**
+         * Collects the network of the given road into {@link #component} and searches the longest trail
+         * through it, starting at every building site of the network.
+         */
+        int longestTrailOf(int road) {
+            collectComponent(road);
+            Arrays.fill(searchedFrom, false);
+            int longest = 0;
+            for (int current = 0; current < roadCount; current++) {
+                if (!isSet(component, current)) {
+                    continue;
+                }
+                for (int site : roadEnds[current]) {
+                    if (!searchedFrom[site]) {
+                        searchedFrom[site] = true;
+                        longest = Math.max(longest, longestTrailFrom(site));
+                    }
+                }
+            }
+            return longest;
+        }
+
+        /**
+         * Flood fills the roads connected to the given road. Roads are only connected through
+         * building sites without a building of another player.
+         */
+        private void collectComponent(int road) {
+            Arrays.fill(component, 0L);
+            int size = 0;
+            roadStack[size++] = road;
+            set(component, road);
+            while (size > 0) {
+                int current = roadStack[--size];
+                for (int site : roadEnds[current]) {
+                    if (blocked[site]) {
+                        continue;
+                    }
+                    for (int next : siteRoads[site]) {
+                        if (!isSet(component, next)) {
+                            set(component, next);
+                            roadStack[size++] = next;
+                        }
+                    }
+                }
+            }
+        }
 
-                BuildingSite nextNode = neighborRoad.getNeighbour(currentNode);
-                if (nextNode != null) {
-                    findLongestPath(nextNode, currentLength + 1, newVisited, allPlayerRoads);
+        /**
+         * Depth first search for the longest trail starting at the given site. The stacks hold the site
+         * reached at every depth, the road used to get there and the next road to try from there.
+         */
+        private int longestTrailFrom(int startSite) {
+            int longest = 0;
+            int depth = 0;
+            siteStack[0] = startSite;
+            nextStack[0] = 0;
+            while (depth >= 0) {
+                int site = siteStack[depth];
+                int[] roads = siteRoads[site];
+                boolean canContinue = depth == 0 || !blocked[site];
+                if (canContinue && nextStack[depth] < roads.length) {
+                    int road = roads[nextStack[depth]++];
+                    if (!isSet(component, road) || isSet(used, road)) {
+                        continue;
+                    }
+                    set(used, road);
+                    depth++;
+                    roadStack[depth] = road;
+                    siteStack[depth] = roadEnds[road][0] == site ? roadEnds[road][1] : roadEnds[road][0];
+                    nextStack[depth] = 0;
+                    longest = Math.max(longest, depth);
+                } else {
+                    if (depth > 0) {
+                        clear(used, roadStack[depth]);
+                    }
+                    depth--;
                 }
             }
+            return longest;
         }
     }
-}
\ No newline at end of file
+}
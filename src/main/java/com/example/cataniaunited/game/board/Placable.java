@@ -1,7 +1,10 @@
 package com.example.cataniaunited.game.board;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import java.io.IOException;
+
 /**
  * Interface for game elements that have a position on the game board
  * and can be represented as JSON.
@@ -22,4 +25,13 @@ public interface Placable {
      * @return An {@link ObjectNode} representing the item in JSON format.
      */
     ObjectNode toJson();
+
+    /**
+     * Writes the placable item's state to the given generator. The output is the same as
+     * the serialized {@link #toJson()} tree, but no intermediate nodes are created.
+     *
+     * @param generator The {@link JsonGenerator} to write to.
+     * @throws IOException if the generator fails to write.
+     */
+    void writeJson(JsonGenerator generator) throws IOException;
 }
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.example.cataniaunited.game.board;
+
+import com.example.cataniaunited.game.board.tile_list_builder.Tile;
+import com.example.cataniaunited.game.board.tile_list_builder.TileType;
+import com.example.cataniaunited.player.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the resource production of a game board by dice roll. For every roll from 2 to 12 it holds
+ * one entry per building next to a tile with that value, packed into a single int of player slot,
+ * resource and amount. Entries are added when a building is placed and updated when it is upgraded,
+ * so resolving a roll is one pass over the entries of that roll, without visiting any tile.
+ * <p>
+ * The building sites of a {@link GameBoard} report every placed building, the same way as for the
+ * {@link BoardOwnership}.
+ */
+final class ProductionTable {
+
+    private static final int MAX_ROLL = 12;
+    private static final TileType[] RESOURCES = TileType.values();
+    private static final int SLOT_SHIFT = 16;
+    private static final int RESOURCE_SHIFT = 8;
+    private static final int BYTE_MASK = 0xFF;
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final BoardTopology topology;
+    private final int[] tileRolls;
+    private final int[] tileResources;
+
+    private final int[][] entries = new int[MAX_ROLL + 1][];
+    // The building site and tile of every entry, as site * tile count + tile
+    private final int[][] entryKeys = new int[MAX_ROLL + 1][];
+    private final int[] entryCounts = new int[MAX_ROLL + 1];
+
+    private final List<Player> players = new ArrayList<>();
+    private final Map<Player, Integer> playerSlots = new HashMap<>();
+
+    /**
+     * Creates an empty production table for a board.
+     *
+     * @param topology The compiled adjacency of the board.
+     * @param tiles    The tiles of the board, in the order of their IDs, with their values assigned.
+     */
+    ProductionTable(BoardTopology topology, List<Tile> tiles) {
+        this.topology = topology;
+        tileRolls = new int[tiles.size()];
+        tileResources = new int[tiles.size()];
+        for (int tile = 0; tile < tiles.size(); tile++) {
+            Tile current = tiles.get(tile);
+            tileRolls[tile] = current.getType() == TileType.WASTE ? 0 : current.getValue();
+            tileResources[tile] = current.getType().ordinal();
+        }
+        for (int roll = 0; roll <= MAX_ROLL; roll++) {
+            entries[roll] = new int[INITIAL_CAPACITY];
+            entryKeys[roll] = new int[INITIAL_CAPACITY];
+        }
+    }
+
+    /**
+     * Lets the building sites of a board report their buildings to this table and records
+     * the buildings they already hold.
+     *
+     * @param sites The building sites, in the order of their IDs.
+     */
+    void attach(List<BuildingSite> sites) {
+        for (BuildingSite site : sites) {
+            site.production = this;
+            if (site.building != null) {
+                recordBuilding(site.getId() - 1, site.building.getPlayer(), site.building.getResourceDistributionAmount());
+            }
+        }
+    }
+
+    /**
+     * Records a building placed on a building site, or updates the amount of an upgraded building.
+     *
+     * @param site   The index of the building site.
+     * @param owner  The owner of the building.
+     * @param amount The amount of resources the building receives per produced resource.
+     */
+    void recordBuilding(int site, Player owner, int amount) {
+        int slot = playerSlots.computeIfAbsent(owner, p -> {
+            players.add(p);
+            return players.size() - 1;
+        });
+        // Players are equal by their unique ID, the resources go to the instance of the latest building
+        players.set(slot, owner);
+        for (int offset = topology.getSiteTileStart(site); offset < topology.getSiteTileEnd(site); offset++) {
+            int tile = topology.getSiteTile(offset);
+            int roll = tileRolls[tile];
+            if (roll == 0) {
+                continue;
+            }
+            int entry = slot << SLOT_SHIFT | tileResources[tile] << RESOURCE_SHIFT | amount;
+            putEntry(roll, site * tileRolls.length + tile, entry);
+        }
+    }
+
+    private void putEntry(int roll, int key, int entry) {
+        int[] keys = entryKeys[roll];
+        int count = entryCounts[roll];
+        for (int i = 0; i < count; i++) {
+            if (keys[i] == key) {
+                entries[roll][i] = entry;
+                return;
+            }
+        }
+        if (count == keys.length) {
+            entries[roll] = Arrays.copyOf(entries[roll], count * 2);
+            entryKeys[roll] = Arrays.copyOf(keys, count * 2);
+        }
+        entries[roll][count] = entry;
+        entryKeys[roll][count] = key;
+        entryCounts[roll] = count + 1;
+    }
+
+    /**
+     * Hands out the resources of all tiles with the rolled value to the owners of the buildings next to them.
+     *
+     * @param roll The total of the dice.
+     * @return The resources each player gained, containing only players that gained anything.
+     */
+    Map<Player, Map<TileType, Integer>> produce(int roll) {
+        Map<Player, Map<TileType, Integer>> gains = new HashMap<>();
+        if (roll < 0 || roll > MAX_ROLL) {
+            return gains;
+        }
+        int[] rollEntries = entries[roll];
+        for (int i = 0; i < entryCounts[roll]; i++) {
+            int entry = rollEntries[i];
+            Player player = players.get(entry >>> SLOT_SHIFT);
+            TileType resource = RESOURCES[entry >>> RESOURCE_SHIFT & BYTE_MASK];
+            int amount = entry & BYTE_MASK;
+            player.receiveResource(resource, amount);
+            gains.computeIfAbsent(player, p -> new EnumMap<>(TileType.class)).merge(resource, amount, Integer::sum);
+        }
+        return gains;
+    }
+
+    /**
+     * @param roll The total of the dice.
+     * @return The number of buildings producing resources for the roll, counted once per adjacent tile.
+     */
+    int getEntryCount(int roll) {
+        return roll < 0 || roll > MAX_ROLL ? 0 : entryCounts[roll];
+    }
+}
@@ -5,10 +5,12 @@ import com.example.cataniaunited.game.Buildable;
 import com.example.cataniaunited.game.board.tile_list_builder.TileType;
 import com.example.cataniaunited.player.Player;
 import com.example.cataniaunited.player.PlayerColor;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -20,6 +22,19 @@ import java.util.Map;
  * for resource requirements.
  */
 public class Road implements Placable, Buildable {
+
+    /**
+     * The resources required to build a road, independent of the instance.
+     */
+    public static final Map<TileType, Integer> REQUIRED_RESOURCES = Map.of(
+            TileType.WOOD, 1,
+            TileType.CLAY, 1);
+
+    /**
+     * The maximum number of roads a player can build.
+     */
+    public static final int BUILD_LIMIT = 15;
+
     Player owner;
     PlayerColor color;
     final BuildingSite positionA;
@@ -27,6 +42,7 @@ public class Road implements Placable, Buildable {
     final int id;
 
     Transform transform = Transform.ORIGIN;
+    BoardOwnership ownership = null; // Set while the road is part of a game board
 
     /**
      * Constructs a new Road between two building sites.
@@ -56,15 +72,26 @@ public class Road implements Placable, Buildable {
             throw new GameException("Road cannot be placed twice: roadId = %s, playerId = %s", id, owner.getUniqueId());
         }
         this.owner = owner;
+        if (ownership != null) {
+            ownership.recordRoad(id - 1, owner);
+        }
     }
 
     public List<Road> getAdjacentRoads() {
-        List<Road> adjacentRoads = new ArrayList<>();
-        adjacentRoads.addAll(positionA.getRoads().stream().filter(road -> !road.equals(this)).toList());
-        adjacentRoads.addAll(positionB.getRoads().stream().filter(road -> !road.equals(this)).toList());
+        List<Road> adjacentRoads = new ArrayList<>(positionA.roads.size() + positionB.roads.size());
+        addRoadsExceptThis(positionA.roads, adjacentRoads);
+        addRoadsExceptThis(positionB.roads, adjacentRoads);
         return adjacentRoads;
     }
 
+    private void addRoadsExceptThis(List<Road> roads, List<Road> adjacentRoads) {
+        for (int i = 0; i < roads.size(); i++) {
+            if (!roads.get(i).equals(this)) {
+                adjacentRoads.add(roads.get(i));
+            }
+        }
+    }
+
     /**
      * Gets the neighboring building site connected by this road, given one of the positions.
      *
@@ -224,6 +251,27 @@ public class Road implements Placable, Buildable {
         return roadNode;
     }
 
+    /**
+     * Writes the road's state as JSON to the given generator.
+     * Includes ID, owner, color, coordinates, and rotation angle, the same as {@link #toJson()}.
+     *
+     * @param generator The {@link JsonGenerator} to write to.
+     * @throws IOException if the generator fails to write.
+     */
+    @Override
+    public void writeJson(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", this.id);
+        generator.writeStringField("owner", this.owner != null ? this.owner.getUniqueId() : null);
+        generator.writeStringField("color", this.color != null ? this.color.getHexCode() : null);
+        generator.writeArrayFieldStart("coordinates");
+        generator.writeNumber(transform.x());
+        generator.writeNumber(transform.y());
+        generator.writeEndArray();
+        generator.writeNumberField("rotationAngle", transform.rotation());
+        generator.writeEndObject();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -244,13 +292,11 @@ public class Road implements Placable, Buildable {
      */
     @Override
     public Map<TileType, Integer> getRequiredResources() {
-        return Map.of(
-                TileType.WOOD, 1,
-                TileType.CLAY, 1);
+        return REQUIRED_RESOURCES;
     }
 
     @Override
     public int getBuildLimit() {
-        return 15;
+        return BUILD_LIMIT;
     }
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
 package com.example.cataniaunited.game.board;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import java.io.IOException;
+
 /**
  * Represents a 2D transformation, including position (x, y) and rotation.
  * Rotation is typically in radians.
@@ -32,4 +35,17 @@ public record Transform(double x, double y, double rotation) {
         node.put("rotation", rotation);
         return node;
     }
+
+    /**
+     * Writes this Transform as JSON object to the given generator.
+     * @param generator The JsonGenerator to write to.
+     * @throws IOException if the generator fails to write.
+     */
+    public void writeJson(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("x", x);
+        generator.writeNumberField("y", y);
+        generator.writeNumberField("rotation", rotation);
+        generator.writeEndObject();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.example.cataniaunited.game.board.change;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * A single, typed modification of a {@link com.example.cataniaunited.game.board.GameBoard GameBoard}.
+ * Every change carries the board version it produced, so clients can apply a sequence of changes
+ * as a patch on top of a snapshot they already hold and detect gaps in the sequence.
+ */
+public sealed interface BoardChange permits BuildingChange, RoadChange, LongestRoadChange {
+
+    /**
+     * Gets the board version this change produced.
+     *
+     * @return The board version after applying this change.
+     */
+    int version();
+
+    /**
+     * Gets the kind of this change.
+     *
+     * @return The {@link BoardChangeType} of this change.
+     */
+    BoardChangeType type();
+
+    /**
+     * Converts the change to its JSON representation, as shipped inside a board patch.
+     *
+     * @return An {@link ObjectNode} containing at least the fields {@code version} and {@code type}.
+     */
+    ObjectNode toJson();
+}
@@ -0,0 +1,11 @@
+package com.example.cataniaunited.game.board.change;
+
+/**
+ * The kinds of {@link BoardChange BoardChanges} a game board emits.
+ */
+public enum BoardChangeType {
+    BUILDING_PLACED,
+    BUILDING_UPGRADED,
+    ROAD_CLAIMED,
+    LONGEST_ROAD_CHANGED
+}
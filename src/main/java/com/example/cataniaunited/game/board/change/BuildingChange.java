@@ -0,0 +1,41 @@
+package com.example.cataniaunited.game.board.change;
+
+import com.example.cataniaunited.game.buildings.Building;
+import com.example.cataniaunited.game.buildings.City;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * A settlement was placed on, or upgraded to a city at, a building site.
+ *
+ * @param version    The board version produced by this change.
+ * @param type       Either {@link BoardChangeType#BUILDING_PLACED} or {@link BoardChangeType#BUILDING_UPGRADED}.
+ * @param positionId The id of the building site.
+ * @param building   The JSON representation of the new building, as in the full board snapshot.
+ */
+public record BuildingChange(int version, BoardChangeType type, int positionId, ObjectNode building) implements BoardChange {
+
+    /**
+     * Creates the change for a building that was just placed at a building site.
+     * Cities are reported as upgrades, all other buildings as new placements.
+     *
+     * @param version    The board version produced by this change.
+     * @param positionId The id of the building site.
+     * @param building   The {@link Building} that was placed.
+     * @return The corresponding {@link BuildingChange}.
+     */
+    public static BuildingChange of(int version, int positionId, Building building) {
+        BoardChangeType type = building instanceof City ? BoardChangeType.BUILDING_UPGRADED : BoardChangeType.BUILDING_PLACED;
+        return new BuildingChange(version, type, positionId, building.toJson());
+    }
+
+    @Override
+    public ObjectNode toJson() {
+        ObjectNode node = JsonNodeFactory.instance.objectNode();
+        node.put("version", version);
+        node.put("type", type.name());
+        node.put("positionId", positionId);
+        node.set("building", building.deepCopy());
+        return node;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.cataniaunited.game.board.change;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * The holder or the length of the longest road changed.
+ *
+ * @param version The board version produced by this change.
+ * @param owner   The unique id of the player now holding the longest road, may be null.
+ * @param length  The length of the longest road.
+ */
+public record LongestRoadChange(int version, String owner, int length) implements BoardChange {
+
+    @Override
+    public BoardChangeType type() {
+        return BoardChangeType.LONGEST_ROAD_CHANGED;
+    }
+
+    @Override
+    public ObjectNode toJson() {
+        ObjectNode node = JsonNodeFactory.instance.objectNode();
+        node.put("version", version);
+        node.put("type", type().name());
+        node.put("owner", owner);
+        node.put("length", length);
+        return node;
+    }
+}
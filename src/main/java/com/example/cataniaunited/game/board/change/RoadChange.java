@@ -0,0 +1,31 @@
+package com.example.cataniaunited.game.board.change;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * A road was claimed by a player.
+ *
+ * @param version The board version produced by this change.
+ * @param roadId  The id of the road.
+ * @param owner   The unique id of the new owner.
+ * @param color   The hex code of the owner's color.
+ */
+public record RoadChange(int version, int roadId, String owner, String color) implements BoardChange {
+
+    @Override
+    public BoardChangeType type() {
+        return BoardChangeType.ROAD_CLAIMED;
+    }
+
+    @Override
+    public ObjectNode toJson() {
+        ObjectNode node = JsonNodeFactory.instance.objectNode();
+        node.put("version", version);
+        node.put("type", type().name());
+        node.put("roadId", roadId);
+        node.put("owner", owner);
+        node.put("color", color);
+        return node;
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.cataniaunited.game.board.ports;
 
 import com.example.cataniaunited.game.board.tile_list_builder.TileType;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import java.io.IOException;
 import java.util.Map;
 
 /**
@@ -53,4 +55,10 @@ public class GeneralPort extends Port {
         node.put("portType", "GeneralPort");
         return node;
     }
+
+    @Override
+    protected void writeJsonFields(JsonGenerator generator) throws IOException {
+        super.writeJsonFields(generator);
+        generator.writeStringField("portType", "GeneralPort");
+    }
 }
\ No newline at end of file
@@ -5,10 +5,12 @@ import com.example.cataniaunited.game.board.Placable;
 import com.example.cataniaunited.game.board.Transform;
 import com.example.cataniaunited.game.board.tile_list_builder.TileType;
 import com.example.cataniaunited.util.Util;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -190,6 +192,40 @@ public abstract class Port implements Placable {
         return node;
     }
 
+    @Override
+    public void writeJson(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        writeJsonFields(generator);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the fields of this port to the given generator, which is positioned inside the port's JSON object.
+     * Subclasses append their type specific fields after calling this method, in the same order as {@link #toJson()}.
+     *
+     * @param generator The {@link JsonGenerator} to write to.
+     * @throws IOException if the generator fails to write.
+     */
+    protected void writeJsonFields(JsonGenerator generator) throws IOException {
+        generator.writeNumberField("inputResourceAmount", this.inputResourceAmount);
+
+        generator.writeObjectFieldStart("portVisuals");
+        generator.writeFieldName("portTransform");
+        this.portStructureTransform.writeJson(generator);
+
+        if (buildingSite1 != null && buildingSite2 != null) {
+            generator.writeNumberField("settlementPosition1Id", buildingSite1.getId());
+            generator.writeNumberField("settlementPosition2Id", buildingSite2.getId());
+
+            generator.writeFieldName("buildingSite1Position");
+            generator.writeArray(this.buildingSite1.getCoordinates(), 0, 2);
+
+            generator.writeFieldName("buildingSite2Position");
+            generator.writeArray(this.buildingSite2.getCoordinates(), 0, 2);
+        }
+        generator.writeEndObject();
+    }
+
     public List<BuildingSite> getBuildingSites() {
         if (buildingSite1 == null || buildingSite2 == null) {
             return List.of();
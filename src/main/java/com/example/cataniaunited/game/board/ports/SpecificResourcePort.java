@@ -1,8 +1,10 @@
 package com.example.cataniaunited.game.board.ports;
 
 import com.example.cataniaunited.game.board.tile_list_builder.TileType;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import java.io.IOException;
 import java.util.Map;
 
 /**
@@ -70,4 +72,11 @@ public class SpecificResourcePort extends Port {
         node.put("resource", this.tradeAbleResource.name());
         return node;
     }
+
+    @Override
+    protected void writeJsonFields(JsonGenerator generator) throws IOException {
+        super.writeJsonFields(generator);
+        generator.writeStringField("portType", "SpecificResourcePort");
+        generator.writeStringField("resource", this.tradeAbleResource.name());
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.cataniaunited.game.board.tile_list_builder;
 
+import com.example.cataniaunited.util.GameRandom;
 import com.example.cataniaunited.util.Util;
 
 import java.util.ArrayList;
@@ -7,6 +8,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.IntUnaryOperator;
+import java.util.random.RandomGenerator;
 
 import static com.example.cataniaunited.util.CatanBoardUtils.calculateAmountOfTilesForLayerK;
 import static com.example.cataniaunited.util.CatanBoardUtils.polarToCartesian;
@@ -38,11 +40,24 @@ public class StandardTileListBuilder implements TileListBuilder {
     private static final int COUNT_OF_DISTINCT_PRODUCTION_NUMBERS = 10; // all numbers that produce resources (-> all numbers except 7 -> 10 Numbers) (2,3,4,5,6,8,9,10,11,12)
 
     List<Tile> tileList;
+    private final RandomGenerator random;
 
     /**
-     * Constructs a new StandardTileListBuilder and initializes its state by calling {@link #reset()}.
+     * Constructs a new StandardTileListBuilder with its own, unpredictably seeded generator
+     * and initializes its state by calling {@link #reset()}.
      */
     public StandardTileListBuilder() {
+        this(GameRandom.newGenerator());
+    }
+
+    /**
+     * Constructs a new StandardTileListBuilder that shuffles tiles and values with the given generator
+     * and initializes its state by calling {@link #reset()}.
+     *
+     * @param random The generator of the game the tiles are built for.
+     */
+    public StandardTileListBuilder(RandomGenerator random) {
+        this.random = random;
         this.reset(); // Initialize and Reset
     }
 
@@ -142,7 +157,7 @@ public class StandardTileListBuilder implements TileListBuilder {
         }
 
         List<Integer> productionValues = generateShuffledProductionValues(amountOfValuesToCreate);
-        Collections.shuffle(productionValues); // Shuffle the list again, since the overhead got added at the end
+        Collections.shuffle(productionValues, random); // Shuffle the list again, since the overhead got added at the end
 
         int valueIndex = 0;
         for (Tile tile : tileList) {
@@ -165,7 +180,7 @@ public class StandardTileListBuilder implements TileListBuilder {
         }
 
 
-        Collections.shuffle(this.tileList);
+        Collections.shuffle(this.tileList, random);
     }
 
     /**
@@ -293,8 +308,8 @@ public class StandardTileListBuilder implements TileListBuilder {
         }
 
         // Shuffle both lists before combining. To ensure random distribution
-        Collections.shuffle(coreProductionValues);
-        Collections.shuffle(overheadProductionValues);
+        Collections.shuffle(coreProductionValues, random);
+        Collections.shuffle(overheadProductionValues, random);
 
         // Add the (shuffled) overhead values to the main list.
         // This ensures there are enough total values, even if numberOfValuesToGenerate wasn't a perfect multiple.
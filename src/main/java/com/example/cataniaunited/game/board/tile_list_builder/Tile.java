@@ -5,10 +5,12 @@ import com.example.cataniaunited.Subscriber;
 import com.example.cataniaunited.game.board.BuildingSite;
 import com.example.cataniaunited.game.board.Placable;
 import com.example.cataniaunited.game.dice.DiceRoller;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -146,6 +148,26 @@ public class Tile implements Placable, Publisher<BuildingSite, TileType>, Subscr
         return tileNode;
     }
 
+    /**
+     * Writes the tile's state as JSON to the given generator.
+     * Includes ID, type, value, and coordinates, the same as {@link #toJson()}.
+     *
+     * @param generator The {@link JsonGenerator} to write to.
+     * @throws IOException if the generator fails to write.
+     */
+    @Override
+    public void writeJson(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", this.id);
+        generator.writeStringField("type", this.type.name());
+        generator.writeNumberField("value", this.value);
+        generator.writeArrayFieldStart("coordinates");
+        generator.writeNumber(this.coordinates[0]);
+        generator.writeNumber(this.coordinates[1]);
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
     /**
      * Adds a {@link BuildingSite} as a subscriber to this tile.
      * Subscribers (building sites) will be notified via their
@@ -52,4 +52,23 @@ public class TileListDirector {
         builder.calculateTilePositions();
         return builder.getTileList();
     }
-}
\ No newline at end of file
+
+    /**
+     * Constructs a shuffled list of Catan game tiles with values and IDs, but without coordinates.
+     * The coordinates of a tile only depend on its position in the list, so they can be taken
+     * from a previously constructed list of the same board size.
+     *
+     * @param sizeOfBoard The size of the board (number of rings/layers).
+     * @param sizeOfHex   The size of a single hexagon tile.
+     * @param flipYAxis   Whether to flip the Y-axis for coordinate calculations.
+     */
+    public List<Tile> constructShuffledTileList(int sizeOfBoard, int sizeOfHex, boolean flipYAxis) {
+        builder.reset();
+        builder.setConfiguration(sizeOfBoard, sizeOfHex, flipYAxis);
+        builder.buildTiles();
+        builder.addValues();
+        builder.shuffleTiles();
+        builder.assignTileIds();
+        return builder.getTileList();
+    }
+}
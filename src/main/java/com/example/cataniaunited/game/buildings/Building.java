@@ -6,9 +6,12 @@ import com.example.cataniaunited.game.board.tile_list_builder.TileType;
 import com.example.cataniaunited.player.Player;
 import com.example.cataniaunited.player.PlayerColor;
 import com.example.cataniaunited.util.Util;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import java.io.IOException;
+
 /**
  * Abstract base class for buildings in the Catan game, such as settlements and cities.
  * Implements {@link Buildable} to define resource costs.
@@ -46,6 +49,10 @@ public abstract class Building implements Buildable {
         return player;
     }
 
+    public PlayerColor getColor() {
+        return color;
+    }
+
     /**
      * Converts the building's state to a JSON representation.
      * Includes owner ID, color hex code, and building type (class name).
@@ -60,6 +67,21 @@ public abstract class Building implements Buildable {
         return result;
     }
 
+    /**
+     * Writes the building as JSON object to the given generator.
+     * Includes owner ID, color, and building type, the same as {@link #toJson()}.
+     *
+     * @param generator The {@link JsonGenerator} to write to.
+     * @throws IOException if the generator fails to write.
+     */
+    public void writeJson(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("owner", this.player.getUniqueId());
+        generator.writeStringField("color", this.color.getHexCode());
+        generator.writeStringField("type", this.getClass().getSimpleName());
+        generator.writeEndObject();
+    }
+
     /**
      * Distributes resources of a specific type to the owner of this building.
      * The amount distributed is determined by {@link #getResourceDistributionAmount()}.
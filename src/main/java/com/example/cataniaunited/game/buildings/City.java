@@ -13,6 +13,18 @@ import java.util.Map;
  */
 public class City extends Building {
 
+    /**
+     * The resources required to build a city, independent of the instance.
+     */
+    public static final Map<TileType, Integer> REQUIRED_RESOURCES = Map.of(
+            TileType.WHEAT, 2,
+            TileType.ORE, 3);
+
+    /**
+     * The maximum number of cities a player can build.
+     */
+    public static final int BUILD_LIMIT = 4;
+
     /**
      * Constructs a new City.
      *
@@ -42,14 +54,11 @@ public class City extends Building {
      */
     @Override
     public Map<TileType, Integer> getRequiredResources() {
-        return Map.of(
-                TileType.WHEAT, 2,
-                TileType.ORE, 3
-        );
+        return REQUIRED_RESOURCES;
     }
 
     @Override
     public int getBuildLimit() {
-        return 4;
+        return BUILD_LIMIT;
     }
 }
\ No newline at end of file
@@ -12,6 +12,21 @@ import java.util.Map;
  * A Settlement provides resources from adjacent tiles and victory points.
  */
 public class Settlement extends Building {
+
+    /**
+     * The resources required to build a settlement, independent of the instance.
+     */
+    public static final Map<TileType, Integer> REQUIRED_RESOURCES = Map.of(
+            TileType.WOOD, 1,
+            TileType.CLAY, 1,
+            TileType.WHEAT, 1,
+            TileType.SHEEP, 1);
+
+    /**
+     * The maximum number of settlements a player can build.
+     */
+    public static final int BUILD_LIMIT = 5;
+
     /**
      * Constructs a new Settlement.
      *
@@ -42,16 +57,11 @@ public class Settlement extends Building {
      */
     @Override
     public Map<TileType, Integer> getRequiredResources() {
-        return Map.of(
-                TileType.WOOD, 1,
-                TileType.CLAY, 1,
-                TileType.WHEAT, 1,
-                TileType.SHEEP, 1
-        );
+        return REQUIRED_RESOURCES;
     }
 
     @Override
     public int getBuildLimit() {
-        return 5;
+        return BUILD_LIMIT;
     }
 }
\ No newline at end of file
@@ -1,7 +1,8 @@
 package com.example.cataniaunited.game.dice;
 
+import com.example.cataniaunited.util.GameRandom;
 import org.jboss.logging.Logger;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a single six-sided die.
@@ -9,9 +10,25 @@ import java.util.Random;
  */
 public class Dice {
     private static final Logger logger = Logger.getLogger(Dice.class);
-    private final Random random = new Random();
+    private final RandomGenerator random;
     private int currentValue;
 
+    /**
+     * Constructs a die with its own, unpredictably seeded generator.
+     */
+    public Dice() {
+        this(GameRandom.newGenerator());
+    }
+
+    /**
+     * Constructs a die that rolls with the given generator, usually the generator of its game.
+     *
+     * @param random The generator to roll with.
+     */
+    public Dice(RandomGenerator random) {
+        this.random = random;
+    }
+
     /**
      * Rolls the die, generating a random value between 1 and 6 (inclusive).
      * The result is stored as the current value of the die.
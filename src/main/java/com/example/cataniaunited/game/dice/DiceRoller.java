@@ -2,11 +2,13 @@ package com.example.cataniaunited.game.dice;
 
 import com.example.cataniaunited.Publisher;
 import com.example.cataniaunited.game.board.tile_list_builder.Tile;
+import com.example.cataniaunited.util.GameRandom;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.jboss.logging.Logger;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.random.RandomGenerator;
 
 /**
  * Manages the rolling of two dice for the Catan game.
@@ -16,8 +18,26 @@ import java.util.List;
 public class DiceRoller implements Publisher<Tile, Integer> {
     private static final Logger logger = Logger.getLogger(DiceRoller.class);
     private final List<Tile> subscribers = new ArrayList<>();
-    private final Dice dice1 = new Dice();
-    private final Dice dice2 = new Dice();
+    private final Dice dice1;
+    private final Dice dice2;
+
+    /**
+     * Constructs a DiceRoller whose dice share a new, unpredictably seeded generator.
+     */
+    public DiceRoller() {
+        this(GameRandom.newGenerator());
+    }
+
+    /**
+     * Constructs a DiceRoller whose dice roll with the given generator, so the rolls of a game
+     * can be reproduced from its seed.
+     *
+     * @param random The generator both dice roll with.
+     */
+    public DiceRoller(RandomGenerator random) {
+        this.dice1 = new Dice(random);
+        this.dice2 = new Dice(random);
+    }
 
     /**
      * Rolls both dice, calculates the total, and notifies all subscribed tiles.
@@ -1,8 +1,10 @@
 package com.example.cataniaunited.game.trade;
 
+import com.example.cataniaunited.dto.command.CommandPayload;
+
 public record PlayerTradeRequest(
         String targetPlayerId,
         String sourcePlayerId,
         TradeRequest trade
-) {
+) implements CommandPayload {
 }
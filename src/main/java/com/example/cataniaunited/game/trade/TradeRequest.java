@@ -1,5 +1,6 @@
 package com.example.cataniaunited.game.trade;
 
+import com.example.cataniaunited.dto.command.CommandPayload;
 import com.example.cataniaunited.game.board.tile_list_builder.TileType;
 
 import java.util.Map;
@@ -15,5 +16,5 @@ import java.util.Map;
 public record TradeRequest(
         Map<TileType, Integer> offeredResources,
         Map<TileType, Integer> targetResources
-) {
+) implements CommandPayload {
 }
\ No newline at end of file
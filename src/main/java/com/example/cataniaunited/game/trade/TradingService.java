@@ -3,6 +3,8 @@ package com.example.cataniaunited.game.trade;
 import com.example.cataniaunited.exception.GameException;
 import com.example.cataniaunited.game.board.ports.Port;
 import com.example.cataniaunited.game.board.tile_list_builder.TileType;
+import com.example.cataniaunited.journal.GameJournal;
+import com.example.cataniaunited.journal.JournalRecord;
 import com.example.cataniaunited.player.Player;
 import com.example.cataniaunited.player.PlayerService;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -13,6 +15,7 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -26,6 +29,9 @@ public class TradingService {
     @Inject
     PlayerService playerService;
 
+    @Inject
+    GameJournal gameJournal;
+
     private ConcurrentHashMap<String, PlayerTradeRequest> openTradeRequests = new ConcurrentHashMap<>();
 
     private static final Logger logger = Logger.getLogger(TradingService.class);
@@ -61,6 +67,7 @@ public class TradingService {
         }
 
         tradeResources(player, offeredResources, targetResources);
+        gameJournal.append(JournalRecord.bankTrade(playerId, tradeRequest));
     }
 
     public String createPlayerTradeRequest(String lobbyId, PlayerTradeRequest tradeRequest) throws GameException {
@@ -106,6 +113,7 @@ public class TradingService {
         tradeResources(sourcePlayer, tradeRequest.offeredResources(), tradeRequest.targetResources());
         tradeResources(targetPlayer, tradeRequest.targetResources(), tradeRequest.offeredResources());
         removeTradeRequest(tradeId);
+        gameJournal.append(JournalRecord.playerTrade(getLobbyIdOfTrade(tradeId), playerTradeRequest));
         return playerTradeRequest;
     }
 
@@ -125,6 +133,11 @@ public class TradingService {
         return "%s#%s".formatted(lobbyId, UUID.randomUUID());
     }
 
+    String getLobbyIdOfTrade(String tradeId) {
+        int separator = tradeId.indexOf('#');
+        return separator < 0 ? null : tradeId.substring(0, separator);
+    }
+
     void checkPlayerTradeRequest(PlayerTradeRequest request) throws GameException {
         Player sourcePlayer = getPlayerForTrade(request.sourcePlayerId());
         Player targetPlayer = getPlayerForTrade(request.targetPlayerId());
@@ -225,6 +238,36 @@ public class TradingService {
         }
     }
 
+    /**
+     * Gets the trade requests of a lobby which are waiting for an answer, e.g. to write them to a snapshot.
+     *
+     * @param lobbyId The ID of the lobby.
+     * @return The open trade requests by their trade ID.
+     */
+    public Map<String, PlayerTradeRequest> getOpenTradeRequestsOfLobby(String lobbyId) {
+        Map<String, PlayerTradeRequest> requests = new TreeMap<>();
+        openTradeRequests.forEach((tradeId, request) -> {
+            if (lobbyId.equals(getLobbyIdOfTrade(tradeId))) {
+                requests.put(tradeId, request);
+            }
+        });
+        return requests;
+    }
+
+    /**
+     * Adds an open trade request restored from a snapshot, so it can still be accepted or rejected.
+     *
+     * @param tradeId      The ID the trade request had before.
+     * @param tradeRequest The trade request.
+     */
+    public void restorePlayerTradeRequest(String tradeId, PlayerTradeRequest tradeRequest) {
+        openTradeRequests.put(tradeId, tradeRequest);
+    }
+
+    public int getOpenTradeRequestCount() {
+        return this.openTradeRequests.size();
+    }
+
     void removeTradeRequest(String tradeId) {
         logger.debugf("Removing trade request: id = %s", tradeId);
         this.openTradeRequests.remove(tradeId);
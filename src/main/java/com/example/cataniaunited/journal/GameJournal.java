@@ -0,0 +1,443 @@
+package com.example.cataniaunited.journal;
+
+import com.example.cataniaunited.metrics.GameMetrics;
+import io.quarkus.runtime.ShutdownEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Records every accepted command of this node in an append-only journal, so lobbies and games survive a
+ * restart of the server. The journal is a sequence of memory-mapped {@link JournalSegment} files in the
+ * configured directory; when a segment is full, the next one is started.
+ * <p>
+ * Appending only encodes the record and adds it to a lock-free queue, so commands neither wait for the disk
+ * nor for the commands of other lobbies. The queued records are copied into the mapping by the thread that
+ * holds the segment: the appending thread itself if no other thread does, otherwise the flush thread at the
+ * latest. The records copied since the last flush are forced to disk together every flush interval (group
+ * commit). A record is therefore safe from a crash of the process within one flush interval and from a
+ * crash of the machine within two.
+ * <p>
+ * On startup, {@link JournalRecovery} replays all segments through {@link #recover(Consumer)} before
+ * the first command is accepted. Commands applied during the replay are not recorded again.
+ * <p>
+ * Every record has a position in the journal, the index of its segment in the upper and the end of the
+ * record within the segment in the lower 32 bits, so positions grow with every appended record. Snapshots
+ * remember the position they were taken at and only replay the records after it, see
+ * {@link #recover(long, ObjLongConsumer)}. The segments before the oldest retained snapshot are no longer
+ * needed and are deleted by {@link #deleteSegmentsBefore(long)}.
+ */
+@ApplicationScoped
+public class GameJournal {
+
+    private static final Logger logger = Logger.getLogger(GameJournal.class);
+
+    static final String SEGMENT_FORMAT = "segment-%010d.journal";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int INITIAL_BUFFER_SIZE = 256;
+    private static final String MISSING_DIRECTORY = "qatania.journal.directory must be set if the journal is enabled";
+
+    @ConfigProperty(name = "qatania.journal.enabled")
+    boolean enabled = false;
+
+    @ConfigProperty(name = "qatania.journal.directory")
+    Optional<String> directory = Optional.empty();
+
+    @ConfigProperty(name = "qatania.journal.segment-size")
+    int segmentSize = 64 * 1024 * 1024;
+
+    @ConfigProperty(name = "qatania.journal.flush-interval-millis")
+    long flushIntervalMillis = 10;
+
+    @Inject
+    GameMetrics gameMetrics;
+
+    private final Queue<QueuedRecord> queue = new ConcurrentLinkedQueue<>();
+    // Guards the segment, appends never wait for it. Not synchronized, to not pin virtual threads
+    private final ReentrantLock lock = new ReentrantLock();
+    private JournalSegment segment;
+    private long segmentIndex;
+    private int flushedPosition;
+    private int unflushedRecords;
+    private volatile Thread replayingThread;
+    private volatile boolean closed;
+    private ScheduledExecutorService flushThread;
+
+    /**
+     * Creates a disabled journal, for services used outside of the container, e.g. in benchmarks.
+     *
+     * @return A journal which ignores all records.
+     */
+    public static GameJournal disabled() {
+        GameJournal journal = new GameJournal();
+        journal.enabled = false;
+        return journal;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            logger.infof("Game journal disabled, state is lost on restart");
+            return;
+        }
+        if (directory.isEmpty()) {
+            throw new IllegalStateException(MISSING_DIRECTORY);
+        }
+        flushThread = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("journal-flush").daemon().factory());
+        flushThread.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        logger.infof("Journaling commands: directory = %s, segmentSize = %d, flushIntervalMillis = %d",
+                directory.get(), segmentSize, flushIntervalMillis);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Replays all records of the journal and opens it for appending. Must be called once, before the first
+     * record is appended; appends made by the consumer while replaying are ignored.
+     *
+     * @param replay Receives every record of the journal, in the order they were appended.
+     * @return The number of replayed records.
+     * @throws UncheckedIOException if the journal directory cannot be read or a segment cannot be opened.
+     */
+    public int recover(Consumer<JournalRecord> replay) {
+        return recover(0, (record, position) -> replay.accept(record));
+    }
+
+    /**
+     * Replays the records of the journal after the given position and opens it for appending, like
+     * {@link #recover(Consumer)}. Segments which end before the position are not read at all.
+     *
+     * @param from   The position to replay from, e.g. the position a snapshot was taken at; 0 replays all records.
+     * @param replay Receives every record after the position together with its position, in the order they were appended.
+     * @return The number of replayed records.
+     * @throws UncheckedIOException if the journal directory cannot be read or a segment cannot be opened.
+     */
+    public int recover(long from, ObjLongConsumer<JournalRecord> replay) {
+        if (!enabled) {
+            return 0;
+        }
+        int[] count = {0};
+        lock.lock();
+        try {
+            if (segment != null || closed) {
+                throw new IllegalStateException("Journal was already opened");
+            }
+            replayingThread = Thread.currentThread();
+            List<Path> segments = listSegments();
+            for (int i = 0; i < segments.size(); i++) {
+                long index = indexOf(segments.get(i));
+                boolean last = i == segments.size() - 1;
+                if (index < segmentOf(from) && !last) {
+                    continue;
+                }
+                JournalSegment replayed = JournalSegment.open(segments.get(i), (record, offset) -> {
+                    long position = position(index, offset);
+                    if (position > from) {
+                        count[0]++;
+                        replay.accept(record, position);
+                    }
+                });
+                if (!last) {
+                    replayed.close();
+                } else {
+                    segment = replayed;
+                    segmentIndex = index;
+                }
+            }
+            if (segment == null) {
+                startSegment(0);
+            }
+            flushedPosition = segment.getPosition();
+            return count[0];
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            replayingThread = null;
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends an accepted command to the journal. The record is durable after the next flush.
+     * Does nothing if the journal is disabled or closed, or if it is called while replaying the journal.
+     * <p>
+     * A record that cannot be written is logged and dropped; a failing journal does not fail the game.
+     *
+     * @param record The record of the command.
+     */
+    public void append(JournalRecord record) {
+        if (!enabled || replayingThread == Thread.currentThread()) {
+            return;
+        }
+        if (closed) {
+            logger.debugf("Journal closed, dropping record: type = %s", record.type());
+            return;
+        }
+        long start = System.nanoTime();
+        queue.offer(new QueuedRecord(record.type(), encode(record)));
+        // If another thread holds the segment, the record is written by it or by the next flush
+        if (lock.tryLock()) {
+            try {
+                drain();
+            } finally {
+                lock.unlock();
+            }
+        }
+        gameMetrics.recordJournalWrite(record.type(), System.nanoTime() - start);
+    }
+
+    /**
+     * Gets the position of the last appended record. Records appended later have a greater position.
+     *
+     * @return The current end of the journal, 0 if nothing was appended yet or the journal is disabled.
+     */
+    public long getPosition() {
+        lock.lock();
+        try {
+            drain();
+            return segment == null ? 0 : position(segmentIndex, segment.getPosition());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the queued records into the segment, opening the journal if it was not recovered yet.
+     * Must be called while holding the lock.
+     */
+    private void drain() {
+        if (queue.isEmpty()) {
+            return;
+        }
+        if (segment == null && !closed) {
+            try {
+                recover(ignored -> {
+                });
+            } catch (UncheckedIOException e) {
+                logger.errorf(e, "Could not open journal, dropping %d records", queue.size());
+                queue.clear();
+                return;
+            }
+        }
+        QueuedRecord queued;
+        while ((queued = queue.poll()) != null) {
+            if (segment == null) {
+                logger.debugf("Journal closed, dropping record: type = %s", queued.type());
+                continue;
+            }
+            write(queued);
+        }
+    }
+
+    private void write(QueuedRecord queued) {
+        try {
+            if (!segment.append(queued.body())) {
+                rollSegment();
+                if (!segment.append(queued.body())) {
+                    logger.errorf("Journal record larger than a segment, dropping record: type = %s, size = %d",
+                            queued.type(), queued.body().remaining());
+                    return;
+                }
+            }
+            unflushedRecords++;
+        } catch (IOException | UncheckedIOException e) {
+            logger.errorf(e, "Could not append to journal, dropping record: type = %s", queued.type());
+        }
+    }
+
+    /**
+     * Deletes the segments which only contain records before the given position, e.g. the position of the
+     * oldest retained snapshot, as they are never replayed again. The current segment is never deleted.
+     * A segment that cannot be deleted is logged and kept until the next call.
+     *
+     * @param position The position before which records are no longer needed.
+     * @return The number of deleted segments.
+     */
+    public int deleteSegmentsBefore(long position) {
+        if (!enabled) {
+            return 0;
+        }
+        int deleted = 0;
+        lock.lock();
+        try {
+            List<Path> segments = listSegments();
+            if (segments.isEmpty()) {
+                return 0;
+            }
+            long current = segment != null ? segmentIndex : indexOf(segments.getLast());
+            long keepFrom = Math.min(segmentOf(position), current);
+            for (Path file : segments) {
+                if (indexOf(file) >= keepFrom) {
+                    break; // Sorted by index
+                }
+                try {
+                    Files.delete(file);
+                    deleted++;
+                } catch (IOException e) {
+                    logger.warnf(e, "Could not delete journal segment: %s", file);
+                }
+            }
+        } catch (IOException e) {
+            logger.errorf(e, "Could not list journal segments");
+        } finally {
+            lock.unlock();
+        }
+        if (deleted > 0) {
+            logger.infof("Deleted %d journal segments before position %d", deleted, position);
+        }
+        return deleted;
+    }
+
+    static long position(long segmentIndex, int offset) {
+        return segmentIndex << 32 | offset;
+    }
+
+    static long segmentOf(long position) {
+        return position >>> 32;
+    }
+
+    private static ByteBuffer encode(JournalRecord record) {
+        ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+        while (true) {
+            try {
+                record.encode(buffer);
+                return buffer.flip();
+            } catch (BufferOverflowException e) {
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+            }
+        }
+    }
+
+    private void rollSegment() throws IOException {
+        segment.force(flushedPosition, segment.getPosition());
+        segment.close();
+        startSegment(segmentIndex + 1);
+        logger.infof("Started journal segment: %s", segment.getPath());
+    }
+
+    private void startSegment(long index) throws IOException {
+        Path dir = journalDirectory();
+        Files.createDirectories(dir);
+        segment = JournalSegment.create(dir.resolve(SEGMENT_FORMAT.formatted(index)), segmentSize);
+        segmentIndex = index;
+        flushedPosition = segment.getPosition();
+    }
+
+    /**
+     * Writes the queued records and forces all records appended since the last flush to disk.
+     * Called periodically by the flush thread.
+     */
+    void flush() {
+        JournalSegment flushed;
+        int from;
+        int to;
+        int records;
+        lock.lock();
+        try {
+            drain();
+            if (segment == null || unflushedRecords == 0) {
+                return;
+            }
+            flushed = segment;
+            from = flushedPosition;
+            to = segment.getPosition();
+            records = unflushedRecords;
+            flushedPosition = to;
+            unflushedRecords = 0;
+        } finally {
+            lock.unlock();
+        }
+        // Forcing outside the lock, so appends continue while the disk is busy
+        long start = System.nanoTime();
+        try {
+            flushed.force(from, to);
+        } catch (UncheckedIOException e) {
+            logger.errorf(e, "Could not flush journal segment: %s", flushed.getPath());
+            return;
+        }
+        gameMetrics.recordJournalFlush(System.nanoTime() - start, records);
+    }
+
+    void onShutdown(@Observes ShutdownEvent event) {
+        close();
+    }
+
+    /**
+     * Flushes and closes the journal. Commands after closing, like players leaving while their connections
+     * are closed during shutdown, are not recorded, so they are not replayed on the next start.
+     */
+    @PreDestroy
+    void close() {
+        if (flushThread != null) {
+            flushThread.shutdownNow();
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            drain();
+            closed = true;
+            if (segment != null) {
+                segment.close();
+                segment = null;
+            }
+        } catch (IOException e) {
+            logger.errorf(e, "Could not close journal");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Path journalDirectory() {
+        return Path.of(directory.orElseThrow(() -> new IllegalStateException(MISSING_DIRECTORY)));
+    }
+
+    private List<Path> listSegments() throws IOException {
+        Path dir = journalDirectory();
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted() // Indices are zero padded
+                    .toList();
+        }
+    }
+
+    private record QueuedRecord(JournalRecordType type, ByteBuffer body) {
+    }
+
+    private static long indexOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.cataniaunited.journal;
+
+import com.example.cataniaunited.game.board.tile_list_builder.TileType;
+import com.example.cataniaunited.game.trade.PlayerTradeRequest;
+import com.example.cataniaunited.game.trade.TradeRequest;
+import com.example.cataniaunited.player.PlayerColor;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * An accepted command, as recorded in the {@link GameJournal}. A record only holds what is needed to
+ * apply the command again on replay; everything derived from the random generator of a game, such as
+ * the outcome of a dice roll, is recomputed from the seed recorded when the game started or was last reseeded.
+ * Outcomes that are recorded anyway, like the dice, are used to detect a diverging replay.
+ * <p>
+ * Unless stated otherwise, integers are unsigned LEB128 varints and signed values are zigzag encoded.
+ * <pre>
+ * record    = type:u8 lobbyId:string? playerId:string? argument:string? value:zigzag secondValue:zigzag trade?
+ * trade?    = 0x00 (null) | 0x01 offered:resources target:resources
+ * resources = mask:u8 count:zigzag*   one count per set bit, in {@link TileType} order; 0xFF encodes null
+ * string?   = 0 (null) | (length + 1):varint utf8
+ * </pre>
+ *
+ * @param type        The {@link JournalRecordType} of the command.
+ * @param lobbyId     The ID of the lobby the command belongs to, {@code null} for commands of a player only.
+ * @param playerId    The ID of the player who sent the command.
+ * @param argument    A second ID or a name, depending on the type.
+ * @param value       A number, depending on the type, e.g. a position, an ordinal or the seed of a game.
+ * @param secondValue A second number, depending on the type.
+ * @param trade       The resources of a trade, {@code null} for all other types.
+ */
+public record JournalRecord(
+        JournalRecordType type,
+        String lobbyId,
+        String playerId,
+        String argument,
+        long value,
+        long secondValue,
+        TradeRequest trade
+) {
+
+    private static final JournalRecordType[] TYPES = JournalRecordType.values();
+    private static final TileType[] TILE_TYPES = TileType.values();
+    private static final int NULL_RESOURCES = 0xFF;
+
+    public static JournalRecord lobbyCreated(String lobbyId, String hostPlayerId, String username, PlayerColor color) {
+        return new JournalRecord(JournalRecordType.LOBBY_CREATED, lobbyId, hostPlayerId, username, color.ordinal(), 0, null);
+    }
+
+    public static JournalRecord playerJoined(String lobbyId, String playerId, String username, PlayerColor color) {
+        return new JournalRecord(JournalRecordType.PLAYER_JOINED, lobbyId, playerId, username, color.ordinal(), 0, null);
+    }
+
+    public static JournalRecord playerLeft(String lobbyId, String playerId) {
+        return new JournalRecord(JournalRecordType.PLAYER_LEFT, lobbyId, playerId, null, 0, 0, null);
+    }
+
+    public static JournalRecord lobbyClosed(String lobbyId) {
+        return new JournalRecord(JournalRecordType.LOBBY_CLOSED, lobbyId, null, null, 0, 0, null);
+    }
+
+    public static JournalRecord readyToggled(String lobbyId, String playerId) {
+        return new JournalRecord(JournalRecordType.READY_TOGGLED, lobbyId, playerId, null, 0, 0, null);
+    }
+
+    public static JournalRecord usernameSet(String playerId, String username) {
+        return new JournalRecord(JournalRecordType.USERNAME_SET, null, playerId, username, 0, 0, null);
+    }
+
+    public static JournalRecord gameStarted(String lobbyId, String hostPlayerId, long seed) {
+        return new JournalRecord(JournalRecordType.GAME_STARTED, lobbyId, hostPlayerId, null, seed, 0, null);
+    }
+
+    public static JournalRecord settlementPlaced(String lobbyId, String playerId, int positionId) {
+        return new JournalRecord(JournalRecordType.SETTLEMENT_PLACED, lobbyId, playerId, null, positionId, 0, null);
+    }
+
+    public static JournalRecord settlementUpgraded(String lobbyId, String playerId, int positionId) {
+        return new JournalRecord(JournalRecordType.SETTLEMENT_UPGRADED, lobbyId, playerId, null, positionId, 0, null);
+    }
+
+    public static JournalRecord roadPlaced(String lobbyId, String playerId, int roadId) {
+        return new JournalRecord(JournalRecordType.ROAD_PLACED, lobbyId, playerId, null, roadId, 0, null);
+    }
+
+    public static JournalRecord diceRolled(String lobbyId, String playerId, int dice1, int dice2) {
+        return new JournalRecord(JournalRecordType.DICE_ROLLED, lobbyId, playerId, null, dice1, dice2, null);
+    }
+
+    public static JournalRecord turnEnded(String lobbyId, String playerId) {
+        return new JournalRecord(JournalRecordType.TURN_ENDED, lobbyId, playerId, null, 0, 0, null);
+    }
+
+    public static JournalRecord bankTrade(String playerId, TradeRequest trade) {
+        return new JournalRecord(JournalRecordType.BANK_TRADE, null, playerId, null, 0, 0, trade);
+    }
+
+    public static JournalRecord playerTrade(String lobbyId, PlayerTradeRequest trade) {
+        return new JournalRecord(JournalRecordType.PLAYER_TRADE, lobbyId, trade.targetPlayerId(), trade.sourcePlayerId(), 0, 0, trade.trade());
+    }
+
+    public static JournalRecord cheat(String lobbyId, String playerId, TileType resource) {
+        return new JournalRecord(JournalRecordType.CHEAT, lobbyId, playerId, null, resource.ordinal(), 0, null);
+    }
+
+    public static JournalRecord report(String lobbyId, String reporterId, String reportedId) {
+        return new JournalRecord(JournalRecordType.REPORT, lobbyId, reporterId, reportedId, 0, 0, null);
+    }
+
+    public static JournalRecord gameReseeded(String lobbyId, long seed) {
+        return new JournalRecord(JournalRecordType.GAME_RESEEDED, lobbyId, null, null, seed, 0, null);
+    }
+
+    public static JournalRecord resumeTokenIssued(String playerId, String resumeToken) {
+        return new JournalRecord(JournalRecordType.RESUME_TOKEN_ISSUED, null, playerId, resumeToken, 0, 0, null);
+    }
+
+    /**
+     * @return The color of a {@link JournalRecordType#LOBBY_CREATED} or {@link JournalRecordType#PLAYER_JOINED} record.
+     */
+    public PlayerColor color() {
+        return PlayerColor.values()[(int) value];
+    }
+
+    /**
+     * @return The resource of a {@link JournalRecordType#CHEAT} record.
+     */
+    public TileType resource() {
+        return TILE_TYPES[(int) value];
+    }
+
+    /**
+     * @return The trade of a {@link JournalRecordType#PLAYER_TRADE} record, as requested by its source player.
+     */
+    public PlayerTradeRequest playerTrade() {
+        return new PlayerTradeRequest(playerId, argument, trade);
+    }
+
+    /**
+     * Writes this record in the binary journal format.
+     *
+     * @param out The buffer to write to.
+     * @throws java.nio.BufferOverflowException if the record does not fit into the buffer.
+     */
+    public void encode(ByteBuffer out) {
+        out.put((byte) type.ordinal());
+        writeString(out, lobbyId);
+        writeString(out, playerId);
+        writeString(out, argument);
+        writeZigzag(out, value);
+        writeZigzag(out, secondValue);
+        if (trade == null) {
+            out.put((byte) 0);
+        } else {
+            out.put((byte) 1);
+            writeResources(out, trade.offeredResources());
+            writeResources(out, trade.targetResources());
+        }
+    }
+
+    /**
+     * Reads a record written by {@link #encode(ByteBuffer)}.
+     *
+     * @param in The buffer to read from, positioned at the start of the record.
+     * @return The decoded record.
+     * @throws IllegalArgumentException          if the record has an unknown type.
+     * @throws java.nio.BufferUnderflowException if the record is truncated.
+     */
+    public static JournalRecord decode(ByteBuffer in) {
+        int typeCode = Byte.toUnsignedInt(in.get());
+        if (typeCode >= TYPES.length) {
+            throw new IllegalArgumentException("Unknown journal record type: " + typeCode);
+        }
+        String lobbyId = readString(in);
+        String playerId = readString(in);
+        String argument = readString(in);
+        long value = readZigzag(in);
+        long secondValue = readZigzag(in);
+        TradeRequest trade = null;
+        if (in.get() != 0) {
+            trade = new TradeRequest(readResources(in), readResources(in));
+        }
+        return new JournalRecord(TYPES[typeCode], lobbyId, playerId, argument, value, secondValue, trade);
+    }
+
+    private static void writeResources(ByteBuffer out, Map<TileType, Integer> resources) {
+        if (resources == null) {
+            out.put((byte) NULL_RESOURCES);
+            return;
+        }
+        int mask = 0;
+        for (TileType type : resources.keySet()) {
+            mask |= 1 << type.ordinal();
+        }
+        out.put((byte) mask);
+        for (TileType type : TILE_TYPES) {
+            if (resources.containsKey(type)) {
+                Integer count = resources.get(type);
+                writeZigzag(out, count == null ? 0 : count);
+            }
+        }
+    }
+
+    private static Map<TileType, Integer> readResources(ByteBuffer in) {
+        int mask = Byte.toUnsignedInt(in.get());
+        if (mask == NULL_RESOURCES) {
+            return null;
+        }
+        Map<TileType, Integer> resources = new EnumMap<>(TileType.class);
+        for (TileType type : TILE_TYPES) {
+            if ((mask & 1 << type.ordinal()) != 0) {
+                resources.put(type, (int) readZigzag(in));
+            }
+        }
+        return resources;
+    }
+
+    private static void writeString(ByteBuffer out, String value) {
+        if (value == null) {
+            writeVarint(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length + 1L);
+        out.put(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = (int) readVarint(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeZigzag(ByteBuffer out, long value) {
+        writeVarint(out, (value << 1) ^ (value >> 63));
+    }
+
+    private static long readZigzag(ByteBuffer in) {
+        long encoded = readVarint(in);
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+
+    private static void writeVarint(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in journal record");
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.cataniaunited.journal;
+
+/**
+ * The kinds of accepted commands the {@link GameJournal} records.
+ * Records store the ordinal of their type, so new types must only be appended.
+ */
+public enum JournalRecordType {
+    LOBBY_CREATED,
+    PLAYER_JOINED,
+    PLAYER_LEFT,
+    LOBBY_CLOSED,
+    READY_TOGGLED,
+    USERNAME_SET,
+    GAME_STARTED,
+    SETTLEMENT_PLACED,
+    SETTLEMENT_UPGRADED,
+    ROAD_PLACED,
+    DICE_ROLLED,
+    TURN_ENDED,
+    BANK_TRADE,
+    PLAYER_TRADE,
+    CHEAT,
+    REPORT,
+    GAME_RESEEDED,
+    RESUME_TOKEN_ISSUED
+}
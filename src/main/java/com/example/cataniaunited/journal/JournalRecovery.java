@@ -0,0 +1,133 @@
+package com.example.cataniaunited.journal;
+
+import com.example.cataniaunited.exception.GameException;
+import com.example.cataniaunited.game.GameService;
+import com.example.cataniaunited.game.trade.TradingService;
+import com.example.cataniaunited.lobby.LobbyService;
+import com.example.cataniaunited.player.PlayerService;
+import com.example.cataniaunited.snapshot.Snapshot;
+import com.example.cataniaunited.snapshot.SnapshotService;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+/**
+ * Rebuilds the lobbies, players and games of this node on startup by applying the records of the
+ * {@link GameJournal} again through the services, in the order they were accepted.
+ * <p>
+ * The latest {@link Snapshot} is restored first, then only the records it does not cover are applied.
+ * Snapshots are taken once the recovery has finished.
+ * <p>
+ * Games are recreated from their recorded seed, so the board, the player order, dice rolls and punishments
+ * are drawn from the same generator as before. Open player trade requests and connections are not recorded;
+ * restored players have no connection until they resume their session with the resume token recorded for them,
+ * see {@link PlayerService#resumePlayer}. Lobbies nobody resumes are cleaned up.
+ */
+@ApplicationScoped
+public class JournalRecovery {
+
+    private static final Logger logger = Logger.getLogger(JournalRecovery.class);
+
+    @Inject
+    GameJournal gameJournal;
+
+    @Inject
+    LobbyService lobbyService;
+
+    @Inject
+    GameService gameService;
+
+    @Inject
+    PlayerService playerService;
+
+    @Inject
+    TradingService tradingService;
+
+    @Inject
+    SnapshotService snapshotService;
+
+    void onStartup(@Observes StartupEvent event) {
+        long start = System.nanoTime();
+        Snapshot snapshot = snapshotService.restore();
+        int records = gameJournal.recover(snapshot.getStartPosition(), (record, position) -> {
+            if (!snapshot.covers(record, position)) {
+                apply(record);
+            }
+        });
+        if (records > 0 || !snapshot.getLobbies().isEmpty()) {
+            logger.infof("Recovered state from snapshot and journal: records = %d, lobbies = %d, duration = %dms",
+                    records, lobbyService.getOpenLobbyCount(), (System.nanoTime() - start) / 1_000_000);
+        }
+        snapshotService.scheduleSnapshots();
+    }
+
+    /**
+     * Applies a single journal record. A record which cannot be applied is logged and skipped, so the rest
+     * of the journal is still recovered.
+     *
+     * @param record The record to apply.
+     */
+    void apply(JournalRecord record) {
+        try {
+            applyRecord(record);
+        } catch (GameException | RuntimeException e) {
+            logger.warnf(e, "Could not apply journal record: %s", record);
+        }
+    }
+
+    private void applyRecord(JournalRecord record) throws GameException {
+        String lobbyId = record.lobbyId();
+        String playerId = record.playerId();
+        switch (record.type()) {
+            case LOBBY_CREATED -> {
+                playerService.restorePlayer(playerId, record.argument());
+                lobbyService.restoreLobby(lobbyId, playerId, record.color());
+            }
+            case PLAYER_JOINED -> {
+                playerService.restorePlayer(playerId, record.argument());
+                lobbyService.restoreJoin(lobbyId, playerId, record.color());
+            }
+            case PLAYER_LEFT -> lobbyService.leaveLobby(lobbyId, playerId);
+            case LOBBY_CLOSED -> {
+                gameService.removeGameBoardForLobby(lobbyId);
+                tradingService.removeAllOpenTradeRequestForLobbyId(lobbyId);
+                lobbyService.removeLobby(lobbyId);
+            }
+            case READY_TOGGLED -> lobbyService.toggleReady(lobbyId, playerId);
+            case USERNAME_SET -> playerService.restorePlayer(playerId, record.argument());
+            case GAME_STARTED -> gameService.restoreGame(lobbyId, record.value());
+            case SETTLEMENT_PLACED -> {
+                gameService.placeSettlement(lobbyId, playerId, (int) record.value());
+                lobbyService.checkForWin(lobbyId, playerId);
+            }
+            case SETTLEMENT_UPGRADED -> {
+                gameService.upgradeSettlement(lobbyId, playerId, (int) record.value());
+                lobbyService.checkForWin(lobbyId, playerId);
+            }
+            case ROAD_PLACED -> {
+                gameService.placeRoad(lobbyId, playerId, (int) record.value());
+                lobbyService.checkForWin(lobbyId, playerId);
+            }
+            case DICE_ROLLED -> {
+                ObjectNode result = gameService.rollDice(lobbyId, playerId);
+                if (result.get("dice1").asInt() != record.value() || result.get("dice2").asInt() != record.secondValue()) {
+                    logger.warnf("Replayed dice roll diverged from journal: lobbyId = %s, recorded = %d/%d, replayed = %s",
+                            lobbyId, record.value(), record.secondValue(), result);
+                }
+            }
+            case TURN_ENDED -> lobbyService.nextTurn(lobbyId, playerId);
+            case BANK_TRADE -> tradingService.handleBankTradeRequest(playerId, record.trade());
+            case PLAYER_TRADE -> {
+                String tradeId = tradingService.createPlayerTradeRequest(lobbyId, record.playerTrade());
+                tradingService.acceptPlayerTradeRequest(playerId, tradeId);
+            }
+            case CHEAT -> gameService.handleCheat(lobbyId, playerId, record.resource());
+            case REPORT -> gameService.handleReportPlayer(lobbyId, playerId, record.argument());
+            case GAME_RESEEDED -> gameService.reseedGame(lobbyId, record.value());
+            case RESUME_TOKEN_ISSUED -> playerService.restoreResumeToken(playerId, record.argument());
+        }
+    }
+}
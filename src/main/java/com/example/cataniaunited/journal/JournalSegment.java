@@ -0,0 +1,195 @@
+package com.example.cataniaunited.journal;
+
+import org.jboss.logging.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.ObjIntConsumer;
+import java.util.zip.CRC32C;
+
+/**
+ * A file of the {@link GameJournal}, mapped into memory as a whole. Records are appended by copying them
+ * into the mapping, so a record is safe from a crash of the process as soon as it was appended, and
+ * safe from a crash of the machine once the range holding it was forced to disk.
+ * <pre>
+ * segment = magic:u32 version:u32 record* 0x00000000
+ * record  = length:u32 crc32c:u32 body   body as written by {@link JournalRecord#encode}
+ * </pre>
+ * The length of a record is written last, so an unfinished record reads as the end of the segment. Records
+ * after a torn write, detected by their checksum, are discarded when the segment is opened.
+ */
+final class JournalSegment implements Closeable {
+
+    private static final Logger logger = Logger.getLogger(JournalSegment.class);
+
+    static final int MAGIC = 0x4A524E4C; // "JRNL"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    static final int RECORD_HEADER_SIZE = 8; // length and checksum
+    private static final int ZERO_CHUNK = 4096;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final CRC32C checksum = new CRC32C();
+    private int position; // End of the last record
+
+    private JournalSegment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Creates a new, empty segment file.
+     *
+     * @param path The path of the new file.
+     * @param size The size of the segment in bytes.
+     * @return The segment, ready for appending.
+     * @throws IOException if the file exists or cannot be created and mapped.
+     */
+    static JournalSegment create(Path path, int size) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.force(0, HEADER_SIZE);
+            JournalSegment segment = new JournalSegment(path, channel, buffer);
+            segment.position = HEADER_SIZE;
+            return segment;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens an existing segment file and reads its records. Appending continues after the last intact record.
+     *
+     * @param path    The path of the file.
+     * @param records Receives every intact record with the offset of its end, in the order they were appended.
+     * @return The segment.
+     * @throws IOException if the file cannot be mapped or is not a journal segment of a supported version.
+     */
+    static JournalSegment open(Path path, ObjIntConsumer<JournalRecord> records) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Invalid journal segment size: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Not a journal segment of version " + VERSION + ": " + path);
+            }
+            JournalSegment segment = new JournalSegment(path, channel, buffer);
+            segment.read(records);
+            return segment;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void read(ObjIntConsumer<JournalRecord> records) {
+        int offset = HEADER_SIZE;
+        while (offset + RECORD_HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(offset);
+            if (length == 0) {
+                break;
+            }
+            JournalRecord record = length < 0 || offset + RECORD_HEADER_SIZE + length > buffer.capacity()
+                    ? null
+                    : readRecord(offset, length);
+            if (record == null) {
+                logger.warnf("Discarding torn journal records: segment = %s, offset = %d", path, offset);
+                clear(offset);
+                break;
+            }
+            offset += RECORD_HEADER_SIZE + length;
+            records.accept(record, offset);
+        }
+        position = offset;
+    }
+
+    private JournalRecord readRecord(int offset, int length) {
+        ByteBuffer body = buffer.slice(offset + RECORD_HEADER_SIZE, length);
+        checksum.reset();
+        checksum.update(body.duplicate());
+        if ((int) checksum.getValue() != buffer.getInt(offset + 4)) {
+            return null;
+        }
+        try {
+            return JournalRecord.decode(body);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private void clear(int from) {
+        byte[] zeros = new byte[ZERO_CHUNK];
+        for (int offset = from; offset < buffer.capacity(); offset += ZERO_CHUNK) {
+            buffer.put(offset, zeros, 0, Math.min(ZERO_CHUNK, buffer.capacity() - offset));
+        }
+        buffer.force(from, buffer.capacity() - from);
+    }
+
+    /**
+     * Appends an encoded record, if it fits into the rest of the segment.
+     *
+     * @param body The encoded record, from its position to its limit. The position is not changed.
+     * @return {@code true} if the record was appended, {@code false} if the segment is full.
+     */
+    boolean append(ByteBuffer body) {
+        int length = body.remaining();
+        // Keep room for the zero length that terminates the segment
+        if (position + RECORD_HEADER_SIZE + length + 4 > buffer.capacity()) {
+            return false;
+        }
+        checksum.reset();
+        checksum.update(body.duplicate());
+        buffer.putInt(position + 4, (int) checksum.getValue());
+        buffer.put(position + RECORD_HEADER_SIZE, body, body.position(), length);
+        buffer.putInt(position, length);
+        position += RECORD_HEADER_SIZE + length;
+        return true;
+    }
+
+    /**
+     * Writes a range of the segment to disk.
+     *
+     * @param from The start of the range.
+     * @param to   The end of the range, exclusive.
+     */
+    void force(int from, int to) {
+        if (to > from) {
+            buffer.force(from, to - from);
+        }
+    }
+
+    /**
+     * @return The end of the last record, where the next record is appended.
+     */
+    int getPosition() {
+        return position;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    /**
+     * Forces all records to disk and closes the file. The mapping stays valid until it is garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        force(HEADER_SIZE, position);
+        channel.close();
+    }
+}
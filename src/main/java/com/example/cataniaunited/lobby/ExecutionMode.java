@@ -0,0 +1,40 @@
+package com.example.cataniaunited.lobby;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The threads the {@link LobbyCommandExecutor} runs the commands of a lobby on.
+ * Independent of the mode, the web socket I/O of a connection stays on its event loop
+ * and the commands of one lobby never run concurrently.
+ * Configured with {@code qatania.lobby.execution-mode}.
+ */
+public enum ExecutionMode {
+    /**
+     * Commands run on the event loop of the connection which sent them,
+     * or on the thread that completed the previous command of the lobby.
+     */
+    EVENT_LOOP,
+    /**
+     * Commands run on a fixed pool of platform threads, sized by {@code qatania.lobby.worker-pool-size}.
+     */
+    WORKER,
+    /**
+     * Every command runs on its own virtual thread.
+     */
+    VIRTUAL_THREAD;
+
+    /**
+     * Creates the executor commands are handed off to in this mode.
+     *
+     * @param workerPoolSize The number of threads of the pool in {@link #WORKER} mode.
+     * @return The executor, or {@code null} if commands run on the calling thread.
+     */
+    ExecutorService createExecutor(int workerPoolSize) {
+        return switch (this) {
+            case EVENT_LOOP -> null;
+            case WORKER -> Executors.newFixedThreadPool(workerPoolSize, Thread.ofPlatform().name("lobby-worker-", 0).daemon().factory());
+            case VIRTUAL_THREAD -> Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("lobby-command-", 0).factory());
+        };
+    }
+}
@@ -2,46 +2,54 @@ package com.example.cataniaunited.lobby;
 
 import com.example.cataniaunited.exception.GameException;
 import com.example.cataniaunited.player.PlayerColor;
+import com.example.cataniaunited.snapshot.SnapshotReader;
+import com.example.cataniaunited.snapshot.SnapshotWriter;
+import com.example.cataniaunited.util.GameRandom;
 import org.jboss.logging.Logger;
 
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a game lobby where players can gather before starting a Catan game.
  * This class manages the list of players in the lobby, their assigned colors,
  * the game state (e.g., whether the game has started), and the active player.
- * It uses concurrent collections for thread-safe operations.
+ * <p>
+ * The state of a lobby is only modified by the commands of the lobby, which are executed one
+ * after another by the {@link LobbyCommandExecutor}, so plain collections are used. Only the
+ * set of players and the game flags are read outside of commands, e.g. when listing lobbies,
+ * and are therefore published as immutable snapshot and volatile fields.
  */
 public class Lobby {
 
     private static final Logger logger = Logger.getLogger(Lobby.class);
+    private static final PlayerColor[] COLORS = PlayerColor.values();
 
     private final String lobbyId;
     private final Instant createdAt;
     private final String hostPlayer; // ID of the player who created the lobby
-    private final Set<String> players = new CopyOnWriteArraySet<>(); // Set of player IDs in the lobby
-    private final List<String> playerOrder = new CopyOnWriteArrayList<>();
-    private final Map<String, PlayerColor> playerColors = new ConcurrentHashMap<>(); // Maps player ID to their assigned color
-    private final List<PlayerColor> availableColors = new CopyOnWriteArrayList<>(); // List of colors not yet assigned
-    private volatile String activePlayer; // ID of the player whose turn it is
+    private volatile Set<String> players = Set.of(); // Immutable snapshot of the player IDs in the lobby
+    private final List<String> playerOrder = new ArrayList<>();
+    private final Map<String, PlayerColor> playerColors = new HashMap<>(); // Maps player ID to their assigned color
+    private final List<PlayerColor> availableColors = new ArrayList<>(); // List of colors not yet assigned
+    private String activePlayer; // ID of the player whose turn it is
     private volatile boolean gameStarted = false; // Flag indicating if the game has started
     private volatile boolean gameEnded = false; // Flag indicating if the game has ended
+    private volatile Instant restoredAt; // Set if the lobby was restored from the journal or a snapshot, until a player resumes
     private int roundsPlayed = 0;
-    private final Map<String, Integer> latestDiceRollOfPlayer = new ConcurrentHashMap<>();
-    private final Map<String, Boolean> readyState = new ConcurrentHashMap<>();
-    private Map<String, Integer> cheatCounts = new HashMap<>();
-    private Map<String, Integer> reportCounts = new HashMap<>();
+    private final Map<String, Integer> latestDiceRollOfPlayer = new HashMap<>();
+    private final Map<String, Boolean> readyState = new HashMap<>();
+    private final Map<String, Integer> cheatCounts = new HashMap<>();
+    private final Map<String, Integer> reportCounts = new HashMap<>();
     private final List<ReportRecord> reportRecords = new ArrayList<>();
     private final Set<String> activeCheaters = new HashSet<>();
 
@@ -56,14 +64,84 @@ public class Lobby {
      * @param hostPlayer The ID of the player who created (hosts) the lobby.
      */
     public Lobby(String lobbyId, String hostPlayer) {
-        this.lobbyId = lobbyId;
-        this.createdAt = Instant.now();
-        this.hostPlayer = hostPlayer;
+        this(lobbyId, hostPlayer, Instant.now());
         Collections.addAll(availableColors, PlayerColor.values());
-        players.add(hostPlayer);
+        addPlayer(hostPlayer);
         setPlayerColor(hostPlayer, assignAvailableColor());
     }
 
+    private Lobby(String lobbyId, String hostPlayer, Instant createdAt) {
+        this.lobbyId = lobbyId;
+        this.createdAt = createdAt;
+        this.hostPlayer = hostPlayer;
+    }
+
+    /**
+     * Writes the complete state of this lobby to a snapshot. Must be called by a command of the lobby.
+     *
+     * @param out The writer of the snapshot.
+     */
+    public void writeSnapshot(SnapshotWriter out) {
+        out.writeString(lobbyId);
+        out.writeString(hostPlayer);
+        out.writeZigzag(createdAt.getEpochSecond());
+        out.writeVarint(createdAt.getNano());
+        out.writeStrings(players);
+        out.writeVarint(playerColors.size());
+        playerColors.forEach((player, color) -> {
+            out.writeString(player);
+            out.writeEnum(color);
+        });
+        out.writeVarint(availableColors.size());
+        availableColors.forEach(out::writeEnum);
+        out.writeStrings(playerOrder);
+        out.writeString(activePlayer);
+        out.writeBoolean(gameStarted);
+        out.writeBoolean(gameEnded);
+        out.writeVarint(roundsPlayed);
+        out.writeCounts(latestDiceRollOfPlayer);
+        out.writeStrings(readyState.entrySet().stream().filter(Map.Entry::getValue).map(Map.Entry::getKey).toList());
+        out.writeCounts(cheatCounts);
+        out.writeCounts(reportCounts);
+        out.writeVarint(reportRecords.size());
+        for (ReportRecord report : reportRecords) {
+            out.writeString(report.reporterId());
+            out.writeString(report.reportedId());
+        }
+        out.writeStrings(activeCheaters);
+    }
+
+    /**
+     * Recreates a lobby written by {@link #writeSnapshot(SnapshotWriter)}.
+     *
+     * @param in The reader of the snapshot, positioned at the start of the lobby.
+     * @return The restored lobby.
+     */
+    public static Lobby readSnapshot(SnapshotReader in) {
+        Lobby lobby = new Lobby(in.readString(), in.readString(), Instant.ofEpochSecond(in.readZigzag(), in.readInt()));
+        lobby.players = Set.copyOf(in.readStrings());
+        for (int i = in.readInt(); i > 0; i--) {
+            lobby.playerColors.put(in.readString(), in.readEnum(COLORS));
+        }
+        for (int i = in.readInt(); i > 0; i--) {
+            lobby.availableColors.add(in.readEnum(COLORS));
+        }
+        lobby.playerOrder.addAll(in.readStrings());
+        lobby.activePlayer = in.readString();
+        lobby.gameStarted = in.readBoolean();
+        lobby.gameEnded = in.readBoolean();
+        lobby.roundsPlayed = in.readInt();
+        lobby.latestDiceRollOfPlayer.putAll(in.readCounts());
+        in.readStrings().forEach(player -> lobby.readyState.put(player, true));
+        lobby.cheatCounts.putAll(in.readCounts());
+        lobby.reportCounts.putAll(in.readCounts());
+        for (int i = in.readInt(); i > 0; i--) {
+            lobby.reportRecords.add(new ReportRecord(in.readString(), in.readString()));
+        }
+        lobby.activeCheaters.addAll(in.readStrings());
+        return lobby;
+    }
+
     /**
      * Gets the unique identifier of this lobby.
      *
@@ -77,28 +155,62 @@ public class Lobby {
         return createdAt;
     }
 
+    /**
+     * Marks the lobby as restored on startup. A restored lobby has no connected players until one of them
+     * resumes its session, so until then it is neither listed nor kept for long, see {@link #isRestored()}.
+     */
+    public void markRestored() {
+        restoredAt = Instant.now();
+    }
+
+    /**
+     * Marks the lobby as resumed, once a player resumed its session after the lobby was restored.
+     */
+    public void markResumed() {
+        restoredAt = null;
+    }
+
+    /**
+     * @return {@code true} if the lobby was restored from the game journal or a snapshot and nobody resumed it yet.
+     */
+    public boolean isRestored() {
+        return restoredAt != null;
+    }
+
+    /**
+     * @return The time the lobby was restored, or {@code null} if it was not restored.
+     */
+    public Instant getRestoredAt() {
+        return restoredAt;
+    }
+
     public String getHostPlayer() {
         return hostPlayer;
     }
 
     /**
      * Gets the set of player IDs currently in this lobby.
-     * The returned set is a thread-safe {@link CopyOnWriteArraySet}.
+     * The returned set is an immutable snapshot, which can safely be read outside of lobby commands.
      *
      * @return A {@link Set} of player ID strings.
      */
     public Set<String> getPlayers() {
-        return Set.copyOf(players);
+        return players;
     }
 
     /**
      * Adds a player to this lobby by their ID.
-     * The player ID is added to the thread-safe set of players.
+     * A new snapshot of the players containing the player is published.
      *
      * @param player The ID of the player to add.
      */
     public void addPlayer(String player) {
-        players.add(player);
+        if (players.contains(player)) {
+            return;
+        }
+        Set<String> updatedPlayers = new HashSet<>(players);
+        updatedPlayers.add(player);
+        players = Set.copyOf(updatedPlayers);
     }
 
     /**
@@ -112,7 +224,11 @@ public class Lobby {
         playerColors.remove(player);
         readyState.remove(player);
         playerOrder.remove(player);
-        players.remove(player);
+        if (players.contains(player)) {
+            Set<String> updatedPlayers = new HashSet<>(players);
+            updatedPlayers.remove(player);
+            players = Set.copyOf(updatedPlayers);
+        }
 
         if(gameStarted && Objects.equals(activePlayer, player)) {
             nextPlayerTurn();
@@ -150,7 +266,6 @@ public class Lobby {
 
     /**
      * Gets the list of player colors that are currently available for assignment to new players.
-     * The returned list is a thread-safe {@link CopyOnWriteArrayList}.
      *
      * @return A {@link List} of available {@link PlayerColor}s.
      */
@@ -160,7 +275,6 @@ public class Lobby {
 
     /**
      * Assigns a specific color to a player in this lobby.
-     * The mapping from player ID to color is stored in a thread-safe map.
      *
      * @param player The ID of the player.
      * @param color  The {@link PlayerColor} to assign to the player.
@@ -201,6 +315,53 @@ public class Lobby {
         return availableColors.remove(0);
     }
 
+    /**
+     * Picks the color shared by the fewest players of this lobby, for players joining once every color is taken.
+     * Lobbies can hold more players than there are colors, so players of large lobbies share colors.
+     *
+     * @return The least used {@link PlayerColor}, the first one in declaration order on a tie.
+     */
+    public PlayerColor assignSharedColor() {
+        Map<PlayerColor, Integer> usage = new EnumMap<>(PlayerColor.class);
+        for (PlayerColor color : COLORS) {
+            usage.put(color, 0);
+        }
+        playerColors.values().forEach(color -> usage.merge(color, 1, Integer::sum));
+        PlayerColor leastUsed = COLORS[0];
+        for (PlayerColor color : COLORS) {
+            if (usage.get(color) < usage.get(leastUsed)) {
+                leastUsed = color;
+            }
+        }
+        return leastUsed;
+    }
+
+    /**
+     * Checks whether a color is assigned to any player of this lobby.
+     *
+     * @param color The {@link PlayerColor} to check.
+     * @return {@code true} if at least one player has the color.
+     */
+    public boolean isColorAssigned(PlayerColor color) {
+        return playerColors.containsValue(color);
+    }
+
+    /**
+     * Assigns a specific color to a player and takes it from the pool of available colors.
+     * A color the player had before is returned to the pool unless another player shares it. Used when a lobby
+     * is restored from the game journal, as colors are drawn at random by {@link #assignAvailableColor()}.
+     *
+     * @param player The ID of the player.
+     * @param color  The {@link PlayerColor} the player had.
+     */
+    public void claimColor(String player, PlayerColor color) {
+        PlayerColor previous = playerColors.put(player, color);
+        availableColors.remove(color);
+        if (previous != null && !isColorAssigned(previous)) {
+            restoreColor(previous);
+        }
+    }
+
     /**
      * Restores a player color back to the pool of available colors.
      * The color is only added if it's not null and not already present in the available colors list
@@ -263,14 +424,24 @@ public class Lobby {
     /**
      * Randomizes the order of players currently in the lobby to determine the turn sequence for the game.
      * The current set of players is converted to a list, shuffled, and then the {@code players} set is updated
-     * to reflect this new order (though {@link CopyOnWriteArraySet} does not strictly guarantee order,
-     * this operation effectively re-populates it based on the shuffled list).
+     * to reflect this new order.
      * The first player in the shuffled order is set as the {@code activePlayer}.
      * Finally, the game is marked as {@code gameStarted = true}.
      */
-    public synchronized void startGame() {
-        setPlayerOrder(players.stream().toList());
-        Collections.shuffle(playerOrder);
+    public void startGame() {
+        startGame(GameRandom.newGenerator());
+    }
+
+    /**
+     * Randomizes the order of players like {@link #startGame()}, drawing the order from the given generator,
+     * so the turn sequence of a game can be reproduced from its seed.
+     *
+     * @param random The generator of the game, usually the one of its game board.
+     */
+    public void startGame(RandomGenerator random) {
+        // Sorted first, the iteration order of the player set differs between runs of the JVM
+        setPlayerOrder(players.stream().sorted().toList());
+        Collections.shuffle(playerOrder, random);
         activePlayer = playerOrder.get(0);
         gameStarted = true;
     }
@@ -283,7 +454,7 @@ public class Lobby {
      * If the lobby has no players or no active player is set, this method returns early.
      * The turn wraps around to the first player after the last player in the sequence.
      */
-    public synchronized void nextPlayerTurn() throws GameException {
+    public void nextPlayerTurn() throws GameException {
         if (playerOrder.isEmpty() || activePlayer == null) {
             logger.errorf("Executing next turn failed, player order is empty or activePlayer is null: lobbyId=%s, playerOrder = %s, activePlayer = %s", lobbyId, playerOrder, activePlayer);
             throw new GameException("Executing next turn failed");
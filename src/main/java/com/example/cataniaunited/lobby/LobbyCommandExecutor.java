@@ -0,0 +1,199 @@
+package com.example.cataniaunited.lobby;
+
+import com.example.cataniaunited.util.Util;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Executes all commands which read or modify the state of a lobby one after another.
+ * Every registered lobby owns a serial mailbox: a command only starts once the previous command
+ * of the same lobby has run, so the state of a lobby, its game board and its players is only ever
+ * accessed by one command at a time and needs no further synchronization. Commands of different
+ * lobbies do not coordinate at all and run in parallel.
+ * <p>
+ * A command holds the mailbox while it runs synchronously: while its supplier executes and the
+ * returned {@link Uni} is subscribed. Whatever the Uni does after its first asynchronous step,
+ * typically sending the messages of the command, happens outside the mailbox, so a slow or stalled
+ * client never holds up the other commands of its lobby. Commands therefore change and read the
+ * state of their lobby before they start sending.
+ * <p>
+ * The {@link ExecutionMode} decides which threads commands run on. On the event loop, commands run
+ * on the submitting thread. In the other modes, the mailbox is drained on a worker or virtual thread,
+ * so expensive commands such as generating a board do not block the I/O of other connections.
+ */
+@ApplicationScoped
+public class LobbyCommandExecutor {
+
+    private static final Logger logger = Logger.getLogger(LobbyCommandExecutor.class);
+
+    @ConfigProperty(name = "qatania.lobby.execution-mode")
+    ExecutionMode executionMode = ExecutionMode.EVENT_LOOP;
+
+    @ConfigProperty(name = "qatania.lobby.worker-pool-size")
+    int workerPoolSize = 8;
+
+    private final Map<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private volatile ExecutorService commandThreads;
+
+    @PostConstruct
+    void start() {
+        commandThreads = executionMode.createExecutor(workerPoolSize);
+        logger.infof("Executing lobby commands: mode = %s", executionMode);
+    }
+
+    @PreDestroy
+    void stop() {
+        ExecutorService threads = commandThreads;
+        commandThreads = null;
+        if (threads != null) {
+            threads.shutdown();
+        }
+    }
+
+    /**
+     * Gets the mode this executor runs commands in.
+     *
+     * @return The configured {@link ExecutionMode}.
+     */
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    /**
+     * Creates the mailbox of a new lobby.
+     *
+     * @param lobbyId The ID of the lobby.
+     */
+    public void register(String lobbyId) {
+        mailboxes.putIfAbsent(lobbyId, new Mailbox(lobbyId));
+    }
+
+    /**
+     * Removes the mailbox of a closed lobby. Commands already queued are still executed.
+     *
+     * @param lobbyId The ID of the lobby.
+     */
+    public void unregister(String lobbyId) {
+        mailboxes.remove(lobbyId);
+    }
+
+    /**
+     * Removes the mailboxes of all lobbies.
+     */
+    public void clear() {
+        mailboxes.clear();
+    }
+
+    /**
+     * Submits a command for the given lobby. The command is executed once all previously
+     * submitted commands of the lobby have run. Commands for unknown lobbies, e.g.
+     * a lobby ID sent by a client that does not exist, are executed immediately on the calling
+     * thread, as they cannot access any lobby state.
+     * <p>
+     * The command is submitted right away and does not wait for a subscription to the returned {@link Uni}.
+     *
+     * @param lobbyId The ID of the lobby the command belongs to, may be {@code null}.
+     * @param command The command to execute.
+     * @param <T>     The type of the command result.
+     * @return A {@link Uni} emitting the result of the command once the Uni of the command has completed.
+     */
+    public <T> Uni<T> submit(String lobbyId, Supplier<Uni<T>> command) {
+        Mailbox mailbox = Util.isEmpty(lobbyId) ? null : mailboxes.get(lobbyId);
+        if (mailbox == null) {
+            return execute(command);
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        mailbox.enqueue(() -> execute(command).subscribe().with(result::complete, result::completeExceptionally));
+        return Uni.createFrom().completionStage(result);
+    }
+
+    /**
+     * Gets the number of commands waiting for execution in the mailbox of a lobby.
+     *
+     * @param lobbyId The ID of the lobby.
+     * @return The number of queued commands, without the one currently executing.
+     */
+    public int getQueuedCommands(String lobbyId) {
+        Mailbox mailbox = mailboxes.get(lobbyId);
+        return mailbox == null ? 0 : mailbox.size();
+    }
+
+    private void dispatch(Runnable task) {
+        ExecutorService threads = commandThreads;
+        if (threads == null) {
+            task.run();
+            return;
+        }
+        try {
+            threads.execute(task);
+        } catch (RejectedExecutionException e) {
+            logger.debugf("Command threads are shut down, running command on calling thread");
+            task.run();
+        }
+    }
+
+    private static <T> Uni<T> execute(Supplier<Uni<T>> command) {
+        try {
+            return command.get();
+        } catch (RuntimeException e) {
+            return Uni.createFrom().failure(e);
+        }
+    }
+
+    private final class Mailbox {
+
+        private final String lobbyId;
+        private final Queue<Runnable> commands = new ArrayDeque<>();
+        private boolean running;
+
+        private Mailbox(String lobbyId) {
+            this.lobbyId = lobbyId;
+        }
+
+        void enqueue(Runnable command) {
+            synchronized (this) {
+                commands.add(command);
+                if (running) {
+                    logger.debugf("Queued command for busy lobby: lobbyId = %s, queued = %d", lobbyId, commands.size());
+                    return;
+                }
+                running = true;
+            }
+            dispatch(this::drain);
+        }
+
+        synchronized int size() {
+            return commands.size();
+        }
+
+        /**
+         * Runs queued commands until the mailbox is empty.
+         */
+        private void drain() {
+            while (true) {
+                Runnable command;
+                synchronized (this) {
+                    command = commands.poll();
+                    if (command == null) {
+                        running = false;
+                        return;
+                    }
+                }
+                command.run();
+            }
+        }
+    }
+}
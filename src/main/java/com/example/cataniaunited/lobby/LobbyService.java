@@ -22,6 +22,30 @@ public interface LobbyService {
      */
     String createLobby(String hostPlayer);
 
+    /**
+     * Recreates a lobby recorded in the game journal, with the ID and host color it had before.
+     *
+     * @param lobbyId    The ID of the lobby.
+     * @param hostPlayer The ID of the player who created the lobby.
+     * @param color      The color of the host.
+     */
+    void restoreLobby(String lobbyId, String hostPlayer, PlayerColor color);
+
+    /**
+     * Adds a lobby restored from a snapshot, replacing a lobby with the same ID.
+     *
+     * @param lobby The restored lobby.
+     */
+    void restoreLobby(Lobby lobby);
+
+    /**
+     * Marks the restored lobbies of a player as resumed, once the player resumed its session.
+     * Resumed lobbies are listed and kept like any other lobby again.
+     *
+     * @param playerId The ID of the player.
+     */
+    void resumeLobbiesOfPlayer(String playerId);
+
     /**
      * Generates a unique ID for a new lobby.
      *
@@ -37,7 +61,22 @@ public interface LobbyService {
     List<Lobby> getOpenLobbies();
 
     /**
-     * Gets a list of all lobbies, which are have not started yet
+     * Gets the number of currently open lobbies.
+     *
+     * @return The number of open lobbies.
+     */
+    int getOpenLobbyCount();
+
+    /**
+     * Gets the number of lobbies with a game that was started and has not ended yet.
+     *
+     * @return The number of running games.
+     */
+    int getRunningGameCount();
+
+    /**
+     * Gets a list of all lobbies, which are have not started yet.
+     * Restored lobbies are not listed, as their players cannot resume their sessions.
      *
      * @return A list of lobbies
      */
@@ -53,10 +92,38 @@ public interface LobbyService {
      */
     boolean joinLobbyByCode(String lobbyId, String player);
 
+    /**
+     * Adds a player to a lobby recorded in the game journal, with the color the player had before.
+     *
+     * @param lobbyId The ID of the lobby.
+     * @param player  The ID of the player who joined.
+     * @param color   The color of the player.
+     * @throws GameException if the lobby is not found.
+     */
+    void restoreJoin(String lobbyId, String player, PlayerColor color) throws GameException;
+
     void leaveLobby(String lobbyId, String playerId) throws GameException;
 
     Set<Lobby> removePlayerFromLobbies(String playerId);
 
+    /**
+     * Gets all lobbies the given player is part of.
+     *
+     * @param playerId The ID of the player.
+     * @return A list of the lobbies of the player.
+     */
+    List<Lobby> getLobbiesOfPlayer(String playerId);
+
+    /**
+     * Removes a player from a lobby. If the player is the host of the lobby,
+     * the lobby gets closed and removed.
+     *
+     * @param lobbyId  The ID of the lobby.
+     * @param playerId The ID of the player to remove.
+     * @throws GameException if the lobby is not found.
+     */
+    void leaveOrCloseLobby(String lobbyId, String playerId) throws GameException;
+
     /**
      * Removes a player from a specified lobby.
      *
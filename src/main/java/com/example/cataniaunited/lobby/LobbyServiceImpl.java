@@ -1,26 +1,37 @@
 package com.example.cataniaunited.lobby;
 
+import com.example.cataniaunited.api.codec.EncodedMessage;
+import com.example.cataniaunited.api.codec.MessageCodec;
+import com.example.cataniaunited.api.codec.WireFormat;
+import com.example.cataniaunited.cluster.ClusterService;
 import com.example.cataniaunited.dto.MessageDTO;
 import com.example.cataniaunited.exception.GameException;
 import com.example.cataniaunited.exception.ui.DiceRollException;
 import com.example.cataniaunited.exception.ui.InvalidTurnException;
 import com.example.cataniaunited.fi.LobbyAction;
+import com.example.cataniaunited.journal.GameJournal;
+import com.example.cataniaunited.journal.JournalRecord;
+import com.example.cataniaunited.metrics.GameMetrics;
+import com.example.cataniaunited.player.Player;
 import com.example.cataniaunited.player.PlayerColor;
 import com.example.cataniaunited.player.PlayerService;
 import com.example.cataniaunited.util.Util;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
+import java.io.IOException;
 import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of the {@link LobbyService} interface. Manages game lobbies
@@ -40,23 +51,89 @@ public class LobbyServiceImpl implements LobbyService {
     @Inject
     PlayerService playerService;
 
+    @ConfigProperty(name = "qatania.lobby.max-players")
+    int maxPlayers = 64;
+
+    @Inject
+    MessageCodec messageCodec;
+
+    @Inject
+    GameMetrics gameMetrics;
+
+    @Inject
+    LobbyCommandExecutor lobbyCommandExecutor;
+
+    @Inject
+    GameJournal gameJournal;
+
+    @Inject
+    ClusterService clusterService;
+
     /**
      * {@inheritDoc} Creates a new lobby, assigns a color to the host, and
-     * stores the lobby.
+     * stores the lobby. In a cluster, IDs are generated until one is owned
+     * by this node, so lobbies are created where their host is connected.
      */
     @Override
     public String createLobby(String hostPlayer) {
         String lobbyId;
         do {
             lobbyId = generateLobbyId();
-        } while (lobbies.containsKey(lobbyId));
+        } while (lobbies.containsKey(lobbyId) || !clusterService.isLocal(lobbyId));
         Lobby lobby = new Lobby(lobbyId, hostPlayer);
         setPlayerColor(lobby, hostPlayer); // Assign a color to the host
+        lobbyCommandExecutor.register(lobbyId);
         lobbies.put(lobbyId, lobby);
         logger.infof("Lobby created: ID=%s, Host=%s", lobbyId, hostPlayer);
+        journalResumeToken(hostPlayer);
+        gameJournal.append(JournalRecord.lobbyCreated(lobbyId, hostPlayer, getUsername(hostPlayer), lobby.getPlayerColor(hostPlayer)));
         return lobbyId;
     }
 
+    @Override
+    public void restoreLobby(String lobbyId, String hostPlayer, PlayerColor color) {
+        Lobby lobby = new Lobby(lobbyId, hostPlayer);
+        lobby.claimColor(hostPlayer, color);
+        lobby.markRestored();
+        lobbyCommandExecutor.register(lobbyId);
+        lobbies.put(lobbyId, lobby);
+        logger.debugf("Lobby restored: ID=%s, Host=%s", lobbyId, hostPlayer);
+    }
+
+    @Override
+    public void restoreLobby(Lobby lobby) {
+        lobby.markRestored();
+        lobbyCommandExecutor.register(lobby.getLobbyId());
+        lobbies.put(lobby.getLobbyId(), lobby);
+        logger.debugf("Lobby restored from snapshot: ID=%s, Host=%s", lobby.getLobbyId(), lobby.getHostPlayer());
+    }
+
+    @Override
+    public void resumeLobbiesOfPlayer(String playerId) {
+        getLobbiesOfPlayer(playerId).stream()
+                .filter(Lobby::isRestored)
+                .forEach(lobby -> {
+                    lobby.markResumed();
+                    logger.infof("Lobby resumed: ID=%s, Player=%s", lobby.getLobbyId(), playerId);
+                });
+    }
+
+    private String getUsername(String playerId) {
+        Player player = playerService.getPlayerById(playerId);
+        return player == null ? null : player.getUsername();
+    }
+
+    /**
+     * Records the resume token of a player entering a lobby, so the player can resume its session after a restart.
+     * Players of other nodes of the cluster have no token here, they resume with their next forwarded command.
+     */
+    private void journalResumeToken(String playerId) {
+        Player player = playerService.getPlayerById(playerId);
+        if (player != null && player.getResumeToken() != null) {
+            gameJournal.append(JournalRecord.resumeTokenIssued(playerId, player.getResumeToken()));
+        }
+    }
+
     /**
      * {@inheritDoc} Generates a 6-character ID consisting of 3 random letters
      * and 3 random numbers, in a random order.
@@ -95,16 +172,28 @@ public class LobbyServiceImpl implements LobbyService {
         return openLobbies;
     }
 
+    @Override
+    public int getOpenLobbyCount() {
+        return lobbies.size();
+    }
+
+    @Override
+    public int getRunningGameCount() {
+        return (int) lobbies.values().stream()
+                .filter(lobby -> lobby.isGameStarted() && !lobby.isGameEnded())
+                .count();
+    }
+
     @Override
     public List<Lobby> getAvailableLobbies() {
         return lobbies.values().stream()
-                .filter(lobby -> !lobby.isGameStarted())
+                .filter(lobby -> !lobby.isGameStarted() && !lobby.isRestored())
                 .toList();
     }
 
     /**
      * {@inheritDoc} If joining is successful, a color is assigned to the
-     * player.
+     * player. A lobby holds at most {@code qatania.lobby.max-players} players.
      *
      * @throws GameException if the lobby is not found.
      */
@@ -115,12 +204,15 @@ public class LobbyServiceImpl implements LobbyService {
             if (lobby.isGameStarted()) {
                 return false;
             }
-            PlayerColor assignedColor = setPlayerColor(lobby, player);
-            if (assignedColor == null) {
+            if (lobby.getPlayers().size() >= maxPlayers && !lobby.getPlayers().contains(player)) {
+                logger.warnf("Lobby %s is full: maxPlayers = %d", lobbyId, maxPlayers);
                 return false;
             }
+            PlayerColor assignedColor = setPlayerColor(lobby, player);
             lobby.addPlayer(player);
             logger.infof("Player %s joined lobby %s with color %s", player, lobbyId, assignedColor);
+            journalResumeToken(player);
+            gameJournal.append(JournalRecord.playerJoined(lobbyId, player, getUsername(player), assignedColor));
             return true;
         } catch (GameException ge) {
             logger.errorf(ge, "Invalid or expired lobby ID: %s", lobbyId);
@@ -128,10 +220,18 @@ public class LobbyServiceImpl implements LobbyService {
         return false;
     }
 
+    @Override
+    public void restoreJoin(String lobbyId, String player, PlayerColor color) throws GameException {
+        Lobby lobby = getLobbyById(lobbyId);
+        lobby.claimColor(player, color);
+        lobby.addPlayer(player);
+    }
+
     @Override
     public void leaveLobby(String lobbyId, String playerId) throws GameException {
         removePlayerFromLobby(lobbyId, playerId);
         playerService.resetVictoryPoints(playerId);
+        gameJournal.append(JournalRecord.playerLeft(lobbyId, playerId));
     }
 
     /**
@@ -141,17 +241,11 @@ public class LobbyServiceImpl implements LobbyService {
      */
     @Override
     public Set<Lobby> removePlayerFromLobbies(String playerId) {
-        Set<Lobby> affectedLobbies = lobbies.values().stream()
-                .filter(Objects::nonNull)
-                .filter(lobby -> lobby.getPlayers().contains(playerId))
-                .collect(Collectors.toSet());
+        Set<Lobby> affectedLobbies = Set.copyOf(getLobbiesOfPlayer(playerId));
 
         affectedLobbies.forEach(lobby -> {
             try {
-                leaveLobby(lobby.getLobbyId(), playerId);
-                if (lobby.getHostPlayer().equals(playerId)) {
-                    removeLobby(lobby.getLobbyId());
-                }
+                leaveOrCloseLobby(lobby.getLobbyId(), playerId);
             } catch (GameException e) {
                 logger.warnf(e, "Failed to remove player %s from lobby %s", playerId, lobby.getLobbyId());
             }
@@ -161,18 +255,41 @@ public class LobbyServiceImpl implements LobbyService {
     }
 
     /**
-     * Assigns an available color to a player within a specific lobby.
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Lobby> getLobbiesOfPlayer(String playerId) {
+        return lobbies.values().stream()
+                .filter(Objects::nonNull)
+                .filter(lobby -> lobby.getPlayers().contains(playerId))
+                .toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void leaveOrCloseLobby(String lobbyId, String playerId) throws GameException {
+        Lobby lobby = getLobbyById(lobbyId);
+        leaveLobby(lobbyId, playerId);
+        if (lobby.getHostPlayer().equals(playerId)) {
+            removeLobby(lobbyId);
+        }
+    }
+
+    /**
+     * Assigns an available color to a player within a specific lobby. Once
+     * every color is taken, the player shares the least used color.
      *
      * @param lobby  The {@link Lobby} where the player is.
      * @param player The ID of the player to assign a color to.
-     * @return The assigned {@link PlayerColor}, or null if no colors are
-     * available.
+     * @return The assigned {@link PlayerColor}.
      */
     protected PlayerColor setPlayerColor(Lobby lobby, String player) {
         PlayerColor assignedColor = lobby.assignAvailableColor();
         if (assignedColor == null) {
-            logger.warnf("No colors available for new players in lobby %s.", lobby.getLobbyId());
-            return null;
+            assignedColor = lobby.assignSharedColor();
+            logger.debugf("All colors taken in lobby %s, player %s shares %s", lobby.getLobbyId(), player, assignedColor);
         }
         lobby.setPlayerColor(player, assignedColor);
         return assignedColor;
@@ -187,12 +304,12 @@ public class LobbyServiceImpl implements LobbyService {
         logger.infof("Removing player %s from lobby %s", player, lobbyId);
         Lobby lobby = getLobbyById(lobbyId);
         PlayerColor color = lobby.getPlayerColor(player);
-        if (color != null) {
+        lobby.removePlayer(player);
+        lobby.removePlayerColor(player);
+        if (color != null && !lobby.isColorAssigned(color)) {
             lobby.restoreColor(color);
             logger.infof("Color %s returned to pool from player %s", color, player);
         }
-        lobby.removePlayer(player);
-        lobby.removePlayerColor(player);
         logger.infof("Player %s removed from lobby %s", player, lobbyId);
     }
 
@@ -270,8 +387,10 @@ public class LobbyServiceImpl implements LobbyService {
     }
 
     /**
-     * {@inheritDoc} Uses {@link PlayerService} to get actual Player objects to
-     * send messages.
+     * {@inheritDoc} The message is encoded once per {@link WireFormat} of the
+     * recipients and the encoded message is sent to them via {@link PlayerService}.
+     * Recipients connected to other nodes of the cluster get the message once
+     * per node, which encodes it for them, see {@link ClusterService#deliver}.
      */
     @Override
     public Uni<MessageDTO> notifyPlayers(String lobbyId, MessageDTO dto, String excludePlayerId) {
@@ -293,21 +412,47 @@ public class LobbyServiceImpl implements LobbyService {
             return Uni.createFrom().item(dto);
         }
 
-        List<Uni<Void>> sendUnis = lobby.getPlayers()
+        List<String> recipients = lobby.getPlayers()
                 .stream()
                 .filter(playerId -> !playerId.equals(excludePlayerId))
-                .map(playerId -> playerService.sendMessageToPlayer(playerId, dto))
                 .toList();
 
-        if (sendUnis.isEmpty()) {
+        if (recipients.isEmpty()) {
             logger.warnf("No players to notify after applying exclude filter: lobbyId=%s, excludePlayerId=%s", lobbyId, excludePlayerId);
             return Uni.createFrom().item(dto);
         }
 
+        long start = System.nanoTime();
+        Map<WireFormat, EncodedMessage> encodings = new EnumMap<>(WireFormat.class);
+        Map<String, List<String>> remoteRecipients = new HashMap<>();
+        List<Uni<Void>> sendUnis = new ArrayList<>(recipients.size());
+        try {
+            for (String playerId : recipients) {
+                String homeNode = playerService.getHomeNode(playerId);
+                if (homeNode != null) {
+                    remoteRecipients.computeIfAbsent(homeNode, node -> new ArrayList<>()).add(playerId);
+                    continue;
+                }
+                WireFormat format = playerService.getWireFormat(playerId);
+                EncodedMessage encoded = encodings.get(format);
+                if (encoded == null) {
+                    encoded = messageCodec.encode(dto, format);
+                    encodings.put(format, encoded);
+                }
+                sendUnis.add(playerService.sendEncodedMessageToPlayer(playerId, encoded));
+            }
+        } catch (IOException e) {
+            logger.errorf(e, "Could not encode message for lobby: lobbyId = %s, error = %s", lobbyId, e.getMessage());
+            return Uni.createFrom().failure(e);
+        }
+        remoteRecipients.forEach((homeNode, players) -> sendUnis.add(clusterService.deliver(homeNode, dto, players)));
+        gameMetrics.recordBroadcast(recipients.size(), encodings.size());
+
         return Uni.join().all(sendUnis)
                 .andFailFast()
                 .onFailure()
                 .invoke(err -> logger.errorf(err, "One or more messages failed to send in lobby: lobbyId = %s, error = %s", lobbyId, err.getMessage()))
+                .eventually(() -> gameMetrics.recordBroadcastDuration(System.nanoTime() - start))
                 .replaceWith(dto);
     }
 
@@ -317,6 +462,7 @@ public class LobbyServiceImpl implements LobbyService {
         lobby.nextPlayerTurn();
         String activePlayerId = lobby.getActivePlayer();
         logger.debugf("Player ended turn: lobbyId=%s, previousActivePlayer=%s, nextActivePlayer=%s", lobbyId, playerId, activePlayerId);
+        gameJournal.append(JournalRecord.turnEnded(lobbyId, playerId));
         return activePlayerId;
     }
 
@@ -330,6 +476,7 @@ public class LobbyServiceImpl implements LobbyService {
     public void toggleReady(String lobbyId, String playerId) throws GameException {
         Lobby lobby = getLobbyById(lobbyId);
         lobby.toggleReady(playerId);
+        gameJournal.append(JournalRecord.readyToggled(lobbyId, playerId));
     }
 
     @Override
@@ -352,12 +499,16 @@ public class LobbyServiceImpl implements LobbyService {
     @Override
     public void clearLobbies() {
         lobbies.clear();
+        lobbyCommandExecutor.clear();
         logger.info("All lobbies have been cleared.");
     }
 
     @Override
     public void removeLobby(String lobbyId) {
         logger.infof("Removed lobby: lobbyId=%s", lobbyId);
-        lobbies.remove(lobbyId);
+        if (lobbies.remove(lobbyId) != null) {
+            gameJournal.append(JournalRecord.lobbyClosed(lobbyId));
+        }
+        lobbyCommandExecutor.unregister(lobbyId);
     }
 }
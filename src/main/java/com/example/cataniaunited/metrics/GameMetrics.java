@@ -0,0 +1,365 @@
+package com.example.cataniaunited.metrics;
+
+import com.example.cataniaunited.api.codec.WireFormat;
+import com.example.cataniaunited.cluster.ClusterMessageType;
+import com.example.cataniaunited.dto.MessageType;
+import com.example.cataniaunited.game.trade.TradingService;
+import com.example.cataniaunited.journal.JournalRecordType;
+import com.example.cataniaunited.lobby.LobbyService;
+import com.example.cataniaunited.player.PlayerService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.runtime.Startup;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registers and updates the application specific Micrometer meters.
+ * The meters are exposed via the Prometheus endpoint at {@code /q/metrics}.
+ * <p>
+ * The number of encodings per broadcast is the ratio of {@value #BROADCAST_ENCODINGS} to {@value #BROADCASTS}.
+ * Codec meters are tagged with the {@link WireFormat} as {@value #CODEC_TAG}, so the bandwidth and CPU time
+ * of JSON and binary clients can be compared.
+ * <p>
+ * Journal writes are tagged with their {@link JournalRecordType} as {@value #COMMAND_TYPE_TAG}; they are part
+ * of the command time, so {@value #JOURNAL_WRITE} shows the share of it spent on durability. The number of
+ * records made durable by a single group commit is recorded as {@value #JOURNAL_FLUSH_RECORDS}.
+ * Snapshots record the time to capture and write them as {@value #SNAPSHOT_WRITE}, their file size as
+ * {@value #SNAPSHOT_SIZE} and the time to restore one on startup as {@value #SNAPSHOT_RESTORE}.
+ * Requests to other nodes of a cluster are timed as {@value #CLUSTER_REQUEST}, tagged with their
+ * {@link ClusterMessageType} as {@value #COMMAND_TYPE_TAG}.
+ * <p>
+ * Command, broadcast, board generation, journal and longest road timers publish percentile histograms.
+ * The gauges for lobbies, games, players and trade requests are read from the owning services on every
+ * scrape, which is why this bean is created at startup instead of on first use.
+ */
+@Startup
+@ApplicationScoped
+public class GameMetrics {
+
+    public static final String BROADCASTS = "catania.broadcasts";
+    public static final String BROADCAST_ENCODINGS = "catania.broadcast.encodings";
+    public static final String BROADCAST_RECIPIENTS = "catania.broadcast.recipients";
+    public static final String CODEC_ENCODE = "catania.codec.encode";
+    public static final String CODEC_DECODE = "catania.codec.decode";
+    public static final String CODEC_MESSAGE_SIZE = "catania.codec.size";
+    public static final String CODEC_BYTES_SENT = "catania.codec.sent";
+    public static final String CODEC_BYTES_RECEIVED = "catania.codec.received";
+    public static final String CODEC_TAG = "codec";
+    public static final String COMMANDS = "catania.commands";
+    public static final String COMMAND_TYPE_TAG = "type";
+    public static final String BROADCAST_DURATION = "catania.broadcast.duration";
+    public static final String BOARD_GENERATION = "catania.board.generation";
+    public static final String BOARD_SIZE_TAG = "size";
+    public static final String BOARD_POOL_REQUESTS = "catania.board.pool.requests";
+    public static final String BOARD_POOL_RESULT_TAG = "result";
+    public static final String LONGEST_ROAD = "catania.longest.road";
+    public static final String JOURNAL_WRITE = "catania.journal.write";
+    public static final String JOURNAL_FLUSH = "catania.journal.flush";
+    public static final String JOURNAL_FLUSH_RECORDS = "catania.journal.flush.records";
+    public static final String SNAPSHOT_WRITE = "catania.snapshot.write";
+    public static final String SNAPSHOT_SIZE = "catania.snapshot.size";
+    public static final String SNAPSHOT_RESTORE = "catania.snapshot.restore";
+    public static final String CLUSTER_REQUEST = "catania.cluster.request";
+    public static final String OPEN_LOBBIES = "catania.lobbies.open";
+    public static final String RUNNING_GAMES = "catania.games.running";
+    public static final String CONNECTED_PLAYERS = "catania.players.connected";
+    public static final String OPEN_TRADE_REQUESTS = "catania.trade.requests.open";
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    LobbyService lobbyService;
+
+    @Inject
+    PlayerService playerService;
+
+    @Inject
+    TradingService tradingService;
+
+    private Counter broadcasts;
+    private Counter broadcastEncodings;
+    private DistributionSummary broadcastRecipients;
+    private final Map<WireFormat, Timer> encodeTimers = new EnumMap<>(WireFormat.class);
+    private final Map<WireFormat, Timer> decodeTimers = new EnumMap<>(WireFormat.class);
+    private final Map<WireFormat, DistributionSummary> messageSizes = new EnumMap<>(WireFormat.class);
+    private final Map<WireFormat, Counter> bytesSent = new EnumMap<>(WireFormat.class);
+    private final Map<WireFormat, Counter> bytesReceived = new EnumMap<>(WireFormat.class);
+    private final Map<MessageType, Timer> commandTimers = new EnumMap<>(MessageType.class);
+    private final Map<JournalRecordType, Timer> journalWriteTimers = new EnumMap<>(JournalRecordType.class);
+    private Timer broadcastDuration;
+    private Timer longestRoad;
+    private Timer journalFlush;
+    private DistributionSummary journalFlushRecords;
+    private Timer snapshotWrite;
+    private DistributionSummary snapshotSize;
+    private Timer snapshotRestore;
+
+    @PostConstruct
+    void init() {
+        broadcasts = Counter.builder(BROADCASTS)
+                .description("Number of messages broadcast to the players of a lobby")
+                .register(meterRegistry);
+        broadcastEncodings = Counter.builder(BROADCAST_ENCODINGS)
+                .description("Number of encodings performed for broadcast messages")
+                .register(meterRegistry);
+        broadcastRecipients = DistributionSummary.builder(BROADCAST_RECIPIENTS)
+                .description("Number of players a broadcast message is sent to")
+                .register(meterRegistry);
+        broadcastDuration = Timer.builder(BROADCAST_DURATION)
+                .description("Time from encoding a broadcast message until it was sent to all players of a lobby")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        longestRoad = Timer.builder(LONGEST_ROAD)
+                .description("Time spent calculating the longest road of a player")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        journalFlush = Timer.builder(JOURNAL_FLUSH)
+                .description("Time spent forcing appended journal records to disk")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        journalFlushRecords = DistributionSummary.builder(JOURNAL_FLUSH_RECORDS)
+                .description("Number of journal records forced to disk together")
+                .register(meterRegistry);
+        snapshotWrite = Timer.builder(SNAPSHOT_WRITE)
+                .description("Time spent capturing all lobbies and writing them to a snapshot")
+                .register(meterRegistry);
+        snapshotSize = DistributionSummary.builder(SNAPSHOT_SIZE)
+                .description("Size of written snapshot files")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        snapshotRestore = Timer.builder(SNAPSHOT_RESTORE)
+                .description("Time spent restoring the lobbies of a snapshot on startup")
+                .register(meterRegistry);
+
+        for (MessageType type : MessageType.values()) {
+            commandTimers.put(type, Timer.builder(COMMANDS)
+                    .description("Time spent handling a client command, until its response was created")
+                    .tag(COMMAND_TYPE_TAG, type.name())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+
+        for (JournalRecordType type : JournalRecordType.values()) {
+            journalWriteTimers.put(type, Timer.builder(JOURNAL_WRITE)
+                    .description("Time spent appending an accepted command to the journal")
+                    .tag(COMMAND_TYPE_TAG, type.name())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+
+        for (WireFormat format : WireFormat.values()) {
+            encodeTimers.put(format, Timer.builder(CODEC_ENCODE)
+                    .description("Time spent encoding outgoing messages")
+                    .tag(CODEC_TAG, format.tag())
+                    .register(meterRegistry));
+            decodeTimers.put(format, Timer.builder(CODEC_DECODE)
+                    .description("Time spent decoding incoming messages")
+                    .tag(CODEC_TAG, format.tag())
+                    .register(meterRegistry));
+            messageSizes.put(format, DistributionSummary.builder(CODEC_MESSAGE_SIZE)
+                    .description("Size of encoded outgoing messages")
+                    .tag(CODEC_TAG, format.tag())
+                    .baseUnit("bytes")
+                    .register(meterRegistry));
+            bytesSent.put(format, Counter.builder(CODEC_BYTES_SENT)
+                    .description("Number of bytes written to web socket connections")
+                    .tag(CODEC_TAG, format.tag())
+                    .baseUnit("bytes")
+                    .register(meterRegistry));
+            bytesReceived.put(format, Counter.builder(CODEC_BYTES_RECEIVED)
+                    .description("Number of bytes received from web socket connections")
+                    .tag(CODEC_TAG, format.tag())
+                    .baseUnit("bytes")
+                    .register(meterRegistry));
+        }
+
+        Gauge.builder(OPEN_LOBBIES, lobbyService, LobbyService::getOpenLobbyCount)
+                .description("Number of open lobbies")
+                .strongReference(true)
+                .register(meterRegistry);
+        Gauge.builder(RUNNING_GAMES, lobbyService, LobbyService::getRunningGameCount)
+                .description("Number of lobbies with a started game that has not ended yet")
+                .strongReference(true)
+                .register(meterRegistry);
+        Gauge.builder(CONNECTED_PLAYERS, playerService, PlayerService::getConnectedPlayerCount)
+                .description("Number of players with an open web socket connection")
+                .strongReference(true)
+                .register(meterRegistry);
+        Gauge.builder(OPEN_TRADE_REQUESTS, tradingService, TradingService::getOpenTradeRequestCount)
+                .description("Number of player trade requests waiting for an answer")
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a broadcast message, which was encoded once per wire format of its recipients.
+     *
+     * @param recipients The number of players the message is sent to.
+     * @param encodings  The number of encodings performed for the message.
+     */
+    public void recordBroadcast(int recipients, int encodings) {
+        broadcasts.increment();
+        broadcastEncodings.increment(encodings);
+        broadcastRecipients.record(recipients);
+    }
+
+    /**
+     * Records the encoding of an outgoing message.
+     *
+     * @param format      The {@link WireFormat} the message was encoded in.
+     * @param nanos       The time spent encoding in nanoseconds.
+     * @param encodedSize The size of the encoded message in bytes.
+     */
+    public void recordEncoding(WireFormat format, long nanos, int encodedSize) {
+        encodeTimers.get(format).record(nanos, TimeUnit.NANOSECONDS);
+        messageSizes.get(format).record(encodedSize);
+    }
+
+    /**
+     * Records the decoding of an incoming message.
+     *
+     * @param format The {@link WireFormat} the message was encoded in.
+     * @param nanos  The time spent decoding in nanoseconds.
+     * @param size   The size of the received message in bytes.
+     */
+    public void recordDecoding(WireFormat format, long nanos, int size) {
+        decodeTimers.get(format).record(nanos, TimeUnit.NANOSECONDS);
+        bytesReceived.get(format).increment(size);
+    }
+
+    /**
+     * Records an encoded message written to a single connection.
+     *
+     * @param format The {@link WireFormat} of the message.
+     * @param size   The size of the message in bytes.
+     */
+    public void recordBytesSent(WireFormat format, int size) {
+        bytesSent.get(format).increment(size);
+    }
+
+    /**
+     * Records the handling of a client command.
+     *
+     * @param type  The {@link MessageType} of the command, commands without a type are not recorded.
+     * @param nanos The time spent handling the command in nanoseconds.
+     */
+    public void recordCommand(MessageType type, long nanos) {
+        if (type != null) {
+            commandTimers.get(type).record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Records the time it took to send a broadcast message to all its recipients.
+     *
+     * @param nanos The time from encoding until the last send completed in nanoseconds.
+     */
+    public void recordBroadcastDuration(long nanos) {
+        broadcastDuration.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the generation of a game board.
+     *
+     * @param sizeOfBoard The number of rings of tiles of the board.
+     * @param nanos       The time spent generating the board in nanoseconds.
+     */
+    public void recordBoardGeneration(int sizeOfBoard, long nanos) {
+        Timer.builder(BOARD_GENERATION)
+                .description("Time spent generating a game board")
+                .tag(BOARD_SIZE_TAG, String.valueOf(sizeOfBoard))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records a request for a game board from the board pool.
+     *
+     * @param sizeOfBoard The number of rings of tiles of the requested board.
+     * @param hit         Whether a pooled board was available, otherwise the board was generated on demand.
+     */
+    public void recordBoardPoolRequest(int sizeOfBoard, boolean hit) {
+        Counter.builder(BOARD_POOL_REQUESTS)
+                .description("Number of game boards requested from the board pool")
+                .tag(BOARD_SIZE_TAG, String.valueOf(sizeOfBoard))
+                .tag(BOARD_POOL_RESULT_TAG, hit ? "hit" : "miss")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Records the calculation of the longest road of a player.
+     *
+     * @param nanos The time spent calculating in nanoseconds.
+     */
+    public void recordLongestRoad(long nanos) {
+        longestRoad.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the append of an accepted command to the journal.
+     *
+     * @param type  The {@link JournalRecordType} of the record.
+     * @param nanos The time spent appending in nanoseconds.
+     */
+    public void recordJournalWrite(JournalRecordType type, long nanos) {
+        journalWriteTimers.get(type).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records a group commit of the journal.
+     *
+     * @param nanos   The time spent forcing the records to disk in nanoseconds.
+     * @param records The number of records forced to disk.
+     */
+    public void recordJournalFlush(long nanos, int records) {
+        journalFlush.record(nanos, TimeUnit.NANOSECONDS);
+        journalFlushRecords.record(records);
+    }
+
+    /**
+     * Records a written snapshot.
+     *
+     * @param nanos The time spent capturing the lobbies and writing the file in nanoseconds.
+     * @param size  The size of the snapshot file in bytes.
+     */
+    public void recordSnapshotWrite(long nanos, long size) {
+        snapshotWrite.record(nanos, TimeUnit.NANOSECONDS);
+        snapshotSize.record(size);
+    }
+
+    /**
+     * Records the restore of a snapshot on startup.
+     *
+     * @param nanos The time spent reading and restoring the snapshot in nanoseconds.
+     */
+    public void recordSnapshotRestore(long nanos) {
+        snapshotRestore.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records a request to another node of the cluster, including failed and timed out requests.
+     *
+     * @param type  The {@link ClusterMessageType} of the request.
+     * @param nanos The time until the response arrived or the request failed in nanoseconds.
+     */
+    public void recordClusterRequest(ClusterMessageType type, long nanos) {
+        Timer.builder(CLUSTER_REQUEST)
+                .description("Time spent waiting for the answer of another node of the cluster")
+                .tag(COMMAND_TYPE_TAG, type.name())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -4,8 +4,14 @@ import com.example.cataniaunited.exception.GameException;
 import com.example.cataniaunited.exception.ui.InsufficientResourcesException;
 import com.example.cataniaunited.game.board.ports.Port;
 import com.example.cataniaunited.game.board.tile_list_builder.TileType;
+import com.example.cataniaunited.snapshot.SnapshotReader;
+import com.example.cataniaunited.snapshot.SnapshotWriter;
 import io.quarkus.websockets.next.WebSocketConnection;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -21,9 +27,13 @@ import java.util.UUID;
  */
 public class Player {
 
+    private static final SecureRandom RESUME_TOKEN_RANDOM = new SecureRandom();
+    private static final int RESUME_TOKEN_BYTES = 32;
+
     private String username;
     private final String uniqueId;
-    private final WebSocketConnection connection;
+    private volatile WebSocketConnection connection;
+    private volatile String resumeToken = generateResumeToken(); // Proves the identity of the player when resuming a session
     private int victoryPoints = 0;
     HashMap<TileType, Integer> resources = new HashMap<>();
 
@@ -78,6 +88,59 @@ public class Player {
         this.connection = connection;
     }
 
+    /**
+     * Recreates a player with a known unique ID, e.g. when the player is restored from the game journal.
+     * The WebSocket connection will be null.
+     *
+     * @param uniqueId The unique ID the player had before.
+     * @param username The username of the player, a random username is generated if {@code null}.
+     * @return The restored player.
+     */
+    public static Player restore(String uniqueId, String username) {
+        return new Player(uniqueId, username == null ? "RandomPlayer_" + new Random().nextInt(10000) : username);
+    }
+
+    private Player(String uniqueId, String username) {
+        this.uniqueId = uniqueId;
+        this.username = username;
+        this.connection = null;
+        this.resumeToken = null; // Only known once restored from the journal or a snapshot
+    }
+
+    private static String generateResumeToken() {
+        byte[] token = new byte[RESUME_TOKEN_BYTES];
+        RESUME_TOKEN_RANDOM.nextBytes(token);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+
+    /**
+     * Writes the ID, username, resume token, victory points and resources of this player to a snapshot.
+     * The accessible ports are not written, they follow from the settlements on the restored game board.
+     *
+     * @param out The writer of the snapshot.
+     */
+    public void writeSnapshot(SnapshotWriter out) {
+        out.writeString(uniqueId);
+        out.writeString(username);
+        out.writeString(resumeToken);
+        out.writeZigzag(victoryPoints);
+        out.writeResources(resources);
+    }
+
+    /**
+     * Recreates a player written by {@link #writeSnapshot(SnapshotWriter)}. The WebSocket connection will be null.
+     *
+     * @param in The reader of the snapshot, positioned at the start of the player.
+     * @return The restored player.
+     */
+    public static Player readSnapshot(SnapshotReader in) {
+        Player player = new Player(in.readString(), in.readString());
+        player.resumeToken = in.readString();
+        player.victoryPoints = (int) in.readZigzag();
+        player.resources.putAll(in.readResources());
+        return player;
+    }
+
     public String getUsername() {
         return username;
     }
@@ -120,6 +183,41 @@ public class Player {
         return connection;
     }
 
+    /**
+     * Attaches the connection a player resumed its session with, see {@link PlayerService#resumePlayer}.
+     *
+     * @param connection The new {@link WebSocketConnection} of this player.
+     */
+    void attachConnection(WebSocketConnection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Gets the token the player has to present to resume its session on a new connection,
+     * e.g. after the server restarted.
+     *
+     * @return The resume token, or {@code null} if the session of this player cannot be resumed.
+     */
+    public String getResumeToken() {
+        return resumeToken;
+    }
+
+    void setResumeToken(String resumeToken) {
+        this.resumeToken = resumeToken;
+    }
+
+    /**
+     * Checks a resume token presented by a client in constant time.
+     *
+     * @param token The presented token.
+     * @return {@code true} if the token is the resume token of this player.
+     */
+    public boolean isResumeToken(String token) {
+        String expected = resumeToken;
+        return expected != null && token != null
+                && MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+
     /**
      * Gets the count of a specific resource type held by the player.
      *
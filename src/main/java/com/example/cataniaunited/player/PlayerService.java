@@ -1,20 +1,35 @@
 package com.example.cataniaunited.player;
 
+import com.example.cataniaunited.api.codec.EncodedMessage;
+import com.example.cataniaunited.api.codec.MessageCodec;
+import com.example.cataniaunited.api.codec.WireFormat;
+import com.example.cataniaunited.cluster.ClusterService;
 import com.example.cataniaunited.dto.MessageDTO;
 import com.example.cataniaunited.exception.GameException;
 import com.example.cataniaunited.game.board.tile_list_builder.TileType;
+import com.example.cataniaunited.journal.GameJournal;
+import com.example.cataniaunited.journal.JournalRecord;
+import com.example.cataniaunited.metrics.GameMetrics;
 import io.quarkus.websockets.next.WebSocketConnection;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service class for managing {@link Player} objects.
  * Handles adding, retrieving, and removing players, and associating them with WebSocket connections.
  * Also provides utility methods related to player state, like checking for win conditions.
+ * <p>
+ * In a cluster, this service also holds the players of other nodes which joined a lobby of this node.
+ * They have no connection here; messages to them are delivered by their home node, see {@link ClusterService}.
  * <br>
  * Important: This Service is Application Scoped which means it is a Singleton that handles
  * all existing Players, there should be no lengthy calculations in this Class to ensure that
@@ -27,8 +42,21 @@ public class PlayerService {
     private final ConcurrentHashMap<String, Player> playersByConnectionId = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, Player> playersById = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, WebSocketConnection> connectionsByPlayerId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> homeNodesByPlayerId = new ConcurrentHashMap<>();
     public static final int WIN_THRESHOLD = 10;
 
+    @Inject
+    MessageCodec messageCodec;
+
+    @Inject
+    GameMetrics gameMetrics;
+
+    @Inject
+    GameJournal gameJournal;
+
+    @Inject
+    ClusterService clusterService;
+
     /**
      * Adds a new player associated with a WebSocket connection.
      * The player is stored in maps indexed by connection ID and their unique player ID.
@@ -48,6 +76,107 @@ public class PlayerService {
         playersById.put(player.getUniqueId(), player);
     }
 
+    /**
+     * Restores a player recorded in the game journal. Restored players have no connection.
+     * If the player already exists, only a given username is applied.
+     *
+     * @param playerId The unique ID of the player.
+     * @param username The username of the player, or {@code null} to keep the current or a random one.
+     * @return The restored {@link Player}.
+     */
+    public Player restorePlayer(String playerId, String username) {
+        Player player = playersById.computeIfAbsent(playerId, id -> Player.restore(id, username));
+        if (username != null) {
+            player.setUsername(username);
+        }
+        return player;
+    }
+
+    /**
+     * Restores the resume token recorded in the game journal for a player, creating the player if needed.
+     *
+     * @param playerId    The unique ID of the player.
+     * @param resumeToken The resume token issued to the player.
+     */
+    public void restoreResumeToken(String playerId, String resumeToken) {
+        restorePlayer(playerId, null).setResumeToken(resumeToken);
+    }
+
+    /**
+     * Resumes the session of a player without a connection, e.g. a player restored after the server restarted,
+     * on a new connection. The player created for the new connection is discarded.
+     *
+     * @param playerId    The unique ID of the player whose session is resumed.
+     * @param resumeToken The resume token the player received when it connected before.
+     * @param connection  The new {@link WebSocketConnection} of the player.
+     * @return The resumed {@link Player}.
+     * @throws GameException if the token does not match, or the player is unknown or still connected.
+     */
+    public Player resumePlayer(String playerId, String resumeToken, WebSocketConnection connection) throws GameException {
+        Player player = playerId == null ? null : playersById.get(playerId);
+        if (player == null || !player.isResumeToken(resumeToken) || homeNodesByPlayerId.containsKey(playerId)) {
+            logger.warnf("Session cannot be resumed: playerId = %s, connection = %s", playerId, connection.id());
+            throw new GameException("Session cannot be resumed");
+        }
+        if (connectionsByPlayerId.putIfAbsent(playerId, connection) != null) {
+            logger.warnf("Session to resume is still connected: playerId = %s, connection = %s", playerId, connection.id());
+            throw new GameException("Session is still connected");
+        }
+        Player discarded = playersByConnectionId.put(connection.id(), player);
+        if (discarded != null && !discarded.equals(player)) {
+            playersById.remove(discarded.getUniqueId());
+            connectionsByPlayerId.remove(discarded.getUniqueId());
+        }
+        player.attachConnection(connection);
+        logger.infof("Session resumed: playerId = %s, connection = %s", playerId, connection.id());
+        return player;
+    }
+
+    /**
+     * Restores a player read from a snapshot, replacing a player with the same ID. Restored players have no connection.
+     *
+     * @param player The restored {@link Player}.
+     */
+    public void restorePlayer(Player player) {
+        playersById.put(player.getUniqueId(), player);
+    }
+
+    /**
+     * Registers a player connected to another node of the cluster, which sent a command for a lobby of this node.
+     * An unknown player is created, a known player gets the username of its home node.
+     *
+     * @param playerId The unique ID of the player.
+     * @param username The username of the player on its home node, or {@code null} to keep the current one.
+     * @param homeNode The ID of the node the player is connected to.
+     * @return The registered {@link Player}.
+     */
+    public Player registerRemotePlayer(String playerId, String username, String homeNode) {
+        Player player = restorePlayer(playerId, username);
+        homeNodesByPlayerId.put(playerId, homeNode);
+        return player;
+    }
+
+    /**
+     * Removes a player connected to another node of the cluster, after it disconnected from there.
+     *
+     * @param playerId The unique ID of the player.
+     */
+    public void removeRemotePlayer(String playerId) {
+        if (homeNodesByPlayerId.remove(playerId) != null) {
+            playersById.remove(playerId);
+        }
+    }
+
+    /**
+     * Gets the node a player of another node is connected to.
+     *
+     * @param playerId The unique ID of the player.
+     * @return The ID of the home node, or {@code null} for players connected to this node and unknown players.
+     */
+    public String getHomeNode(String playerId) {
+        return playerId == null ? null : homeNodesByPlayerId.get(playerId);
+    }
+
     /**
      * Retrieves a player by their associated WebSocket connection.
      *
@@ -96,6 +225,15 @@ public class PlayerService {
         connectionsByPlayerId.remove(player.getUniqueId());
     }
 
+    /**
+     * Gets the number of players with an open WebSocket connection.
+     *
+     * @return The number of connected players.
+     */
+    public int getConnectedPlayerCount() {
+        return connectionsByPlayerId.size();
+    }
+
     /**
      * Clears all player data from the service.
      * Intended for testing purposes to reset state.
@@ -103,6 +241,7 @@ public class PlayerService {
     public void clearAllPlayersForTesting() {
         playersByConnectionId.clear();
         playersById.clear();
+        homeNodesByPlayerId.clear();
     }
 
     /**
@@ -143,6 +282,7 @@ public class PlayerService {
             throw new GameException("Player with id %s not found", playerId);
         }
         player.setUsername(username);
+        gameJournal.append(JournalRecord.usernameSet(playerId, username));
     }
 
     /**
@@ -166,18 +306,113 @@ public class PlayerService {
         return conn;
     }
 
+    /**
+     * Gets the {@link WireFormat} negotiated by the connection of a player.
+     *
+     * @param playerId The unique ID of the player.
+     * @return The wire format of the player's connection, {@link WireFormat#JSON} if the player has no connection.
+     */
+    public WireFormat getWireFormat(String playerId) {
+        return playerId == null ? WireFormat.JSON : WireFormat.of(connectionsByPlayerId.get(playerId));
+    }
+
+    /**
+     * Sends a message to a player, via its home node if the player is connected to another node of the cluster.
+     *
+     * @param playerId The unique ID of the player.
+     * @param message  The {@link MessageDTO} to send.
+     * @return A Uni completing once the message was sent, or immediately if the player has no open connection.
+     */
     public Uni<Void> sendMessageToPlayer(String playerId, MessageDTO message) {
+        String homeNode = getHomeNode(playerId);
+        if (homeNode != null) {
+            return clusterService.deliver(homeNode, message, List.of(playerId));
+        }
         WebSocketConnection connection = getConnectionByPlayerId(playerId);
         if (connection == null) {
             logger.warnf("No web socket connection for player %s – message dropped!", playerId);
             return Uni.createFrom().voidItem();
         }
         logger.debugf("Sending message to player: playerId=%s, message=%s", playerId, message);
-        return connection.sendText(message)
+        return sendMessage(connection, message)
                 .onItem().invoke(v -> logger.debugf("Message sent: player=%s message=%s", playerId, message))
                 .onFailure().invoke(err -> logger.errorf(err, "Failed to send message: player=%s", playerId));
     }
 
+    /**
+     * Encodes a message in the {@link WireFormat} negotiated by the given connection and sends it.
+     *
+     * @param connection The {@link WebSocketConnection} to send the message to.
+     * @param message    The {@link MessageDTO} to send.
+     * @return A Uni completing once the message was sent, or failing if it could not be encoded or sent.
+     */
+    public Uni<Void> sendMessage(WebSocketConnection connection, MessageDTO message) {
+        EncodedMessage encoded;
+        try {
+            encoded = messageCodec.encode(message, WireFormat.of(connection));
+        } catch (IOException e) {
+            logger.errorf(e, "Could not encode message: connection = %s, message = %s", connection.id(), message);
+            return Uni.createFrom().failure(e);
+        }
+        return send(connection, encoded);
+    }
+
+    /**
+     * Sends an already encoded message to a player.
+     * Used for broadcasts, where a message is encoded once per wire format and written to every connection.
+     *
+     * @param playerId The unique ID of the player.
+     * @param message  The {@link EncodedMessage}, in the wire format of the player.
+     * @return A Uni completing once the message was sent, or immediately if the player has no open connection.
+     */
+    public Uni<Void> sendEncodedMessageToPlayer(String playerId, EncodedMessage message) {
+        WebSocketConnection connection = getConnectionByPlayerId(playerId);
+        if (connection == null) {
+            logger.warnf("No web socket connection for player %s – message dropped!", playerId);
+            return Uni.createFrom().voidItem();
+        }
+        logger.debugf("Sending encoded message to player: playerId=%s, format=%s, size=%d", playerId, message.format(), message.size());
+        return send(connection, message)
+                .onItem().invoke(v -> logger.debugf("Message sent: player=%s", playerId))
+                .onFailure().invoke(err -> logger.errorf(err, "Failed to send message: player=%s", playerId));
+    }
+
+    /**
+     * Sends a message delivered by another node of the cluster to players connected to this node.
+     * The message is encoded once per {@link WireFormat} of the recipients.
+     *
+     * @param message    The {@link MessageDTO} to send.
+     * @param recipients The unique IDs of the players.
+     * @return A Uni completing once the message was sent to all players with an open connection.
+     */
+    public Uni<Void> deliverMessage(MessageDTO message, List<String> recipients) {
+        Map<WireFormat, EncodedMessage> encodings = new EnumMap<>(WireFormat.class);
+        List<Uni<Void>> sendUnis = new ArrayList<>(recipients.size());
+        try {
+            for (String playerId : recipients) {
+                WireFormat format = getWireFormat(playerId);
+                EncodedMessage encoded = encodings.get(format);
+                if (encoded == null) {
+                    encoded = messageCodec.encode(message, format);
+                    encodings.put(format, encoded);
+                }
+                sendUnis.add(sendEncodedMessageToPlayer(playerId, encoded));
+            }
+        } catch (IOException e) {
+            logger.errorf(e, "Could not encode delivered message: message = %s", message);
+            return Uni.createFrom().failure(e);
+        }
+        if (sendUnis.isEmpty()) {
+            return Uni.createFrom().voidItem();
+        }
+        return Uni.join().all(sendUnis).andCollectFailures().replaceWithVoid();
+    }
+
+    private Uni<Void> send(WebSocketConnection connection, EncodedMessage message) {
+        gameMetrics.recordBytesSent(message.format(), message.size());
+        return message.sendTo(connection);
+    }
+
     /**
      * Initializes the player's resources map
      */
@@ -0,0 +1,31 @@
+package com.example.cataniaunited.snapshot;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * The state of a single lobby in a snapshot, captured by a command of the lobby.
+ * The players and the rest of the state are kept apart, so all players can be restored before the
+ * game boards referencing them.
+ *
+ * @param lobbyId   The ID of the lobby.
+ * @param position  The position of the journal when the lobby was captured; later records of the lobby are replayed.
+ * @param playerIds The IDs of the players in {@code players}, in the order they were written.
+ * @param players   The players of the lobby, as written by {@link com.example.cataniaunited.player.Player#writeSnapshot}.
+ * @param state     The lobby, its game board and its open trade requests.
+ */
+public record LobbySnapshot(
+        String lobbyId,
+        long position,
+        List<String> playerIds,
+        ByteBuffer players,
+        ByteBuffer state
+) {
+
+    /**
+     * @return The encoded size of the players and the state in bytes.
+     */
+    public int size() {
+        return players.remaining() + state.remaining();
+    }
+}
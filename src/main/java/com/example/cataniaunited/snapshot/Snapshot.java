@@ -0,0 +1,82 @@
+package com.example.cataniaunited.snapshot;
+
+import com.example.cataniaunited.journal.JournalRecord;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A snapshot of all lobbies of this node, each captured at its own position of the journal.
+ * <p>
+ * Lobbies are captured one after another while commands keep running, so a snapshot has no single position.
+ * Instead, a journal record is already part of the snapshot if it is not after the position its lobby was
+ * captured at. Records of a player without a lobby use the position of the lobby the player was captured
+ * with, and records of lobbies which are not part of the snapshot the position the snapshot was started at.
+ */
+public final class Snapshot {
+
+    private static final Snapshot EMPTY = new Snapshot(0, List.of());
+
+    private final long startPosition;
+    private final List<LobbySnapshot> lobbies;
+    private final Map<String, LobbySnapshot> lobbiesById = new HashMap<>();
+    private final Map<String, LobbySnapshot> lobbiesByPlayerId = new HashMap<>();
+
+    /**
+     * @param startPosition The position of the journal before the first lobby was captured.
+     * @param lobbies       The captured lobbies.
+     */
+    public Snapshot(long startPosition, List<LobbySnapshot> lobbies) {
+        this.startPosition = startPosition;
+        this.lobbies = List.copyOf(lobbies);
+        for (LobbySnapshot lobby : this.lobbies) {
+            lobbiesById.put(lobby.lobbyId(), lobby);
+            for (String playerId : lobby.playerIds()) {
+                // A player in several lobbies is taken from the lobby captured last
+                lobbiesByPlayerId.merge(playerId, lobby, (current, next) -> next.position() > current.position() ? next : current);
+            }
+        }
+    }
+
+    /**
+     * @return A snapshot without lobbies, which does not cover any record of the journal.
+     */
+    public static Snapshot empty() {
+        return EMPTY;
+    }
+
+    public long getStartPosition() {
+        return startPosition;
+    }
+
+    public List<LobbySnapshot> getLobbies() {
+        return lobbies;
+    }
+
+    /**
+     * Checks whether the state of a player is restored from the given lobby. Players in several lobbies
+     * are written with each of them, but only restored once.
+     *
+     * @param playerId The ID of the player.
+     * @param lobby    A lobby of the snapshot which contains the player.
+     * @return {@code true} if the player is restored from this lobby.
+     */
+    public boolean isRestoredWith(String playerId, LobbySnapshot lobby) {
+        return lobbiesByPlayerId.get(playerId) == lobby;
+    }
+
+    /**
+     * Checks whether the effect of a journal record is already part of this snapshot.
+     *
+     * @param record   The record.
+     * @param position The position of the record in the journal.
+     * @return {@code true} if the record must not be replayed on top of the snapshot.
+     */
+    public boolean covers(JournalRecord record, long position) {
+        LobbySnapshot lobby = record.lobbyId() != null
+                ? lobbiesById.get(record.lobbyId())
+                : lobbiesByPlayerId.get(record.playerId());
+        return position <= (lobby != null ? lobby.position() : startPosition);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.cataniaunited.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Reads and writes the files of the {@link SnapshotService}.
+ * <pre>
+ * snapshot = magic:u32 version:u32 startPosition:u64 lobbyCount:u32 lobby* crc32c:u32
+ * lobby    = lobbyId:string position:u64 playerIds:string* players:bytes state:bytes
+ * bytes    = length:varint data
+ * </pre>
+ * Strings and lengths are encoded as by {@link SnapshotWriter}. The checksum covers everything before it.
+ * A snapshot is written to a temporary file first and moved into place once it is on disk, so a crash while
+ * writing never leaves a partial snapshot behind.
+ */
+final class SnapshotFile {
+
+    static final int MAGIC = 0x534E4150; // "SNAP"
+    static final int VERSION = 2;
+    private static final int HEADER_SIZE = 20;
+    private static final int CHECKSUM_SIZE = 4;
+
+    private SnapshotFile() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Writes a snapshot to disk.
+     *
+     * @param path     The path of the snapshot, replaced if it exists.
+     * @param snapshot The snapshot to write.
+     * @return The size of the file in bytes.
+     * @throws IOException if the file cannot be written.
+     */
+    static long write(Path path, Snapshot snapshot) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        CRC32C checksum = new CRC32C();
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream file = Channels.newOutputStream(channel);
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(file), checksum));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(snapshot.getStartPosition());
+            out.writeInt(snapshot.getLobbies().size());
+            for (LobbySnapshot lobby : snapshot.getLobbies()) {
+                SnapshotWriter section = new SnapshotWriter();
+                section.writeString(lobby.lobbyId());
+                section.writeLong(lobby.position());
+                section.writeStrings(lobby.playerIds());
+                section.writeBytes(lobby.players());
+                section.writeBytes(lobby.state());
+                section.writeTo(out);
+            }
+            out.flush();
+            new DataOutputStream(file).writeInt((int) checksum.getValue());
+            channel.force(true);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return Files.size(path);
+    }
+
+    /**
+     * Reads only the journal position a snapshot was taken at, without reading or checking the whole file.
+     *
+     * @param path The path of the snapshot.
+     * @return The start position of the snapshot, see {@link Snapshot#getStartPosition()}.
+     * @throws IOException if the file cannot be read or is not a snapshot of a supported version.
+     */
+    static long readStartPosition(Path path) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(16);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Read until the header is complete or the file ends
+            }
+        }
+        if (header.hasRemaining() || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IOException("Not a snapshot of version " + VERSION + ": " + path);
+        }
+        return header.getLong(8);
+    }
+
+    /**
+     * Reads a snapshot from disk. The states of the lobbies are views of the read file and are not decoded yet.
+     *
+     * @param path The path of the snapshot.
+     * @return The snapshot.
+     * @throws IOException if the file cannot be read, is not a snapshot of a supported version, or is corrupt.
+     */
+    static Snapshot read(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (buffer.remaining() < HEADER_SIZE + CHECKSUM_SIZE
+                || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a snapshot of version " + VERSION + ": " + path);
+        }
+        int end = buffer.limit() - CHECKSUM_SIZE;
+        CRC32C checksum = new CRC32C();
+        checksum.update(buffer.slice(0, end));
+        if ((int) checksum.getValue() != buffer.getInt(end)) {
+            throw new IOException("Checksum mismatch in snapshot: " + path);
+        }
+        try {
+            long startPosition = buffer.getLong(8);
+            int lobbyCount = buffer.getInt(16);
+            SnapshotReader in = new SnapshotReader(buffer.slice(HEADER_SIZE, end - HEADER_SIZE));
+            List<LobbySnapshot> lobbies = new ArrayList<>(lobbyCount);
+            for (int i = 0; i < lobbyCount; i++) {
+                lobbies.add(new LobbySnapshot(in.readString(), in.readLong(), in.readStrings(), in.readBytes(), in.readBytes()));
+            }
+            return new Snapshot(startPosition, lobbies);
+        } catch (RuntimeException e) {
+            throw new IOException("Malformed snapshot: " + path, e);
+        }
+    }
+}
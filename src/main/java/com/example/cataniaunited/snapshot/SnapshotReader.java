@@ -0,0 +1,145 @@
+package com.example.cataniaunited.snapshot;
+
+import com.example.cataniaunited.game.board.tile_list_builder.TileType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodes state written by a {@link SnapshotWriter}. Values must be read in the order they were written.
+ * <p>
+ * A truncated snapshot fails with a {@link java.nio.BufferUnderflowException}, any other malformed value
+ * with an {@link IllegalArgumentException}.
+ */
+public final class SnapshotReader {
+
+    private static final TileType[] TILE_TYPES = TileType.values();
+
+    private final ByteBuffer buffer;
+
+    /**
+     * @param buffer The encoded state, from its position to its limit. The reader consumes the buffer.
+     */
+    public SnapshotReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    public boolean readBoolean() {
+        return buffer.get() != 0;
+    }
+
+    public long readVarint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in snapshot");
+    }
+
+    /**
+     * Reads a varint which is used as a size, count or ID.
+     *
+     * @return The value.
+     * @throws IllegalArgumentException if the value does not fit into an int.
+     */
+    public int readInt() {
+        long value = readVarint();
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Value out of range in snapshot: " + value);
+        }
+        return (int) value;
+    }
+
+    public long readZigzag() {
+        long encoded = readVarint();
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+
+    public long readLong() {
+        return buffer.getLong();
+    }
+
+    public String readString() {
+        int length = readInt();
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public List<String> readStrings() {
+        int count = readInt();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString());
+        }
+        return values;
+    }
+
+    /**
+     * Reads an enum value written by {@link SnapshotWriter#writeEnum(Enum)}.
+     *
+     * @param values The values of the enum, in declaration order.
+     * @param <E>    The type of the enum.
+     * @return The value, or {@code null}.
+     * @throws IllegalArgumentException if the ordinal is unknown.
+     */
+    public <E extends Enum<E>> E readEnum(E[] values) {
+        int code = readInt();
+        if (code > values.length) {
+            throw new IllegalArgumentException("Unknown ordinal in snapshot: " + (code - 1));
+        }
+        return code == 0 ? null : values[code - 1];
+    }
+
+    public Map<String, Integer> readCounts() {
+        int count = readInt();
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            counts.put(readString(), (int) readZigzag());
+        }
+        return counts;
+    }
+
+    public Map<TileType, Integer> readResources() {
+        int count = readInt();
+        if (count == 0) {
+            return null;
+        }
+        Map<TileType, Integer> resources = new EnumMap<>(TileType.class);
+        for (int i = 0; i < count - 1; i++) {
+            resources.put(readEnum(TILE_TYPES), (int) readZigzag());
+        }
+        return resources;
+    }
+
+    /**
+     * Reads a nested block written by {@link SnapshotWriter#writeBytes(byte[])} without copying it.
+     *
+     * @return A read-only view of the block.
+     */
+    public ByteBuffer readBytes() {
+        int length = readInt();
+        ByteBuffer block = buffer.slice(buffer.position(), length).asReadOnlyBuffer();
+        buffer.position(buffer.position() + length);
+        return block;
+    }
+
+    /**
+     * @return The number of bytes left to read.
+     */
+    public int remaining() {
+        return buffer.remaining();
+    }
+}
@@ -0,0 +1,379 @@
+package com.example.cataniaunited.snapshot;
+
+import com.example.cataniaunited.exception.GameException;
+import com.example.cataniaunited.game.GameService;
+import com.example.cataniaunited.game.board.GameBoard;
+import com.example.cataniaunited.game.trade.PlayerTradeRequest;
+import com.example.cataniaunited.game.trade.TradeRequest;
+import com.example.cataniaunited.game.trade.TradingService;
+import com.example.cataniaunited.journal.GameJournal;
+import com.example.cataniaunited.lobby.Lobby;
+import com.example.cataniaunited.lobby.LobbyCommandExecutor;
+import com.example.cataniaunited.lobby.LobbyService;
+import com.example.cataniaunited.metrics.GameMetrics;
+import com.example.cataniaunited.player.Player;
+import com.example.cataniaunited.player.PlayerService;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+/**
+ * Periodically writes a compact binary {@link Snapshot} of all lobbies, their players, game boards and open
+ * trade requests, so a restart only replays the journal written since the latest snapshot instead of the
+ * whole journal.
+ * <p>
+ * Every lobby is captured by a command submitted to its mailbox of the {@link LobbyCommandExecutor}, so the
+ * state is consistent without stopping any other lobby; a lobby only waits while its own state is encoded
+ * in memory. Writing the file happens afterwards on the snapshot thread. Games are reseeded while they are
+ * captured, as the state of their generator cannot be saved, see {@link GameService#reseedGame(String, long)}.
+ * <p>
+ * On startup, {@link com.example.cataniaunited.journal.JournalRecovery} restores the latest readable snapshot
+ * through {@link #restore()}, decoding the lobbies in parallel, and then replays the journal records the
+ * snapshot does not cover. Snapshots are only taken and restored while the journal is enabled, as they only shorten
+ * its replay. Once written, the journal segments before the oldest retained snapshot are deleted, as no restore
+ * replays them again.
+ */
+@ApplicationScoped
+public class SnapshotService {
+
+    private static final Logger logger = Logger.getLogger(SnapshotService.class);
+
+    static final String SNAPSHOT_FORMAT = "snapshot-%010d.snapshot";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final long CAPTURE_TIMEOUT_SECONDS = 30;
+    private static final String MISSING_DIRECTORY = "qatania.snapshot.directory must be set if snapshots are enabled";
+
+    @ConfigProperty(name = "qatania.snapshot.enabled")
+    boolean enabled = false;
+
+    @ConfigProperty(name = "qatania.snapshot.directory")
+    Optional<String> directory = Optional.empty();
+
+    @ConfigProperty(name = "qatania.snapshot.interval-seconds")
+    long intervalSeconds = 60;
+
+    @ConfigProperty(name = "qatania.snapshot.retained")
+    int retained = 2;
+
+    @Inject
+    LobbyService lobbyService;
+
+    @Inject
+    GameService gameService;
+
+    @Inject
+    PlayerService playerService;
+
+    @Inject
+    TradingService tradingService;
+
+    @Inject
+    LobbyCommandExecutor lobbyCommandExecutor;
+
+    @Inject
+    GameJournal gameJournal;
+
+    @Inject
+    GameMetrics gameMetrics;
+
+    private ScheduledExecutorService snapshotThread;
+    private long lastSnapshotPosition = -1;
+
+    @PostConstruct
+    void start() {
+        if (enabled && directory.isEmpty()) {
+            throw new IllegalStateException(MISSING_DIRECTORY);
+        }
+    }
+
+    /**
+     * Starts taking snapshots periodically. Called once the state of the node was recovered, as a snapshot
+     * taken while the journal is replayed would reseed games without recording it.
+     */
+    public void scheduleSnapshots() {
+        if (!isEnabled() || snapshotThread != null) {
+            return;
+        }
+        snapshotThread = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("snapshot-writer").daemon().factory());
+        snapshotThread.scheduleWithFixedDelay(this::takeSnapshotIfChanged, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        logger.infof("Taking snapshots: directory = %s, intervalSeconds = %d", directory.get(), intervalSeconds);
+    }
+
+    private boolean isEnabled() {
+        return enabled && gameJournal.isEnabled();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (snapshotThread != null) {
+            snapshotThread.shutdownNow();
+        }
+    }
+
+    private void takeSnapshotIfChanged() {
+        try {
+            if (gameJournal.getPosition() != lastSnapshotPosition) {
+                takeSnapshot();
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.errorf(e, "Could not take snapshot");
+        }
+    }
+
+    /**
+     * Captures all lobbies and writes them to a new snapshot file. Older snapshots beyond the retained
+     * number and the journal segments they no longer need are deleted afterwards.
+     *
+     * @return The written snapshot, or {@code null} if a lobby could not be captured in time.
+     * @throws IOException if the snapshot cannot be written.
+     */
+    Snapshot takeSnapshot() throws IOException {
+        long start = System.nanoTime();
+        long startPosition = gameJournal.getPosition();
+        List<CompletableFuture<LobbySnapshot>> captures = lobbyService.getOpenLobbies().stream()
+                .map(lobby -> lobbyCommandExecutor.submit(lobby.getLobbyId(), () -> Uni.createFrom().item(() -> capture(lobby.getLobbyId())))
+                        .subscribeAsCompletionStage())
+                .toList();
+        List<LobbySnapshot> lobbies = new ArrayList<>(captures.size());
+        for (CompletableFuture<LobbySnapshot> capture : captures) {
+            try {
+                LobbySnapshot lobby = capture.get(CAPTURE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                if (lobby != null) {
+                    lobbies.add(lobby);
+                }
+            } catch (ExecutionException | TimeoutException e) {
+                // The records of a missing lobby would be skipped on restore, so the snapshot is not usable
+                logger.errorf(e, "Could not capture lobby, skipping snapshot");
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+
+        Snapshot snapshot = new Snapshot(startPosition, lobbies);
+        Path dir = snapshotDirectory();
+        Files.createDirectories(dir);
+        List<Path> snapshots = listSnapshots();
+        long index = snapshots.isEmpty() ? 0 : indexOf(snapshots.get(snapshots.size() - 1)) + 1;
+        Path path = dir.resolve(SNAPSHOT_FORMAT.formatted(index));
+        long size = SnapshotFile.write(path, snapshot);
+        lastSnapshotPosition = gameJournal.getPosition();
+        long nanos = System.nanoTime() - start;
+        gameMetrics.recordSnapshotWrite(nanos, size);
+        logger.infof("Snapshot written: path = %s, lobbies = %d, size = %d bytes, duration = %dms",
+                path, lobbies.size(), size, nanos / 1_000_000);
+        deleteOldSnapshots();
+        deleteCoveredSegments();
+        return snapshot;
+    }
+
+    /**
+     * Encodes the state of a lobby. Runs as a command of the lobby, so nothing else modifies the state meanwhile.
+     *
+     * @param lobbyId The ID of the lobby.
+     * @return The captured lobby, {@code null} if the lobby was closed meanwhile.
+     */
+    private LobbySnapshot capture(String lobbyId) {
+        Lobby lobby;
+        try {
+            lobby = lobbyService.getLobbyById(lobbyId);
+        } catch (GameException e) {
+            logger.debugf("Lobby closed before it was captured: lobbyId = %s", lobbyId);
+            return null;
+        }
+
+        SnapshotWriter players = new SnapshotWriter();
+        List<String> playerIds = new ArrayList<>();
+        for (String playerId : lobby.getPlayers()) {
+            Player player = playerService.getPlayerById(playerId);
+            if (player != null) {
+                player.writeSnapshot(players);
+                playerIds.add(playerId);
+            }
+        }
+
+        SnapshotWriter state = new SnapshotWriter();
+        lobby.writeSnapshot(state);
+        boolean hasGame = gameService.hasGameboard(lobbyId);
+        state.writeBoolean(hasGame);
+        if (hasGame) {
+            try {
+                GameBoard gameboard = gameService.getGameboardByLobbyId(lobbyId);
+                gameService.reseedGame(lobbyId, gameboard.getRandom().nextLong());
+                gameboard.writeSnapshot(state);
+            } catch (GameException e) {
+                throw new IllegalStateException("Game board of lobby disappeared while capturing it: " + lobbyId, e);
+            }
+        }
+        Map<String, PlayerTradeRequest> trades = tradingService.getOpenTradeRequestsOfLobby(lobbyId);
+        state.writeVarint(trades.size());
+        trades.forEach((tradeId, trade) -> {
+            state.writeString(tradeId);
+            state.writeString(trade.targetPlayerId());
+            state.writeString(trade.sourcePlayerId());
+            state.writeResources(trade.trade().offeredResources());
+            state.writeResources(trade.trade().targetResources());
+        });
+
+        return new LobbySnapshot(lobbyId, gameJournal.getPosition(), playerIds,
+                ByteBuffer.wrap(players.toByteArray()), ByteBuffer.wrap(state.toByteArray()));
+    }
+
+    /**
+     * Restores the lobbies of the latest readable snapshot. All players are restored first, then the lobbies
+     * with their game boards and trade requests are decoded, both in parallel across lobbies. A lobby which
+     * cannot be restored is logged and skipped.
+     * <p>
+     * Must be called on startup, before any command is accepted and before the journal is recovered.
+     *
+     * @return The restored snapshot, to decide which journal records still have to be replayed;
+     * {@link Snapshot#empty()} if there is no readable snapshot.
+     */
+    public Snapshot restore() {
+        if (!isEnabled()) {
+            return Snapshot.empty();
+        }
+        List<Path> snapshots;
+        try {
+            snapshots = listSnapshots();
+        } catch (IOException e) {
+            logger.errorf(e, "Could not list snapshots, replaying the whole journal");
+            return Snapshot.empty();
+        }
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            long start = System.nanoTime();
+            Snapshot snapshot;
+            try {
+                snapshot = SnapshotFile.read(snapshots.get(i));
+            } catch (IOException e) {
+                logger.warnf(e, "Could not read snapshot, trying an older one: %s", snapshots.get(i));
+                continue;
+            }
+            snapshot.getLobbies().parallelStream().forEach(lobby -> restorePlayers(snapshot, lobby));
+            snapshot.getLobbies().parallelStream()
+                    .map(this::readLobby)
+                    .filter(Objects::nonNull)
+                    .toList()
+                    .forEach(this::register); // Players of several lobbies get ports from each board
+            long nanos = System.nanoTime() - start;
+            gameMetrics.recordSnapshotRestore(nanos);
+            logger.infof("Restored snapshot: path = %s, lobbies = %d, duration = %dms",
+                    snapshots.get(i), snapshot.getLobbies().size(), nanos / 1_000_000);
+            return snapshot;
+        }
+        return Snapshot.empty();
+    }
+
+    private void restorePlayers(Snapshot snapshot, LobbySnapshot lobby) {
+        SnapshotReader in = new SnapshotReader(lobby.players().duplicate());
+        for (int i = 0; i < lobby.playerIds().size(); i++) {
+            Player player = Player.readSnapshot(in);
+            if (snapshot.isRestoredWith(player.getUniqueId(), lobby)) {
+                playerService.restorePlayer(player);
+            }
+        }
+    }
+
+    /**
+     * Decodes a lobby with its game board, the expensive part of the restore, as the layout of the board is
+     * generated again. Nothing is registered yet, so lobbies can be decoded in parallel.
+     */
+    private RestoredLobby readLobby(LobbySnapshot snapshot) {
+        try {
+            SnapshotReader in = new SnapshotReader(snapshot.state().duplicate());
+            Lobby lobby = Lobby.readSnapshot(in);
+            GameBoard gameboard = in.readBoolean() ? GameBoard.readSnapshot(in, playerService::getPlayerById) : null;
+            Map<String, PlayerTradeRequest> trades = new LinkedHashMap<>();
+            for (int i = in.readInt(); i > 0; i--) {
+                String tradeId = in.readString();
+                String targetPlayerId = in.readString();
+                String sourcePlayerId = in.readString();
+                TradeRequest trade = new TradeRequest(in.readResources(), in.readResources());
+                trades.put(tradeId, new PlayerTradeRequest(targetPlayerId, sourcePlayerId, trade));
+            }
+            return new RestoredLobby(lobby, gameboard, trades);
+        } catch (GameException | RuntimeException e) {
+            logger.warnf(e, "Could not restore lobby from snapshot: lobbyId = %s", snapshot.lobbyId());
+            return null;
+        }
+    }
+
+    private void register(RestoredLobby restored) {
+        String lobbyId = restored.lobby().getLobbyId();
+        if (restored.gameboard() != null) {
+            gameService.restoreGameboard(lobbyId, restored.gameboard());
+        }
+        restored.trades().forEach(tradingService::restorePlayerTradeRequest);
+        lobbyService.restoreLobby(restored.lobby());
+    }
+
+    private record RestoredLobby(Lobby lobby, GameBoard gameboard, Map<String, PlayerTradeRequest> trades) {
+    }
+
+    private void deleteOldSnapshots() throws IOException {
+        List<Path> snapshots = listSnapshots();
+        for (int i = 0; i < snapshots.size() - Math.max(retained, 1); i++) {
+            Files.deleteIfExists(snapshots.get(i));
+            logger.debugf("Deleted old snapshot: %s", snapshots.get(i));
+        }
+    }
+
+    /**
+     * Deletes the journal segments before the oldest retained snapshot. A restore falls back to older snapshots
+     * at most down to this one, so it never replays these segments again.
+     */
+    private void deleteCoveredSegments() throws IOException {
+        List<Path> snapshots = listSnapshots();
+        if (!snapshots.isEmpty()) {
+            gameJournal.deleteSegmentsBefore(SnapshotFile.readStartPosition(snapshots.get(0)));
+        }
+    }
+
+    private Path snapshotDirectory() {
+        return Path.of(directory.orElseThrow(() -> new IllegalStateException(MISSING_DIRECTORY)));
+    }
+
+    private List<Path> listSnapshots() throws IOException {
+        Path dir = snapshotDirectory();
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+                    })
+                    .sorted() // Indices are zero padded
+                    .toList();
+        }
+    }
+
+    private static long indexOf(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length()));
+    }
+}
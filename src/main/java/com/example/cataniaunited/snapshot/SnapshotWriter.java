@@ -0,0 +1,168 @@
+package com.example.cataniaunited.snapshot;
+
+import com.example.cataniaunited.game.board.tile_list_builder.TileType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Encodes the state of a lobby into the compact binary format of a snapshot, see {@link SnapshotReader}
+ * for reading it back. The state is written into a growing array, so the size is not known upfront.
+ * <p>
+ * Integers are unsigned LEB128 varints and signed values are zigzag encoded, like in the journal.
+ * Strings and enums may be {@code null}; collections are written as their size followed by their elements.
+ */
+public final class SnapshotWriter {
+
+    private static final int INITIAL_SIZE = 256;
+
+    private byte[] bytes = new byte[INITIAL_SIZE];
+    private int size;
+
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    public void writeVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        writeByte((int) value);
+    }
+
+    public void writeZigzag(long value) {
+        writeVarint((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Writes a value with all of its 64 bits, for seeds and positions which are rarely small.
+     *
+     * @param value The value to write, big endian.
+     */
+    public void writeLong(long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            writeByte((int) (value >>> shift));
+        }
+    }
+
+    public void writeString(String value) {
+        if (value == null) {
+            writeVarint(0);
+            return;
+        }
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(encoded.length + 1L);
+        append(encoded);
+    }
+
+    public void writeStrings(Collection<String> values) {
+        writeVarint(values.size());
+        for (String value : values) {
+            writeString(value);
+        }
+    }
+
+    public void writeEnum(Enum<?> value) {
+        writeVarint(value == null ? 0 : value.ordinal() + 1L);
+    }
+
+    /**
+     * Writes a map from IDs to counts, such as the cheats per player of a lobby.
+     *
+     * @param counts The counts to write.
+     */
+    public void writeCounts(Map<String, Integer> counts) {
+        writeVarint(counts.size());
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            writeString(entry.getKey());
+            writeZigzag(entry.getValue());
+        }
+    }
+
+    /**
+     * Writes the resources of a player or a trade. A {@code null} map is written as such.
+     *
+     * @param resources The resources to write.
+     */
+    public void writeResources(Map<TileType, Integer> resources) {
+        if (resources == null) {
+            writeVarint(0);
+            return;
+        }
+        writeVarint(resources.size() + 1L);
+        for (Map.Entry<TileType, Integer> entry : resources.entrySet()) {
+            writeEnum(entry.getKey());
+            writeZigzag(entry.getValue() == null ? 0 : entry.getValue());
+        }
+    }
+
+    /**
+     * Writes a nested block of state, e.g. the encoded state of a lobby, prefixed with its length.
+     *
+     * @param value The bytes to write.
+     */
+    public void writeBytes(byte[] value) {
+        writeVarint(value.length);
+        append(value);
+    }
+
+    /**
+     * Writes a nested block like {@link #writeBytes(byte[])}, from the position to the limit of the buffer.
+     *
+     * @param value The bytes to write. The position of the buffer is not changed.
+     */
+    public void writeBytes(ByteBuffer value) {
+        int length = value.remaining();
+        writeVarint(length);
+        ensureCapacity(length);
+        value.get(value.position(), bytes, size, length);
+        size += length;
+    }
+
+    private void append(byte[] value) {
+        ensureCapacity(value.length);
+        System.arraycopy(value, 0, bytes, size, value.length);
+        size += value.length;
+    }
+
+    private void writeByte(int value) {
+        ensureCapacity(1);
+        bytes[size++] = (byte) value;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (size + additional > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+        }
+    }
+
+    /**
+     * @return The number of bytes written so far.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Copies the bytes written so far to a stream.
+     *
+     * @param out The stream to write to.
+     * @throws IOException if the stream fails to write.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(bytes, 0, size);
+    }
+
+    /**
+     * @return A copy of the bytes written so far.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.cataniaunited.util;
+
+import java.security.SecureRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Creates the random generators of games. Every game draws all of its randomness (board layout, ports,
+ * turn order, dice and punishments) from a single generator created from a recorded seed, so a game can be
+ * replayed exactly by creating a generator from the same seed.
+ * <p>
+ * Seeds of live games are drawn from a {@link SecureRandom}, so they stay unpredictable to the players.
+ */
+public class GameRandom {
+
+    static final String ALGORITHM = "L64X128MixRandom";
+    private static final RandomGeneratorFactory<RandomGenerator> FACTORY = RandomGeneratorFactory.of(ALGORITHM);
+    private static final SecureRandom SEED_SOURCE = new SecureRandom();
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     *
+     * @throws IllegalStateException if an attempt is made to instantiate the class.
+     */
+    private GameRandom() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Draws a new, unpredictable seed for a game.
+     *
+     * @return The seed.
+     */
+    public static long newSeed() {
+        return SEED_SOURCE.nextLong();
+    }
+
+    /**
+     * Creates the generator of a game. Two generators created from the same seed produce the same sequence.
+     *
+     * @param seed The seed of the game.
+     * @return A new generator seeded with the given seed.
+     */
+    public static RandomGenerator fromSeed(long seed) {
+        return FACTORY.create(seed);
+    }
+
+    /**
+     * Creates a generator from a new seed, for randomness that is not part of a recorded game.
+     *
+     * @return A new generator seeded with an unpredictable seed.
+     */
+    public static RandomGenerator newGenerator() {
+        return fromSeed(newSeed());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.cataniaunited.api;
+
+import com.example.cataniaunited.cluster.ClusterService;
+import io.quarkus.websockets.next.HttpUpgradeCheck.CheckResult;
+import io.quarkus.websockets.next.HttpUpgradeCheck.HttpUpgradeContext;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.net.SocketAddress;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class ClusterUpgradeCheckTest {
+
+    private ClusterUpgradeCheck clusterUpgradeCheck;
+    private ClusterService clusterService;
+    private HttpServerRequest request;
+
+    @BeforeEach
+    void setUp() {
+        clusterService = mock(ClusterService.class);
+        clusterUpgradeCheck = new ClusterUpgradeCheck();
+        clusterUpgradeCheck.clusterService = clusterService;
+
+        SocketAddress localAddress = mock(SocketAddress.class);
+        doReturn("10.0.0.1").when(localAddress).host();
+        request = mock(HttpServerRequest.class);
+        doReturn(localAddress).when(request).localAddress();
+        doReturn("node-2").when(request).getHeader(ClusterService.NODE_HEADER);
+        doReturn("cluster-secret").when(request).getHeader(ClusterService.SECRET_HEADER);
+    }
+
+    @Test
+    void checkShouldOnlyApplyToTheClusterEndpoint() {
+        assertTrue(clusterUpgradeCheck.appliesTo(ClusterWebSocket.ENDPOINT_ID));
+        assertFalse(clusterUpgradeCheck.appliesTo(GameWebSocket.class.getName()));
+    }
+
+    @Test
+    void upgradeShouldBeRefusedWithoutCluster() {
+        CheckResult result = perform();
+
+        assertFalse(result.isUpgradePermitted());
+        assertEquals(404, result.getHttpResponseCode());
+    }
+
+    @Test
+    void upgradeShouldBeRejectedIfNodeIsNotAuthenticated() {
+        doReturn(true).when(clusterService).isEnabled();
+        doReturn(false).when(clusterService).authenticate("node-2", "cluster-secret", "10.0.0.1");
+
+        CheckResult result = perform();
+
+        assertFalse(result.isUpgradePermitted());
+        assertEquals(403, result.getHttpResponseCode());
+    }
+
+    @Test
+    void upgradeShouldBePermittedForAuthenticatedPeer() {
+        doReturn(true).when(clusterService).isEnabled();
+        doReturn(true).when(clusterService).authenticate("node-2", "cluster-secret", "10.0.0.1");
+
+        assertTrue(perform().isUpgradePermitted());
+    }
+
+    private CheckResult perform() {
+        return clusterUpgradeCheck.perform(new HttpUpgradeContext(request, null, ClusterWebSocket.ENDPOINT_ID))
+                .await().indefinitely();
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.cataniaunited.api;
+
+import com.example.cataniaunited.cluster.ClusterMessage;
+import com.example.cataniaunited.cluster.ClusterMessageType;
+import com.example.cataniaunited.cluster.ClusterService;
+import com.example.cataniaunited.cluster.LobbyListing;
+import com.example.cataniaunited.dto.MessageDTO;
+import com.example.cataniaunited.dto.MessageType;
+import com.example.cataniaunited.exception.GameException;
+import com.example.cataniaunited.lobby.LobbyService;
+import com.example.cataniaunited.player.Player;
+import com.example.cataniaunited.player.PlayerService;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.mockito.InjectSpy;
+import io.quarkus.websockets.next.BasicWebSocketConnector;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+
+@QuarkusTest
+class ClusterWebSocketTest {
+
+    private static final String REMOTE_PLAYER = "remote-player";
+    private static final String PEER = "node-2";
+
+    @Inject
+    ClusterWebSocket clusterWebSocket;
+
+    @Inject
+    LobbyService lobbyService;
+
+    @Inject
+    PlayerService playerService;
+
+    @InjectSpy
+    ClusterService clusterService;
+
+    @TestHTTPResource
+    URI serverUri;
+
+    @BeforeEach
+    void setUp() {
+        doReturn(true).when(clusterService).isPeer(PEER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        lobbyService.clearLobbies();
+        playerService.clearAllPlayersForTesting();
+    }
+
+    @Test
+    void forwardedJoinShouldRegisterThePlayerWithItsHomeNode() throws GameException {
+        String lobbyId = createLobby();
+        MessageDTO join = new MessageDTO(MessageType.JOIN_LOBBY, REMOTE_PLAYER, lobbyId);
+
+        ClusterMessage response = clusterWebSocket.handleClusterMessage(ClusterMessage.forward(7, "node-2", join, "Remote"), PEER)
+                .await().indefinitely();
+
+        assertEquals(ClusterMessageType.RESPONSE, response.type());
+        assertEquals(7, response.requestId());
+        assertEquals(MessageType.PLAYER_JOINED, response.message().getType());
+        assertTrue(lobbyService.getLobbyById(lobbyId).getPlayers().contains(REMOTE_PLAYER));
+        assertEquals("node-2", playerService.getHomeNode(REMOTE_PLAYER));
+        assertEquals("Remote", playerService.getPlayerById(REMOTE_PLAYER).getUsername());
+    }
+
+    @Test
+    void disconnectOnHomeNodeShouldRemoveThePlayerFromItsLobbies() throws GameException {
+        String lobbyId = createLobby();
+        MessageDTO join = new MessageDTO(MessageType.JOIN_LOBBY, REMOTE_PLAYER, lobbyId);
+        clusterWebSocket.handleClusterMessage(ClusterMessage.forward(1, "node-2", join, "Remote"), PEER).await().indefinitely();
+
+        ClusterMessage response = clusterWebSocket.handleClusterMessage(ClusterMessage.playerDisconnected("node-2", REMOTE_PLAYER), PEER)
+                .await().indefinitely();
+
+        assertNull(response);
+        assertFalse(lobbyService.getLobbyById(lobbyId).getPlayers().contains(REMOTE_PLAYER));
+        assertNull(playerService.getHomeNode(REMOTE_PLAYER));
+        assertNull(playerService.getPlayerById(REMOTE_PLAYER));
+    }
+
+    @Test
+    void listLobbiesShouldAnswerWithTheLocalLobbies() {
+        String lobbyId = createLobby();
+
+        ClusterMessage response = clusterWebSocket.handleClusterMessage(ClusterMessage.listLobbies(3, "node-2"), PEER)
+                .await().indefinitely();
+
+        assertEquals(ClusterMessageType.LOBBY_LIST, response.type());
+        assertEquals(3, response.requestId());
+        List<LobbyListing> lobbies = response.lobbies();
+        assertEquals(1, lobbies.size());
+        assertEquals(lobbyId, lobbies.get(0).lobby().id());
+    }
+
+    @Test
+    void messagesOfUnknownNodesShouldBeDropped() throws GameException {
+        String lobbyId = createLobby();
+        MessageDTO join = new MessageDTO(MessageType.JOIN_LOBBY, REMOTE_PLAYER, lobbyId);
+
+        ClusterMessage response = clusterWebSocket.handleClusterMessage(ClusterMessage.forward(7, "node-3", join, "Remote"), "node-3")
+                .await().indefinitely();
+
+        assertNull(response);
+        assertFalse(lobbyService.getLobbyById(lobbyId).getPlayers().contains(REMOTE_PLAYER));
+        assertNull(playerService.getHomeNode(REMOTE_PLAYER));
+    }
+
+    @Test
+    void messagesNamingAnotherSenderShouldBeDropped() throws GameException {
+        String lobbyId = createLobby();
+        MessageDTO join = new MessageDTO(MessageType.JOIN_LOBBY, REMOTE_PLAYER, lobbyId);
+        clusterWebSocket.handleClusterMessage(ClusterMessage.forward(1, PEER, join, "Remote"), PEER).await().indefinitely();
+
+        ClusterMessage response = clusterWebSocket.handleClusterMessage(ClusterMessage.playerDisconnected("node-3", REMOTE_PLAYER), PEER)
+                .await().indefinitely();
+
+        assertNull(response);
+        assertTrue(lobbyService.getLobbyById(lobbyId).getPlayers().contains(REMOTE_PLAYER));
+        assertEquals(PEER, playerService.getHomeNode(REMOTE_PLAYER));
+    }
+
+    @Test
+    void clusterEndpointShouldRefuseConnectionsWithoutCluster() {
+        BasicWebSocketConnector connector = BasicWebSocketConnector.create()
+                .baseUri(serverUri)
+                .path(ClusterService.PATH)
+                .addHeader(ClusterService.NODE_HEADER, PEER);
+
+        assertThrows(RuntimeException.class, connector::connectAndAwait);
+    }
+
+    private String createLobby() {
+        Player host = new Player("Host");
+        playerService.addPlayerWithoutConnection(host);
+        return lobbyService.createLobby(host.getUniqueId());
+    }
+}
@@ -3,19 +3,29 @@ package com.example.cataniaunited.api;
 import com.example.cataniaunited.dto.MessageDTO;
 import com.example.cataniaunited.dto.MessageType;
 import com.example.cataniaunited.dto.PlayerInfo;
+import com.example.cataniaunited.dto.command.PlaceRoad;
 import com.example.cataniaunited.exception.GameException;
 import com.example.cataniaunited.exception.ui.InvalidTurnException;
 import com.example.cataniaunited.game.GameService;
 import com.example.cataniaunited.game.ReportOutcome;
+import com.example.cataniaunited.game.board.BoardSnapshot;
+import com.example.cataniaunited.game.board.GameBoard;
+import com.example.cataniaunited.game.board.LegalMoves;
+import com.example.cataniaunited.game.board.change.BoardChange;
+import com.example.cataniaunited.game.board.change.LongestRoadChange;
 import com.example.cataniaunited.game.board.tile_list_builder.TileType;
 import com.example.cataniaunited.game.trade.TradeRequest;
 import com.example.cataniaunited.game.trade.TradingService;
 import com.example.cataniaunited.lobby.Lobby;
 import com.example.cataniaunited.lobby.LobbyService;
 import com.example.cataniaunited.mapper.PlayerMapper;
+import com.example.cataniaunited.metrics.GameMetrics;
 import com.example.cataniaunited.player.Player;
 import com.example.cataniaunited.player.PlayerColor;
 import com.example.cataniaunited.player.PlayerService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.quarkus.test.junit.QuarkusTest;
@@ -25,6 +35,8 @@ import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -32,8 +44,11 @@ import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.argThat;
@@ -68,6 +83,12 @@ class GameMessageHandlerTest {
     @InjectSpy
     GameService gameService;
 
+    @InjectSpy
+    GameMetrics gameMetrics;
+
+    @Inject
+    ObjectMapper objectMapper;
+
     @Test
     void getLobbyPlayerInfoShouldNotMapNullValues() throws GameException {
         String lobbyId = "lobbyId";
@@ -581,4 +602,154 @@ class GameMessageHandlerTest {
         assertEquals("Trade request is invalid", result.getMessageNode("error").asText());
     }
 
+
+    @Test
+    void getGameBoardShouldSendPatchForKnownBoardVersion() throws GameException {
+        String lobbyId = "lobbyId";
+        String playerId = "playerId";
+        GameBoard gameBoard = mock(GameBoard.class);
+        BoardChange change = new LongestRoadChange(3, playerId, 5);
+        when(gameBoard.getBoardVersion()).thenReturn(3);
+        when(gameBoard.canPatchFrom(2)).thenReturn(true);
+        when(gameBoard.getChangesSince(2)).thenReturn(List.of(change));
+        doReturn(gameBoard).when(gameService).getGameboardByLobbyId(lobbyId);
+
+        ObjectNode payload = JsonNodeFactory.instance.objectNode().put("boardVersion", 2);
+        MessageDTO response = gameMessageHandler.handleGameMessage(new MessageDTO(MessageType.GET_GAME_BOARD, playerId, lobbyId, payload))
+                .await().indefinitely();
+
+        assertEquals(MessageType.GAME_BOARD_JSON, response.getType());
+        assertFalse(response.getMessage().has("gameboard"));
+        assertEquals(2, response.getMessageNode("boardUpdate").get("fromVersion").asInt());
+        assertEquals(3, response.getMessageNode("boardUpdate").get("version").asInt());
+        assertEquals(change.toJson(), response.getMessageNode("boardUpdate").get("changes").get(0));
+        verify(gameBoard, never()).getJson();
+        verify(lobbyService, never()).notifyPlayers(anyString(), any(MessageDTO.class), anyString());
+    }
+
+    @Test
+    void getGameBoardShouldSendSnapshotForUnknownBoardVersion() throws GameException, JsonProcessingException {
+        String lobbyId = "lobbyId";
+        String playerId = "playerId";
+        GameBoard gameBoard = mock(GameBoard.class);
+        BoardSnapshot snapshot = new BoardSnapshot(3, "{\"tiles\":\"snapshot\"}".getBytes(StandardCharsets.UTF_8));
+        when(gameBoard.getBoardVersion()).thenReturn(3);
+        when(gameBoard.canPatchFrom(7)).thenReturn(false);
+        when(gameBoard.getSnapshot()).thenReturn(snapshot);
+        doReturn(gameBoard).when(gameService).getGameboardByLobbyId(lobbyId);
+
+        ObjectNode payload = JsonNodeFactory.instance.objectNode().put("boardVersion", 7);
+        MessageDTO response = gameMessageHandler.handleGameMessage(new MessageDTO(MessageType.GET_GAME_BOARD, playerId, lobbyId, payload))
+                .await().indefinitely();
+
+        assertEquals(MessageType.GAME_BOARD_JSON, response.getType());
+        JsonNode sentPayload = objectMapper.readTree(objectMapper.writeValueAsString(response.getMessage()));
+        assertEquals("snapshot", sentPayload.get("gameboard").get("tiles").asText());
+        assertEquals(3, sentPayload.get("boardVersion").asInt());
+        verify(gameBoard, never()).getChangesSince(anyInt());
+        verify(gameBoard, never()).getJson();
+    }
+
+    @Test
+    void getGameBoardShouldSendSnapshotWithoutBoardVersion() throws GameException, JsonProcessingException {
+        String lobbyId = "lobbyId";
+        GameBoard gameBoard = mock(GameBoard.class);
+        BoardSnapshot snapshot = new BoardSnapshot(0, "{\"tiles\":\"snapshot\"}".getBytes(StandardCharsets.UTF_8));
+        when(gameBoard.getSnapshot()).thenReturn(snapshot);
+        doReturn(gameBoard).when(gameService).getGameboardByLobbyId(lobbyId);
+
+        MessageDTO response = gameMessageHandler.handleGameMessage(new MessageDTO(MessageType.GET_GAME_BOARD, "playerId", lobbyId))
+                .await().indefinitely();
+
+        assertEquals(MessageType.GAME_BOARD_JSON, response.getType());
+        JsonNode sentPayload = objectMapper.readTree(objectMapper.writeValueAsString(response.getMessage()));
+        assertEquals("snapshot", sentPayload.get("gameboard").get("tiles").asText());
+        assertEquals(0, sentPayload.get("boardVersion").asInt());
+    }
+
+    @Test
+    void getLegalMovesShouldOnlyAnswerTheRequestingPlayer() throws GameException {
+        String lobbyId = "lobbyId";
+        String playerId = "playerId";
+        LegalMoves legalMoves = new LegalMoves(4, List.of(3, 7), List.of(9), List.of(1, 2));
+        doReturn(legalMoves).when(gameService).getLegalMoves(lobbyId, playerId);
+
+        MessageDTO response = gameMessageHandler.handleGameMessage(new MessageDTO(MessageType.GET_LEGAL_MOVES, playerId, lobbyId))
+                .await().indefinitely();
+
+        assertEquals(MessageType.GET_LEGAL_MOVES, response.getType());
+        assertEquals(playerId, response.getPlayer());
+        assertEquals(4, response.getMessageNode("boardVersion").asInt());
+        assertEquals(7, response.getMessageNode("settlementPositionIds").get(1).asInt());
+        assertEquals(9, response.getMessageNode("cityPositionIds").get(0).asInt());
+        assertEquals(2, response.getMessageNode("roadIds").size());
+        verify(lobbyService, never()).notifyPlayers(anyString(), any(MessageDTO.class), anyString());
+    }
+
+    @Test
+    void getPlayersShouldOnlyAnswerTheRequestingPlayer() throws GameException {
+        WebSocketConnection connection = mock(WebSocketConnection.class);
+        WebSocketConnection connection2 = mock(WebSocketConnection.class);
+        when(connection.id()).thenReturn("1234");
+        when(connection2.id()).thenReturn("5678");
+        Player player = playerService.addPlayer(connection);
+        Player player2 = playerService.addPlayer(connection2);
+        player2.receiveResource(TileType.ORE, 3);
+        String lobbyId = lobbyService.createLobby(player.getUniqueId());
+        lobbyService.joinLobbyByCode(lobbyId, player2.getUniqueId());
+        GameBoard gameBoard = mock(GameBoard.class);
+        when(gameBoard.getRollVersion()).thenReturn(3);
+        doReturn(gameBoard).when(gameService).getGameboardByLobbyId(lobbyId);
+
+        MessageDTO response = gameMessageHandler.handleGameMessage(new MessageDTO(MessageType.GET_PLAYERS, player.getUniqueId(), lobbyId))
+                .await().indefinitely();
+
+        assertEquals(MessageType.GET_PLAYERS, response.getType());
+        assertEquals(player.getUniqueId(), response.getPlayer());
+        assertEquals(3, response.getMessageNode("rollVersion").asInt());
+        assertEquals(2, response.getPlayers().size());
+        assertEquals(player2.getResources(), response.getPlayers().get(player2.getUniqueId()).resources());
+        verify(lobbyService, never()).notifyPlayers(anyString(), any(MessageDTO.class), anyString());
+    }
+
+    @Test
+    void getPayloadShouldReturnBoundPayload() throws JsonProcessingException {
+        MessageDTO message = new MessageDTO(MessageType.PLACE_ROAD, "playerId", "lobbyId");
+        PlaceRoad payload = new PlaceRoad(5);
+        message.setPayload(payload);
+
+        assertSame(payload, gameMessageHandler.getPayload(message, PlaceRoad.class));
+    }
+
+    @Test
+    void getPayloadShouldConvertJsonPayload() throws JsonProcessingException {
+        ObjectNode payload = JsonNodeFactory.instance.objectNode().put("roadId", 5);
+        MessageDTO message = new MessageDTO(MessageType.PLACE_ROAD, "playerId", "lobbyId", payload);
+
+        assertEquals(new PlaceRoad(5), gameMessageHandler.getPayload(message, PlaceRoad.class));
+    }
+
+    @Test
+    void placeRoadShouldUseBoundPayload() throws GameException {
+        MessageDTO message = new MessageDTO(MessageType.PLACE_ROAD, "playerId", "lobbyId");
+        message.setPayload(new PlaceRoad(5));
+        GameBoard gameBoard = mock(GameBoard.class);
+        doReturn(gameBoard).when(gameService).getGameboardByLobbyId("lobbyId");
+        doThrow(new GameException("Road is occupied")).when(gameService).placeRoad("lobbyId", "playerId", 5);
+
+        MessageDTO response = gameMessageHandler.handleGameMessage(message).await().indefinitely();
+
+        assertEquals(MessageType.ERROR, response.getType());
+        assertEquals("Road is occupied", response.getMessageNode("error").asText());
+        verify(gameService).placeRoad("lobbyId", "playerId", 5);
+    }
+
+    @Test
+    void handleGameMessageShouldRecordCommandDuration() {
+        MessageDTO message = new MessageDTO(MessageType.GET_LOBBIES, "playerId", null);
+
+        gameMessageHandler.handleGameMessage(message).await().indefinitely();
+
+        verify(gameMetrics).recordCommand(eq(MessageType.GET_LOBBIES), anyLong());
+    }
 }
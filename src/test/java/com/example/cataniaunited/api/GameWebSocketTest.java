@@ -1,5 +1,7 @@
 package com.example.cataniaunited.api;
 
+import com.example.cataniaunited.api.codec.MessageCodec;
+import com.example.cataniaunited.api.codec.WireFormat;
 import com.example.cataniaunited.dto.LobbyInfo;
 import com.example.cataniaunited.dto.MessageDTO;
 import com.example.cataniaunited.dto.MessageType;
@@ -7,6 +9,8 @@ import com.example.cataniaunited.exception.GameException;
 import com.example.cataniaunited.game.GameService;
 import com.example.cataniaunited.game.board.BuildingSite;
 import com.example.cataniaunited.game.board.GameBoard;
+import com.example.cataniaunited.game.board.change.BoardChange;
+import com.example.cataniaunited.game.board.change.RoadChange;
 import com.example.cataniaunited.game.board.tile_list_builder.TileType;
 import com.example.cataniaunited.game.buildings.City;
 import com.example.cataniaunited.game.buildings.Settlement;
@@ -50,6 +54,7 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -91,6 +96,9 @@ class GameWebSocketTest {
     @InjectSpy
     TradingService tradingService;
 
+    @Inject
+    MessageCodec messageCodec;
+
     ObjectMapper objectMapper;
 
     @BeforeEach
@@ -122,6 +130,100 @@ class GameWebSocketTest {
         verify(playerService).addPlayer(any());
     }
 
+    @Test
+    void restoredPlayerShouldResumeSessionWithResumeToken() throws InterruptedException, JsonProcessingException, GameException {
+        playerService.restorePlayer("restored-player", "Restored");
+        playerService.restoreResumeToken("restored-player", "resume-token");
+        lobbyService.restoreLobby("abc123", "restored-player", PlayerColor.RED);
+
+        List<MessageDTO> receivedMessages = new CopyOnWriteArrayList<>();
+        CountDownLatch connectedLatch = new CountDownLatch(1);
+        CountDownLatch resumedLatch = new CountDownLatch(1);
+        var client = BasicWebSocketConnector.create().baseUri(serverUri).path("/game").onTextMessage((connection, message) -> {
+            try {
+                MessageDTO dto = objectMapper.readValue(message, MessageDTO.class);
+                receivedMessages.add(dto);
+                if (dto.getType() == MessageType.CONNECTION_SUCCESSFUL) {
+                    connectedLatch.countDown();
+                } else if (dto.getType() == MessageType.SESSION_RESUMED) {
+                    resumedLatch.countDown();
+                }
+            } catch (JsonProcessingException e) {
+                fail(e);
+            }
+        }).connectAndAwait();
+        assertTrue(connectedLatch.await(5, TimeUnit.SECONDS), "Did not receive CONNECTION_SUCCESSFUL in time");
+        assertNotNull(receivedMessages.get(0).getMessageNode("resumeToken").textValue());
+
+        ObjectNode payload = objectMapper.createObjectNode().put("resumeToken", "resume-token");
+        client.sendTextAndAwait(new MessageDTO(MessageType.RESUME_SESSION, "restored-player", null, payload));
+
+        assertTrue(resumedLatch.await(5, TimeUnit.SECONDS), "Did not receive SESSION_RESUMED in time");
+        MessageDTO resumed = receivedMessages.get(receivedMessages.size() - 1);
+        assertEquals("restored-player", resumed.getMessageNode("playerId").textValue());
+        assertEquals("abc123", resumed.getMessageNode("lobbyIds").get(0).textValue());
+        assertNotNull(playerService.getConnectionByPlayerId("restored-player"));
+        assertFalse(lobbyService.getLobbyById("abc123").isRestored());
+    }
+
+    @Test
+    void resumeSessionWithWrongTokenShouldFail() throws InterruptedException, JsonProcessingException {
+        playerService.restorePlayer("unresumed-player", "Restored");
+        playerService.restoreResumeToken("unresumed-player", "resume-token");
+
+        List<MessageDTO> receivedMessages = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(2);
+        var client = BasicWebSocketConnector.create().baseUri(serverUri).path("/game").onTextMessage((connection, message) -> {
+            try {
+                receivedMessages.add(objectMapper.readValue(message, MessageDTO.class));
+                latch.countDown();
+            } catch (JsonProcessingException e) {
+                fail(e);
+            }
+        }).connectAndAwait();
+
+        ObjectNode payload = objectMapper.createObjectNode().put("resumeToken", "guessed-token");
+        client.sendTextAndAwait(new MessageDTO(MessageType.RESUME_SESSION, "unresumed-player", null, payload));
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS), "Did not receive ERROR in time");
+        MessageDTO error = receivedMessages.get(1);
+        assertEquals(MessageType.ERROR, error.getType());
+        assertEquals("Session cannot be resumed", error.getMessageNode("error").textValue());
+        assertNull(playerService.getConnectionByPlayerId("unresumed-player"));
+    }
+
+    @Test
+    void binaryClientShouldExchangeBinaryMessages() throws Exception {
+        var unknownMessageDto = new MessageDTO();
+        unknownMessageDto.setPlayer("Player 1");
+        unknownMessageDto.setType(MessageType.ERROR);
+
+        List<MessageDTO> receivedMessages = new CopyOnWriteArrayList<>();
+        List<String> receivedTextMessages = new CopyOnWriteArrayList<>();
+        CountDownLatch messageLatch = new CountDownLatch(2);
+
+        var webSocketClientConnection = BasicWebSocketConnector.create().baseUri(serverUri).path("/game")
+                .addSubprotocol(WireFormat.SUBPROTOCOL)
+                .onTextMessage((connection, message) -> receivedTextMessages.add(message))
+                .onBinaryMessage((connection, message) -> {
+                    try {
+                        receivedMessages.add(messageCodec.decode(message.getBytes()));
+                    } catch (GameException e) {
+                        fail(e);
+                    }
+                    messageLatch.countDown();
+                }).connectAndAwait();
+
+        webSocketClientConnection.sendBinaryAndAwait(messageCodec.encode(unknownMessageDto, WireFormat.BINARY).buffer());
+
+        assertTrue(messageLatch.await(5, TimeUnit.SECONDS), "Not all messages were received in time!");
+        assertTrue(receivedTextMessages.isEmpty());
+        assertEquals(MessageType.CONNECTION_SUCCESSFUL, receivedMessages.get(0).getType());
+        assertNotNull(receivedMessages.get(0).getMessageNode("playerId").textValue());
+        assertEquals(MessageType.ERROR, receivedMessages.get(1).getType());
+        assertEquals("Invalid client command", receivedMessages.get(1).getMessageNode("error").textValue());
+    }
+
     @Test
     void onCloseShouldSendLobbyClosedMessageIfHostPlayerLeaves() throws InterruptedException {
         final String[] client1PlayerIdHolder = new String[1];
@@ -831,7 +933,7 @@ class GameWebSocketTest {
         doReturn(gameBoard).when(gameService).getGameboardByLobbyId(lobbyId);
 
         ObjectNode mergedBoardJson = objectMapper.createObjectNode().put("merged", "gameData");
-        doReturn(mergedBoardJson).when(gameMessageHandler).getGameBoardInformation(lobbyId);
+        doReturn(mergedBoardJson).when(gameMessageHandler).getBoardUpdateInformation(lobbyId, 0);
 
         ObjectNode placeRoadMessageNode = objectMapper.createObjectNode().put("roadId", roadId);
         MessageDTO placeRoadMessageDTO = new MessageDTO(MessageType.PLACE_ROAD, player2, lobbyId, placeRoadMessageNode);
@@ -892,8 +994,9 @@ class GameWebSocketTest {
 
         verify(gameService).placeRoad(lobbyId, player2, roadId);
         verify(playerService, times(3)).getPlayerById(player2);
-        verify(gameMessageHandler).getGameBoardInformation(lobbyId);
-        verify(gameService, times(2)).getGameboardByLobbyId(lobbyId);
+        verify(gameMessageHandler).getBoardUpdateInformation(lobbyId, 0);
+        verify(gameMessageHandler, never()).getGameBoardInformation(lobbyId);
+        verify(gameService, times(3)).getGameboardByLobbyId(lobbyId);
     }
 
     @Test
@@ -920,7 +1023,7 @@ class GameWebSocketTest {
         doReturn(gameBoard).when(gameService).getGameboardByLobbyId(lobbyId);
 
         ObjectNode mergedBoardJson = objectMapper.createObjectNode().put("merged", "gameData");
-        doReturn(mergedBoardJson).when(gameMessageHandler).getGameBoardInformation(lobbyId);
+        doReturn(mergedBoardJson).when(gameMessageHandler).getBoardUpdateInformation(lobbyId, 0);
 
         ObjectNode placeRoadMessageNode = objectMapper.createObjectNode().put("roadId", roadId);
         MessageDTO placeRoadMessageDTO = new MessageDTO(MessageType.PLACE_ROAD, player2, lobbyId, placeRoadMessageNode);
@@ -982,8 +1085,8 @@ class GameWebSocketTest {
         verify(gameService).placeRoad(lobbyId, player2, roadId);
         verify(playerService, times(3)).getPlayerById(player2);
         verify(playerService).checkForWin(player2);
-        verify(gameMessageHandler, never()).getGameBoardInformation(lobbyId);
-        verify(gameService, times(2)).getGameboardByLobbyId(lobbyId);
+        verify(gameMessageHandler, never()).getBoardUpdateInformation(eq(lobbyId), anyInt());
+        verify(gameService, times(3)).getGameboardByLobbyId(lobbyId);
     }
 
     @ParameterizedTest
@@ -1162,13 +1265,10 @@ class GameWebSocketTest {
         lobby.setActivePlayer(playerId);
 
         GameBoard mockGameBoard = mock(GameBoard.class);
-        ObjectNode boardStateJson = objectMapper.createObjectNode().put("boardState", "updatedAfterSettlement");
-
-        ObjectNode fullMessage = objectMapper.createObjectNode();
-        fullMessage.set("gameboard", boardStateJson);
-        fullMessage.set("players", objectMapper.createObjectNode()); // Simulates empty player map
+        BoardChange change = new RoadChange(4, 7, playerId, PlayerColor.BLUE.getHexCode());
 
-        when(mockGameBoard.getJson()).thenReturn(boardStateJson);
+        when(mockGameBoard.getBoardVersion()).thenReturn(3, 4);
+        when(mockGameBoard.getChangesSince(3)).thenReturn(List.of(change));
         doReturn(mockGameBoard).when(gameService).getGameboardByLobbyId(actualLobbyId);
         doNothing().when(gameService).placeSettlement(actualLobbyId, playerId, settlementPositionId);
         when(playerService.checkForWin(playerId)).thenReturn(false);
@@ -1213,13 +1313,18 @@ class GameWebSocketTest {
             assertEquals(playerId, dto.getPlayer());
             assertEquals(actualLobbyId, dto.getLobbyId());
 
-            assertTrue(dto.getMessage().has("gameboard"));
-            assertEquals("updatedAfterSettlement", dto.getMessage().get("gameboard").get("boardState").asText());
+            assertFalse(dto.getMessage().has("gameboard"));
+            JsonNode boardUpdate = dto.getMessage().get("boardUpdate");
+            assertEquals(3, boardUpdate.get("fromVersion").asInt());
+            assertEquals(4, boardUpdate.get("version").asInt());
+            assertEquals(1, boardUpdate.get("changes").size());
+            assertEquals(change.toJson(), boardUpdate.get("changes").get(0));
         }
 
         verify(gameService).placeSettlement(actualLobbyId, playerId, settlementPositionId);
         verify(playerService, atLeastOnce()).checkForWin(playerId);
-        verify(gameService, times(1)).getGameboardByLobbyId(actualLobbyId);
+        verify(mockGameBoard, never()).getJson();
+        verify(gameService, times(2)).getGameboardByLobbyId(actualLobbyId);
     }
 
     @Test
@@ -1228,6 +1333,7 @@ class GameWebSocketTest {
 
         List<MessageDTO> player1ReceivedMessages = new CopyOnWriteArrayList<>();
         List<MessageDTO> player2ReceivedMessages = new CopyOnWriteArrayList<>();
+        List<MessageDTO> player2RollingMessages = new CopyOnWriteArrayList<>();
         CountDownLatch player1DiceResultLatch = new CountDownLatch(1);
         CountDownLatch player2DiceResultLatch = new CountDownLatch(1);
         CountDownLatch connectionLatch = new CountDownLatch(2);
@@ -1258,6 +1364,8 @@ class GameWebSocketTest {
                         if (dto.getType() == MessageType.CONNECTION_SUCCESSFUL) {
                             actualPlayerIds.add(dto.getMessageNode("playerId").asText());
                             connectionLatch.countDown();
+                        } else if (dto.getType() == MessageType.ROLL_DICE) {
+                            player2RollingMessages.add(dto);
                         } else if (dto.getType() == MessageType.DICE_RESULT) {
                             player2ReceivedMessages.add(dto);
                             player2DiceResultLatch.countDown();
@@ -1296,14 +1404,19 @@ class GameWebSocketTest {
         MessageDTO p1ResMsg = player1ReceivedMessages.get(0);
         assertEquals(player1ActualId, p1ResMsg.getPlayer());
         assertEquals(actualLobbyId, p1ResMsg.getLobbyId());
-        assertTrue(p1ResMsg.getPlayers().containsKey(player1ActualId));
-        assertTrue(p1ResMsg.getPlayers().get(player1ActualId).resources().containsKey(TileType.CLAY), "Player 1 resource missing in payload");
+        assertTrue(p1ResMsg.getPlayers().isEmpty(), "DICE_RESULT should not carry the players");
+        assertEquals(1, p1ResMsg.getMessage().get("rollVersion").asInt());
+        assertTrue(p1ResMsg.getMessage().get("production").isObject(), "Production missing in payload");
 
         MessageDTO p2ResMsg = player2ReceivedMessages.get(0);
         assertEquals(player1ActualId, p2ResMsg.getPlayer());
         assertEquals(actualLobbyId, p2ResMsg.getLobbyId());
-        assertTrue(p2ResMsg.getPlayers().containsKey(player2ActualId));
-        assertTrue(p2ResMsg.getPlayers().get(player2ActualId).resources().containsKey(TileType.CLAY), "Player 2 resource missing in payload");
+        assertTrue(p2ResMsg.getPlayers().isEmpty(), "DICE_RESULT should not carry the players");
+        assertEquals(p1ResMsg.getMessage(), p2ResMsg.getMessage());
+
+        assertEquals(1, player2RollingMessages.size());
+        assertEquals(player1ActualId, player2RollingMessages.get(0).getMessageNode("player").asText());
+        assertTrue(player2RollingMessages.get(0).getPlayers().isEmpty(), "ROLL_DICE should not carry the players");
 
         verify(gameService).rollDice(actualLobbyId, player1ActualId);
         verify(playerService, atLeastOnce()).getPlayerById(player1ActualId);
@@ -1715,7 +1828,8 @@ class GameWebSocketTest {
         assertEquals(1, seen.size());
         MessageDTO response = seen.get(0);
         assertEquals(MessageType.GAME_STARTED, response.getType());
-        assertNotNull(response.getMessageNode("gameboard"));
+        assertTrue(response.getMessage().get("gameboard").has("tiles"));
+        assertEquals(0, response.getMessage().get("boardVersion").asInt());
         assertNotNull(response.getMessageNode("players"));
         assertNotNull(response.getMessageNode("activePlayer"));
         assertTrue(lobbyService.getLobbyById(lobbyId).isGameStarted());
@@ -1813,7 +1927,9 @@ class GameWebSocketTest {
         assertEquals(MessageType.NEXT_TURN, receivedDTO.getType());
         assertTrue(receivedDTO.getPlayers().containsKey(player2ActualId));
         assertTrue(receivedDTO.getPlayers().get(player2ActualId).isActivePlayer());
-        assertNotNull(receivedDTO.getMessageNode("gameboard"));
+        assertFalse(receivedDTO.getMessage().has("gameboard"));
+        assertFalse(receivedDTO.getMessage().has("boardUpdate"));
+        assertEquals(2, receivedDTO.getMessageNode("boardVersion").asInt());
     }
 
     @Test
@@ -0,0 +1,188 @@
+package com.example.cataniaunited.api;
+
+import com.example.cataniaunited.dto.MessageDTO;
+import com.example.cataniaunited.dto.MessageType;
+import com.example.cataniaunited.game.GameService;
+import com.example.cataniaunited.lobby.ExecutionMode;
+import com.example.cataniaunited.lobby.Lobby;
+import com.example.cataniaunited.lobby.LobbyCommandExecutor;
+import com.example.cataniaunited.lobby.LobbyService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.junit.mockito.InjectSpy;
+import io.quarkus.websockets.next.BasicWebSocketConnector;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs the web socket flows in the {@code virtual-thread} execution mode used in production,
+ * while {@link GameWebSocketTest} covers the {@code event-loop} mode of the test profile.
+ */
+@QuarkusTest
+@TestProfile(VirtualThreadGameWebSocketTest.VirtualThreadProfile.class)
+class VirtualThreadGameWebSocketTest {
+
+    public static class VirtualThreadProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("qatania.lobby.execution-mode", "virtual-thread");
+        }
+    }
+
+    @TestHTTPResource
+    URI serverUri;
+
+    @Inject
+    LobbyCommandExecutor lobbyCommandExecutor;
+
+    @InjectSpy
+    LobbyService lobbyService;
+
+    @InjectSpy
+    GameService gameService;
+
+    ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setup() {
+        objectMapper = new ObjectMapper();
+        lobbyService.clearLobbies();
+    }
+
+    @Test
+    void commandsShouldRunOnVirtualThreads() {
+        assertEquals(ExecutionMode.VIRTUAL_THREAD, lobbyCommandExecutor.getExecutionMode());
+    }
+
+    @Test
+    void createLobbyShouldRespondWithLobbyCreated() throws Exception {
+        List<String> playerIds = new CopyOnWriteArrayList<>();
+        List<MessageDTO> receivedMessages = new CopyOnWriteArrayList<>();
+        CountDownLatch connectionLatch = new CountDownLatch(1);
+        CountDownLatch lobbyCreatedLatch = new CountDownLatch(1);
+
+        var connection = BasicWebSocketConnector.create()
+                .baseUri(serverUri).path("/game")
+                .onTextMessage((conn, msg) -> {
+                    MessageDTO dto = read(msg);
+                    if (dto.getType() == MessageType.CONNECTION_SUCCESSFUL) {
+                        playerIds.add(dto.getMessageNode("playerId").asText());
+                        connectionLatch.countDown();
+                    } else if (dto.getType() == MessageType.LOBBY_CREATED) {
+                        receivedMessages.add(dto);
+                        lobbyCreatedLatch.countDown();
+                    }
+                }).connectAndAwait();
+
+        assertTrue(connectionLatch.await(5, TimeUnit.SECONDS), "Client did not receive CONNECTION_SUCCESSFUL");
+        String playerId = playerIds.get(0);
+
+        connection.sendTextAndAwait(objectMapper.writeValueAsString(new MessageDTO(MessageType.CREATE_LOBBY, playerId, null)));
+
+        assertTrue(lobbyCreatedLatch.await(5, TimeUnit.SECONDS), "Client did not receive LOBBY_CREATED");
+        MessageDTO response = receivedMessages.get(0);
+        assertNotNull(response.getLobbyId());
+        assertTrue(response.getPlayers().containsKey(playerId));
+        assertEquals(playerId, lobbyService.getLobbyById(response.getLobbyId()).getHostPlayer());
+
+        connection.closeAndAwait();
+    }
+
+    @Test
+    void diceRollShouldBeBroadcastFromVirtualThread() throws Exception {
+        final String[] player1IdHolder = new String[1];
+        final String[] player2IdHolder = new String[1];
+        List<MessageDTO> player1Results = new CopyOnWriteArrayList<>();
+        List<MessageDTO> player2Results = new CopyOnWriteArrayList<>();
+        List<Thread> rollingThreads = new CopyOnWriteArrayList<>();
+        CountDownLatch connectionLatch = new CountDownLatch(2);
+        CountDownLatch diceResultLatch = new CountDownLatch(2);
+
+        doAnswer(invocation -> {
+            rollingThreads.add(Thread.currentThread());
+            return invocation.callRealMethod();
+        }).when(gameService).rollDice(anyString(), anyString());
+
+        var client1Connection = BasicWebSocketConnector.create()
+                .baseUri(serverUri).path("/game")
+                .onTextMessage((conn, msg) -> {
+                    MessageDTO dto = read(msg);
+                    if (dto.getType() == MessageType.CONNECTION_SUCCESSFUL) {
+                        player1IdHolder[0] = dto.getMessageNode("playerId").asText();
+                        connectionLatch.countDown();
+                    } else if (dto.getType() == MessageType.DICE_RESULT) {
+                        player1Results.add(dto);
+                        diceResultLatch.countDown();
+                    }
+                }).connectAndAwait();
+
+        var client2Connection = BasicWebSocketConnector.create()
+                .baseUri(serverUri).path("/game")
+                .onTextMessage((conn, msg) -> {
+                    MessageDTO dto = read(msg);
+                    if (dto.getType() == MessageType.CONNECTION_SUCCESSFUL) {
+                        player2IdHolder[0] = dto.getMessageNode("playerId").asText();
+                        connectionLatch.countDown();
+                    } else if (dto.getType() == MessageType.DICE_RESULT) {
+                        player2Results.add(dto);
+                        diceResultLatch.countDown();
+                    }
+                }).connectAndAwait();
+
+        assertTrue(connectionLatch.await(5, TimeUnit.SECONDS), "Not all clients received CONNECTION_SUCCESSFUL");
+        String player1Id = player1IdHolder[0];
+        String player2Id = player2IdHolder[0];
+
+        String lobbyId = lobbyService.createLobby(player1Id);
+        lobbyService.joinLobbyByCode(lobbyId, player2Id);
+        lobbyService.toggleReady(lobbyId, player1Id);
+        lobbyService.toggleReady(lobbyId, player2Id);
+        gameService.startGame(lobbyId, player1Id);
+        Lobby lobby = lobbyService.getLobbyById(lobbyId);
+        lobby.setActivePlayer(player1Id);
+
+        client1Connection.sendTextAndAwait(objectMapper.writeValueAsString(new MessageDTO(MessageType.ROLL_DICE, player1Id, lobbyId)));
+
+        assertTrue(diceResultLatch.await(10, TimeUnit.SECONDS), "Not all clients received DICE_RESULT");
+        assertEquals(player1Id, player1Results.get(0).getPlayer());
+        assertEquals(player1Results.get(0).getMessage(), player2Results.get(0).getMessage());
+
+        verify(gameService).rollDice(lobbyId, player1Id);
+        assertEquals(1, rollingThreads.size());
+        assertTrue(rollingThreads.get(0).isVirtual(), "Dice roll should run on a virtual thread");
+        assertFalse(rollingThreads.get(0).getName().startsWith("vert.x-eventloop"));
+
+        client1Connection.closeAndAwait();
+        client2Connection.closeAndAwait();
+    }
+
+    private MessageDTO read(String message) {
+        try {
+            return objectMapper.readValue(message, MessageDTO.class);
+        } catch (JsonProcessingException e) {
+            fail("Failed to parse message: " + message, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.cataniaunited.api.codec;
+
+import com.example.cataniaunited.dto.MessageDTO;
+import com.example.cataniaunited.dto.MessageType;
+import com.example.cataniaunited.dto.PlayerInfo;
+import com.example.cataniaunited.exception.GameException;
+import com.example.cataniaunited.game.board.BoardSnapshot;
+import com.example.cataniaunited.game.board.GameBoard;
+import com.example.cataniaunited.game.board.tile_list_builder.TileType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class BinaryMessageCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BinaryMessageCodec codec = new BinaryMessageCodec(objectMapper);
+
+    @ParameterizedTest
+    @EnumSource(MessageType.class)
+    void messageTypeShouldSurviveRoundTrip(MessageType type) throws Exception {
+        MessageDTO decoded = codec.decode(codec.encode(new MessageDTO(type, null)));
+
+        assertEquals(type, decoded.getType());
+        assertNull(decoded.getPlayer());
+        assertNull(decoded.getLobbyId());
+        assertNull(decoded.getMessage());
+        assertTrue(decoded.getPlayers().isEmpty());
+    }
+
+    @Test
+    void messageShouldSurviveRoundTrip() throws Exception {
+        String playerId = UUID.randomUUID().toString();
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.put("playerId", playerId);
+        payload.put("settlementPositionId", 42);
+        payload.put("total", -7_000_000_000L);
+        payload.put("x", 12.5);
+        payload.put("y", 0.1);
+        payload.put("rotation", Math.PI);
+        payload.put("name", "Grüße aus Graz");
+        payload.put("accepted", true);
+        payload.putNull("building");
+        payload.putArray("coordinates").add(1.0).add(-2.75);
+        payload.putObject("offeredResources").put("WOOD", 2).put("CLAY", 1);
+        payload.putArray("tiles").add(objectMapper.createObjectNode().put("id", 1).put("type", "WOOD"))
+                .add(objectMapper.createObjectNode().put("id", 2).put("type", "ORE"));
+
+        Map<TileType, Integer> resources = new EnumMap<>(TileType.class);
+        resources.put(TileType.WHEAT, 3);
+        resources.put(TileType.ORE, 0);
+        PlayerInfo playerInfo = new PlayerInfo(playerId, "Anna", "#8C4E27", true, false, true, true, false, 7, resources);
+
+        MessageDTO message = new MessageDTO(MessageType.LOBBY_UPDATED, playerId, "abc123", Map.of(playerId, playerInfo), payload);
+        MessageDTO decoded = codec.decode(codec.encode(message));
+
+        assertEquals(MessageType.LOBBY_UPDATED, decoded.getType());
+        assertEquals(playerId, decoded.getPlayer());
+        assertEquals("abc123", decoded.getLobbyId());
+        assertEquals(Map.of(playerId, playerInfo), decoded.getPlayers());
+        assertEquals(payload, decoded.getMessage());
+    }
+
+    @Test
+    void binaryMessageShouldBeSmallerThanJson() throws Exception {
+        GameBoard gameBoard = new GameBoard(4);
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.set("gameboard", gameBoard.getJson());
+        MessageDTO message = new MessageDTO(MessageType.GAME_STARTED, UUID.randomUUID().toString(), "abc123", payload);
+
+        byte[] binary = codec.encode(message);
+
+        assertTrue(binary.length < objectMapper.writeValueAsBytes(message).length / 2,
+                "Binary encoding should be less than half the size of the JSON encoding");
+        assertEquals(payload, codec.decode(binary).getMessage());
+    }
+
+    @Test
+    void rawBoardSnapshotShouldBeEncodedAsTree() throws Exception {
+        GameBoard gameBoard = new GameBoard(2);
+        BoardSnapshot snapshot = gameBoard.getSnapshot();
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.put("id", 7); // Keys of the board written before and after it
+        payload.putRawValue("gameboard", snapshot.asRawValue());
+        payload.put("ringsOfBoard", 3);
+        payload.put("boardVersion", snapshot.getVersion());
+
+        MessageDTO decoded = codec.decode(codec.encode(new MessageDTO(MessageType.GAME_BOARD_JSON, payload)));
+
+        JsonNode expectedBoard = objectMapper.readTree(snapshot.getValue());
+        assertEquals(expectedBoard, decoded.getMessage().get("gameboard"));
+        assertEquals(7, decoded.getMessage().get("id").intValue());
+        assertEquals(3, decoded.getMessage().get("ringsOfBoard").intValue());
+        assertEquals(snapshot.getVersion(), decoded.getMessage().get("boardVersion").intValue());
+    }
+
+    @Test
+    void rawBoardSnapshotShouldBeEncodedOnce() throws Exception {
+        BoardSnapshot snapshot = new GameBoard(2).getSnapshot();
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.putRawValue("gameboard", snapshot.asRawValue());
+        MessageDTO message = new MessageDTO(MessageType.GAME_BOARD_JSON, payload);
+
+        byte[] first = codec.encode(message);
+        byte[] binaryValue = snapshot.getBinaryValue(json -> fail("Snapshot should not be encoded again"));
+        byte[] second = codec.encode(message);
+
+        assertArrayEquals(first, second);
+        assertSame(binaryValue, snapshot.getBinaryValue(json -> fail("Snapshot should not be encoded again")));
+    }
+
+    @Test
+    void decodeShouldRejectTruncatedMessage() throws Exception {
+        ObjectNode payload = objectMapper.createObjectNode().put("lobbyId", "abc123");
+        byte[] encoded = codec.encode(new MessageDTO(MessageType.JOIN_LOBBY, payload));
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 1);
+
+        assertThrows(GameException.class, () -> codec.decode(truncated));
+    }
+
+    @Test
+    void decodeShouldRejectUnknownVersionAndType() {
+        GameException versionException = assertThrows(GameException.class, () -> codec.decode(new byte[]{2, 0, 0, 0, 0, 0}));
+        assertEquals("Unsupported binary message version: 2", versionException.getMessage());
+
+        GameException typeException = assertThrows(GameException.class, () -> codec.decode(new byte[]{1, 127, 0, 0, 0, 0}));
+        assertEquals("Unknown binary message type: 127", typeException.getMessage());
+    }
+
+    @Test
+    void decodeShouldRejectNonObjectPayload() {
+        byte[] message = {BinaryMessageCodec.VERSION, (byte) MessageType.ROLL_DICE.ordinal(), 0, 0, 0, BinaryMessageCodec.VALUE_TRUE};
+
+        assertThrows(GameException.class, () -> codec.decode(message));
+    }
+
+    @Test
+    void decodeShouldRejectDeeplyNestedPayload() {
+        int depth = 100_000;
+        byte[] message = new byte[5 + 2 * depth + 1];
+        message[0] = BinaryMessageCodec.VERSION;
+        message[1] = (byte) MessageType.ROLL_DICE.ordinal();
+        // Null player and lobby, no players, then arrays holding one array each
+        for (int i = 0; i < depth; i++) {
+            message[5 + 2 * i] = BinaryMessageCodec.VALUE_ARRAY;
+            message[6 + 2 * i] = 1;
+        }
+        message[message.length - 1] = BinaryMessageCodec.VALUE_NULL;
+
+        GameException exception = assertThrows(GameException.class, () -> codec.decode(message));
+        assertEquals("Binary message nested deeper than 64 levels", exception.getMessage());
+    }
+
+    @Test
+    void decodeShouldAcceptPayloadNestedUpToTheLimit() throws Exception {
+        ObjectNode payload = objectMapper.createObjectNode();
+        ObjectNode nested = payload;
+        for (int i = 0; i < BinaryMessageCodec.MAX_DEPTH; i++) {
+            nested = nested.putObject("n");
+        }
+
+        assertEquals(payload, codec.decode(codec.encode(new MessageDTO(MessageType.ROLL_DICE, payload))).getMessage());
+    }
+
+    @Test
+    void decodeShouldRejectOverflowingStringLength() {
+        // A username length of 2^64 - 1, which is negative as a long
+        byte[] message = {BinaryMessageCodec.VERSION, (byte) MessageType.ROLL_DICE.ordinal(), 0, 0, 1, 0, 0,
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x01,
+                0, 0, 0, 0, BinaryMessageCodec.VALUE_NULL};
+
+        GameException exception = assertThrows(GameException.class, () -> codec.decode(message));
+        assertEquals("Invalid length in binary message: -2", exception.getMessage());
+    }
+
+    @Test
+    void isUuidShouldOnlyAcceptCanonicalLowerCaseUuids() {
+        assertTrue(BinaryMessageCodec.isUuid(UUID.randomUUID().toString()));
+        assertFalse(BinaryMessageCodec.isUuid(UUID.randomUUID().toString().toUpperCase()));
+        assertFalse(BinaryMessageCodec.isUuid("abc123"));
+        assertFalse(BinaryMessageCodec.isUuid("0000000000000000000000000000000000ff"));
+    }
+
+    @Test
+    void requestsBinaryShouldDetectSubprotocolAndQueryParameter() {
+        assertTrue(WireFormat.requestsBinary("chat, catania-binary", null));
+        assertTrue(WireFormat.requestsBinary(null, "foo=bar&codec=binary"));
+        assertFalse(WireFormat.requestsBinary("chat", "codec=json"));
+        assertFalse(WireFormat.requestsBinary(null, null));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.cataniaunited.api.codec;
+
+import com.example.cataniaunited.dto.MessageDTO;
+import com.example.cataniaunited.dto.MessageType;
+import com.example.cataniaunited.dto.command.PlaceRoad;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.websockets.next.WebSocketConnection;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@QuarkusTest
+class MessageCodecTest {
+
+    @Inject
+    MessageCodec messageCodec;
+
+    @Test
+    void decodeShouldBindTypedPayload() throws JsonProcessingException {
+        MessageDTO message = messageCodec.decode("{\"type\":\"PLACE_ROAD\",\"player\":\"p1\",\"lobbyId\":\"l1\",\"message\":{\"roadId\":4}}");
+
+        assertEquals(MessageType.PLACE_ROAD, message.getType());
+        assertEquals("p1", message.getPlayer());
+        assertEquals("l1", message.getLobbyId());
+        assertEquals(new PlaceRoad(4), message.getPayload());
+        assertNull(message.getMessage());
+    }
+
+    @Test
+    void decodeShouldKeepPayloadAsTreeIfItDoesNotMatchMessageType() throws JsonProcessingException {
+        MessageDTO message = messageCodec.decode("{\"type\":\"PLACE_ROAD\",\"player\":\"p1\",\"lobbyId\":\"l1\",\"message\":{\"roadId\":\"NoInteger\"}}");
+
+        assertEquals(MessageType.PLACE_ROAD, message.getType());
+        assertNull(message.getPayload());
+        assertEquals("NoInteger", message.getMessageNode("roadId").asText());
+    }
+
+    @Test
+    void decodeShouldRejectUnknownMessageType() {
+        assertThrows(JsonProcessingException.class, () -> messageCodec.decode("{\"type\":\"NO_COMMAND\"}"));
+    }
+
+    @Test
+    void encodedBinaryMessageShouldWriteTheSameBufferToEveryConnection() throws IOException {
+        WebSocketConnection first = mock(WebSocketConnection.class);
+        WebSocketConnection second = mock(WebSocketConnection.class);
+        EncodedMessage encoded = messageCodec.encode(new MessageDTO(MessageType.DICE_RESULT, JsonNodeFactory.instance.objectNode()), WireFormat.BINARY);
+
+        encoded.sendTo(first);
+        encoded.sendTo(second);
+
+        assertEquals(encoded.size(), encoded.buffer().length());
+        verify(first).sendBinary(same(encoded.buffer()));
+        verify(second).sendBinary(same(encoded.buffer()));
+    }
+
+    @Test
+    void encodedJsonMessageShouldCountEncodedBytes() throws IOException {
+        ObjectNode payload = JsonNodeFactory.instance.objectNode().put("message", "Grüße");
+        EncodedMessage encoded = messageCodec.encode(new MessageDTO(MessageType.PLAYER_JOINED, payload), WireFormat.JSON);
+
+        assertEquals(encoded.text().getBytes(StandardCharsets.UTF_8).length, encoded.size());
+    }
+
+    @Test
+    void utf8LengthShouldCountEncodedBytes() {
+        assertEquals(3, MessageCodec.utf8Length("abc"));
+        assertEquals(2, MessageCodec.utf8Length("ä"));
+        assertEquals(3, MessageCodec.utf8Length("€"));
+        assertEquals(4, MessageCodec.utf8Length("😀"));
+    }
+}
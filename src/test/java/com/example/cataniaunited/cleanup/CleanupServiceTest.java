@@ -6,6 +6,7 @@ import com.example.cataniaunited.game.trade.TradingService;
 import com.example.cataniaunited.lobby.Lobby;
 import com.example.cataniaunited.lobby.LobbyService;
 import com.example.cataniaunited.player.Player;
+import com.example.cataniaunited.player.PlayerColor;
 import com.example.cataniaunited.player.PlayerService;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.mockito.InjectSpy;
@@ -53,6 +54,9 @@ public class CleanupServiceTest {
     @ConfigProperty(name = "qatania.cleanup.threshold-hours")
     Integer cleanupThresholdHours;
 
+    @ConfigProperty(name = "qatania.cleanup.restored-lobby-minutes")
+    Integer restoredLobbyThresholdMinutes;
+
     @BeforeEach
     void setUp() {
         lobbyService.clearLobbies();
@@ -114,6 +118,41 @@ public class CleanupServiceTest {
         verify(tradingService).removeAllOpenTradeRequestForLobbyId(lobbyId);
     }
 
+    @Test
+    void testRestoredLobbyCleanup() throws GameException {
+        Player player = new Player("Player1");
+        String lobbyId = "lob001";
+        Lobby lobby = spy(new Lobby(lobbyId, player.getUniqueId()));
+        lobby.markRestored();
+        doReturn(Instant.now().minus(restoredLobbyThresholdMinutes + 1, ChronoUnit.MINUTES)).when(lobby).getRestoredAt();
+        doReturn(List.of(lobby)).when(lobbyService).getOpenLobbies();
+        doReturn(lobby).when(lobbyService).getLobbyById(lobbyId);
+        gameService.createGameboard(lobbyId);
+
+        cleanupService.cleanupRestoredLobbies();
+
+        assertThrows(GameException.class, () -> gameService.getGameboardByLobbyId(lobbyId));
+        assertEquals(0, lobby.getPlayers().size());
+
+        verify(lobbyService).getOpenLobbies();
+        verify(lobbyService).removePlayerFromLobby(lobbyId, player.getUniqueId());
+        verify(gameService).removeGameBoardForLobby(lobbyId);
+        verify(lobbyService).removeLobby(lobbyId);
+    }
+
+    @Test
+    void restoredLobbyCleanupShouldNotRemoveRecentlyRestoredOrNewLobbies() throws GameException {
+        String newLobbyId = lobbyService.createLobby(new Player("Player1").getUniqueId());
+        String restoredLobbyId = "abc123";
+        lobbyService.restoreLobby(restoredLobbyId, new Player("Player2").getUniqueId(), PlayerColor.values()[0]);
+
+        cleanupService.cleanupRestoredLobbies();
+
+        assertNotNull(lobbyService.getLobbyById(newLobbyId));
+        assertNotNull(lobbyService.getLobbyById(restoredLobbyId));
+        verify(lobbyService, never()).removeLobby(anyString());
+    }
+
     @Test
     void lobbyCleanupShouldWorkIfNoLobbiesExist() {
         assertDoesNotThrow(() -> cleanupService.cleanupOldLobbies());
@@ -0,0 +1,112 @@
+package com.example.cataniaunited.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClusterServiceTest {
+
+    private static final List<String> NODES = List.of("node-1=http://localhost:8080", "node-2=http://localhost:8081");
+    private static final String SECRET = "cluster-secret";
+
+    @Test
+    void nodeWithoutClusterShouldOwnAllLobbies() {
+        ClusterService clusterService = clusterService("node-1", List.of());
+
+        assertFalse(clusterService.isEnabled());
+        assertTrue(clusterService.isLocal("abc123"));
+        assertEquals("node-1", clusterService.ownerOf("abc123"));
+    }
+
+    @Test
+    void nodesShouldAgreeOnTheOwnerOfEveryLobby() {
+        ClusterService first = clusterService("node-1", NODES);
+        ClusterService second = clusterService("node-2", NODES);
+        int localToFirst = 0;
+
+        for (int i = 0; i < 1000; i++) {
+            String lobbyId = "abc" + i;
+            assertEquals(first.ownerOf(lobbyId), second.ownerOf(lobbyId));
+            assertTrue(first.isLocal(lobbyId) ^ second.isLocal(lobbyId));
+            localToFirst += first.isLocal(lobbyId) ? 1 : 0;
+        }
+
+        assertTrue(first.isEnabled());
+        assertTrue(localToFirst > 300 && localToFirst < 700, "node-1 owns " + localToFirst + " of 1000 lobbies");
+        // Commands without lobby are always executed where they arrive
+        assertTrue(first.isLocal(null));
+        assertTrue(second.isLocal(null));
+    }
+
+    @Test
+    void nodeMissingFromTheClusterShouldBeRejected() {
+        assertThrows(IllegalStateException.class, () -> clusterService("node-3", NODES));
+    }
+
+    @Test
+    void clusterWithoutSecretShouldBeRejected() {
+        ClusterService clusterService = new ClusterService();
+        clusterService.nodeId = "node-1";
+        clusterService.nodes = Optional.of(NODES);
+
+        assertThrows(IllegalStateException.class, clusterService::init);
+    }
+
+    @Test
+    void onlyPeersWithTheSecretShouldBeAuthenticated() {
+        ClusterService clusterService = clusterService("node-1", NODES);
+
+        assertTrue(clusterService.isPeer("node-2"));
+        assertFalse(clusterService.isPeer("node-1"));
+        assertTrue(clusterService.authenticate("node-2", SECRET, "127.0.0.1"));
+        assertFalse(clusterService.authenticate("node-2", "wrong-secret", "127.0.0.1"));
+        assertFalse(clusterService.authenticate("node-2", null, "127.0.0.1"));
+        assertFalse(clusterService.authenticate("node-1", SECRET, "127.0.0.1"));
+        assertFalse(clusterService.authenticate("node-3", SECRET, "127.0.0.1"));
+        assertFalse(clusterService.authenticate(null, SECRET, "127.0.0.1"));
+    }
+
+    @Test
+    void peersShouldOnlyBeAuthenticatedOnTheInternalAddress() {
+        ClusterService clusterService = new ClusterService();
+        clusterService.nodeId = "node-1";
+        clusterService.nodes = Optional.of(NODES);
+        clusterService.secret = Optional.of(SECRET);
+        clusterService.internalAddress = Optional.of("10.0.0.1");
+        clusterService.init();
+
+        assertTrue(clusterService.authenticate("node-2", SECRET, "10.0.0.1"));
+        assertFalse(clusterService.authenticate("node-2", SECRET, "203.0.113.7"));
+    }
+
+    @Test
+    void nodeWithoutClusterShouldAuthenticateNobody() {
+        ClusterService clusterService = clusterService("node-1", List.of());
+
+        assertFalse(clusterService.isPeer("node-2"));
+        assertFalse(clusterService.authenticate("node-2", SECRET, "127.0.0.1"));
+    }
+
+    @Test
+    void nodeDefinitionsShouldBeParsed() {
+        assertEquals(new ClusterNode("node-2", URI.create("http://localhost:8081")), ClusterNode.parse(" node-2 = http://localhost:8081"));
+        assertThrows(IllegalArgumentException.class, () -> ClusterNode.parse("http://localhost:8081"));
+        assertThrows(IllegalArgumentException.class, () -> ClusterNode.parse("node-2="));
+    }
+
+    private static ClusterService clusterService(String nodeId, List<String> nodes) {
+        ClusterService clusterService = new ClusterService();
+        clusterService.nodeId = nodeId;
+        clusterService.nodes = Optional.of(nodes);
+        clusterService.secret = Optional.of(SECRET);
+        clusterService.init();
+        return clusterService;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.cataniaunited.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 30_000;
+
+    @Test
+    void singleNodeShouldOwnAllKeys() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node-1"), 16);
+
+        for (String key : lobbyIds()) {
+            assertEquals("node-1", ring.ownerOf(key));
+        }
+    }
+
+    @Test
+    void ownersShouldNotDependOnTheOrderOfTheNodes() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node-1", "node-2", "node-3"), 128);
+        ConsistentHashRing reversed = new ConsistentHashRing(List.of("node-3", "node-2", "node-1"), 128);
+
+        for (String key : lobbyIds()) {
+            assertEquals(ring.ownerOf(key), reversed.ownerOf(key));
+        }
+        assertEquals(List.of("node-1", "node-2", "node-3"), reversed.getNodeIds());
+    }
+
+    @Test
+    void keysShouldBeSpreadEvenlyOverTheNodes() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node-1", "node-2", "node-3"), 128);
+        Map<String, Integer> counts = new HashMap<>();
+
+        for (String key : lobbyIds()) {
+            counts.merge(ring.ownerOf(key), 1, Integer::sum);
+        }
+
+        assertEquals(3, counts.size());
+        counts.forEach((node, count) -> assertTrue(count > KEYS / 3 * 0.8 && count < KEYS / 3 * 1.2,
+                "Unbalanced ring, " + node + " owns " + count + " of " + KEYS + " keys"));
+    }
+
+    @Test
+    void addingANodeShouldOnlyMoveKeysToTheNewNode() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node-1", "node-2", "node-3"), 128);
+        ConsistentHashRing grown = new ConsistentHashRing(List.of("node-1", "node-2", "node-3", "node-4"), 128);
+        int moved = 0;
+
+        for (String key : lobbyIds()) {
+            String owner = grown.ownerOf(key);
+            if (!owner.equals(ring.ownerOf(key))) {
+                assertEquals("node-4", owner);
+                moved++;
+            }
+        }
+
+        assertTrue(moved > KEYS / 4 * 0.8 && moved < KEYS / 4 * 1.2, "Moved " + moved + " of " + KEYS + " keys");
+    }
+
+    @Test
+    void ringWithoutNodesOrPositionsShouldBeRejected() {
+        List<String> noNodes = List.of();
+        List<String> nodes = List.of("node-1");
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(noNodes, 128));
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(nodes, 0));
+    }
+
+    private static List<String> lobbyIds() {
+        Random random = new Random(42);
+        List<String> ids = new ArrayList<>(KEYS);
+        for (int i = 0; i < KEYS; i++) {
+            StringBuilder id = new StringBuilder();
+            for (int j = 0; j < 3; j++) {
+                id.append((char) ('a' + random.nextInt(26)));
+            }
+            for (int j = 0; j < 3; j++) {
+                id.append((char) ('0' + random.nextInt(10)));
+            }
+            ids.add(id.toString());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.cataniaunited.dto;
+
+import com.example.cataniaunited.dto.command.CheatAttempt;
+import com.example.cataniaunited.dto.command.NoPayload;
+import com.example.cataniaunited.dto.command.PlaceRoad;
+import com.example.cataniaunited.dto.command.SettlementPosition;
+import com.example.cataniaunited.game.board.tile_list_builder.TileType;
+import com.example.cataniaunited.game.trade.PlayerTradeRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ClientMessageTest {
+
+    private final ObjectReader reader = new ObjectMapper().readerFor(ClientMessage.class)
+            .without(DeserializationFeature.FAIL_ON_MISSING_EXTERNAL_TYPE_ID_PROPERTY);
+
+    @Test
+    void payloadShouldBeBoundToRecordOfMessageType() throws JsonProcessingException {
+        ClientMessage message = reader.readValue("{\"type\":\"PLACE_ROAD\",\"player\":\"p1\",\"lobbyId\":\"l1\",\"players\":{},\"message\":{\"roadId\":12}}");
+
+        assertEquals(MessageType.PLACE_ROAD, message.type());
+        assertEquals("p1", message.player());
+        assertEquals("l1", message.lobbyId());
+        assertEquals(new PlaceRoad(12), message.message());
+    }
+
+    @Test
+    void payloadShouldBeBoundIfItPrecedesMessageType() throws JsonProcessingException {
+        ClientMessage message = reader.readValue("{\"message\":{\"resource\":\"WOOD\"},\"type\":\"CHEAT_ATTEMPT\"}");
+
+        assertEquals(MessageType.CHEAT_ATTEMPT, message.type());
+        assertEquals(new CheatAttempt(TileType.WOOD), message.message());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"PLACE_SETTLEMENT", "UPGRADE_SETTLEMENT"})
+    void settlementCommandsShouldShareSettlementPosition(String type) throws JsonProcessingException {
+        ClientMessage message = reader.readValue("{\"type\":\"%s\",\"message\":{\"settlementPositionId\":7}}".formatted(type));
+
+        assertEquals(new SettlementPosition(7), message.message());
+    }
+
+    @Test
+    void nestedPayloadShouldBeBound() throws JsonProcessingException {
+        ClientMessage message = reader.readValue("""
+                {"type":"CREATE_PLAYER_TRADE_REQUEST","message":{"sourcePlayerId":"p1","targetPlayerId":"p2",
+                "trade":{"offeredResources":{"SHEEP":1},"targetResources":{"WOOD":2}}}}""");
+
+        PlayerTradeRequest request = assertInstanceOf(PlayerTradeRequest.class, message.message());
+        assertEquals("p1", request.sourcePlayerId());
+        assertEquals("p2", request.targetPlayerId());
+        assertEquals(1, request.trade().offeredResources().get(TileType.SHEEP));
+        assertEquals(2, request.trade().targetResources().get(TileType.WOOD));
+    }
+
+    @Test
+    void commandWithoutPayloadTypeShouldIgnoreContent() throws JsonProcessingException {
+        ClientMessage message = reader.readValue("{\"type\":\"CREATE_LOBBY\",\"player\":\"p1\",\"message\":{\"unused\":true}}");
+
+        assertInstanceOf(NoPayload.class, message.message());
+    }
+
+    @Test
+    void missingPayloadShouldBeNull() throws JsonProcessingException {
+        ClientMessage message = reader.readValue("{\"type\":\"ROLL_DICE\",\"player\":\"p1\",\"lobbyId\":\"l1\"}");
+
+        assertNull(message.message());
+        assertNull(message.toMessageDTO().getMessage());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"type\":\"PLACE_ROAD\",\"message\":{\"roadId\":\"NoInteger\"}}",
+            "{\"type\":\"PLACE_ROAD\",\"message\":{\"settlementPositionId\":1}}",
+            "{\"type\":\"CHEAT_ATTEMPT\",\"message\":{\"resource\":\"BANANA\"}}",
+            "{\"type\":\"TRADE_WITH_BANK\",\"message\":{\"offeredResources\":\"this-is-not-a-map\"}}"
+    })
+    void payloadNotMatchingMessageTypeShouldBeRejected(String json) {
+        assertThrows(JsonMappingException.class, () -> reader.readValue(json));
+    }
+
+    @Test
+    void toMessageDTOShouldCarryTypedPayload() throws JsonProcessingException {
+        ClientMessage message = reader.readValue("{\"type\":\"PLACE_ROAD\",\"player\":\"p1\",\"lobbyId\":\"l1\",\"message\":{\"roadId\":3}}");
+
+        MessageDTO dto = message.toMessageDTO();
+
+        assertEquals(MessageType.PLACE_ROAD, dto.getType());
+        assertEquals("p1", dto.getPlayer());
+        assertEquals("l1", dto.getLobbyId());
+        assertEquals(new PlaceRoad(3), dto.getPayload());
+        assertNull(dto.getMessage());
+    }
+}
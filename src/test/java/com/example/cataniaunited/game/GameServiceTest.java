@@ -4,8 +4,10 @@ import com.example.cataniaunited.exception.GameException;
 import com.example.cataniaunited.exception.ui.InvalidTurnException;
 import com.example.cataniaunited.exception.ui.MissingRequiredStructuresException;
 import com.example.cataniaunited.exception.ui.SetupLimitExceededException;
+import com.example.cataniaunited.game.board.BoardSnapshot;
 import com.example.cataniaunited.game.board.BuildingSite;
 import com.example.cataniaunited.game.board.GameBoard;
+import com.example.cataniaunited.game.board.LegalMoves;
 import com.example.cataniaunited.game.board.LongestRoadCalculator;
 import com.example.cataniaunited.game.board.Road;
 import com.example.cataniaunited.game.board.ports.Port;
@@ -16,14 +18,13 @@ import com.example.cataniaunited.lobby.LobbyService;
 import com.example.cataniaunited.player.Player;
 import com.example.cataniaunited.player.PlayerColor;
 import com.example.cataniaunited.player.PlayerService;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.mockito.InjectSpy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -309,6 +310,71 @@ class GameServiceTest {
         verify(gameService, never()).getGameboardByLobbyId(lobbyId);
     }
 
+    @Test
+    void getLegalMovesShouldBeEmptyIfItIsNotThePlayersTurn() throws GameException {
+        String playerId = "playerId1";
+        String lobbyId = lobbyMock.getLobbyId();
+        GameBoard gameBoard = new GameBoard(2);
+        doReturn(lobbyMock).when(lobbyService).getLobbyById(lobbyId);
+        doReturn(false).when(lobbyMock).isPlayerTurn(playerId);
+        doReturn(gameBoard).when(gameService).getGameboardByLobbyId(lobbyId);
+
+        LegalMoves legalMoves = gameService.getLegalMoves(lobbyId, playerId);
+
+        assertTrue(legalMoves.settlementPositionIds().isEmpty());
+        assertTrue(legalMoves.cityPositionIds().isEmpty());
+        assertTrue(legalMoves.roadIds().isEmpty());
+    }
+
+    @Test
+    void getLegalMovesShouldRespectSetupLimits() throws GameException {
+        Player player = new Player("player1");
+        String playerId = player.getUniqueId();
+        String lobbyId = lobbyMock.getLobbyId();
+        GameBoard gameBoard = new GameBoard(2);
+        gameBoard.placeRoad(new BuildRequest(player, PlayerColor.BLUE, 1, true, 1));
+        doReturn(lobbyMock).when(lobbyService).getLobbyById(lobbyId);
+        doReturn(true).when(lobbyMock).isPlayerTurn(playerId);
+        doReturn(PlayerColor.BLUE).when(lobbyMock).getPlayerColor(playerId);
+        doReturn(0).when(lobbyMock).getRoundsPlayed();
+        doReturn(gameBoard).when(gameService).getGameboardByLobbyId(lobbyId);
+        doReturn(player).when(playerService).getPlayerById(playerId);
+
+        LegalMoves legalMoves = gameService.getLegalMoves(lobbyId, playerId);
+
+        assertEquals(gameBoard.getBoardVersion(), legalMoves.boardVersion());
+        assertTrue(legalMoves.roadIds().isEmpty(), "The road of the first setup round is already placed");
+        assertEquals(gameBoard.getLegalMoves(player, true).settlementPositionIds(), legalMoves.settlementPositionIds());
+        assertFalse(legalMoves.settlementPositionIds().isEmpty());
+        assertTrue(legalMoves.cityPositionIds().isEmpty());
+    }
+
+    @Test
+    void getLegalMovesShouldRespectResourcesOfThePlayer() throws GameException {
+        Player player = new Player("player1");
+        String playerId = player.getUniqueId();
+        String lobbyId = lobbyMock.getLobbyId();
+        GameBoard gameBoard = new GameBoard(2);
+        gameBoard.placeRoad(new BuildRequest(player, PlayerColor.BLUE, 1, true, 1));
+        doReturn(lobbyMock).when(lobbyService).getLobbyById(lobbyId);
+        doReturn(true).when(lobbyMock).isPlayerTurn(playerId);
+        doReturn(PlayerColor.BLUE).when(lobbyMock).getPlayerColor(playerId);
+        doReturn(2).when(lobbyMock).getRoundsPlayed();
+        doReturn(gameBoard).when(gameService).getGameboardByLobbyId(lobbyId);
+        doReturn(player).when(playerService).getPlayerById(playerId);
+
+        LegalMoves legalMoves = gameService.getLegalMoves(lobbyId, playerId);
+        assertTrue(legalMoves.roadIds().isEmpty());
+        assertTrue(legalMoves.settlementPositionIds().isEmpty());
+
+        player.receiveResource(TileType.WOOD, 1);
+        player.receiveResource(TileType.CLAY, 1);
+        legalMoves = gameService.getLegalMoves(lobbyId, playerId);
+        assertEquals(gameBoard.getLegalMoves(player, false).roadIds(), legalMoves.roadIds());
+        assertFalse(legalMoves.roadIds().isEmpty());
+        assertTrue(legalMoves.settlementPositionIds().isEmpty());
+    }
+
     @Test
     void placeRoadShouldThrowGameExceptionForNotPlayerTurn() throws GameException {
         String playerId = "playerId1";
@@ -470,7 +536,7 @@ class GameServiceTest {
         doReturn(longestRoadCalculatorMock).when(gameService).getLongestRoadCalculator();
         doReturn(player).when(playerService).getPlayerById(playerId);
         doReturn(oldLongestRoadPlayer).when(playerService).getPlayerById(oldLongestRoadPlayer.getUniqueId());
-        doReturn(newLongestRoadLength).when(longestRoadCalculatorMock).calculateFor(anyList());
+        doReturn(newLongestRoadLength).when(longestRoadCalculatorMock).calculateFor(anyList(), any());
         doReturn(newLongestRoadLength - 1).when(gameboardMock).getLongestRoadLength();
         doReturn(oldLongestRoadPlayer.getUniqueId()).when(gameboardMock).getLongestRoadPlayerId();
 
@@ -491,14 +557,15 @@ class GameServiceTest {
     @Test
     void testGetJsonByValidLobbyId() throws GameException {
         String lobbyId = lobbyMock.getLobbyId();
-        ObjectNode expectedJson = new ObjectMapper().createObjectNode().put("test", "data"); // Create a dummy JSON node
-        when(gameboardMock.getJson()).thenReturn(expectedJson);
+        BoardSnapshot expectedSnapshot = new BoardSnapshot(0, "{\"test\":\"data\"}".getBytes(StandardCharsets.UTF_8));
+        when(gameboardMock.getSnapshot()).thenReturn(expectedSnapshot);
         doReturn(gameboardMock).when(gameService).getGameboardByLobbyId(lobbyId);
-        ObjectNode actualJson = gameService.getGameboardJsonByLobbyId(lobbyId);
+        BoardSnapshot actualSnapshot = gameService.getGameboardJsonByLobbyId(lobbyId);
         verify(gameService).getGameboardByLobbyId(lobbyId);
-        verify(gameboardMock).getJson();
-        assertNotNull(actualJson);
-        assertSame(expectedJson, actualJson, "The returned JSON should be the one from the GameBoard");
+        verify(gameboardMock).getSnapshot();
+        verify(gameboardMock, never()).getJson();
+        assertNotNull(actualSnapshot);
+        assertSame(expectedSnapshot, actualSnapshot, "The returned snapshot should be the one from the GameBoard");
     }
 
     @Test
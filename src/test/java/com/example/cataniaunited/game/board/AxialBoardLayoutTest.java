@@ -0,0 +1,111 @@
+package com.example.cataniaunited.game.board;
+
+import com.example.cataniaunited.game.board.tile_list_builder.StandardTileListBuilder;
+import com.example.cataniaunited.game.board.tile_list_builder.Tile;
+import com.example.cataniaunited.game.board.tile_list_builder.TileListDirector;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AxialBoardLayoutTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    void constructorShouldThrowForTooSmallBoard() {
+        assertThrows(IllegalArgumentException.class, () -> new AxialBoardLayout(1, GameBoard.SIZE_OF_HEX));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 4, 5, 8, 12})
+    void countsShouldMatchBoardSize(int sizeOfBoard) {
+        AxialBoardLayout layout = new AxialBoardLayout(sizeOfBoard, GameBoard.SIZE_OF_HEX);
+
+        assertEquals(3 * sizeOfBoard * (sizeOfBoard - 1) + 1, layout.getTileCount());
+        assertEquals(6 * sizeOfBoard * sizeOfBoard, layout.getSiteCount());
+        assertEquals(9 * sizeOfBoard * sizeOfBoard - 3 * sizeOfBoard, layout.getRoadCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 4, 5, 6, 9})
+    void layoutShouldMatchGraphBuilder(int sizeOfBoard) {
+        List<Tile> tiles = new TileListDirector(new StandardTileListBuilder())
+                .constructStandardTileList(sizeOfBoard, GameBoard.SIZE_OF_HEX, true);
+        GraphBuilder graphBuilder = new GraphBuilder(tiles, sizeOfBoard);
+        List<BuildingSite> sites = graphBuilder.generateGraph();
+        List<Road> roads = graphBuilder.getRoadList();
+        AxialBoardLayout layout = new AxialBoardLayout(sizeOfBoard, GameBoard.SIZE_OF_HEX);
+
+        assertEquals(tiles.size(), layout.getTileCount());
+        for (int tile = 0; tile < tiles.size(); tile++) {
+            assertArrayEquals(tiles.get(tile).getCoordinates(), layout.getTileCoordinates(tile), DELTA, "Tile " + (tile + 1));
+        }
+
+        assertEquals(sites.size(), layout.getSiteCount());
+        for (int site = 0; site < sites.size(); site++) {
+            assertArrayEquals(sites.get(site).getCoordinates(), layout.getSiteCoordinates(site), DELTA, "Building site " + (site + 1));
+        }
+
+        assertEquals(roads.size(), layout.getRoadCount());
+        for (int road = 0; road < roads.size(); road++) {
+            Transform transform = layout.getRoadTransform(road);
+            assertArrayEquals(roads.get(road).getCoordinates(), transform.getCoordinatesArray(), DELTA, "Road " + (road + 1));
+            assertEquals(roads.get(road).getRotationAngle(), transform.rotation(), DELTA, "Road " + (road + 1));
+        }
+
+        assertSameTopology(graphBuilder.getTopology(), layout.toTopology());
+    }
+
+    private static void assertSameTopology(BoardTopology expected, BoardTopology actual) {
+        assertEquals(expected.getSiteCount(), actual.getSiteCount());
+        assertEquals(expected.getRoadCount(), actual.getRoadCount());
+        assertEquals(expected.getTileCount(), actual.getTileCount());
+        for (int road = 0; road < expected.getRoadCount(); road++) {
+            assertEquals(expected.getRoadSite(road, 0), actual.getRoadSite(road, 0), "Road " + (road + 1));
+            assertEquals(expected.getRoadSite(road, 1), actual.getRoadSite(road, 1), "Road " + (road + 1));
+        }
+        for (int site = 0; site < expected.getSiteCount(); site++) {
+            assertEquals(siteRoads(expected, site), siteRoads(actual, site), "Roads of building site " + (site + 1));
+            assertEquals(sorted(siteTiles(expected, site)), sorted(siteTiles(actual, site)), "Tiles of building site " + (site + 1));
+        }
+        for (int tile = 0; tile < expected.getTileCount(); tile++) {
+            assertEquals(sorted(tileSites(expected, tile)), sorted(tileSites(actual, tile)), "Building sites of tile " + (tile + 1));
+        }
+    }
+
+    private static List<Integer> siteRoads(BoardTopology topology, int site) {
+        List<Integer> roads = new ArrayList<>();
+        for (int offset = topology.getSiteRoadStart(site); offset < topology.getSiteRoadEnd(site); offset++) {
+            roads.add(topology.getSiteRoad(offset));
+            roads.add(topology.getSiteNeighbour(offset));
+        }
+        return roads;
+    }
+
+    private static List<Integer> siteTiles(BoardTopology topology, int site) {
+        List<Integer> tiles = new ArrayList<>();
+        for (int offset = topology.getSiteTileStart(site); offset < topology.getSiteTileEnd(site); offset++) {
+            tiles.add(topology.getSiteTile(offset));
+        }
+        return tiles;
+    }
+
+    private static List<Integer> tileSites(BoardTopology topology, int tile) {
+        List<Integer> sites = new ArrayList<>();
+        for (int offset = topology.getTileSiteStart(tile); offset < topology.getTileSiteEnd(tile); offset++) {
+            sites.add(topology.getTileSite(offset));
+        }
+        return sites;
+    }
+
+    private static List<Integer> sorted(List<Integer> values) {
+        return values.stream().sorted().toList();
+    }
+}
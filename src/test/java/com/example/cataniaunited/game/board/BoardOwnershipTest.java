@@ -0,0 +1,179 @@
+package com.example.cataniaunited.game.board;
+
+import com.example.cataniaunited.exception.GameException;
+import com.example.cataniaunited.exception.ui.NoAdjacentRoadException;
+import com.example.cataniaunited.exception.ui.SpacingRuleViolationException;
+import com.example.cataniaunited.game.buildings.City;
+import com.example.cataniaunited.game.buildings.Settlement;
+import com.example.cataniaunited.player.Player;
+import com.example.cataniaunited.player.PlayerColor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoardOwnershipTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 6, 8})
+    void sitesAndRoadsShouldBeAttachedToOwnershipOfBoard(int playerCount) {
+        GameBoard gameBoard = new GameBoard(playerCount);
+
+        for (BuildingSite site : gameBoard.getBuildingSitePositionGraph()) {
+            assertSame(gameBoard.ownership, site.ownership);
+        }
+        for (Road road : gameBoard.getRoadList()) {
+            assertSame(gameBoard.ownership, road.ownership);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 6, 8})
+    void hasNeighbouringBuildingShouldMatchGraph(int playerCount) throws GameException {
+        GameBoard gameBoard = new GameBoard(playerCount);
+        Player player = new Player("Player1");
+        int siteCount = gameBoard.getBuildingSitePositionGraph().size();
+        for (int index = 0; index < siteCount; index += 7) {
+            placeSettlementIfAllowed(gameBoard, index, player);
+        }
+
+        for (BuildingSite site : gameBoard.getBuildingSitePositionGraph()) {
+            boolean expected = site.getNeighbours().stream().anyMatch(neighbour -> neighbour.getBuildingOwner() != null);
+            assertEquals(expected, gameBoard.ownership.hasNeighbouringBuilding(site.getId() - 1),
+                    "Spacing rule of site %d".formatted(site.getId()));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 6, 8})
+    void hasRoadAtShouldMatchGraph(int playerCount) throws GameException {
+        GameBoard gameBoard = new GameBoard(playerCount);
+        Player player = new Player("Player1");
+        Player otherPlayer = new Player("Player2");
+        for (Road road : gameBoard.getRoadList()) {
+            if (road.getId() % 5 == 0) {
+                road.setOwner(road.getId() % 2 == 0 ? player : otherPlayer);
+            }
+        }
+
+        for (BuildingSite site : gameBoard.getBuildingSitePositionGraph()) {
+            boolean expected = site.getRoads().stream().anyMatch(road -> road.getOwner() == player);
+            assertEquals(expected, gameBoard.ownership.hasRoadAt(site.getId() - 1, player),
+                    "Road at site %d".formatted(site.getId()));
+        }
+    }
+
+    @Test
+    void hasConnectedRoadShouldBeFalseForPlayerWithoutRoads() {
+        GameBoard gameBoard = new GameBoard(2);
+        assertFalse(gameBoard.ownership.hasConnectedRoad(0, new Player("Player1")));
+    }
+
+    @Test
+    void hasConnectedRoadShouldIgnoreTheRoadItself() throws GameException {
+        GameBoard gameBoard = new GameBoard(2);
+        Player player = new Player("Player1");
+        Road road = gameBoard.getRoadList().get(0);
+        road.setOwner(player);
+
+        assertFalse(gameBoard.ownership.hasConnectedRoad(road.getId() - 1, player));
+        for (Road adjacentRoad : road.getAdjacentRoads()) {
+            assertTrue(gameBoard.ownership.hasConnectedRoad(adjacentRoad.getId() - 1, player));
+        }
+    }
+
+    @Test
+    void hasConnectedRoadShouldBeBlockedByBuildingOfOtherPlayer() throws GameException {
+        GameBoard gameBoard = new GameBoard(2);
+        Player player = new Player("Player1");
+        Player otherPlayer = new Player("Player2");
+        BuildingSite site = gameBoard.getBuildingSitePositionGraph().get(0);
+        Road ownRoad = site.getRoads().get(0);
+        Road nextRoad = site.getRoads().get(1);
+        Road otherRoad = site.getRoads().get(2);
+        ownRoad.setOwner(player);
+        otherRoad.setOwner(otherPlayer);
+
+        assertTrue(gameBoard.ownership.hasConnectedRoad(nextRoad.getId() - 1, player));
+        site.setBuilding(new Settlement(otherPlayer, PlayerColor.BLUE));
+        assertFalse(gameBoard.ownership.hasConnectedRoad(nextRoad.getId() - 1, player));
+    }
+
+    @Test
+    void hasConnectedRoadShouldPassOwnCity() throws GameException {
+        GameBoard gameBoard = new GameBoard(2);
+        Player player = new Player("Player1");
+        BuildingSite site = gameBoard.getBuildingSitePositionGraph().get(0);
+        Road ownRoad = site.getRoads().get(0);
+        Road nextRoad = site.getRoads().get(1);
+        ownRoad.setOwner(player);
+        site.setBuilding(new Settlement(player, PlayerColor.BLUE));
+        site.setBuilding(new City(player, PlayerColor.BLUE));
+
+        assertTrue(gameBoard.ownership.hasConnectedRoad(nextRoad.getId() - 1, player));
+        assertTrue(gameBoard.ownership.hasNeighbouringBuilding(nextRoad.getNeighbour(site).getId() - 1));
+    }
+
+    @Test
+    void attachShouldRecordExistingStructures() throws GameException {
+        GameBoard gameBoard = new GameBoard(2);
+        Player player = new Player("Player1");
+        BuildingSite site = gameBoard.getBuildingSitePositionGraph().get(0);
+        Road road = site.getRoads().get(0);
+        road.setOwner(player);
+        site.setBuilding(new Settlement(player, PlayerColor.BLUE));
+
+        BoardOwnership ownership = new BoardOwnership(gameBoard.getTopology());
+        ownership.attach(gameBoard.getBuildingSitePositionGraph(), gameBoard.getRoadList());
+
+        assertTrue(ownership.hasRoadAt(site.getId() - 1, player));
+        assertTrue(ownership.hasNeighbouringBuilding(road.getNeighbour(site).getId() - 1));
+    }
+
+    @Test
+    void bitboardsShouldBeSharedByEqualPlayers() throws GameException {
+        GameBoard gameBoard = new GameBoard(2);
+        Player player = new Player("Player1");
+        Player restoredPlayer = Player.restore(player.getUniqueId(), player.getUsername());
+        BuildingSite site = gameBoard.getBuildingSitePositionGraph().get(0);
+        site.getRoads().get(0).setOwner(player);
+
+        assertTrue(gameBoard.ownership.hasRoadAt(site.getId() - 1, restoredPlayer));
+        assertEquals(BoardOwnership.toIds(gameBoard.ownership.settlementSitesOf(player)),
+                BoardOwnership.toIds(gameBoard.ownership.settlementSitesOf(restoredPlayer)));
+    }
+
+    @Test
+    void setBuildingShouldValidateAgainstBitboards() throws GameException {
+        GameBoard gameBoard = new GameBoard(2);
+        Player player = new Player("Player1");
+        BuildingSite site = gameBoard.getBuildingSitePositionGraph().get(0);
+        Road road = site.getRoads().get(0);
+        BuildingSite neighbour = road.getNeighbour(site);
+
+        Settlement settlement = new Settlement(player, PlayerColor.BLUE);
+        assertThrows(NoAdjacentRoadException.class, () -> site.setBuilding(settlement));
+
+        road.setOwner(player);
+        site.setBuilding(settlement);
+        Settlement neighbourSettlement = new Settlement(player, PlayerColor.BLUE);
+        assertThrows(SpacingRuleViolationException.class, () -> neighbour.setBuilding(neighbourSettlement));
+    }
+
+    private static void placeSettlementIfAllowed(GameBoard gameBoard, int index, Player player) throws GameException {
+        BuildingSite site = gameBoard.getBuildingSitePositionGraph().get(index);
+        if (site.getNeighbours().stream().anyMatch(neighbour -> neighbour.getBuildingOwner() != null)) {
+            return;
+        }
+        Road road = site.getRoads().get(0);
+        if (road.getOwner() == null) {
+            road.setOwner(player);
+        }
+        site.setBuilding(new Settlement(player, PlayerColor.BLUE));
+    }
+}
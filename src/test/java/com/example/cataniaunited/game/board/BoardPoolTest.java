@@ -0,0 +1,134 @@
+package com.example.cataniaunited.game.board;
+
+import com.example.cataniaunited.metrics.GameMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+class BoardPoolTest {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @Inject
+    BoardPool boardPool;
+
+    @Inject
+    GameMetrics gameMetrics;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Test
+    void poolsOfStandardBoardSizesShouldBeFilledAtStartup() throws InterruptedException {
+        for (int playerCount = 2; playerCount <= 8; playerCount++) {
+            int count = playerCount;
+            assertTrue(awaitCondition(() -> boardPool.getAvailableBoards(count) == boardPool.poolSize),
+                    "Pool for %d players should be filled".formatted(playerCount));
+        }
+    }
+
+    @Test
+    void takeShouldReturnPooledBoardAndRefillPool() throws InterruptedException {
+        assertTrue(awaitCondition(() -> boardPool.getAvailableBoards(4) == boardPool.poolSize));
+        double hits = poolRequests(3, "hit");
+
+        GameBoard first = boardPool.take(4);
+        GameBoard second = boardPool.take(3);
+
+        assertNotSame(first, second);
+        assertEquals(3, first.getSizeOfBoard());
+        assertEquals(3, second.getSizeOfBoard());
+        assertEquals(hits + 2, poolRequests(3, "hit"));
+        assertTrue(awaitCondition(() -> boardPool.getAvailableBoards(4) == boardPool.poolSize), "Pool should be refilled");
+    }
+
+    @Test
+    void takeShouldGenerateBoardWhenPoolIsEmpty() {
+        BoardPool disabledPool = new BoardPool();
+        disabledPool.poolSize = 0;
+        disabledPool.gameMetrics = gameMetrics;
+        disabledPool.start();
+        double misses = poolRequests(4, "miss");
+
+        GameBoard gameBoard = disabledPool.take(6);
+
+        assertNotNull(gameBoard);
+        assertEquals(4, gameBoard.getSizeOfBoard());
+        assertEquals(misses + 1, poolRequests(4, "miss"));
+        assertEquals(0, disabledPool.getAvailableBoards(6));
+        disabledPool.stop();
+    }
+
+    @Test
+    void takeShouldNotPoolBoardsOfUnconfiguredSizes() throws InterruptedException {
+        BoardPool pool = new BoardPool();
+        pool.poolSize = 1;
+        pool.gameMetrics = gameMetrics;
+        pool.start();
+        double misses = poolRequests(6, "miss");
+
+        GameBoard gameBoard = pool.take(12);
+
+        assertEquals(6, gameBoard.getSizeOfBoard());
+        assertEquals(misses + 1, poolRequests(6, "miss"));
+        assertTrue(awaitCondition(() -> pool.getAvailableBoards(2) == 1));
+        assertEquals(0, pool.getAvailableBoards(12), "Unconfigured size should not be pooled");
+        pool.stop();
+    }
+
+    @Test
+    void takeShouldPoolBoardsOfConfiguredSizes() throws InterruptedException {
+        BoardPool pool = new BoardPool();
+        pool.poolSize = 1;
+        pool.pooledPlayerCounts = List.of(12);
+        pool.gameMetrics = gameMetrics;
+        pool.start();
+
+        assertTrue(awaitCondition(() -> pool.getAvailableBoards(12) == 1), "Pool of the configured size should be filled");
+        assertEquals(0, pool.getAvailableBoards(2));
+        double hits = poolRequests(6, "hit");
+
+        GameBoard gameBoard = pool.take(12);
+
+        assertEquals(6, gameBoard.getSizeOfBoard());
+        assertEquals(hits + 1, poolRequests(6, "hit"));
+        assertTrue(awaitCondition(() -> pool.getAvailableBoards(12) == 1), "Pool should be refilled");
+        pool.stop();
+    }
+
+    @Test
+    void takeShouldThrowForInvalidPlayerCount() {
+        assertThrows(IllegalArgumentException.class, () -> boardPool.take(1));
+    }
+
+    private double poolRequests(int sizeOfBoard, String result) {
+        Counter counter = meterRegistry.find(GameMetrics.BOARD_POOL_REQUESTS)
+                .tag(GameMetrics.BOARD_SIZE_TAG, String.valueOf(sizeOfBoard))
+                .tag(GameMetrics.BOARD_POOL_RESULT_TAG, result)
+                .counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static boolean awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+}
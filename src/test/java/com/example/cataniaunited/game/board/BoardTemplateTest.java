@@ -0,0 +1,106 @@
+package com.example.cataniaunited.game.board;
+
+import com.example.cataniaunited.game.board.ports.Port;
+import com.example.cataniaunited.game.board.tile_list_builder.StandardTileListBuilder;
+import com.example.cataniaunited.game.board.tile_list_builder.Tile;
+import com.example.cataniaunited.game.board.tile_list_builder.TileListDirector;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BoardTemplateTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    void forSizeShouldReturnSameTemplateForSameSize() {
+        assertSame(BoardTemplate.forSize(3), BoardTemplate.forSize(3));
+        assertNotSame(BoardTemplate.forSize(3), BoardTemplate.forSize(4));
+    }
+
+    @Test
+    void boardsOfSameSizeShouldShareTopologyButNotTheirGraph() {
+        GameBoard first = new GameBoard(3);
+        GameBoard second = new GameBoard(4);
+
+        assertSame(first.getTopology(), second.getTopology());
+        assertNotSame(first.getBuildingSitePositionGraph().get(0), second.getBuildingSitePositionGraph().get(0));
+        assertNotSame(first.getTileList().get(0), second.getTileList().get(0));
+        assertNotSame(first.portList.get(0), second.portList.get(0));
+    }
+
+    @Test
+    void placeTilesShouldThrowForTileListOfOtherSize() {
+        List<Tile> tiles = shuffledTiles(4);
+        BoardTemplate template = BoardTemplate.forSize(3);
+        assertThrows(IllegalArgumentException.class, () -> template.placeTiles(tiles));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 5, 7, 13})
+    void boardFromTemplateShouldMatchGeneratedGraph(int playerCount) {
+        GameBoard gameBoard = new GameBoard(playerCount);
+        int sizeOfBoard = gameBoard.getSizeOfBoard();
+        List<Tile> referenceTiles = new TileListDirector(new StandardTileListBuilder())
+                .constructStandardTileList(sizeOfBoard, GameBoard.SIZE_OF_HEX, true);
+        GraphBuilder graphBuilder = new GraphBuilder(referenceTiles, sizeOfBoard);
+        List<BuildingSite> referenceSites = graphBuilder.generateGraph();
+        List<Road> referenceRoads = graphBuilder.getRoadList();
+
+        List<Tile> tiles = gameBoard.getTileList();
+        assertEquals(referenceTiles.size(), tiles.size());
+        for (int tile = 0; tile < tiles.size(); tile++) {
+            assertEquals(tile + 1, tiles.get(tile).getId());
+            assertArrayEquals(referenceTiles.get(tile).getCoordinates(), tiles.get(tile).getCoordinates(), DELTA);
+        }
+
+        List<BuildingSite> sites = gameBoard.getBuildingSitePositionGraph();
+        assertEquals(referenceSites.size(), sites.size());
+        for (int site = 0; site < sites.size(); site++) {
+            BuildingSite expected = referenceSites.get(site);
+            BuildingSite actual = sites.get(site);
+            assertEquals(expected.getId(), actual.getId());
+            assertArrayEquals(expected.getCoordinates(), actual.getCoordinates(), DELTA);
+            assertEquals(expected.getTiles().stream().map(Tile::getId).sorted().toList(), actual.getTiles().stream().map(Tile::getId).sorted().toList());
+            assertEquals(expected.getRoads().stream().map(Road::getId).toList(), actual.getRoads().stream().map(Road::getId).toList());
+        }
+
+        List<Road> roads = gameBoard.getRoadList();
+        assertEquals(referenceRoads.size(), roads.size());
+        for (int road = 0; road < roads.size(); road++) {
+            Road expected = referenceRoads.get(road);
+            Road actual = roads.get(road);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.positionA.getId(), actual.positionA.getId());
+            assertEquals(expected.positionB.getId(), actual.positionB.getId());
+            assertArrayEquals(expected.getCoordinates(), actual.getCoordinates(), DELTA);
+            assertEquals(expected.getRotationAngle(), actual.getRotationAngle(), DELTA);
+        }
+
+        assertEquals(graphBuilder.getPortList().size(), gameBoard.portList.size());
+        assertEquals(portSlots(graphBuilder.getPortList()), portSlots(gameBoard.portList));
+    }
+
+    private static Set<List<Integer>> portSlots(List<Port> ports) {
+        Set<List<Integer>> slots = new HashSet<>();
+        for (Port port : ports) {
+            slots.add(port.getBuildingSites().stream().map(BuildingSite::getId).toList());
+        }
+        return slots;
+    }
+
+    private static List<Tile> shuffledTiles(int sizeOfBoard) {
+        return new TileListDirector(new StandardTileListBuilder())
+                .constructShuffledTileList(sizeOfBoard, GameBoard.SIZE_OF_HEX, true);
+    }
+}
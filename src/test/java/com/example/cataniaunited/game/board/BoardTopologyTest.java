@@ -0,0 +1,91 @@
+package com.example.cataniaunited.game.board;
+
+import com.example.cataniaunited.game.board.tile_list_builder.Tile;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoardTopologyTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 6, 8})
+    void topologyShouldHaveOneEntryPerSiteRoadAndTile(int playerCount) {
+        GameBoard gameBoard = new GameBoard(playerCount);
+        BoardTopology topology = gameBoard.getTopology();
+
+        assertNotNull(topology);
+        assertEquals(gameBoard.getBuildingSitePositionGraph().size(), topology.getSiteCount());
+        assertEquals(gameBoard.getRoadList().size(), topology.getRoadCount());
+        assertEquals(gameBoard.getTileList().size(), topology.getTileCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 6, 8})
+    void roadSitesShouldMatchGraph(int playerCount) {
+        GameBoard gameBoard = new GameBoard(playerCount);
+        BoardTopology topology = gameBoard.getTopology();
+
+        for (Road road : gameBoard.getRoadList()) {
+            int roadIndex = road.getId() - 1;
+            List<BuildingSite> sites = road.getBuildingSites();
+            assertEquals(sites.get(0).getId() - 1, topology.getRoadSite(roadIndex, 0));
+            assertEquals(sites.get(1).getId() - 1, topology.getRoadSite(roadIndex, 1));
+            assertEquals(sites.get(1).getId() - 1, topology.getOtherRoadSite(roadIndex, sites.get(0).getId() - 1));
+            assertEquals(sites.get(0).getId() - 1, topology.getOtherRoadSite(roadIndex, sites.get(1).getId() - 1));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 6, 8})
+    void siteRoadsAndNeighboursShouldMatchGraph(int playerCount) {
+        GameBoard gameBoard = new GameBoard(playerCount);
+        BoardTopology topology = gameBoard.getTopology();
+
+        for (BuildingSite site : gameBoard.getBuildingSitePositionGraph()) {
+            int siteIndex = site.getId() - 1;
+            List<Integer> roads = new ArrayList<>();
+            List<Integer> neighbours = new ArrayList<>();
+            for (int offset = topology.getSiteRoadStart(siteIndex); offset < topology.getSiteRoadEnd(siteIndex); offset++) {
+                roads.add(topology.getSiteRoad(offset) + 1);
+                neighbours.add(topology.getSiteNeighbour(offset) + 1);
+            }
+            assertEquals(site.getRoads().stream().map(Road::getId).toList(), roads);
+            assertEquals(site.getNeighbours().stream().map(BuildingSite::getId).toList(), neighbours);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 6, 8})
+    void siteTilesAndTileSitesShouldMatchGraph(int playerCount) {
+        GameBoard gameBoard = new GameBoard(playerCount);
+        BoardTopology topology = gameBoard.getTopology();
+
+        for (BuildingSite site : gameBoard.getBuildingSitePositionGraph()) {
+            int siteIndex = site.getId() - 1;
+            List<Integer> tiles = new ArrayList<>();
+            for (int offset = topology.getSiteTileStart(siteIndex); offset < topology.getSiteTileEnd(siteIndex); offset++) {
+                int tile = topology.getSiteTile(offset);
+                tiles.add(tile + 1);
+                boolean listedAtTile = false;
+                for (int tileOffset = topology.getTileSiteStart(tile); tileOffset < topology.getTileSiteEnd(tile); tileOffset++) {
+                    listedAtTile |= topology.getTileSite(tileOffset) == siteIndex;
+                }
+                assertTrue(listedAtTile, "Site %d should be listed at tile %d".formatted(site.getId(), tile + 1));
+            }
+            assertEquals(site.getTiles().stream().map(Tile::getId).toList(), tiles);
+        }
+
+        int tileSiteCount = 0;
+        for (int tile = 0; tile < topology.getTileCount(); tile++) {
+            tileSiteCount += topology.getTileSiteEnd(tile) - topology.getTileSiteStart(tile);
+        }
+        int siteTileCount = gameBoard.getBuildingSitePositionGraph().stream().mapToInt(site -> site.getTiles().size()).sum();
+        assertEquals(siteTileCount, tileSiteCount);
+    }
+}
@@ -5,6 +5,11 @@ import com.example.cataniaunited.exception.ui.BuildableLimitReachedException;
 import com.example.cataniaunited.exception.ui.InsufficientResourcesException;
 import com.example.cataniaunited.exception.ui.NoAdjacentRoadException;
 import com.example.cataniaunited.game.BuildRequest;
+import com.example.cataniaunited.game.board.change.BoardChange;
+import com.example.cataniaunited.game.board.change.BoardChangeType;
+import com.example.cataniaunited.game.board.change.BuildingChange;
+import com.example.cataniaunited.game.board.change.LongestRoadChange;
+import com.example.cataniaunited.game.board.change.RoadChange;
 import com.example.cataniaunited.game.board.ports.Port;
 import com.example.cataniaunited.game.board.tile_list_builder.Tile;
 import com.example.cataniaunited.game.board.tile_list_builder.TileType;
@@ -12,7 +17,10 @@ import com.example.cataniaunited.game.buildings.City;
 import com.example.cataniaunited.game.buildings.Settlement;
 import com.example.cataniaunited.player.Player;
 import com.example.cataniaunited.player.PlayerColor;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.quarkus.test.junit.QuarkusTest;
 import org.junit.jupiter.api.Disabled;
@@ -20,14 +28,23 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -35,7 +52,9 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -516,6 +535,161 @@ class GameBoardTest {
     }
 
 
+    @Test
+    void newBoardStartsAtVersionZeroWithoutChanges() {
+        GameBoard gameBoard = new GameBoard(2);
+        assertEquals(0, gameBoard.getBoardVersion());
+        assertTrue(gameBoard.canPatchFrom(0));
+        assertTrue(gameBoard.getChangesSince(0).isEmpty());
+    }
+
+    @Test
+    void placementsBumpBoardVersionAndEmitTypedChanges() throws GameException {
+        GameBoard gameBoard = new GameBoard(2);
+        BuildingSite buildingSite = gameBoard.getBuildingSitePositionGraph().get(0);
+        Road road = buildingSite.getRoads().get(0);
+        Player player = new Player("Player1");
+        player.receiveResource(TileType.ORE, 3);
+        player.receiveResource(TileType.WHEAT, 2);
+
+        gameBoard.placeRoad(new BuildRequest(player, PlayerColor.LIGHT_ORANGE, road.getId(), true, 2));
+        gameBoard.placeSettlement(new BuildRequest(player, PlayerColor.LIGHT_ORANGE, buildingSite.getId(), true, 2));
+        gameBoard.placeCity(new BuildRequest(player, PlayerColor.LIGHT_ORANGE, buildingSite.getId()));
+        gameBoard.setLongestRoad(player.getUniqueId(), 5);
+
+        assertEquals(4, gameBoard.getBoardVersion());
+        List<BoardChange> changes = gameBoard.getChangesSince(0);
+        assertEquals(4, changes.size());
+
+        RoadChange roadChange = assertInstanceOf(RoadChange.class, changes.get(0));
+        assertEquals(1, roadChange.version());
+        assertEquals(road.getId(), roadChange.roadId());
+        assertEquals(player.getUniqueId(), roadChange.owner());
+        assertEquals(PlayerColor.LIGHT_ORANGE.getHexCode(), roadChange.color());
+
+        BuildingChange settlementChange = assertInstanceOf(BuildingChange.class, changes.get(1));
+        assertEquals(BoardChangeType.BUILDING_PLACED, settlementChange.type());
+        assertEquals(buildingSite.getId(), settlementChange.positionId());
+        assertEquals(Settlement.class.getSimpleName(), settlementChange.building().get("type").asText());
+
+        BuildingChange cityChange = assertInstanceOf(BuildingChange.class, changes.get(2));
+        assertEquals(BoardChangeType.BUILDING_UPGRADED, cityChange.type());
+        assertEquals(City.class.getSimpleName(), cityChange.toJson().get("building").get("type").asText());
+
+        LongestRoadChange longestRoadChange = assertInstanceOf(LongestRoadChange.class, changes.get(3));
+        assertEquals(4, longestRoadChange.version());
+        assertEquals(5, longestRoadChange.length());
+
+        List<BoardChange> patch = gameBoard.getChangesSince(2);
+        assertEquals(List.of(changes.get(2), changes.get(3)), patch);
+        assertTrue(gameBoard.getChangesSince(4).isEmpty());
+    }
+
+    @Test
+    void failedPlacementDoesNotBumpBoardVersion() {
+        GameBoard gameBoard = new GameBoard(2);
+        Road road = gameBoard.getRoadList().get(0);
+        var buildRequest = new BuildRequest(new Player("Player1"), PlayerColor.LIGHT_ORANGE, road.getId());
+        assertThrows(GameException.class, () -> gameBoard.placeRoad(buildRequest));
+        assertEquals(0, gameBoard.getBoardVersion());
+    }
+
+    @Test
+    void settingUnchangedLongestRoadDoesNotEmitChange() {
+        GameBoard gameBoard = new GameBoard(2);
+        gameBoard.setLongestRoad("player", 5);
+        gameBoard.setLongestRoad("player", 5);
+        assertEquals(1, gameBoard.getBoardVersion());
+    }
+
+    @Test
+    void getChangesSinceShouldThrowForUnknownVersion() {
+        GameBoard gameBoard = new GameBoard(2);
+        assertFalse(gameBoard.canPatchFrom(-1));
+        assertFalse(gameBoard.canPatchFrom(1));
+        assertThrows(IllegalArgumentException.class, () -> gameBoard.getChangesSince(1));
+    }
+
+    @Test
+    void changeLogShouldOnlyKeepTheLatestChanges() {
+        GameBoard gameBoard = new GameBoard(2);
+        for (int length = 1; length <= GameBoard.MAX_PATCH_CHANGES + 10; length++) {
+            gameBoard.setLongestRoad("player", length);
+        }
+
+        int oldestVersion = gameBoard.getBoardVersion() - GameBoard.MAX_PATCH_CHANGES;
+        assertEquals(10, oldestVersion);
+        assertFalse(gameBoard.canPatchFrom(0));
+        assertFalse(gameBoard.canPatchFrom(oldestVersion - 1));
+        assertTrue(gameBoard.canPatchFrom(oldestVersion));
+        List<BoardChange> patch = gameBoard.getChangesSince(oldestVersion);
+        assertEquals(GameBoard.MAX_PATCH_CHANGES, patch.size());
+        assertEquals(oldestVersion + 1, patch.get(0).version());
+        assertEquals(gameBoard.getBoardVersion(), patch.get(patch.size() - 1).version());
+        assertThrows(IllegalArgumentException.class, () -> gameBoard.getChangesSince(0));
+    }
+
+    @Test
+    void getSnapshotShouldMatchJsonOfBoard() throws Exception {
+        GameBoard gameBoard = new GameBoard(4);
+        BoardSnapshot snapshot = gameBoard.getSnapshot();
+        assertEquals(0, snapshot.getVersion());
+        assertEquals(new ObjectMapper().writeValueAsString(gameBoard.getJson()), snapshot.getValue());
+        assertEquals(snapshot.getValue().getBytes(StandardCharsets.UTF_8).length, snapshot.size());
+    }
+
+    @Test
+    void snapshotShouldBeEmbeddedVerbatimIntoMessages() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        GameBoard gameBoard = new GameBoard(2);
+        ObjectNode message = objectMapper.createObjectNode();
+        message.putRawValue("gameboard", gameBoard.getSnapshot().asRawValue());
+
+        String json = objectMapper.writeValueAsString(message);
+        String jsonFromBytes = new String(objectMapper.writeValueAsBytes(message), StandardCharsets.UTF_8);
+
+        assertEquals("{\"gameboard\":" + gameBoard.getSnapshot().getValue() + "}", json);
+        assertEquals(json, jsonFromBytes);
+        assertEquals(gameBoard.getJson(), objectMapper.readTree(json).get("gameboard"));
+    }
+
+    @Test
+    void getSnapshotShouldBeReusedUntilBoardVersionChanges() throws Exception {
+        GameBoard gameBoard = spy(new GameBoard(2));
+        BoardSnapshot snapshot = gameBoard.getSnapshot();
+        assertSame(snapshot, gameBoard.getSnapshot());
+        verify(gameBoard, times(1)).writeJson(any());
+
+        Road road = gameBoard.getRoadList().get(0);
+        gameBoard.placeRoad(new BuildRequest(new Player("Player1"), PlayerColor.LIGHT_ORANGE, road.getId(), true, 2));
+
+        BoardSnapshot updatedSnapshot = gameBoard.getSnapshot();
+        assertNotSame(snapshot, updatedSnapshot);
+        assertEquals(1, updatedSnapshot.getVersion());
+        assertSame(updatedSnapshot, gameBoard.getSnapshot());
+        verify(gameBoard, times(2)).writeJson(any());
+        verify(gameBoard, never()).getJson();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 5, 7, 12, 30})
+    void writeJsonShouldMatchSerializedJsonTree(int playerCount) throws Exception {
+        GameBoard gameBoard = new GameBoard(playerCount);
+        Player player = new Player("Player1");
+        Road road = gameBoard.getRoadList().get(0);
+        int positionId = road.getBuildingSites().get(0).getId();
+        gameBoard.placeRoad(new BuildRequest(player, PlayerColor.LIGHT_ORANGE, road.getId(), true, 2));
+        gameBoard.placeSettlement(new BuildRequest(player, PlayerColor.LIGHT_ORANGE, positionId, true, 2));
+        gameBoard.placeCity(new BuildRequest(player, PlayerColor.LIGHT_ORANGE, positionId, true, 2));
+
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = new JsonFactory().createGenerator(writer)) {
+            gameBoard.writeJson(generator);
+        }
+
+        assertEquals(new ObjectMapper().writeValueAsString(gameBoard.getJson()), writer.toString());
+    }
+
     @Test
     void testGetJsonStructure() {
         int playerCount = 2; // Use a simple case
@@ -602,6 +776,151 @@ class GameBoardTest {
      * For example an example JSON ...
      */
     @Disabled("For Debugging Purposes")
+    @Test
+    void getLegalMovesInSetupRoundShouldAllowEveryFreeRoad() throws GameException {
+        GameBoard gameBoard = new GameBoard(2);
+        Player player = new Player("Player1");
+        Player otherPlayer = new Player("Player2");
+        gameBoard.placeRoad(new BuildRequest(otherPlayer, PlayerColor.BLUE, 1, true, 2));
+
+        LegalMoves legalMoves = gameBoard.getLegalMoves(player, true);
+
+        assertEquals(gameBoard.getRoadList().size() - 1, legalMoves.roadIds().size());
+        assertFalse(legalMoves.roadIds().contains(1));
+        assertTrue(legalMoves.settlementPositionIds().isEmpty());
+        assertTrue(legalMoves.cityPositionIds().isEmpty());
+    }
+
+    @Test
+    void getLegalMovesWithoutStructuresShouldBeEmpty() {
+        GameBoard gameBoard = new GameBoard(2);
+
+        LegalMoves legalMoves = gameBoard.getLegalMoves(new Player("Player1"), false);
+
+        assertEquals(0, legalMoves.boardVersion());
+        assertTrue(legalMoves.settlementPositionIds().isEmpty());
+        assertTrue(legalMoves.cityPositionIds().isEmpty());
+        assertTrue(legalMoves.roadIds().isEmpty());
+    }
+
+    @Test
+    void getLegalMovesShouldMatchPlacementRules() throws GameException {
+        GameBoard gameBoard = new GameBoard(4);
+        Player player = new Player("Player1");
+        Road road = gameBoard.getRoadList().get(0);
+        gameBoard.placeRoad(new BuildRequest(player, PlayerColor.BLUE, road.getId(), true, 2));
+        BuildingSite settlementSite = road.getBuildingSites().get(0);
+        gameBoard.placeSettlement(new BuildRequest(player, PlayerColor.BLUE, settlementSite.getId(), true, 2));
+
+        LegalMoves legalMoves = gameBoard.getLegalMoves(player, false);
+
+        assertEquals(gameBoard.getBoardVersion(), legalMoves.boardVersion());
+        assertEquals(List.of(settlementSite.getId()), legalMoves.cityPositionIds());
+        assertTrue(legalMoves.settlementPositionIds().isEmpty(), "Both ends of the road are too close to the settlement");
+        List<Integer> expectedRoads = road.getAdjacentRoads().stream().map(Road::getId).sorted().toList();
+        assertEquals(expectedRoads, legalMoves.roadIds());
+    }
+
+    @Test
+    void getLegalMovesShouldOnlyContainSettlementSitesPassingTheSpacingRule() throws GameException {
+        GameBoard gameBoard = new GameBoard(4);
+        Player player = new Player("Player1");
+        Road road = gameBoard.getRoadList().get(0);
+        gameBoard.placeRoad(new BuildRequest(player, PlayerColor.BLUE, road.getId(), true, 2));
+        for (Road adjacentRoad : road.getAdjacentRoads()) {
+            gameBoard.placeRoad(new BuildRequest(player, PlayerColor.BLUE, adjacentRoad.getId(), true, 10));
+        }
+
+        LegalMoves legalMoves = gameBoard.getLegalMoves(player, false);
+
+        for (BuildingSite site : gameBoard.getBuildingSitePositionGraph()) {
+            boolean expected = site.getRoads().stream().anyMatch(r -> r.getOwner() == player);
+            assertEquals(expected, legalMoves.settlementPositionIds().contains(site.getId()), "Site " + site.getId());
+        }
+    }
+
+    @Test
+    void getLegalMovesShouldNotConnectRoadsThroughBuildingOfOtherPlayer() throws GameException {
+        GameBoard gameBoard = new GameBoard(2);
+        Player player = new Player("Player1");
+        Player otherPlayer = new Player("Player2");
+        BuildingSite site = gameBoard.getBuildingSitePositionGraph().get(0);
+        Road ownRoad = site.getRoads().get(0);
+        Road otherRoad = site.getRoads().get(1);
+        gameBoard.placeRoad(new BuildRequest(player, PlayerColor.BLUE, ownRoad.getId(), true, 2));
+        gameBoard.placeRoad(new BuildRequest(otherPlayer, PlayerColor.BROWN, otherRoad.getId(), true, 2));
+        assertTrue(gameBoard.getLegalMoves(player, false).roadIds().contains(site.getRoads().get(2).getId()));
+
+        gameBoard.placeSettlement(new BuildRequest(otherPlayer, PlayerColor.BROWN, site.getId(), true, 2));
+
+        LegalMoves legalMoves = gameBoard.getLegalMoves(player, false);
+        assertFalse(legalMoves.roadIds().contains(site.getRoads().get(2).getId()));
+        BuildingSite otherEnd = ownRoad.getNeighbour(site);
+        List<Integer> expectedRoads = otherEnd.getRoads().stream().filter(r -> r != ownRoad).map(Road::getId).sorted().toList();
+        assertEquals(expectedRoads, legalMoves.roadIds());
+    }
+
+    @Test
+    void getLegalMovesShouldBeCachedPerBoardVersion() throws GameException {
+        GameBoard gameBoard = new GameBoard(2);
+        Player player = new Player("Player1");
+        gameBoard.placeRoad(new BuildRequest(player, PlayerColor.BLUE, 1, true, 2));
+
+        LegalMoves legalMoves = gameBoard.getLegalMoves(player, false);
+        assertSame(legalMoves, gameBoard.getLegalMoves(player, false));
+        assertNotSame(legalMoves, gameBoard.getLegalMoves(player, true));
+
+        gameBoard.placeRoad(new BuildRequest(player, PlayerColor.BLUE, legalMoves.roadIds().get(0), true, 2));
+        LegalMoves updatedMoves = gameBoard.getLegalMoves(player, false);
+        assertNotSame(legalMoves, updatedMoves);
+        assertEquals(gameBoard.getBoardVersion(), updatedMoves.boardVersion());
+    }
+
+    @Test
+    void rollDiceShouldReportProductionOfRoll() throws GameException {
+        GameBoard gameBoard = new GameBoard(2);
+        Player player = new Player("Player1");
+        BuildingSite site = gameBoard.getBuildingSitePositionGraph().get(0);
+        gameBoard.placeRoad(new BuildRequest(player, PlayerColor.BLUE, site.getRoads().get(0).getId(), true, 2));
+        gameBoard.placeSettlement(new BuildRequest(player, PlayerColor.BLUE, site.getId(), true, 2));
+
+        for (int roll = 1; roll <= 20; roll++) {
+            Map<TileType, Integer> before = new HashMap<>(player.getResources());
+            ObjectNode result = gameBoard.rollDice();
+
+            assertEquals(roll, result.get("rollVersion").asInt());
+            assertEquals(roll, gameBoard.getRollVersion());
+            JsonNode gained = result.get("production").path(player.getUniqueId());
+            for (TileType type : TileType.values()) {
+                int delta = player.getResourceCount(type) - before.getOrDefault(type, 0);
+                assertEquals(delta, gained.path(type.name()).asInt(), type + " after roll " + result.get("total").asInt());
+            }
+        }
+    }
+
+    @Test
+    void boardsWithSameSeedShouldBeIdenticalAndRollSameSequence() {
+        GameBoard first = new GameBoard(6, 42);
+        GameBoard second = new GameBoard(6, 42);
+
+        assertEquals(42, first.getSeed());
+        assertEquals(first.getSnapshot().getValue(), second.getSnapshot().getValue());
+        for (int roll = 0; roll < 50; roll++) {
+            ObjectNode expected = first.rollDice();
+            ObjectNode actual = second.rollDice();
+            assertEquals(expected.get("dice1").asInt(), actual.get("dice1").asInt(), "Roll " + roll);
+            assertEquals(expected.get("dice2").asInt(), actual.get("dice2").asInt(), "Roll " + roll);
+        }
+    }
+
+    @Test
+    void boardsWithDifferentSeedsShouldDiffer() {
+        GameBoard first = new GameBoard(6, 42);
+        GameBoard second = new GameBoard(6, 43);
+
+        assertNotEquals(first.getSnapshot().getValue(), second.getSnapshot().getValue());
+    }
+
     @Test
     void debuggingTest() {
         GameBoard board = new GameBoard(4);
@@ -189,6 +189,12 @@ class GraphBuilderTest {
         assertNull(graphBuilder.getPortList(), "Port list should be null before generateGraph is called.");
     }
 
+    @Test
+    void getTopologyBeforeGraphGenerationShouldReturnNull() {
+        GraphBuilder graphBuilder = new GraphBuilder(validTileList, validSizeOfBoard);
+        assertNull(graphBuilder.getTopology(), "Topology should be null before generateGraph is called.");
+    }
+
     @Test
     void generateGraphShouldPopulatePortList() {
         GraphBuilder graphBuilder = new GraphBuilder(validTileList, validSizeOfBoard);
@@ -0,0 +1,182 @@
+package com.example.cataniaunited.game.board;
+
+import com.example.cataniaunited.exception.GameException;
+import com.example.cataniaunited.game.BuildRequest;
+import com.example.cataniaunited.player.Player;
+import com.example.cataniaunited.player.PlayerColor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Budgets for boards of massive lobbies, up to the default {@code qatania.lobby.max-players} of 64 players;
+ * beyond the number of {@link PlayerColor}s, players share colors. Every budget leaves several times the headroom of the measured values, so a failing test points to a step
+ * that scales worse than linear with the board, not to a slow machine. Timings take the fastest of several
+ * runs after the template of the board size was built.
+ * <p>
+ * Tagged {@value #TAG}, so the budgets run in the {@code scalingTest} task without coverage instrumentation
+ * instead of the {@code test} task.
+ */
+@Tag(MassiveLobbyScalingTest.TAG)
+class MassiveLobbyScalingTest {
+
+    static final String TAG = "scaling";
+
+    private static final int WARM_UP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+    private static final int SMALLEST_MASSIVE_LOBBY = 16;
+    private static final int LARGEST_LOBBY = 64;
+
+    @ParameterizedTest
+    @CsvSource({
+            // players, sizeOfBoard, generationMillis
+            "16, 6, 50",
+            "32, 8, 75",
+            "64, 12, 150"
+    })
+    void generationShouldStayWithinTimeBudget(int playerCount, int sizeOfBoard, long generationMillis) {
+        BoardTemplate.forSize(sizeOfBoard);
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            new GameBoard(playerCount);
+        }
+
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            GameBoard gameBoard = new GameBoard(playerCount);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+            assertEquals(sizeOfBoard, gameBoard.getSizeOfBoard());
+        }
+
+        assertTrue(fastest / 1_000_000 <= generationMillis,
+                "Generating a board for %d players took %d ms".formatted(playerCount, fastest / 1_000_000));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            // players, allocatedKilobytes
+            "16, 512",
+            "32, 1024",
+            "64, 2048"
+    })
+    void generationShouldStayWithinMemoryBudget(int playerCount, long allocatedKilobytes) {
+        long allocated = allocatedBytesOfBoard(playerCount);
+        assertTrue(allocated / 1024 <= allocatedKilobytes,
+                "Generating a board for %d players allocated %d KB".formatted(playerCount, allocated / 1024));
+    }
+
+    @Test
+    void memoryPerBuildingSiteShouldNotGrowWithBoardSize() {
+        double smallBoard = (double) allocatedBytesOfBoard(SMALLEST_MASSIVE_LOBBY)
+                / new GameBoard(SMALLEST_MASSIVE_LOBBY).getBuildingSitePositionGraph().size();
+        double largeBoard = (double) allocatedBytesOfBoard(LARGEST_LOBBY) / new GameBoard(LARGEST_LOBBY).getBuildingSitePositionGraph().size();
+
+        assertTrue(largeBoard <= 1.5 * smallBoard,
+                "Allocated %.0f bytes per building site for %d players, %.0f for %d players".formatted(
+                        largeBoard, LARGEST_LOBBY, smallBoard, SMALLEST_MASSIVE_LOBBY));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            // players, snapshotKilobytes
+            "16, 96",
+            "32, 160",
+            "64, 384"
+    })
+    void snapshotShouldStayWithinPayloadBudget(int playerCount, int snapshotKilobytes) {
+        GameBoard gameBoard = new GameBoard(playerCount);
+
+        BoardSnapshot snapshot = gameBoard.getSnapshot();
+
+        assertTrue(snapshot.size() / 1024 <= snapshotKilobytes,
+                "Board snapshot for %d players has %d KB".formatted(playerCount, snapshot.size() / 1024));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            // players, ruleCheckMillis
+            "16, 250",
+            "32, 250",
+            "64, 500"
+    })
+    void setupRoundShouldStayWithinTimeBudget(int playerCount, long ruleCheckMillis) throws GameException {
+        runSetupRound(new GameBoard(playerCount), playerCount);
+
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            GameBoard gameBoard = new GameBoard(playerCount);
+            long start = System.nanoTime();
+            runSetupRound(gameBoard, playerCount);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+
+        assertTrue(fastest / 1_000_000 <= ruleCheckMillis,
+                "Setup round and dice rolls for %d players took %d ms".formatted(playerCount, fastest / 1_000_000));
+    }
+
+    /**
+     * Lets every player place a road and a settlement, queries the legal moves of all players
+     * after every placement and rolls the dice once per possible total.
+     */
+    private static void runSetupRound(GameBoard gameBoard, int playerCount) throws GameException {
+        List<Player> players = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            players.add(new Player("Player" + i));
+        }
+
+        for (Player player : players) {
+            BuildingSite site = freeBuildingSite(gameBoard);
+            Road road = site.getRoads().stream().filter(r -> r.getOwner() == null).findFirst().orElseThrow();
+            gameBoard.placeRoad(new BuildRequest(player, PlayerColor.BLUE, road.getId(), true, 2));
+            gameBoard.placeSettlement(new BuildRequest(player, PlayerColor.BLUE, site.getId(), true, 2));
+            for (Player other : players) {
+                gameBoard.getLegalMoves(other, false);
+            }
+        }
+
+        for (Player player : players) {
+            assertFalse(gameBoard.getLegalMoves(player, false).cityPositionIds().isEmpty());
+        }
+        for (int roll = 2; roll <= 12; roll++) {
+            gameBoard.rollDice();
+        }
+    }
+
+    private static BuildingSite freeBuildingSite(GameBoard gameBoard) {
+        for (BuildingSite site : gameBoard.getBuildingSitePositionGraph()) {
+            int index = site.getId() - 1;
+            if (site.building == null && !gameBoard.ownership.hasNeighbouringBuilding(index)
+                    && site.getRoads().stream().anyMatch(road -> road.getOwner() == null)) {
+                return site;
+            }
+        }
+        throw new AssertionError("Board has no free building site left");
+    }
+
+    private static long allocatedBytesOfBoard(int playerCount) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean, "Allocation counting is not supported");
+        com.sun.management.ThreadMXBean allocationCounter = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(allocationCounter.isThreadAllocatedMemorySupported(), "Allocation counting is not supported");
+        allocationCounter.setThreadAllocatedMemoryEnabled(true);
+
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            new GameBoard(playerCount);
+        }
+        long threadId = Thread.currentThread().threadId();
+        long before = allocationCounter.getThreadAllocatedBytes(threadId);
+        new GameBoard(playerCount);
+        return allocationCounter.getThreadAllocatedBytes(threadId) - before;
+    }
+}
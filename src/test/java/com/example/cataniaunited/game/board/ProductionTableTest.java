@@ -0,0 +1,192 @@
+package com.example.cataniaunited.game.board;
+
+import com.example.cataniaunited.exception.GameException;
+import com.example.cataniaunited.game.board.tile_list_builder.Tile;
+import com.example.cataniaunited.game.board.tile_list_builder.TileType;
+import com.example.cataniaunited.game.buildings.City;
+import com.example.cataniaunited.game.buildings.Settlement;
+import com.example.cataniaunited.player.Player;
+import com.example.cataniaunited.player.PlayerColor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductionTableTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 6, 8})
+    void sitesShouldBeAttachedToProductionOfBoard(int playerCount) {
+        GameBoard gameBoard = new GameBoard(playerCount);
+
+        for (BuildingSite site : gameBoard.getBuildingSitePositionGraph()) {
+            assertSame(gameBoard.production, site.production);
+        }
+    }
+
+    @Test
+    void produceShouldOnlyDistributeResourcesOfRolledTiles() throws GameException {
+        GameBoard gameBoard = new GameBoard(2);
+        Player player = new Player("Player1");
+        BuildingSite site = placeSettlement(productiveSite(gameBoard), player);
+        Tile tile = productiveTileOf(site);
+
+        int before = totalResources(player);
+        for (int roll = 2; roll <= 12; roll++) {
+            if (!hasTileWithValue(site, roll)) {
+                gameBoard.production.produce(roll);
+            }
+        }
+        assertEquals(before, totalResources(player));
+
+        int resourcesBefore = player.getResourceCount(tile.getType());
+        Map<Player, Map<TileType, Integer>> gains = gameBoard.production.produce(tile.getValue());
+        assertEquals(resourcesBefore + countMatchingTiles(site, tile), player.getResourceCount(tile.getType()));
+        assertEquals(countMatchingTiles(site, tile), gains.get(player).get(tile.getType()).intValue());
+    }
+
+    @Test
+    void cityShouldReplaceEntryOfSettlement() throws GameException {
+        GameBoard gameBoard = new GameBoard(2);
+        Player player = new Player("Player1");
+        BuildingSite site = placeSettlement(productiveSite(gameBoard), player);
+        Tile tile = productiveTileOf(site);
+        int entriesBefore = gameBoard.production.getEntryCount(tile.getValue());
+
+        site.setBuilding(new City(player, PlayerColor.BLUE));
+        assertEquals(entriesBefore, gameBoard.production.getEntryCount(tile.getValue()));
+
+        int before = player.getResourceCount(tile.getType());
+        gameBoard.production.produce(tile.getValue());
+        assertEquals(before + 2 * countMatchingTiles(site, tile), player.getResourceCount(tile.getType()));
+    }
+
+    @Test
+    void attachShouldRecordExistingBuildings() throws GameException {
+        GameBoard gameBoard = new GameBoard(2);
+        Player player = new Player("Player1");
+        BuildingSite site = placeSettlement(productiveSite(gameBoard), player);
+        Tile tile = productiveTileOf(site);
+
+        ProductionTable production = new ProductionTable(gameBoard.getTopology(), gameBoard.getTileList());
+        production.attach(gameBoard.getBuildingSitePositionGraph());
+
+        assertEquals(gameBoard.production.getEntryCount(tile.getValue()), production.getEntryCount(tile.getValue()));
+    }
+
+    @Test
+    void equalPlayersShouldShareOneSlot() throws GameException {
+        GameBoard gameBoard = new GameBoard(2);
+        Player player = new Player("Player1");
+        Player restoredPlayer = Player.restore(player.getUniqueId(), player.getUsername());
+        BuildingSite site = productiveSite(gameBoard);
+        Tile tile = productiveTileOf(site);
+
+        ProductionTable production = new ProductionTable(gameBoard.getTopology(), gameBoard.getTileList());
+        production.recordBuilding(site.getId() - 1, player, 1);
+        production.recordBuilding(site.getId() - 1, restoredPlayer, 2);
+        Map<Player, Map<TileType, Integer>> gains = production.produce(tile.getValue());
+
+        assertEquals(1, gains.size());
+        assertEquals(2 * countMatchingTiles(site, tile), gains.get(player).get(tile.getType()));
+        assertEquals(2 * countMatchingTiles(site, tile), restoredPlayer.getResourceCount(tile.getType()));
+        assertEquals(0, player.getResourceCount(tile.getType()));
+    }
+
+    @Test
+    void produceShouldIgnoreRollsOutOfRange() {
+        GameBoard gameBoard = new GameBoard(2);
+        assertTrue(gameBoard.production.produce(-1).isEmpty());
+        assertTrue(gameBoard.production.produce(13).isEmpty());
+        assertEquals(0, gameBoard.production.getEntryCount(13));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 6, 8})
+    void produceShouldMatchTileNotifications(int playerCount) throws GameException {
+        GameBoard gameBoard = new GameBoard(playerCount);
+        List<Player> players = List.of(new Player("Player1"), new Player("Player2"));
+        List<BuildingSite> sites = gameBoard.getBuildingSitePositionGraph();
+        for (int index = 0; index < sites.size(); index += 5) {
+            BuildingSite site = sites.get(index);
+            Player player = players.get(index % 2);
+            if (!gameBoard.ownership.hasNeighbouringBuilding(index) && site.getRoads().stream().anyMatch(road -> road.getOwner() == null)) {
+                placeSettlement(site, player);
+                if (index % 3 == 0) {
+                    site.setBuilding(new City(player, PlayerColor.BLUE));
+                }
+            }
+        }
+
+        for (int roll = 2; roll <= 12; roll++) {
+            List<Map<TileType, Integer>> before = snapshot(players);
+            for (Tile tile : gameBoard.getTileList()) {
+                tile.update(roll);
+            }
+            List<Map<TileType, Integer>> notified = snapshot(players);
+            gameBoard.production.produce(roll);
+
+            for (int i = 0; i < players.size(); i++) {
+                for (TileType type : TileType.values()) {
+                    int expected = notified.get(i).getOrDefault(type, 0) - before.get(i).getOrDefault(type, 0);
+                    int actual = players.get(i).getResourceCount(type) - notified.get(i).getOrDefault(type, 0);
+                    assertEquals(expected, actual, "%s of player %d after roll %d".formatted(type, i + 1, roll));
+                }
+            }
+        }
+    }
+
+    private static List<Map<TileType, Integer>> snapshot(List<Player> players) {
+        return players.stream().<Map<TileType, Integer>>map(player -> new HashMap<>(player.getResources())).toList();
+    }
+
+    private static BuildingSite productiveSite(GameBoard gameBoard) {
+        for (BuildingSite site : gameBoard.getBuildingSitePositionGraph()) {
+            for (Tile tile : site.getTiles()) {
+                if (tile.getType() != TileType.WASTE) {
+                    return site;
+                }
+            }
+        }
+        throw new AssertionError("Board has no productive tile");
+    }
+
+    private static Tile productiveTileOf(BuildingSite site) {
+        return site.getTiles().stream()
+                .filter(tile -> tile.getType() != TileType.WASTE)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static boolean hasTileWithValue(BuildingSite site, int value) {
+        return site.getTiles().stream().anyMatch(tile -> tile.getType() != TileType.WASTE && tile.getValue() == value);
+    }
+
+    private static int countMatchingTiles(BuildingSite site, Tile tile) {
+        return (int) site.getTiles().stream()
+                .filter(siteTile -> siteTile.getValue() == tile.getValue() && siteTile.getType() == tile.getType())
+                .count();
+    }
+
+    private static int totalResources(Player player) {
+        int total = 0;
+        for (TileType type : TileType.values()) {
+            total += player.getResourceCount(type);
+        }
+        return total;
+    }
+
+    private static BuildingSite placeSettlement(BuildingSite site, Player player) throws GameException {
+        Road road = site.getRoads().stream().filter(r -> r.getOwner() == null).findFirst().orElseThrow();
+        road.setOwner(player);
+        site.setBuilding(new Settlement(player, PlayerColor.BLUE));
+        return site;
+    }
+}
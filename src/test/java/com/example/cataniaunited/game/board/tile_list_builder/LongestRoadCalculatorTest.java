@@ -1,9 +1,12 @@
 package com.example.cataniaunited.game.board.tile_list_builder;
 
+import com.example.cataniaunited.exception.GameException;
 import com.example.cataniaunited.game.board.BuildingSite;
 import com.example.cataniaunited.game.board.LongestRoadCalculator;
 import com.example.cataniaunited.game.board.Road;
+import com.example.cataniaunited.game.buildings.Settlement;
 import com.example.cataniaunited.player.Player;
+import com.example.cataniaunited.player.PlayerColor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -37,6 +40,23 @@ class LongestRoadCalculatorTest {
         return road;
     }
 
+    private List<Road> createChain(int length) {
+        List<Road> chain = new ArrayList<>();
+        for (int i = 0; i < length; i++) {
+            chain.add(createPlayerRoad(sites.get(i), sites.get(i + 1)));
+        }
+        return chain;
+    }
+
+    private void placeSettlementOfOtherPlayer(BuildingSite site) throws GameException {
+        Player otherPlayer = new Player("p2", null);
+        Road otherRoad = new Road(site, sites.get(9), site.getId() * 100 + 9);
+        otherRoad.setOwner(otherPlayer);
+        site.addRoad(otherRoad);
+        sites.get(9).addRoad(otherRoad);
+        site.setBuilding(new Settlement(otherPlayer, PlayerColor.BLUE));
+    }
+
     @Test
     void testSimpleStraightRoad() {
         List<Road> playerRoads = List.of(
@@ -92,6 +112,75 @@ class LongestRoadCalculatorTest {
         assertEquals(3, length);
     }
 
+    @Test
+    void testRoadBrokenBySettlementOfOtherPlayer() throws GameException {
+        List<Road> playerRoads = createChain(5);
+        placeSettlementOfOtherPlayer(sites.get(2));
+        LongestRoadCalculator calculator = new LongestRoadCalculator();
+        int length = calculator.calculateFor(playerRoads);
+        assertEquals(3, length, "The settlement at site 2 splits the road into 2 and 3 roads.");
+    }
+
+    @Test
+    void testRoadNotBrokenByOwnSettlement() throws GameException {
+        List<Road> playerRoads = createChain(5);
+        Road ownRoad = new Road(sites.get(2), sites.get(9), 209);
+        ownRoad.setOwner(testPlayer);
+        sites.get(2).addRoad(ownRoad);
+        sites.get(9).addRoad(ownRoad);
+        sites.get(2).setBuilding(new Settlement(testPlayer, PlayerColor.RED));
+        LongestRoadCalculator calculator = new LongestRoadCalculator();
+        int length = calculator.calculateFor(playerRoads);
+        assertEquals(5, length);
+    }
+
+    @Test
+    void testBrokenRoadMayEndAtSettlementOfOtherPlayer() throws GameException {
+        List<Road> playerRoads = createChain(3);
+        placeSettlementOfOtherPlayer(sites.get(1));
+        LongestRoadCalculator calculator = new LongestRoadCalculator();
+        int length = calculator.calculateFor(playerRoads, playerRoads.get(0));
+        assertEquals(1, length, "Road 0-1 is only connected to the others through the blocked site 1.");
+        assertEquals(2, calculator.calculateFor(playerRoads, playerRoads.get(1)));
+        assertEquals(2, calculator.calculateFor(playerRoads));
+    }
+
+    @Test
+    void testOnlyNetworkOfPlacedRoadIsSearched() {
+        List<Road> playerRoads = List.of(
+                createPlayerRoad(sites.get(0), sites.get(1)),
+                createPlayerRoad(sites.get(1), sites.get(2)),
+                createPlayerRoad(sites.get(2), sites.get(3)),
+                createPlayerRoad(sites.get(5), sites.get(6)),
+                createPlayerRoad(sites.get(6), sites.get(7))
+        );
+        LongestRoadCalculator calculator = new LongestRoadCalculator();
+        assertEquals(2, calculator.calculateFor(playerRoads, playerRoads.get(4)));
+        assertEquals(3, calculator.calculateFor(playerRoads, playerRoads.get(0)));
+    }
+
+    @Test
+    void testPlacedRoadNotOwnedByPlayerSearchesAllNetworks() {
+        List<Road> playerRoads = createChain(4);
+        Road otherRoad = new Road(sites.get(7), sites.get(8), 708);
+        LongestRoadCalculator calculator = new LongestRoadCalculator();
+        assertEquals(4, calculator.calculateFor(playerRoads, otherRoad));
+    }
+
+    @Test
+    void testRoadWithMoreThan64Roads() {
+        List<BuildingSite> chainSites = new ArrayList<>();
+        for (int i = 0; i <= 70; i++) {
+            chainSites.add(new BuildingSite(100 + i));
+        }
+        List<Road> playerRoads = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            playerRoads.add(createPlayerRoad(chainSites.get(i), chainSites.get(i + 1)));
+        }
+        LongestRoadCalculator calculator = new LongestRoadCalculator();
+        assertEquals(70, calculator.calculateFor(playerRoads, playerRoads.get(69)));
+    }
+
     @Test
     void testNullRoadList() {
         LongestRoadCalculator calculator = new LongestRoadCalculator();
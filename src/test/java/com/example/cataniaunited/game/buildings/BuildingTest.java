@@ -1,14 +1,24 @@
 package com.example.cataniaunited.game.buildings;
 
 import com.example.cataniaunited.exception.GameException;
+import com.example.cataniaunited.game.Buildable;
+import com.example.cataniaunited.game.board.Road;
+import com.example.cataniaunited.game.board.tile_list_builder.TileType;
 import com.example.cataniaunited.player.Player;
 import com.example.cataniaunited.player.PlayerColor;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.quarkus.test.junit.QuarkusTest;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -30,6 +40,29 @@ class BuildingTest {
         assertEquals("TestBuilding", buildingJson.get("type").asText());
     }
 
+    @ParameterizedTest
+    @MethodSource("costTableProvider")
+    void costsShouldMatchCostTable(Buildable buildable, Map<TileType, Integer> requiredResources, int buildLimit,
+                                   Map<TileType, Integer> expectedResources, int expectedBuildLimit) {
+        assertEquals(expectedResources, requiredResources);
+        assertSame(requiredResources, buildable.getRequiredResources());
+        assertEquals(expectedBuildLimit, buildLimit);
+        assertEquals(buildLimit, buildable.getBuildLimit());
+    }
+
+    static Stream<Arguments> costTableProvider() throws GameException {
+        Player player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn("id1");
+        return Stream.of(
+                Arguments.of(new Road(null, null, 1), Road.REQUIRED_RESOURCES, Road.BUILD_LIMIT,
+                        Map.of(TileType.WOOD, 1, TileType.CLAY, 1), 15),
+                Arguments.of(new Settlement(player, PlayerColor.RED), Settlement.REQUIRED_RESOURCES, Settlement.BUILD_LIMIT,
+                        Map.of(TileType.WOOD, 1, TileType.CLAY, 1, TileType.WHEAT, 1, TileType.SHEEP, 1), 5),
+                Arguments.of(new City(player, PlayerColor.RED), City.REQUIRED_RESOURCES, City.BUILD_LIMIT,
+                        Map.of(TileType.WHEAT, 2, TileType.ORE, 3), 4)
+        );
+    }
+
     @Test
     void constructorShouldThrowExceptionWhenPlayerIdIsNull() {
         GameException ge = assertThrows(GameException.class, () -> new TestBuilding(null, PlayerColor.LAVENDER));
@@ -1,6 +1,7 @@
 package com.example.cataniaunited.game.dice;
 
 import com.example.cataniaunited.game.board.tile_list_builder.Tile;
+import com.example.cataniaunited.util.GameRandom;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,6 +20,16 @@ class DiceRollerTest {
         diceRoller = new DiceRoller();
     }
 
+    @Test
+    void rollersWithSameSeedShouldRollSameSequence() {
+        DiceRoller first = new DiceRoller(GameRandom.fromSeed(42));
+        DiceRoller second = new DiceRoller(GameRandom.fromSeed(42));
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals(first.rollDice(), second.rollDice(), "Roll " + i);
+        }
+    }
+
     @Test
     void testRollDiceReturnsValidTotal() {
         DiceRoller methodDiceRoller = new DiceRoller();
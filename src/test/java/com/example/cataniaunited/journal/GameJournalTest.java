@@ -0,0 +1,303 @@
+package com.example.cataniaunited.journal;
+
+import com.example.cataniaunited.metrics.GameMetrics;
+import com.example.cataniaunited.player.PlayerColor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+class GameJournalTest {
+
+    @Inject
+    GameMetrics gameMetrics;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendedRecordsShouldBeReplayedAfterReopening() {
+        GameJournal journal = openJournal(1024 * 1024);
+        List<JournalRecord> records = List.of(
+                JournalRecord.lobbyCreated("abc123", "host", "Host", PlayerColor.RED),
+                JournalRecord.gameStarted("abc123", "host", 42),
+                JournalRecord.diceRolled("abc123", "host", 2, 5)
+        );
+        records.forEach(journal::append);
+        journal.close();
+
+        assertEquals(records, replay(openJournalWithoutRecovery(1024 * 1024)));
+    }
+
+    @Test
+    void recordsAppendedWhileReplayingShouldBeIgnored() {
+        GameJournal journal = openJournal(1024 * 1024);
+        journal.append(JournalRecord.turnEnded("abc123", "host"));
+        journal.close();
+
+        GameJournal reopened = openJournalWithoutRecovery(1024 * 1024);
+        reopened.recover(reopened::append);
+        reopened.close();
+
+        assertEquals(1, replay(openJournalWithoutRecovery(1024 * 1024)).size());
+    }
+
+    @Test
+    void recoveryFromPositionShouldOnlyReplayLaterRecords() {
+        GameJournal journal = openJournal(256);
+        for (int i = 0; i < 20; i++) {
+            journal.append(JournalRecord.roadPlaced("abc123", "host", i));
+        }
+        long position = journal.getPosition();
+        List<JournalRecord> later = new ArrayList<>();
+        for (int i = 20; i < 40; i++) {
+            later.add(JournalRecord.roadPlaced("abc123", "host", i));
+        }
+        later.forEach(journal::append);
+        journal.close();
+
+        GameJournal reopened = openJournalWithoutRecovery(256);
+        List<JournalRecord> replayed = new ArrayList<>();
+        List<Long> positions = new ArrayList<>();
+        int count = reopened.recover(position, (record, recordPosition) -> {
+            replayed.add(record);
+            positions.add(recordPosition);
+        });
+        long end = reopened.getPosition();
+        reopened.close();
+
+        assertEquals(later, replayed);
+        assertEquals(later.size(), count);
+        assertTrue(positions.get(0) > position);
+        assertEquals(end, positions.get(positions.size() - 1));
+        assertEquals(positions.stream().sorted().distinct().toList(), positions, "Positions should grow with every record");
+    }
+
+    @Test
+    void fullSegmentShouldRollOverToNextSegment() throws IOException {
+        GameJournal journal = openJournal(256);
+        List<JournalRecord> records = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            records.add(JournalRecord.settlementPlaced("abc123", "player-" + i, i));
+        }
+        records.forEach(journal::append);
+        journal.close();
+
+        assertTrue(segmentFiles().size() > 1, "Records should be spread over several segments");
+        assertEquals(records, replay(openJournalWithoutRecovery(256)));
+    }
+
+    @Test
+    void segmentsBeforePositionShouldBeDeleted() throws IOException {
+        GameJournal journal = openJournal(256);
+        for (int i = 0; i < 20; i++) {
+            journal.append(JournalRecord.roadPlaced("abc123", "host", i));
+        }
+        long position = journal.getPosition();
+        List<JournalRecord> later = new ArrayList<>();
+        for (int i = 20; i < 40; i++) {
+            later.add(JournalRecord.roadPlaced("abc123", "host", i));
+        }
+        later.forEach(journal::append);
+        int segments = segmentFiles().size();
+
+        int deleted = journal.deleteSegmentsBefore(position);
+        journal.close();
+
+        assertTrue(deleted > 0, "Segments before the position should be deleted");
+        assertEquals(GameJournal.segmentOf(position), deleted);
+        assertEquals(segments - deleted, segmentFiles().size());
+        GameJournal reopened = openJournalWithoutRecovery(256);
+        List<JournalRecord> replayed = new ArrayList<>();
+        reopened.recover(position, (record, recordPosition) -> replayed.add(record));
+        reopened.close();
+        assertEquals(later, replayed);
+    }
+
+    @Test
+    void currentSegmentShouldNotBeDeleted() throws IOException {
+        GameJournal journal = openJournal(256);
+        for (int i = 0; i < 20; i++) {
+            journal.append(JournalRecord.roadPlaced("abc123", "host", i));
+        }
+        long end = journal.getPosition();
+
+        journal.deleteSegmentsBefore(GameJournal.position(GameJournal.segmentOf(end) + 1, 0));
+        journal.append(JournalRecord.roadPlaced("abc123", "host", 20));
+        journal.close();
+
+        assertEquals(List.of(directory.resolve(GameJournal.SEGMENT_FORMAT.formatted(GameJournal.segmentOf(end)))),
+                segmentFiles());
+    }
+
+    @Test
+    void enabledJournalWithoutDirectoryShouldFailToStart() {
+        GameJournal journal = openJournalWithoutRecovery(1024 * 1024);
+        journal.directory = Optional.empty();
+
+        assertThrows(IllegalStateException.class, journal::start);
+        assertThrows(IllegalStateException.class, () -> journal.recover(record -> {
+        }));
+    }
+
+    @Test
+    void concurrentlyAppendedRecordsShouldAllBeReplayedInOrderOfTheirLobby() throws InterruptedException {
+        GameJournal journal = openJournal(1024);
+        int lobbies = 8;
+        int recordsPerLobby = 200;
+        List<Thread> threads = new ArrayList<>();
+        for (int lobby = 0; lobby < lobbies; lobby++) {
+            String lobbyId = "lobby-" + lobby;
+            threads.add(Thread.ofVirtual().start(() -> {
+                for (int i = 0; i < recordsPerLobby; i++) {
+                    journal.append(JournalRecord.roadPlaced(lobbyId, "host", i));
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        journal.close();
+
+        Map<String, List<Integer>> replayed = replay(openJournalWithoutRecovery(1024)).stream()
+                .collect(Collectors.groupingBy(JournalRecord::lobbyId,
+                        Collectors.mapping(record -> (int) record.value(), Collectors.toList())));
+        List<Integer> expected = IntStream.range(0, recordsPerLobby).boxed().toList();
+        assertEquals(lobbies, replayed.size());
+        replayed.values().forEach(roads -> assertEquals(expected, roads));
+    }
+
+    @Test
+    void positionShouldCoverAllAppendedRecords() {
+        GameJournal journal = openJournal(1024 * 1024);
+        journal.append(JournalRecord.roadPlaced("abc123", "host", 1));
+        long position = journal.getPosition();
+        journal.close();
+
+        GameJournal reopened = openJournalWithoutRecovery(1024 * 1024);
+        List<JournalRecord> replayed = new ArrayList<>();
+        reopened.recover(position, (record, recordPosition) -> replayed.add(record));
+        reopened.close();
+
+        assertTrue(replayed.isEmpty(), "The record should be covered by the position");
+    }
+
+    @Test
+    void tornRecordShouldBeDiscardedOnReopen() throws IOException {
+        GameJournal journal = openJournal(1024 * 1024);
+        JournalRecord intact = JournalRecord.roadPlaced("abc123", "host", 1);
+        journal.append(intact);
+        journal.append(JournalRecord.roadPlaced("abc123", "host", 2));
+        journal.close();
+
+        // Corrupt the last byte of the second record, as if the machine crashed while writing it
+        Path segment = segmentFiles().get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            int firstLength = readIntAt(file, JournalSegment.HEADER_SIZE);
+            int second = JournalSegment.HEADER_SIZE + JournalSegment.RECORD_HEADER_SIZE + firstLength;
+            int secondLength = readIntAt(file, second);
+            long lastByte = (long) second + JournalSegment.RECORD_HEADER_SIZE + secondLength - 1;
+            file.seek(lastByte);
+            int value = file.read();
+            file.seek(lastByte);
+            file.write(value ^ 0xFF);
+        }
+
+        GameJournal reopened = openJournalWithoutRecovery(1024 * 1024);
+        List<JournalRecord> replayed = new ArrayList<>();
+        reopened.recover(replayed::add);
+        JournalRecord appendedAfterRecovery = JournalRecord.roadPlaced("abc123", "host", 3);
+        reopened.append(appendedAfterRecovery);
+        reopened.close();
+
+        assertEquals(List.of(intact), replayed);
+        assertEquals(List.of(intact, appendedAfterRecovery), replay(openJournalWithoutRecovery(1024 * 1024)));
+    }
+
+    @Test
+    void flushShouldRecordGroupCommit() {
+        GameJournal journal = openJournal(1024 * 1024);
+        long flushes = meterRegistry.get(GameMetrics.JOURNAL_FLUSH).timer().count();
+        double flushedRecords = meterRegistry.get(GameMetrics.JOURNAL_FLUSH_RECORDS).summary().totalAmount();
+        long writes = meterRegistry.get(GameMetrics.JOURNAL_WRITE)
+                .tag(GameMetrics.COMMAND_TYPE_TAG, JournalRecordType.READY_TOGGLED.name()).timer().count();
+
+        journal.append(JournalRecord.readyToggled("abc123", "host"));
+        journal.append(JournalRecord.readyToggled("abc123", "guest"));
+        journal.flush();
+        journal.flush(); // Nothing new to flush
+        journal.close();
+
+        assertEquals(flushes + 1, meterRegistry.get(GameMetrics.JOURNAL_FLUSH).timer().count());
+        assertEquals(flushedRecords + 2, meterRegistry.get(GameMetrics.JOURNAL_FLUSH_RECORDS).summary().totalAmount());
+        assertEquals(writes + 2, meterRegistry.get(GameMetrics.JOURNAL_WRITE)
+                .tag(GameMetrics.COMMAND_TYPE_TAG, JournalRecordType.READY_TOGGLED.name()).timer().count());
+    }
+
+    @Test
+    void disabledJournalShouldNotWriteFiles() throws IOException {
+        GameJournal journal = GameJournal.disabled();
+        journal.directory = Optional.of(directory.toString());
+
+        journal.append(JournalRecord.lobbyClosed("abc123"));
+
+        assertEquals(0, journal.recover(record -> {
+        }));
+        assertTrue(segmentFiles().isEmpty());
+    }
+
+    private GameJournal openJournal(int segmentSize) {
+        GameJournal journal = openJournalWithoutRecovery(segmentSize);
+        journal.recover(record -> {
+        });
+        return journal;
+    }
+
+    private GameJournal openJournalWithoutRecovery(int segmentSize) {
+        GameJournal journal = new GameJournal();
+        journal.enabled = true;
+        journal.directory = Optional.of(directory.toString());
+        journal.segmentSize = segmentSize;
+        journal.gameMetrics = gameMetrics;
+        return journal;
+    }
+
+    private static List<JournalRecord> replay(GameJournal journal) {
+        List<JournalRecord> records = new ArrayList<>();
+        journal.recover(records::add);
+        journal.close();
+        return records;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static int readIntAt(RandomAccessFile file, long position) throws IOException {
+        file.seek(position);
+        return file.readInt();
+    }
+}
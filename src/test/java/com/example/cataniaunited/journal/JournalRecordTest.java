@@ -0,0 +1,90 @@
+package com.example.cataniaunited.journal;
+
+import com.example.cataniaunited.game.board.tile_list_builder.TileType;
+import com.example.cataniaunited.game.trade.PlayerTradeRequest;
+import com.example.cataniaunited.game.trade.TradeRequest;
+import com.example.cataniaunited.player.PlayerColor;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JournalRecordTest {
+
+    @Test
+    void recordsShouldSurviveEncodingAndDecoding() {
+        TradeRequest trade = new TradeRequest(Map.of(TileType.WOOD, 4), Map.of(TileType.CLAY, 1, TileType.SHEEP, 2));
+        List<JournalRecord> records = List.of(
+                JournalRecord.lobbyCreated("abc123", "host", "Host Player", PlayerColor.values()[1]),
+                JournalRecord.playerJoined("abc123", "guest", "Gäst", PlayerColor.values()[2]),
+                JournalRecord.playerLeft("abc123", "guest"),
+                JournalRecord.lobbyClosed("abc123"),
+                JournalRecord.readyToggled("abc123", "host"),
+                JournalRecord.usernameSet("host", "Renamed"),
+                JournalRecord.gameStarted("abc123", "host", Long.MIN_VALUE),
+                JournalRecord.settlementPlaced("abc123", "host", 17),
+                JournalRecord.settlementUpgraded("abc123", "host", 17),
+                JournalRecord.roadPlaced("abc123", "host", 300),
+                JournalRecord.diceRolled("abc123", "host", 3, 6),
+                JournalRecord.turnEnded("abc123", "host"),
+                JournalRecord.bankTrade("host", trade),
+                JournalRecord.playerTrade("abc123", new PlayerTradeRequest("guest", "host", trade)),
+                JournalRecord.cheat("abc123", "host", TileType.WHEAT),
+                JournalRecord.report("abc123", "guest", "host"),
+                JournalRecord.gameReseeded("abc123", Long.MAX_VALUE),
+                JournalRecord.resumeTokenIssued("host", "resume-token")
+        );
+
+        for (JournalRecord record : records) {
+            assertEquals(record, roundTrip(record), record.type().name());
+        }
+    }
+
+    @Test
+    void typeSpecificValuesShouldBeDecoded() {
+        JournalRecord joined = roundTrip(JournalRecord.playerJoined("abc123", "guest", null, PlayerColor.values()[3]));
+        JournalRecord cheat = roundTrip(JournalRecord.cheat("abc123", "host", TileType.ORE));
+        TradeRequest trade = new TradeRequest(Map.of(TileType.WOOD, 1), Map.of(TileType.ORE, 1));
+        JournalRecord playerTrade = roundTrip(JournalRecord.playerTrade("abc123", new PlayerTradeRequest("guest", "host", trade)));
+
+        assertEquals(PlayerColor.values()[3], joined.color());
+        assertNull(joined.argument());
+        assertEquals(TileType.ORE, cheat.resource());
+        assertEquals(new PlayerTradeRequest("guest", "host", trade), playerTrade.playerTrade());
+    }
+
+    @Test
+    void tradeResourcesShouldKeepNullAndZeroCounts() {
+        Map<TileType, Integer> offered = new HashMap<>();
+        offered.put(TileType.WOOD, 0);
+        offered.put(TileType.CLAY, -1);
+        JournalRecord record = roundTrip(JournalRecord.bankTrade("host", new TradeRequest(offered, null)));
+
+        assertEquals(offered, record.trade().offeredResources());
+        assertNull(record.trade().targetResources());
+        assertFalse(record.trade().offeredResources().containsKey(TileType.SHEEP));
+    }
+
+    @Test
+    void decodeShouldRejectUnknownType() {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[]{(byte) JournalRecordType.values().length, 0, 0, 0, 0, 0, 0});
+
+        assertThrows(IllegalArgumentException.class, () -> JournalRecord.decode(buffer));
+    }
+
+    private static JournalRecord roundTrip(JournalRecord record) {
+        ByteBuffer buffer = ByteBuffer.allocate(512);
+        record.encode(buffer);
+        buffer.flip();
+        JournalRecord decoded = JournalRecord.decode(buffer);
+        assertEquals(0, buffer.remaining(), "Whole record should be read");
+        return decoded;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.cataniaunited.journal;
+
+import com.example.cataniaunited.exception.GameException;
+import com.example.cataniaunited.game.GameService;
+import com.example.cataniaunited.game.board.GameBoard;
+import com.example.cataniaunited.lobby.Lobby;
+import com.example.cataniaunited.lobby.LobbyService;
+import com.example.cataniaunited.player.PlayerColor;
+import com.example.cataniaunited.player.PlayerService;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+class JournalRecoveryTest {
+
+    private static final String LOBBY_ID = "jrn001";
+
+    @Inject
+    JournalRecovery journalRecovery;
+
+    @Inject
+    LobbyService lobbyService;
+
+    @Inject
+    GameService gameService;
+
+    @Inject
+    PlayerService playerService;
+
+    @AfterEach
+    void tearDown() {
+        lobbyService.clearLobbies();
+        gameService.clearGameBoardsForTesting();
+        playerService.clearAllPlayersForTesting();
+    }
+
+    @Test
+    void replayedRecordsShouldRestoreLobbyAndGame() throws GameException {
+        List.of(
+                JournalRecord.resumeTokenIssued("host", "host-token"),
+                JournalRecord.lobbyCreated(LOBBY_ID, "host", "Host", PlayerColor.RED),
+                JournalRecord.playerJoined(LOBBY_ID, "guest", "Guest", PlayerColor.BLUE),
+                JournalRecord.usernameSet("guest", "Renamed"),
+                JournalRecord.readyToggled(LOBBY_ID, "host"),
+                JournalRecord.readyToggled(LOBBY_ID, "guest"),
+                JournalRecord.gameStarted(LOBBY_ID, "host", 42)
+        ).forEach(journalRecovery::apply);
+
+        Lobby lobby = lobbyService.getLobbyById(LOBBY_ID);
+        GameBoard gameboard = gameService.getGameboardByLobbyId(LOBBY_ID);
+        // The board draws from the generator of the game before the player order does
+        GameBoard expectedBoard = new GameBoard(2, 42);
+        Lobby expectedOrder = new Lobby("expected", "host");
+        expectedOrder.addPlayer("guest");
+        expectedOrder.startGame(expectedBoard.getRandom());
+
+        assertEquals(Set.of("host", "guest"), lobby.getPlayers());
+        assertEquals(PlayerColor.RED, lobby.getPlayerColor("host"));
+        assertEquals(PlayerColor.BLUE, lobby.getPlayerColor("guest"));
+        assertFalse(lobby.getAvailableColors().contains(PlayerColor.BLUE));
+        assertEquals("Host", playerService.getPlayerById("host").getUsername());
+        assertEquals("Renamed", playerService.getPlayerById("guest").getUsername());
+        assertTrue(playerService.getPlayerById("host").isResumeToken("host-token"));
+        assertNull(playerService.getPlayerById("guest").getResumeToken());
+        assertTrue(lobby.isGameStarted());
+        assertEquals(42, gameboard.getSeed());
+        assertEquals(expectedBoard.getSnapshot().getValue(), gameboard.getSnapshot().getValue());
+        assertEquals(expectedOrder.getPlayerOrder(), lobby.getPlayerOrder());
+    }
+
+    @Test
+    void closedLobbyShouldNotBeRestored() {
+        journalRecovery.apply(JournalRecord.lobbyCreated(LOBBY_ID, "host", "Host", PlayerColor.RED));
+        journalRecovery.apply(JournalRecord.lobbyClosed(LOBBY_ID));
+
+        assertThrows(GameException.class, () -> lobbyService.getLobbyById(LOBBY_ID));
+    }
+
+    @Test
+    void recordWhichCannotBeAppliedShouldBeSkipped() throws GameException {
+        journalRecovery.apply(JournalRecord.turnEnded("unknown", "host"));
+        journalRecovery.apply(JournalRecord.lobbyCreated(LOBBY_ID, "host", "Host", PlayerColor.RED));
+
+        assertEquals("host", lobbyService.getLobbyById(LOBBY_ID).getHostPlayer());
+    }
+}
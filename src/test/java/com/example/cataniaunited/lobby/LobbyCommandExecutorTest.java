@@ -0,0 +1,237 @@
+package com.example.cataniaunited.lobby;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LobbyCommandExecutorTest {
+
+    private static final String LOBBY_ID = "abc123";
+
+    private LobbyCommandExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new LobbyCommandExecutor();
+        executor.register(LOBBY_ID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.stop();
+    }
+
+    @Test
+    void commandOfIdleLobbyShouldRunImmediately() {
+        List<String> executed = new ArrayList<>();
+
+        Uni<String> result = executor.submit(LOBBY_ID, () -> {
+            executed.add("first");
+            return Uni.createFrom().item("done");
+        });
+
+        assertEquals(List.of("first"), executed);
+        result.subscribe().withSubscriber(UniAssertSubscriber.create()).assertItem("done");
+        assertEquals(0, executor.getQueuedCommands(LOBBY_ID));
+    }
+
+    @Test
+    void commandShouldWaitForPreviousCommandOfSameLobby() {
+        List<String> executed = new ArrayList<>();
+        List<Uni<String>> second = new ArrayList<>();
+
+        Uni<String> first = executor.submit(LOBBY_ID, () -> {
+            executed.add("first started");
+            second.add(executor.submit(LOBBY_ID, () -> {
+                executed.add("second");
+                return Uni.createFrom().item("second done");
+            }));
+            executed.add("first queued " + executor.getQueuedCommands(LOBBY_ID));
+            return Uni.createFrom().item("first done");
+        });
+
+        assertEquals(List.of("first started", "first queued 1", "second"), executed);
+        first.subscribe().withSubscriber(UniAssertSubscriber.create()).assertItem("first done");
+        second.get(0).subscribe().withSubscriber(UniAssertSubscriber.create()).assertItem("second done");
+    }
+
+    @Test
+    void commandShouldNotWaitForSendsOfPreviousCommand() {
+        CompletableFuture<String> firstSends = new CompletableFuture<>();
+        List<String> executed = new ArrayList<>();
+
+        Uni<String> first = executor.submit(LOBBY_ID, () -> {
+            executed.add("first");
+            return Uni.createFrom().completionStage(firstSends);
+        });
+        executor.submit(LOBBY_ID, () -> {
+            executed.add("second");
+            return Uni.createFrom().voidItem();
+        });
+
+        assertEquals(List.of("first", "second"), executed);
+        assertEquals(0, executor.getQueuedCommands(LOBBY_ID));
+        UniAssertSubscriber<String> firstResult = first.subscribe().withSubscriber(UniAssertSubscriber.create());
+        firstResult.assertNotTerminated();
+
+        firstSends.complete("first sent");
+
+        firstResult.assertItem("first sent");
+    }
+
+    @Test
+    void failedCommandShouldNotBlockFollowingCommands() {
+        CompletableFuture<String> firstCompletion = new CompletableFuture<>();
+        List<String> executed = new ArrayList<>();
+
+        Uni<String> first = executor.submit(LOBBY_ID, () -> Uni.createFrom().completionStage(firstCompletion));
+        Uni<String> second = executor.submit(LOBBY_ID, () -> {
+            throw new IllegalStateException("Command failed");
+        });
+        executor.submit(LOBBY_ID, () -> {
+            executed.add("third");
+            return Uni.createFrom().voidItem();
+        });
+
+        firstCompletion.completeExceptionally(new IllegalArgumentException("Send failed"));
+
+        assertEquals(List.of("third"), executed);
+        first.subscribe().withSubscriber(UniAssertSubscriber.create()).assertFailedWith(IllegalArgumentException.class, "Send failed");
+        second.subscribe().withSubscriber(UniAssertSubscriber.create()).assertFailedWith(IllegalStateException.class, "Command failed");
+    }
+
+    @Test
+    void commandsOfDifferentLobbiesShouldNotWaitForEachOther() {
+        executor.register("def456");
+        List<String> executed = new ArrayList<>();
+
+        executor.submit(LOBBY_ID, () -> Uni.createFrom().completionStage(new CompletableFuture<>()));
+        executor.submit("def456", () -> {
+            executed.add("other lobby");
+            return Uni.createFrom().voidItem();
+        });
+
+        assertEquals(List.of("other lobby"), executed);
+    }
+
+    @Test
+    void commandOfUnknownLobbyShouldRunImmediately() {
+        executor.submit(LOBBY_ID, () -> Uni.createFrom().completionStage(new CompletableFuture<>()));
+        List<String> executed = new ArrayList<>();
+
+        executor.submit(null, () -> {
+            executed.add("without lobby");
+            return Uni.createFrom().voidItem();
+        });
+        executor.submit("unknown", () -> {
+            executed.add("unknown lobby");
+            return Uni.createFrom().voidItem();
+        });
+
+        assertEquals(List.of("without lobby", "unknown lobby"), executed);
+        assertEquals(0, executor.getQueuedCommands("unknown"));
+    }
+
+    @Test
+    void unregisteredLobbyShouldNoLongerQueueCommands() {
+        executor.submit(LOBBY_ID, () -> Uni.createFrom().completionStage(new CompletableFuture<>()));
+        executor.unregister(LOBBY_ID);
+        List<String> executed = new ArrayList<>();
+
+        executor.submit(LOBBY_ID, () -> {
+            executed.add("after unregister");
+            return Uni.createFrom().voidItem();
+        });
+
+        assertEquals(List.of("after unregister"), executed);
+    }
+
+    @Test
+    void workerModeShouldRunCommandsOnWorkerThreads() {
+        executor.executionMode = ExecutionMode.WORKER;
+        executor.start();
+
+        String threadName = executor.submit(LOBBY_ID, () -> Uni.createFrom().item(Thread.currentThread().getName()))
+                .subscribe().withSubscriber(UniAssertSubscriber.<String>create())
+                .awaitItem()
+                .getItem();
+
+        assertTrue(threadName.startsWith("lobby-worker-"), threadName);
+    }
+
+    @Test
+    void virtualThreadModeShouldRunCommandsOnVirtualThreads() {
+        executor.executionMode = ExecutionMode.VIRTUAL_THREAD;
+        executor.start();
+
+        Boolean virtual = executor.submit(LOBBY_ID, () -> Uni.createFrom().item(Thread.currentThread().isVirtual()))
+                .subscribe().withSubscriber(UniAssertSubscriber.<Boolean>create())
+                .awaitItem()
+                .getItem();
+
+        assertTrue(virtual);
+    }
+
+    @Test
+    void commandOfUnknownLobbyShouldRunOnCallingThreadInAnyMode() {
+        executor.executionMode = ExecutionMode.VIRTUAL_THREAD;
+        executor.start();
+        Thread caller = Thread.currentThread();
+
+        executor.submit("unknown", () -> Uni.createFrom().item(Thread.currentThread()))
+                .subscribe().withSubscriber(UniAssertSubscriber.create())
+                .assertItem(caller);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ExecutionMode.class)
+    void concurrentCommandsOfOneLobbyShouldNotOverlap(ExecutionMode executionMode) throws InterruptedException {
+        executor.executionMode = executionMode;
+        executor.start();
+        int threads = 8;
+        int commandsPerThread = 500;
+        int[] counter = new int[1];
+        boolean[] overlap = new boolean[1];
+        boolean[] running = new boolean[1];
+        CountDownLatch done = new CountDownLatch(threads * commandsPerThread);
+        ExecutorService completions = Executors.newFixedThreadPool(4);
+        ExecutorService senders = Executors.newFixedThreadPool(threads);
+
+        for (int t = 0; t < threads; t++) {
+            senders.execute(() -> {
+                for (int i = 0; i < commandsPerThread; i++) {
+                    executor.submit(LOBBY_ID, () -> {
+                        overlap[0] |= running[0];
+                        running[0] = true;
+                        counter[0]++;
+                        running[0] = false;
+                        // Sends complete on other threads, after the command released the mailbox
+                        return Uni.createFrom().completionStage(CompletableFuture.runAsync(() -> { }, completions));
+                    }).subscribe().with(ignored -> done.countDown(), failure -> done.countDown());
+                }
+            });
+        }
+
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        senders.shutdown();
+        completions.shutdown();
+        assertFalse(overlap[0]);
+        assertEquals(threads * commandsPerThread, counter[0]);
+    }
+}
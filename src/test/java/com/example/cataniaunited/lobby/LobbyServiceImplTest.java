@@ -1,41 +1,56 @@
 package com.example.cataniaunited.lobby;
 
+import com.example.cataniaunited.api.codec.EncodedMessage;
+import com.example.cataniaunited.api.codec.WireFormat;
 import com.example.cataniaunited.dto.MessageDTO;
 import com.example.cataniaunited.dto.MessageType;
 import com.example.cataniaunited.exception.GameException;
 import com.example.cataniaunited.exception.ui.DiceRollException;
 import com.example.cataniaunited.exception.ui.InvalidTurnException;
+import com.example.cataniaunited.metrics.GameMetrics;
 import com.example.cataniaunited.player.Player;
 import com.example.cataniaunited.player.PlayerColor;
 import com.example.cataniaunited.player.PlayerService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.mockito.InjectSpy;
 import io.smallrye.mutiny.Uni;
 import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -50,10 +65,17 @@ class LobbyServiceImplTest {
     PlayerService playerService;
     @InjectSpy
     LobbyServiceImpl lobbyService;
+    @InjectSpy
+    GameMetrics gameMetrics;
+    @Inject
+    ObjectMapper objectMapper;
+    @ConfigProperty(name = "qatania.lobby.max-players")
+    int maxPlayers;
 
     @BeforeEach
     void setUp() {
         lobbyService.clearLobbies();
+        when(playerService.getWireFormat(anyString())).thenReturn(WireFormat.JSON);
     }
 
     @Test
@@ -79,6 +101,30 @@ class LobbyServiceImplTest {
         logger.infof("Open lobbies: %s", openLobbies);
     }
 
+    @Test
+    void availableLobbiesShouldNotContainRestoredLobbies() {
+        String lobbyId = lobbyService.createLobby("Player 1");
+        lobbyService.restoreLobby("abc123", "Player 2", PlayerColor.values()[0]);
+
+        List<Lobby> availableLobbies = lobbyService.getAvailableLobbies();
+
+        assertEquals(1, availableLobbies.size());
+        assertEquals(lobbyId, availableLobbies.get(0).getLobbyId());
+        assertEquals(2, lobbyService.getOpenLobbies().size());
+    }
+
+    @Test
+    void resumedLobbiesShouldBeAvailableAgain() throws GameException {
+        lobbyService.restoreLobby("abc123", "Player 2", PlayerColor.values()[0]);
+        lobbyService.restoreLobby("def456", "Player 3", PlayerColor.values()[0]);
+
+        lobbyService.resumeLobbiesOfPlayer("Player 2");
+
+        assertFalse(lobbyService.getLobbyById("abc123").isRestored());
+        assertTrue(lobbyService.getLobbyById("def456").isRestored());
+        assertEquals(List.of("abc123"), lobbyService.getAvailableLobbies().stream().map(Lobby::getLobbyId).toList());
+    }
+
     @Test
     void getLobbyByIdShouldThrowExceptionWhenLobbyIdIsNull() {
         GameException ge = assertThrows(GameException.class, () -> lobbyService.getLobbyById(null));
@@ -182,15 +228,49 @@ class LobbyServiceImplTest {
     }
 
     @Test
-    void testJoinLobbyFailsWhenNoColorsAvailable() {
+    void testJoinLobbyFailsWhenLobbyIsFull() {
         String lobbyId = lobbyService.createLobby("HostPlayer");
 
+        for (int i = 1; i < maxPlayers; i++) {
+            assertTrue(lobbyService.joinLobbyByCode(lobbyId, "Player" + i));
+        }
+
+        boolean joined = lobbyService.joinLobbyByCode(lobbyId, "ExtraPlayer");
+        assertFalse(joined, "Player should not be able to join a full lobby");
+    }
+
+    @Test
+    void playersShouldShareColorsOnceAllColorsAreTaken() throws GameException {
+        String lobbyId = lobbyService.createLobby("HostPlayer");
+
+        for (int i = 0; i < 2 * PlayerColor.values().length; i++) {
+            assertTrue(lobbyService.joinLobbyByCode(lobbyId, "Player" + i), "Players should join once all colors are taken");
+        }
+
+        Lobby lobby = lobbyService.getLobbyById(lobbyId);
+        Map<PlayerColor, Long> usage = lobby.getPlayers().stream()
+                .collect(Collectors.groupingBy(lobby::getPlayerColor, Collectors.counting()));
+        assertEquals(PlayerColor.values().length, usage.size(), "Every color should be used");
+        assertTrue(usage.values().stream().allMatch(count -> count >= 2 && count <= 3), "Colors should be shared evenly: " + usage);
+        assertTrue(lobby.getAvailableColors().isEmpty());
+    }
+
+    @Test
+    void sharedColorShouldOnlyReturnToPoolWithItsLastPlayer() throws GameException {
+        String lobbyId = lobbyService.createLobby("HostPlayer");
         for (int i = 0; i < PlayerColor.values().length; i++) {
             lobbyService.joinLobbyByCode(lobbyId, "Player" + i);
         }
+        Lobby lobby = lobbyService.getLobbyById(lobbyId);
+        PlayerColor shared = lobby.getPlayerColor("Player" + (PlayerColor.values().length - 1));
+        List<String> sharingPlayers = lobby.getPlayers().stream().filter(p -> lobby.getPlayerColor(p) == shared).toList();
+        assertEquals(2, sharingPlayers.size());
 
-        boolean joined = lobbyService.joinLobbyByCode(lobbyId, "ExtraPlayer");
-        assertFalse(joined, "Player should not be able to join when no colors are available");
+        lobbyService.removePlayerFromLobby(lobbyId, sharingPlayers.get(0));
+        assertFalse(lobby.getAvailableColors().contains(shared));
+
+        lobbyService.removePlayerFromLobby(lobbyId, sharingPlayers.get(1));
+        assertTrue(lobby.getAvailableColors().contains(shared));
     }
 
     @Test
@@ -226,6 +306,40 @@ class LobbyServiceImplTest {
         assertFalse(lobby.getPlayers().contains("GhostPlayer"));
     }
 
+    @Test
+    void getLobbiesOfPlayerShouldReturnOnlyLobbiesContainingPlayer() throws GameException {
+        String lobbyId1 = lobbyService.createLobby("HostPlayer");
+        String lobbyId2 = lobbyService.createLobby("OtherHost");
+        lobbyService.createLobby("ThirdHost");
+        lobbyService.joinLobbyByCode(lobbyId2, "HostPlayer");
+
+        List<Lobby> lobbies = lobbyService.getLobbiesOfPlayer("HostPlayer");
+
+        assertEquals(Set.of(lobbyId1, lobbyId2), Set.copyOf(lobbies.stream().map(Lobby::getLobbyId).toList()));
+        assertTrue(lobbyService.getLobbiesOfPlayer("GhostPlayer").isEmpty());
+    }
+
+    @Test
+    void leaveOrCloseLobbyShouldOnlyRemoveGuestPlayer() throws GameException {
+        String lobbyId = lobbyService.createLobby("HostPlayer");
+        lobbyService.joinLobbyByCode(lobbyId, "Player1");
+
+        lobbyService.leaveOrCloseLobby(lobbyId, "Player1");
+
+        Lobby lobby = lobbyService.getLobbyById(lobbyId);
+        assertEquals(Set.of("HostPlayer"), lobby.getPlayers());
+    }
+
+    @Test
+    void leaveOrCloseLobbyShouldCloseLobbyWhenHostLeaves() throws GameException {
+        String lobbyId = lobbyService.createLobby("HostPlayer");
+        lobbyService.joinLobbyByCode(lobbyId, "Player1");
+
+        lobbyService.leaveOrCloseLobby(lobbyId, "HostPlayer");
+
+        assertThrows(GameException.class, () -> lobbyService.getLobbyById(lobbyId));
+    }
+
     @Test
     void getPlayerColorShouldThrowExceptionIfPlayerHasNoColor() throws GameException {
         String lobbyId = "lobby1";
@@ -360,7 +474,7 @@ class LobbyServiceImplTest {
     }
 
     @Test
-    void notifyPlayers_sendsMessageToEveryPlayerInTheLobby() {
+    void notifyPlayers_sendsMessageToEveryPlayerInTheLobby() throws JsonProcessingException {
         String hostId = "host";
         String player2 = "p2";
         String lobbyId = lobbyService.createLobby(hostId);
@@ -377,11 +491,60 @@ class LobbyServiceImplTest {
 
         lobbyService.notifyPlayers(lobbyId, dto, null);
 
-        verify(playerService).sendMessageToPlayer(hostId, dto);
-        verify(playerService).sendMessageToPlayer(player2, dto);
+        String expectedText = objectMapper.writeValueAsString(dto);
+        verify(playerService).sendEncodedMessageToPlayer(eq(hostId), argThat(encoded -> expectedText.equals(encoded.text())));
+        verify(playerService).sendEncodedMessageToPlayer(eq(player2), argThat(encoded -> expectedText.equals(encoded.text())));
+        verify(playerService, never()).sendMessageToPlayer(anyString(), any());
         verifyNoMoreInteractions(host, p2);
     }
 
+    @Test
+    void notifyPlayersShouldEncodeMessageOnceForAllRecipients() throws JsonProcessingException {
+        String hostId = "host";
+        String lobbyId = lobbyService.createLobby(hostId);
+        lobbyService.joinLobbyByCode(lobbyId, "p2");
+        lobbyService.joinLobbyByCode(lobbyId, "p3");
+        when(playerService.sendEncodedMessageToPlayer(anyString(), any())).thenReturn(Uni.createFrom().voidItem());
+
+        ObjectNode payload = JsonNodeFactory.instance.objectNode().put("message", "Grüße");
+        MessageDTO dto = new MessageDTO(MessageType.PLAYER_JOINED, hostId, lobbyId, payload);
+
+        lobbyService.notifyPlayers(lobbyId, dto, hostId)
+                .subscribe().withSubscriber(UniAssertSubscriber.create())
+                .assertItem(dto);
+
+        ArgumentCaptor<EncodedMessage> encodedCaptor = ArgumentCaptor.forClass(EncodedMessage.class);
+        verify(playerService, times(2)).sendEncodedMessageToPlayer(anyString(), encodedCaptor.capture());
+        assertSame(encodedCaptor.getAllValues().get(0), encodedCaptor.getAllValues().get(1));
+        byte[] expectedBytes = objectMapper.writeValueAsBytes(dto);
+        EncodedMessage encoded = encodedCaptor.getValue();
+        assertEquals(WireFormat.JSON, encoded.format());
+        assertEquals(new String(expectedBytes, StandardCharsets.UTF_8), encoded.text());
+        assertEquals(expectedBytes.length, encoded.size());
+        verify(gameMetrics).recordBroadcast(2, 1);
+    }
+
+    @Test
+    void notifyPlayersShouldEncodeMessageOncePerWireFormat() {
+        String hostId = "host";
+        String lobbyId = lobbyService.createLobby(hostId);
+        lobbyService.joinLobbyByCode(lobbyId, "p2");
+        lobbyService.joinLobbyByCode(lobbyId, "p3");
+        when(playerService.getWireFormat("p3")).thenReturn(WireFormat.BINARY);
+        when(playerService.sendEncodedMessageToPlayer(anyString(), any())).thenReturn(Uni.createFrom().voidItem());
+
+        MessageDTO dto = new MessageDTO(MessageType.PLAYER_JOINED, hostId, lobbyId, JsonNodeFactory.instance.objectNode());
+
+        lobbyService.notifyPlayers(lobbyId, dto, null)
+                .subscribe().withSubscriber(UniAssertSubscriber.create())
+                .assertItem(dto);
+
+        verify(playerService).sendEncodedMessageToPlayer(eq(hostId), argThat(encoded -> encoded.format() == WireFormat.JSON));
+        verify(playerService).sendEncodedMessageToPlayer(eq("p2"), argThat(encoded -> encoded.format() == WireFormat.JSON));
+        verify(playerService).sendEncodedMessageToPlayer(eq("p3"), argThat(encoded -> encoded.format() == WireFormat.BINARY && encoded.buffer() != null));
+        verify(gameMetrics).recordBroadcast(3, 2);
+    }
+
     @Test
     void notifyPlayersShouldReturnFailedUniOnException() {
         String invalidLobbyId = "invalidLobbyId";
@@ -397,7 +560,7 @@ class LobbyServiceImplTest {
         var exception = new RuntimeException("Test exception");
         String lobbyId = lobbyService.createLobby("HostPlayer");
         Player player = spy(new Player(("Player1")));
-        when(playerService.sendMessageToPlayer(eq(player.getUniqueId()), any(MessageDTO.class))).thenReturn(Uni.createFrom().failure(exception));
+        when(playerService.sendEncodedMessageToPlayer(eq(player.getUniqueId()), any())).thenReturn(Uni.createFrom().failure(exception));
         when(playerService.getPlayerById(player.getUniqueId())).thenReturn(player);
         lobbyService.joinLobbyByCode(lobbyId, player.getUniqueId());
 
@@ -2,6 +2,7 @@ package com.example.cataniaunited.lobby;
 
 import com.example.cataniaunited.exception.GameException;
 import com.example.cataniaunited.player.PlayerColor;
+import com.example.cataniaunited.util.GameRandom;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -223,6 +224,19 @@ class LobbyTest {
         assertTrue(testLobby.getPlayerOrder().containsAll(testLobby.getPlayers()));
     }
 
+    @Test
+    void startGameWithSameSeedShouldProduceSameOrder() {
+        Lobby otherLobby = new Lobby("L-other", "host");
+        otherLobby.addPlayer("p2");
+        otherLobby.addPlayer("p3");
+
+        testLobby.startGame(GameRandom.fromSeed(42));
+        otherLobby.startGame(GameRandom.fromSeed(42));
+
+        assertEquals(testLobby.getPlayerOrder(), otherLobby.getPlayerOrder());
+        assertEquals(testLobby.getActivePlayer(), otherLobby.getActivePlayer());
+    }
+
     @Test
     void canStartGame_requiresTwoPlayersAndGameNotYetStarted() {
         // host can start when ≥2 players
@@ -307,6 +321,19 @@ class LobbyTest {
         assertEquals(comeback, got, "restored color must come back immediately");
     }
 
+    @Test
+    void assignSharedColor_picksLeastUsedColor() {
+        Lobby colorLobby = new Lobby("L-col", "host");
+        PlayerColor[] colors = PlayerColor.values();
+        for (int i = 0; i < colors.length; i++) {
+            colorLobby.setPlayerColor("player" + i, colors[i]);
+        }
+        colorLobby.setPlayerColor("host", colors[0]);
+
+        assertEquals(colors[1], colorLobby.assignSharedColor(), "least used color in declaration order");
+        assertTrue(colorLobby.isColorAssigned(colors[0]));
+    }
+
     @Test
     void recordCheat_shouldIncrementCheatCountForPlayer() {
         Lobby lobby = new Lobby("cheatLobby", "cheater");
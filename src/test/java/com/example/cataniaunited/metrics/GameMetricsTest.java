@@ -0,0 +1,120 @@
+package com.example.cataniaunited.metrics;
+
+import com.example.cataniaunited.api.codec.WireFormat;
+import com.example.cataniaunited.dto.MessageType;
+import com.example.cataniaunited.lobby.LobbyService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+class GameMetricsTest {
+
+    @Inject
+    GameMetrics gameMetrics;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    LobbyService lobbyService;
+
+    @Test
+    void recordBroadcastShouldCountEncodingsAndRecipients() {
+        double broadcasts = meterRegistry.get(GameMetrics.BROADCASTS).counter().count();
+        double encodings = meterRegistry.get(GameMetrics.BROADCAST_ENCODINGS).counter().count();
+        long recipientSamples = meterRegistry.get(GameMetrics.BROADCAST_RECIPIENTS).summary().count();
+
+        gameMetrics.recordBroadcast(7, 2);
+
+        assertEquals(broadcasts + 1, meterRegistry.get(GameMetrics.BROADCASTS).counter().count());
+        assertEquals(encodings + 2, meterRegistry.get(GameMetrics.BROADCAST_ENCODINGS).counter().count());
+        assertEquals(recipientSamples + 1, meterRegistry.get(GameMetrics.BROADCAST_RECIPIENTS).summary().count());
+    }
+
+    @Test
+    void codecMetricsShouldBeTaggedWithWireFormat() {
+        String binary = WireFormat.BINARY.tag();
+        String json = WireFormat.JSON.tag();
+        double binarySent = meterRegistry.get(GameMetrics.CODEC_BYTES_SENT).tag(GameMetrics.CODEC_TAG, binary).counter().count();
+        double jsonSent = meterRegistry.get(GameMetrics.CODEC_BYTES_SENT).tag(GameMetrics.CODEC_TAG, json).counter().count();
+        double binaryReceived = meterRegistry.get(GameMetrics.CODEC_BYTES_RECEIVED).tag(GameMetrics.CODEC_TAG, binary).counter().count();
+        long binaryEncodings = meterRegistry.get(GameMetrics.CODEC_ENCODE).tag(GameMetrics.CODEC_TAG, binary).timer().count();
+        double binaryDecodeTime = meterRegistry.get(GameMetrics.CODEC_DECODE).tag(GameMetrics.CODEC_TAG, binary).timer().totalTime(TimeUnit.NANOSECONDS);
+
+        gameMetrics.recordEncoding(WireFormat.BINARY, 1_000, 40);
+        gameMetrics.recordBytesSent(WireFormat.BINARY, 40);
+        gameMetrics.recordDecoding(WireFormat.BINARY, 2_000, 12);
+
+        assertEquals(binarySent + 40, meterRegistry.get(GameMetrics.CODEC_BYTES_SENT).tag(GameMetrics.CODEC_TAG, binary).counter().count());
+        assertEquals(jsonSent, meterRegistry.get(GameMetrics.CODEC_BYTES_SENT).tag(GameMetrics.CODEC_TAG, json).counter().count());
+        assertEquals(binaryReceived + 12, meterRegistry.get(GameMetrics.CODEC_BYTES_RECEIVED).tag(GameMetrics.CODEC_TAG, binary).counter().count());
+        assertEquals(binaryEncodings + 1, meterRegistry.get(GameMetrics.CODEC_ENCODE).tag(GameMetrics.CODEC_TAG, binary).timer().count());
+        assertEquals(binaryDecodeTime + 2_000, meterRegistry.get(GameMetrics.CODEC_DECODE).tag(GameMetrics.CODEC_TAG, binary).timer().totalTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    void recordCommandShouldBeTaggedWithMessageType() {
+        String placeRoad = MessageType.PLACE_ROAD.name();
+        String endTurn = MessageType.END_TURN.name();
+        long placeRoadCount = meterRegistry.get(GameMetrics.COMMANDS).tag(GameMetrics.COMMAND_TYPE_TAG, placeRoad).timer().count();
+        long endTurnCount = meterRegistry.get(GameMetrics.COMMANDS).tag(GameMetrics.COMMAND_TYPE_TAG, endTurn).timer().count();
+
+        gameMetrics.recordCommand(MessageType.PLACE_ROAD, 5_000);
+        gameMetrics.recordCommand(null, 5_000);
+
+        assertEquals(placeRoadCount + 1, meterRegistry.get(GameMetrics.COMMANDS).tag(GameMetrics.COMMAND_TYPE_TAG, placeRoad).timer().count());
+        assertEquals(endTurnCount, meterRegistry.get(GameMetrics.COMMANDS).tag(GameMetrics.COMMAND_TYPE_TAG, endTurn).timer().count());
+    }
+
+    @Test
+    void recordBoardGenerationShouldBeTaggedWithSizeOfBoard() {
+        gameMetrics.recordBoardGeneration(3, 1_000);
+        long boardsOfSizeThree = meterRegistry.get(GameMetrics.BOARD_GENERATION).tag(GameMetrics.BOARD_SIZE_TAG, "3").timer().count();
+
+        gameMetrics.recordBoardGeneration(3, 1_000);
+        gameMetrics.recordBoardGeneration(4, 1_000);
+
+        assertEquals(boardsOfSizeThree + 1, meterRegistry.get(GameMetrics.BOARD_GENERATION).tag(GameMetrics.BOARD_SIZE_TAG, "3").timer().count());
+        assertTrue(meterRegistry.get(GameMetrics.BOARD_GENERATION).tag(GameMetrics.BOARD_SIZE_TAG, "4").timer().count() >= 1);
+    }
+
+    @Test
+    void openLobbiesGaugeShouldReflectLobbyService() {
+        lobbyService.clearLobbies();
+        lobbyService.createLobby("HostPlayer1");
+        lobbyService.createLobby("HostPlayer2");
+
+        assertEquals(2, meterRegistry.get(GameMetrics.OPEN_LOBBIES).gauge().value());
+        assertEquals(0, meterRegistry.get(GameMetrics.RUNNING_GAMES).gauge().value());
+
+        lobbyService.clearLobbies();
+        assertEquals(0, meterRegistry.get(GameMetrics.OPEN_LOBBIES).gauge().value());
+    }
+
+    @Test
+    void prometheusEndpointShouldExposeGameMeters() {
+        gameMetrics.recordCommand(MessageType.ROLL_DICE, 1_000);
+        gameMetrics.recordBroadcastDuration(1_000);
+        gameMetrics.recordLongestRoad(1_000);
+
+        String scrape = given().when().get("/q/metrics").then().statusCode(200).extract().asString();
+
+        assertTrue(scrape.contains("catania_commands_seconds_bucket{"), "Command histogram missing");
+        assertTrue(scrape.contains("type=\"ROLL_DICE\""), "Command type tag missing");
+        assertTrue(scrape.contains("catania_broadcast_duration_seconds_count"), "Broadcast duration missing");
+        assertTrue(scrape.contains("catania_longest_road_seconds_count"), "Longest road duration missing");
+        assertTrue(scrape.contains("catania_lobbies_open"), "Open lobbies gauge missing");
+        assertTrue(scrape.contains("catania_games_running"), "Running games gauge missing");
+        assertTrue(scrape.contains("catania_players_connected"), "Connected players gauge missing");
+        assertTrue(scrape.contains("catania_trade_requests_open"), "Open trade requests gauge missing");
+        assertTrue(scrape.contains("catania_codec_size_bytes_count"), "Message size summary missing");
+    }
+}
@@ -1,11 +1,17 @@
 package com.example.cataniaunited.player;
 
+import com.example.cataniaunited.api.codec.EncodedMessage;
+import com.example.cataniaunited.api.codec.MessageCodec;
+import com.example.cataniaunited.api.codec.WireFormat;
 import com.example.cataniaunited.dto.MessageDTO;
 import com.example.cataniaunited.dto.MessageType;
 import com.example.cataniaunited.exception.GameException;
 import com.example.cataniaunited.game.board.tile_list_builder.TileType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.websockets.next.HandshakeRequest;
 import io.quarkus.websockets.next.WebSocketConnection;
 import io.smallrye.mutiny.Uni;
 import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
@@ -13,6 +19,7 @@ import jakarta.inject.Inject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -27,6 +34,7 @@ import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -39,6 +47,12 @@ class PlayerServiceTest {
     @Inject
     PlayerService playerService;
 
+    @Inject
+    MessageCodec messageCodec;
+
+    @Inject
+    ObjectMapper objectMapper;
+
     private WebSocketConnection mockConnection1;
     private WebSocketConnection mockConnection2;
     private final String mockConnId1 = "connId_1";
@@ -265,14 +279,14 @@ class PlayerServiceTest {
     }
 
     @Test
-    void sendMessageToPlayerShouldNotThrowExceptionIfSendTextFails() {
+    void sendMessageToPlayerShouldNotThrowExceptionIfSendTextFails() throws JsonProcessingException {
         WebSocketConnection mockConnection = mock(WebSocketConnection.class);
         RuntimeException simulatedException = new RuntimeException("Simulated network error during send");
         MessageDTO testMessage = new MessageDTO(MessageType.DICE_RESULT, JsonNodeFactory.instance.objectNode());
 
         when(mockConnection.isOpen()).thenReturn(true);
         when(mockConnection.id()).thenReturn(UUID.randomUUID().toString());
-        when(mockConnection.sendText(any(MessageDTO.class)))
+        when(mockConnection.sendText(anyString()))
                 .thenReturn(Uni.createFrom().failure(simulatedException));
 
         Player newPlayer = playerService.addPlayer(mockConnection);
@@ -282,7 +296,7 @@ class PlayerServiceTest {
                 .assertSubscribed()
                 .assertTerminated();
 
-        verify(mockConnection).sendText(testMessage);
+        verify(mockConnection).sendText(objectMapper.writeValueAsString(testMessage));
     }
 
     @Test
@@ -293,13 +307,13 @@ class PlayerServiceTest {
 
         when(mockConnection.isOpen()).thenReturn(false);
         when(mockConnection.id()).thenReturn(UUID.randomUUID().toString());
-        when(mockConnection.sendText(any(MessageDTO.class)))
+        when(mockConnection.sendText(anyString()))
                 .thenReturn(Uni.createFrom().failure(simulatedException));
 
         Player newPlayer = playerService.addPlayer(mockConnection);
         playerService.sendMessageToPlayer(newPlayer.getUniqueId(), testMessage);
 
-        verify(mockConnection, never()).sendText(testMessage);
+        verify(mockConnection, never()).sendText(anyString());
     }
 
     @Test
@@ -312,6 +326,44 @@ class PlayerServiceTest {
         verify(mockConnection, never()).sendText(testMessage);
     }
 
+    @Test
+    void sendMessageToPlayerShouldSendBinaryFrameToBinaryClient() {
+        WebSocketConnection mockConnection = mock(WebSocketConnection.class);
+        HandshakeRequest handshakeRequest = mock(HandshakeRequest.class);
+        MessageDTO testMessage = new MessageDTO(MessageType.DICE_RESULT, JsonNodeFactory.instance.objectNode().put("total", 8));
+
+        when(handshakeRequest.query()).thenReturn("codec=binary");
+        when(mockConnection.handshakeRequest()).thenReturn(handshakeRequest);
+        when(mockConnection.isOpen()).thenReturn(true);
+        when(mockConnection.id()).thenReturn(UUID.randomUUID().toString());
+        when(mockConnection.sendBinary(any(byte[].class))).thenReturn(Uni.createFrom().voidItem());
+
+        Player newPlayer = playerService.addPlayer(mockConnection);
+        assertEquals(WireFormat.BINARY, playerService.getWireFormat(newPlayer.getUniqueId()));
+        playerService.sendMessageToPlayer(newPlayer.getUniqueId(), testMessage)
+                .subscribe().withSubscriber(UniAssertSubscriber.create())
+                .assertCompleted();
+
+        verify(mockConnection).sendBinary(any(byte[].class));
+        verify(mockConnection, never()).sendText(anyString());
+    }
+
+    @Test
+    void sendEncodedMessageToPlayerShouldDropMessageIfConnectionIsClosed() throws IOException {
+        WebSocketConnection mockConnection = mock(WebSocketConnection.class);
+        EncodedMessage encoded = messageCodec.encode(new MessageDTO(MessageType.DICE_RESULT, JsonNodeFactory.instance.objectNode()), WireFormat.JSON);
+
+        when(mockConnection.isOpen()).thenReturn(false);
+        when(mockConnection.id()).thenReturn(UUID.randomUUID().toString());
+
+        Player newPlayer = playerService.addPlayer(mockConnection);
+        playerService.sendEncodedMessageToPlayer(newPlayer.getUniqueId(), encoded)
+                .subscribe().withSubscriber(UniAssertSubscriber.create())
+                .assertCompleted();
+
+        verify(mockConnection, never()).sendText(anyString());
+    }
+
     @Test
     void resetVictoryPointsShouldNotFailOnNonExistingPlayer() {
         assertDoesNotThrow(() -> playerService.resetVictoryPoints("non-existent-player-id-123"));
@@ -361,5 +413,48 @@ class PlayerServiceTest {
         assertEquals(0, player.getResourceCount(TileType.ORE));
     }
 
-}
+    @Test
+    void resumePlayerShouldAttachConnectionToRestoredPlayer() throws GameException {
+        Player connected = playerService.addPlayer(mockConnection1);
+        Player restored = playerService.restorePlayer("restored-player", "Restored");
+        playerService.restoreResumeToken("restored-player", "token");
+
+        Player resumed = playerService.resumePlayer("restored-player", "token", mockConnection1);
+
+        assertSame(restored, resumed);
+        assertSame(mockConnection1, resumed.getConnection());
+        assertSame(restored, playerService.getPlayerByConnection(mockConnection1));
+        assertSame(mockConnection1, playerService.getConnectionByPlayerId("restored-player"));
+        assertNull(playerService.getPlayerById(connected.getUniqueId()), "Player of the new connection should be discarded");
+    }
+
+    @Test
+    void resumePlayerShouldRejectWrongToken() {
+        playerService.addPlayer(mockConnection1);
+        playerService.restorePlayer("restored-player", "Restored");
+        playerService.restoreResumeToken("restored-player", "token");
+
+        GameException exception = assertThrows(GameException.class,
+                () -> playerService.resumePlayer("restored-player", "wrong", mockConnection1));
+        assertEquals("Session cannot be resumed", exception.getMessage());
+        assertNull(playerService.getConnectionByPlayerId("restored-player"));
+    }
 
+    @Test
+    void resumePlayerShouldRejectPlayerWithoutToken() {
+        playerService.restorePlayer("restored-player", "Restored");
+
+        assertThrows(GameException.class, () -> playerService.resumePlayer("restored-player", null, mockConnection1));
+    }
+
+    @Test
+    void resumePlayerShouldRejectConnectedPlayer() {
+        Player player = playerService.addPlayer(mockConnection1);
+
+        GameException exception = assertThrows(GameException.class,
+                () -> playerService.resumePlayer(player.getUniqueId(), player.getResumeToken(), mockConnection2));
+        assertEquals("Session is still connected", exception.getMessage());
+        assertSame(mockConnection1, playerService.getConnectionByPlayerId(player.getUniqueId()));
+    }
+
+}
@@ -6,11 +6,14 @@ import com.example.cataniaunited.game.board.ports.GeneralPort;
 import com.example.cataniaunited.game.board.ports.Port;
 import com.example.cataniaunited.game.board.ports.SpecificResourcePort;
 import com.example.cataniaunited.game.board.tile_list_builder.TileType;
+import com.example.cataniaunited.snapshot.SnapshotReader;
+import com.example.cataniaunited.snapshot.SnapshotWriter;
 import io.quarkus.websockets.next.WebSocketConnection;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -329,5 +332,35 @@ class PlayerTest {
 
         assertEquals(0, player.getVictoryPoints());
     }
-}
 
+    @Test
+    void resumeTokenShouldOnlyMatchOwnToken() {
+        Player other = new Player();
+
+        assertNotNull(player.getResumeToken());
+        assertNotEquals(player.getResumeToken(), other.getResumeToken());
+        assertTrue(player.isResumeToken(player.getResumeToken()));
+        assertFalse(player.isResumeToken(other.getResumeToken()));
+        assertFalse(player.isResumeToken(null));
+    }
+
+    @Test
+    void restoredPlayerShouldHaveNoResumeToken() {
+        Player restored = Player.restore(player.getUniqueId(), "Restored");
+
+        assertNull(restored.getResumeToken());
+        assertFalse(restored.isResumeToken(player.getResumeToken()));
+    }
+
+    @Test
+    void snapshotShouldKeepResumeToken() {
+        SnapshotWriter out = new SnapshotWriter();
+        player.writeSnapshot(out);
+
+        Player restored = Player.readSnapshot(new SnapshotReader(ByteBuffer.wrap(out.toByteArray())));
+
+        assertEquals(player.getUniqueId(), restored.getUniqueId());
+        assertEquals(player.getResumeToken(), restored.getResumeToken());
+        assertNull(restored.getConnection());
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.cataniaunited.snapshot;
+
+import com.example.cataniaunited.journal.JournalRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void snapshotShouldSurviveWritingAndReading() throws IOException {
+        Path path = directory.resolve("snapshot-0000000000.snapshot");
+        Snapshot written = new Snapshot(42, List.of(
+                lobby("abc123", 100, List.of("host", "guest"), new byte[]{1, 2, 3}, new byte[]{4, 5}),
+                lobby("def456", 120, List.of(), new byte[0], new byte[300])
+        ));
+
+        long size = SnapshotFile.write(path, written);
+        Snapshot read = SnapshotFile.read(path);
+
+        assertEquals(size, path.toFile().length());
+        assertEquals(42, read.getStartPosition());
+        assertEquals(2, read.getLobbies().size());
+        for (int i = 0; i < 2; i++) {
+            LobbySnapshot expected = written.getLobbies().get(i);
+            LobbySnapshot actual = read.getLobbies().get(i);
+            assertEquals(expected.lobbyId(), actual.lobbyId());
+            assertEquals(expected.position(), actual.position());
+            assertEquals(expected.playerIds(), actual.playerIds());
+            assertEquals(expected.players(), actual.players());
+            assertEquals(expected.state(), actual.state());
+        }
+    }
+
+    @Test
+    void corruptSnapshotShouldBeRejected() throws IOException {
+        Path path = directory.resolve("snapshot-0000000000.snapshot");
+        SnapshotFile.write(path, new Snapshot(7, List.of(lobby("abc123", 10, List.of("host"), new byte[]{1}, new byte[]{2}))));
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(file.length() - 6);
+            int value = file.read();
+            file.seek(file.length() - 6);
+            file.write(value ^ 0xFF);
+        }
+
+        assertThrows(IOException.class, () -> SnapshotFile.read(path));
+    }
+
+    @Test
+    void recordsShouldBeCoveredUpToThePositionOfTheirLobby() {
+        LobbySnapshot first = lobby("abc123", 100, List.of("host"), new byte[0], new byte[0]);
+        LobbySnapshot second = lobby("def456", 200, List.of("host", "guest"), new byte[0], new byte[0]);
+        Snapshot snapshot = new Snapshot(50, List.of(first, second));
+
+        assertTrue(snapshot.covers(JournalRecord.turnEnded("abc123", "host"), 100));
+        assertFalse(snapshot.covers(JournalRecord.turnEnded("abc123", "host"), 101));
+        assertTrue(snapshot.covers(JournalRecord.turnEnded("def456", "host"), 200));
+        // Lobbies created after the snapshot started are replayed from the start position
+        assertTrue(snapshot.covers(JournalRecord.turnEnded("new123", "host"), 50));
+        assertFalse(snapshot.covers(JournalRecord.turnEnded("new123", "host"), 51));
+        // Records of a player without lobby use the lobby the player is restored with, the one captured last
+        assertTrue(snapshot.covers(JournalRecord.usernameSet("host", "Host"), 200));
+        assertFalse(snapshot.covers(JournalRecord.usernameSet("host", "Host"), 201));
+        assertTrue(snapshot.isRestoredWith("host", second));
+        assertFalse(snapshot.isRestoredWith("host", first));
+        assertFalse(Snapshot.empty().covers(JournalRecord.usernameSet("host", "Host"), 1));
+    }
+
+    private static LobbySnapshot lobby(String lobbyId, long position, List<String> playerIds, byte[] players, byte[] state) {
+        return new LobbySnapshot(lobbyId, position, playerIds, ByteBuffer.wrap(players), ByteBuffer.wrap(state));
+    }
+}
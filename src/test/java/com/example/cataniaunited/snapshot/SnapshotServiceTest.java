@@ -0,0 +1,240 @@
+package com.example.cataniaunited.snapshot;
+
+import com.example.cataniaunited.exception.GameException;
+import com.example.cataniaunited.game.GameService;
+import com.example.cataniaunited.game.board.GameBoard;
+import com.example.cataniaunited.game.board.LegalMoves;
+import com.example.cataniaunited.game.board.tile_list_builder.TileType;
+import com.example.cataniaunited.game.trade.PlayerTradeRequest;
+import com.example.cataniaunited.game.trade.TradeRequest;
+import com.example.cataniaunited.game.trade.TradingService;
+import com.example.cataniaunited.journal.GameJournal;
+import com.example.cataniaunited.lobby.Lobby;
+import com.example.cataniaunited.lobby.LobbyCommandExecutor;
+import com.example.cataniaunited.lobby.LobbyService;
+import com.example.cataniaunited.metrics.GameMetrics;
+import com.example.cataniaunited.player.Player;
+import com.example.cataniaunited.player.PlayerService;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@QuarkusTest
+class SnapshotServiceTest {
+
+    @Inject
+    LobbyService lobbyService;
+
+    @Inject
+    GameService gameService;
+
+    @Inject
+    PlayerService playerService;
+
+    @Inject
+    TradingService tradingService;
+
+    @Inject
+    LobbyCommandExecutor lobbyCommandExecutor;
+
+    @Inject
+    GameMetrics gameMetrics;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @TempDir
+    Path directory;
+
+    private SnapshotService snapshotService;
+    private GameJournal gameJournal;
+
+    @BeforeEach
+    void setUp() {
+        // Snapshots are only taken and restored with the journal enabled, the records themselves are not needed
+        gameJournal = spy(GameJournal.disabled());
+        doReturn(true).when(gameJournal).isEnabled();
+        snapshotService = new SnapshotService();
+        snapshotService.enabled = true;
+        snapshotService.directory = Optional.of(directory.resolve("snapshots").toString());
+        snapshotService.lobbyService = lobbyService;
+        snapshotService.gameService = gameService;
+        snapshotService.playerService = playerService;
+        snapshotService.tradingService = tradingService;
+        snapshotService.lobbyCommandExecutor = lobbyCommandExecutor;
+        snapshotService.gameJournal = gameJournal;
+        snapshotService.gameMetrics = gameMetrics;
+    }
+
+    @AfterEach
+    void tearDown() {
+        lobbyService.clearLobbies();
+        gameService.clearGameBoardsForTesting();
+        playerService.clearAllPlayersForTesting();
+    }
+
+    @Test
+    void restoredSnapshotShouldContinueTheGame() throws Exception {
+        String lobbyId = startGameWithSetupRound();
+        Lobby lobby = lobbyService.getLobbyById(lobbyId);
+        String activePlayer = lobby.getActivePlayer();
+        String otherPlayer = lobby.getPlayerOrder().get(1);
+        playerService.getPlayerById(activePlayer).receiveResource(TileType.WOOD, 3);
+        String tradeId = tradingService.createPlayerTradeRequest(lobbyId, new PlayerTradeRequest(otherPlayer, activePlayer,
+                new TradeRequest(Map.of(TileType.WOOD, 1), Map.of(TileType.ORE, 1))));
+
+        assertNotNull(snapshotService.takeSnapshot());
+
+        String boardJson = gameService.getGameboardByLobbyId(lobbyId).getSnapshot().getValue();
+        Map<TileType, Integer> resources = Map.copyOf(playerService.getPlayerById(activePlayer).getResources());
+        int victoryPoints = playerService.getPlayerById(activePlayer).getVictoryPoints();
+        List<String> playerOrder = lobby.getPlayerOrder();
+        ObjectNode nextRoll = gameService.getGameboardByLobbyId(lobbyId).rollDice();
+        clearState(lobbyId);
+
+        Snapshot restored = snapshotService.restore();
+
+        Lobby restoredLobby = lobbyService.getLobbyById(lobbyId);
+        GameBoard restoredBoard = gameService.getGameboardByLobbyId(lobbyId);
+        Player restoredPlayer = playerService.getPlayerById(activePlayer);
+        assertEquals(1, restored.getLobbies().size());
+        assertEquals(playerOrder, restoredLobby.getPlayerOrder());
+        assertEquals(activePlayer, restoredLobby.getActivePlayer());
+        assertEquals(lobby.getPlayerColor(otherPlayer), restoredLobby.getPlayerColor(otherPlayer));
+        assertEquals(lobby.getRoundsPlayed(), restoredLobby.getRoundsPlayed());
+        assertEquals(lobby.getCreatedAt(), restoredLobby.getCreatedAt());
+        assertEquals(boardJson, restoredBoard.getSnapshot().getValue());
+        assertEquals(resources, restoredPlayer.getResources());
+        assertEquals(victoryPoints, restoredPlayer.getVictoryPoints());
+        assertEquals(activePlayer, tradingService.getPlayerTradeRequest(tradeId).sourcePlayerId());
+        // The generator of the game was reseeded when it was captured, so the restored game rolls the same dice
+        ObjectNode restoredRoll = restoredBoard.rollDice();
+        assertEquals(nextRoll.get("dice1"), restoredRoll.get("dice1"));
+        assertEquals(nextRoll.get("dice2"), restoredRoll.get("dice2"));
+    }
+
+    @Test
+    void snapshotShouldRecordMetricsAndDeleteOldSnapshots() throws Exception {
+        snapshotService.retained = 1;
+        startGameWithSetupRound();
+        long writes = meterRegistry.get(GameMetrics.SNAPSHOT_WRITE).timer().count();
+        long restores = meterRegistry.get(GameMetrics.SNAPSHOT_RESTORE).timer().count();
+
+        snapshotService.takeSnapshot();
+        snapshotService.takeSnapshot();
+        snapshotService.restore();
+
+        assertEquals(List.of("snapshot-0000000001.snapshot"), snapshotFiles());
+        assertEquals(writes + 2, meterRegistry.get(GameMetrics.SNAPSHOT_WRITE).timer().count());
+        assertEquals(restores + 1, meterRegistry.get(GameMetrics.SNAPSHOT_RESTORE).timer().count());
+        assertTrue(meterRegistry.get(GameMetrics.SNAPSHOT_SIZE).summary().max() > 0);
+    }
+
+    @Test
+    void snapshotShouldDeleteJournalSegmentsBeforeOldestRetainedSnapshot() throws Exception {
+        snapshotService.retained = 2;
+        startGameWithSetupRound();
+
+        doReturn(1L << 32).when(gameJournal).getPosition();
+        snapshotService.takeSnapshot();
+        verify(gameJournal).deleteSegmentsBefore(1L << 32);
+
+        doReturn(3L << 32).when(gameJournal).getPosition();
+        snapshotService.takeSnapshot();
+        doReturn(5L << 32).when(gameJournal).getPosition();
+        snapshotService.takeSnapshot();
+
+        assertEquals(2, snapshotFiles().size());
+        verify(gameJournal, times(2)).deleteSegmentsBefore(1L << 32);
+        verify(gameJournal).deleteSegmentsBefore(3L << 32);
+        verify(gameJournal, never()).deleteSegmentsBefore(5L << 32);
+    }
+
+    @Test
+    void snapshotShouldNotBeRestoredWithDisabledJournal() throws Exception {
+        String lobbyId = startGameWithSetupRound();
+        assertNotNull(snapshotService.takeSnapshot());
+        clearState(lobbyId);
+        doReturn(false).when(gameJournal).isEnabled();
+
+        Snapshot restored = snapshotService.restore();
+
+        assertTrue(restored.getLobbies().isEmpty());
+        assertEquals(0, lobbyService.getOpenLobbyCount());
+    }
+
+    @Test
+    void enabledSnapshotsWithoutDirectoryShouldFailToStart() {
+        snapshotService.directory = Optional.empty();
+
+        assertThrows(IllegalStateException.class, snapshotService::start);
+    }
+
+    @Test
+    void missingSnapshotShouldRestoreNothing() {
+        Snapshot restored = snapshotService.restore();
+
+        assertEquals(0, restored.getStartPosition());
+        assertTrue(restored.getLobbies().isEmpty());
+        assertEquals(0, lobbyService.getOpenLobbyCount());
+    }
+
+    private String startGameWithSetupRound() throws GameException {
+        Player host = new Player("Host");
+        Player guest = new Player("Guest");
+        playerService.addPlayerWithoutConnection(host);
+        playerService.addPlayerWithoutConnection(guest);
+        String lobbyId = lobbyService.createLobby(host.getUniqueId());
+        lobbyService.joinLobbyByCode(lobbyId, guest.getUniqueId());
+        lobbyService.toggleReady(lobbyId, host.getUniqueId());
+        lobbyService.toggleReady(lobbyId, guest.getUniqueId());
+        gameService.startGame(lobbyId, host.getUniqueId());
+
+        Lobby lobby = lobbyService.getLobbyById(lobbyId);
+        for (int turn = 0; turn < 4; turn++) {
+            String playerId = lobby.getActivePlayer();
+            LegalMoves moves = gameService.getLegalMoves(lobbyId, playerId);
+            gameService.placeRoad(lobbyId, playerId, moves.roadIds().get(turn * 7 % moves.roadIds().size()));
+            moves = gameService.getLegalMoves(lobbyId, playerId);
+            gameService.placeSettlement(lobbyId, playerId, moves.settlementPositionIds().get(0));
+            lobbyService.nextTurn(lobbyId, playerId);
+        }
+        return lobbyId;
+    }
+
+    private void clearState(String lobbyId) {
+        tradingService.removeAllOpenTradeRequestForLobbyId(lobbyId);
+        lobbyService.clearLobbies();
+        gameService.clearGameBoardsForTesting();
+        playerService.clearAllPlayersForTesting();
+    }
+
+    private List<String> snapshotFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory.resolve("snapshots"))) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+}
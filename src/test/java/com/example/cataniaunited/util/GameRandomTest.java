@@ -0,0 +1,49 @@
+package com.example.cataniaunited.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GameRandomTest {
+
+    @Test
+    void generatorsFromSameSeedShouldProduceSameSequence() {
+        RandomGenerator first = GameRandom.fromSeed(42);
+        RandomGenerator second = GameRandom.fromSeed(42);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(first.nextLong(), second.nextLong(), "Draw " + i);
+        }
+    }
+
+    @Test
+    void generatorsFromDifferentSeedsShouldProduceDifferentSequences() {
+        RandomGenerator first = GameRandom.fromSeed(42);
+        RandomGenerator second = GameRandom.fromSeed(43);
+
+        assertNotEquals(first.nextLong(), second.nextLong());
+    }
+
+    @Test
+    void newSeedShouldNotRepeat() {
+        assertNotEquals(GameRandom.newSeed(), GameRandom.newSeed());
+    }
+
+    @Test
+    void testPrivateConstructorThrowsException() {
+        Exception exception = assertThrows(InvocationTargetException.class, () -> {
+            Constructor<GameRandom> constructor = GameRandom.class.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            constructor.newInstance();
+        });
+
+        assertEquals(IllegalStateException.class, exception.getCause().getClass());
+        assertEquals("Utility class", exception.getCause().getMessage());
+    }
+}